@@ -0,0 +1,351 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.internal.cache.EntityStore;
+import dev.jlynx.openopusjava.internal.util.Futures;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.body.ListWorksByIdResponse;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.ListWorksByIdAbstract;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusRequestMetadata;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusResponseStatus;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Answers the requests for composers and works by id from the {@link EntityStore}, requesting from the API only
+ * the ids the store doesn't know, and merges both into one response in the order of the requested ids.
+ * <p>
+ * The ids to request are split into chunks whose URLs fit under {@link OpenOpusClientOptions#getMaxUrlLength()},
+ * at most {@link OpenOpusClientOptions#getMaxParallelChunks()} of which are requested at a time; the results of
+ * all the chunks are merged the same way. A request whose ids are all unknown and fit in one URL is sent as it is
+ * and its response returned unchanged.
+ * <p>
+ * The chunks are requested through the given proxy, so they share the deadline of a view with one. Once the
+ * merged response fails or is cancelled, the chunks in flight are cancelled.
+ */
+final class ByIdRequests {
+
+    private static final String COMPOSER_IDS_PATH = "/composer/list/ids/";
+    private static final String WORK_IDS_PATH = "/work/list/ids/";
+    private static final String SUFFIX = ".json";
+    private static final String LOCAL_SOURCE = "client";
+
+    private ByIdRequests() {
+    }
+
+    static CompletableFuture<HttpResponse<ComposersList>> listComposers(OpenOpusHttpClientProxy http, List<Integer> ids) {
+        EntityStore entities = http.entityStore();
+        return resolve(http, entities, ids, entities != null ? entities::composer : id -> null, COMPOSER_IDS_PATH,
+                ComposersList.class, ByIdRequests::mergeComposers);
+    }
+
+    static CompletableFuture<HttpResponse<ListWorksByIdResponse>> listWorks(OpenOpusHttpClientProxy http, List<Integer> ids) {
+        EntityStore entities = http.entityStore();
+        return resolve(http, entities, ids, entities != null ? entities::work : id -> null, WORK_IDS_PATH,
+                ListWorksByIdResponse.class, ByIdRequests::mergeWorks);
+    }
+
+    /**
+     * Loads the composers of a batch of ids, keyed by id. An API error status, which the API returns when it
+     * finds none of the ids, yields an empty map.
+     */
+    static CompletableFuture<Map<Integer, Composer>> composersById(OpenOpusHttpClientProxy http, List<Integer> ids) {
+        return byId(listComposers(http, ids).thenApply(res -> res.body().getComposers()), Composer::getId);
+    }
+
+    /**
+     * Loads the works of a batch of ids, keyed by id. An API error status, which the API returns when it
+     * finds none of the ids, yields an empty map.
+     */
+    static CompletableFuture<Map<Integer, WorkSummary>> worksById(OpenOpusHttpClientProxy http, List<Integer> ids) {
+        return byId(listWorks(http, ids).thenApply(res -> res.body().getWorks()), WorkSummary::id);
+    }
+
+    /**
+     * Splits the ids, in order, into chunks whose request URLs, {@code baseUrl + path + ids + ".json"}, are at
+     * most {@code maxUrlLength} characters long.
+     *
+     * @throws IllegalArgumentException if the URL of a single id is already too long
+     */
+    static List<List<Integer>> chunks(String baseUrl, String path, List<Integer> ids, int maxUrlLength) {
+        int budget = maxUrlLength - baseUrl.length() - path.length() - SUFFIX.length();
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>();
+        int length = 0;
+        for (Integer id : ids) {
+            int idLength = id.toString().length();
+            if (!chunk.isEmpty() && length + 1 + idLength > budget) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                length = 0;
+            }
+            if (chunk.isEmpty()) {
+                if (idLength > budget) {
+                    throw new IllegalArgumentException("The URL for id " + id + " is longer than " + maxUrlLength + " characters");
+                }
+                length = idLength;
+            } else {
+                length += 1 + idLength;
+            }
+            chunk.add(id);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Merges the composers known beforehand with the fetched ones, in the order of {@code ids}.
+     *
+     * @param fetched the responses for the chunks of the unknown ids, empty if all of them were known
+     */
+    static ComposersList mergeComposers(List<Integer> ids, Map<Integer, Composer> known, List<ComposersList> fetched) {
+        Map<Integer, Composer> all = new HashMap<>(known);
+        for (ComposersList body : fetched) {
+            if (body.getComposers() != null) {
+                body.getComposers().forEach(composer -> all.putIfAbsent(composer.getId(), composer));
+            }
+        }
+        List<Composer> composers = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Composer composer = all.get(id);
+            if (composer != null) {
+                composers.add(composer);
+            }
+        }
+        return new ComposersList(statusOf(fetched, composers.size()), requestOf(ids), composers);
+    }
+
+    /**
+     * Merges the works known beforehand with the fetched ones, in the order of {@code ids}, and recomputes the
+     * abstract for the merged works.
+     *
+     * @param fetched the responses for the chunks of the unknown ids, empty if all of them were known
+     */
+    static ListWorksByIdResponse mergeWorks(List<Integer> ids, Map<Integer, WorkSummary> known, List<ListWorksByIdResponse> fetched) {
+        Map<Integer, WorkSummary> all = new HashMap<>(known);
+        for (ListWorksByIdResponse body : fetched) {
+            if (body.getWorks() != null) {
+                body.getWorks().forEach(work -> all.putIfAbsent(work.id(), work));
+            }
+        }
+        Map<String, WorkSummary> works = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            WorkSummary work = all.get(id);
+            if (work != null) {
+                works.put("w:" + id, work);
+            }
+        }
+        List<WorkSummary> ordered = List.copyOf(works.values());
+        return new ListWorksByIdResponse(statusOf(fetched, ordered.size()), requestOf(ids), works, abstractOf(ordered));
+    }
+
+    /**
+     * Computes the abstract the API returns with works listed by id: the portraits and names of their distinct
+     * composers, and the counts.
+     */
+    static ListWorksByIdAbstract abstractOf(List<WorkSummary> works) {
+        Set<Integer> seen = new LinkedHashSet<>();
+        List<String> portraits = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (WorkSummary work : works) {
+            Composer composer = work.composer();
+            if (composer != null && seen.add(composer.getId())) {
+                portraits.add(composer.getPortraitUri());
+                names.add(composer.getLastName());
+            }
+        }
+        return new ListWorksByIdAbstract(
+                new ListWorksByIdAbstract.ComposersAbstract(portraits, names, seen.size()),
+                new ListWorksByIdAbstract.WorksAbstract(works.size())
+        );
+    }
+
+    private static <E, B extends OpenOpusResponse> CompletableFuture<HttpResponse<B>> resolve(
+            OpenOpusHttpClientProxy http,
+            EntityStore entities,
+            List<Integer> ids,
+            IntFunction<E> lookup,
+            String path,
+            Class<B> bodyType,
+            Merger<E, B> merger
+    ) {
+        List<Integer> unique = ids.stream().distinct().toList();
+        Map<Integer, E> known = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : unique) {
+            E entity = lookup.apply(id);
+            if (entity != null) {
+                known.put(id, entity);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (entities != null) {
+            entities.recordLookup(known.size(), missing.size());
+        }
+        OpenOpusClientOptions options = http.options();
+        List<List<Integer>> chunks = chunks(options.getBaseUrl(), path, missing, options.getMaxUrlLength());
+        String uri = path + joined(ids) + SUFFIX;
+        if (known.isEmpty() && chunks.size() == 1) {
+            return http.sendAsyncGetOpenOpus(uri, bodyType);
+        }
+        HttpRequest request = http.requestFor(uri);
+        if (chunks.isEmpty()) {
+            return CompletableFuture.completedFuture(LocalHttpResponse.of(request, merger.merge(unique, known, List.of())));
+        }
+        List<Supplier<CompletableFuture<HttpResponse<B>>>> calls = new ArrayList<>(chunks.size());
+        for (List<Integer> chunk : chunks) {
+            calls.add(() -> http.sendAsyncGetOpenOpus(path + joined(chunk) + SUFFIX, bodyType));
+        }
+        // a chunk the API finds none of the ids of is just empty, unless it would leave the result empty
+        int skippable = known.isEmpty() ? chunks.size() - 1 : chunks.size();
+        return Futures.thenApply(inParallel(calls, options.getMaxParallelChunks(), skippable), responses -> {
+            B merged = merger.merge(unique, known, responses.stream().map(HttpResponse::body).toList());
+            return responses.isEmpty()
+                    ? LocalHttpResponse.of(request, merged)
+                    : LocalHttpResponse.derived(request, responses.get(0), merged);
+        });
+    }
+
+    /**
+     * Makes the calls with at most {@code parallelism} of them in flight, and collects their results in the order
+     * of the calls. The first failure fails the result and no more calls are made. Up to {@code skippable} calls
+     * failing with an API error status are left out instead. The calls in flight are cancelled once the result fails
+     * or is cancelled.
+     */
+    private static <R> CompletableFuture<List<R>> inParallel(
+            List<Supplier<CompletableFuture<R>>> calls,
+            int parallelism,
+            int skippable
+    ) {
+        CompletableFuture<List<R>> result = new CompletableFuture<>();
+        AtomicReferenceArray<R> results = new AtomicReferenceArray<>(calls.size());
+        AtomicReferenceArray<CompletableFuture<R>> inFlight = new AtomicReferenceArray<>(calls.size());
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(calls.size());
+        AtomicInteger errors = new AtomicInteger();
+        Runnable startNext = new Runnable() {
+            @Override
+            public void run() {
+                int index = next.getAndIncrement();
+                if (index >= calls.size() || result.isDone()) {
+                    return;
+                }
+                CompletableFuture<R> call;
+                try {
+                    call = calls.get(index).get();
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                inFlight.set(index, call);
+                if (result.isCompletedExceptionally()) {
+                    call.cancel(true);
+                }
+                call.whenComplete((value, failure) -> {
+                    if (failure != null) {
+                        Throwable cause = Futures.unwrap(failure);
+                        boolean skipped = cause instanceof OpenOpusErrorException && errors.incrementAndGet() <= skippable;
+                        if (!skipped) {
+                            result.completeExceptionally(cause);
+                            return;
+                        }
+                    } else {
+                        results.set(index, value);
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        List<R> collected = new ArrayList<>(calls.size());
+                        for (int i = 0; i < calls.size(); i++) {
+                            if (results.get(i) != null) {
+                                collected.add(results.get(i));
+                            }
+                        }
+                        result.complete(collected);
+                    } else {
+                        run();
+                    }
+                });
+            }
+        };
+        for (int i = 0; i < Math.min(parallelism, calls.size()); i++) {
+            startNext.run();
+        }
+        result.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                for (int i = 0; i < calls.size(); i++) {
+                    CompletableFuture<R> call = inFlight.get(i);
+                    if (call != null) {
+                        call.cancel(true);
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    private static <E> CompletableFuture<Map<Integer, E>> byId(CompletableFuture<List<E>> entities, Function<E, Integer> id) {
+        return entities.handle((list, failure) -> {
+            if (failure != null) {
+                if (Futures.unwrap(failure) instanceof OpenOpusErrorException) {
+                    return Map.of();
+                }
+                throw failure instanceof CompletionException e ? e : new CompletionException(failure);
+            }
+            Map<Integer, E> map = new HashMap<>();
+            if (list != null) {
+                list.forEach(entity -> map.put(id.apply(entity), entity));
+            }
+            return map;
+        });
+    }
+
+    private static OpenOpusResponseStatus statusOf(List<? extends OpenOpusResponse> fetched, int rows) {
+        if (fetched.isEmpty()) {
+            return new OpenOpusResponseStatus(null, true, null, LOCAL_SOURCE, rows, 0.0, null);
+        }
+        OpenOpusResponseStatus status = fetched.get(0).getStatus();
+        double processingTime = 0.0;
+        for (OpenOpusResponse body : fetched) {
+            processingTime += body.getStatus().getProcessingTime();
+        }
+        return new OpenOpusResponseStatus(status.getVersion(), true, null, status.getSource(), rows,
+                processingTime, status.getApi());
+    }
+
+    private static OpenOpusRequestMetadata requestOf(List<Integer> ids) {
+        return new OpenOpusRequestMetadata("ids", ids.stream().map(Object::toString).toList(), null, null);
+    }
+
+    private static String joined(List<Integer> ids) {
+        return ids.stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    @FunctionalInterface
+    private interface Merger<E, B> {
+
+        B merge(List<Integer> ids, Map<Integer, E> known, List<B> fetched);
+    }
+}
@@ -0,0 +1,181 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.internal.batch.BatchLoader;
+import dev.jlynx.openopusjava.internal.cache.DiskCache;
+import dev.jlynx.openopusjava.internal.cache.EntityStore;
+import dev.jlynx.openopusjava.internal.cache.WTinyLfuCache;
+import dev.jlynx.openopusjava.internal.json.DecodingExecutor;
+import dev.jlynx.openopusjava.internal.resilience.AdaptiveConcurrencyLimiter;
+import dev.jlynx.openopusjava.internal.resilience.CircuitBreaker;
+import dev.jlynx.openopusjava.internal.resilience.Hedger;
+import dev.jlynx.openopusjava.internal.resilience.RateLimiter;
+import dev.jlynx.openopusjava.internal.resilience.SingleFlight;
+import dev.jlynx.openopusjava.internal.resilience.WeightedFairScheduler;
+import dev.jlynx.openopusjava.metrics.BatchingStats;
+import dev.jlynx.openopusjava.metrics.CacheStats;
+import dev.jlynx.openopusjava.metrics.CircuitBreakerStats;
+import dev.jlynx.openopusjava.metrics.CoalescingStats;
+import dev.jlynx.openopusjava.metrics.ConcurrencyStats;
+import dev.jlynx.openopusjava.metrics.DecodingStats;
+import dev.jlynx.openopusjava.metrics.DiskCacheStats;
+import dev.jlynx.openopusjava.metrics.EntityStoreStats;
+import dev.jlynx.openopusjava.metrics.HedgingStats;
+import dev.jlynx.openopusjava.metrics.NegativeCacheStats;
+import dev.jlynx.openopusjava.metrics.OpenOpusClientMetrics;
+import dev.jlynx.openopusjava.metrics.RateLimitStats;
+import dev.jlynx.openopusjava.metrics.TenantStats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The {@link OpenOpusClientMetrics} reading the counters of the proxy's components.
+ */
+class ClientMetrics implements OpenOpusClientMetrics {
+
+    private final Hedger hedger;
+    private final SingleFlight<?> singleFlight;
+    private final WTinyLfuCache<?, ?> cache;
+    private final WTinyLfuCache<?, ?> errors;
+    private final DiskCache disk;
+    private final EntityStore entities;
+    private final List<BatchLoader<?, ?>> loaders;
+    private final DecodingExecutor decodingExecutor;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RateLimiter rateLimiter;
+    private final Map<Endpoint, RateLimiter> endpointRateLimiters;
+    private final WeightedFairScheduler scheduler;
+    private final Function<Endpoint, CircuitBreaker> circuitBreakers;
+
+    /**
+     * @param cache the response cache, or {@code null} if it's disabled
+     * @param errors the negative cache, or {@code null} if it's disabled
+     * @param disk the disk cache, or {@code null} if it's disabled
+     * @param entities the entity store, or {@code null} if it's disabled
+     * @param loaders the batch loaders of the single-id lookups
+     * @param decodingExecutor the executor of the large bodies, or {@code null} if they're decoded inline
+     * @param limiter the concurrency limiter, or {@code null} if the concurrency isn't limited
+     * @param rateLimiter the rate limiter of all endpoint families, or {@code null} if there's no shared limit
+     * @param endpointRateLimiters the rate limiters of the endpoint families with their own limit
+     * @param scheduler the scheduler of the tenants, or {@code null} if the tenants aren't scheduled
+     * @param circuitBreakers returns the circuit breaker of an endpoint family, or {@code null} if it has none yet
+     */
+    ClientMetrics(
+            Hedger hedger,
+            SingleFlight<?> singleFlight,
+            WTinyLfuCache<?, ?> cache,
+            WTinyLfuCache<?, ?> errors,
+            DiskCache disk,
+            EntityStore entities,
+            List<BatchLoader<?, ?>> loaders,
+            DecodingExecutor decodingExecutor,
+            AdaptiveConcurrencyLimiter limiter,
+            RateLimiter rateLimiter,
+            Map<Endpoint, RateLimiter> endpointRateLimiters,
+            WeightedFairScheduler scheduler,
+            Function<Endpoint, CircuitBreaker> circuitBreakers
+    ) {
+        this.hedger = hedger;
+        this.singleFlight = singleFlight;
+        this.cache = cache;
+        this.errors = errors;
+        this.disk = disk;
+        this.entities = entities;
+        this.loaders = loaders;
+        this.decodingExecutor = decodingExecutor;
+        this.limiter = limiter;
+        this.rateLimiter = rateLimiter;
+        this.endpointRateLimiters = endpointRateLimiters;
+        this.scheduler = scheduler;
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    @Override
+    public HedgingStats hedging() {
+        return hedger.stats();
+    }
+
+    @Override
+    public CoalescingStats coalescing() {
+        return new CoalescingStats(singleFlight.started(), singleFlight.joined());
+    }
+
+    @Override
+    public CacheStats cache() {
+        return cache != null ? cache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public NegativeCacheStats negativeCache() {
+        if (errors == null) {
+            return new NegativeCacheStats(0, 0, 0, 0);
+        }
+        CacheStats stats = errors.stats();
+        return new NegativeCacheStats(stats.hits(), stats.misses(), stats.evictions(), stats.entries());
+    }
+
+    @Override
+    public DiskCacheStats diskCache() {
+        return disk != null ? disk.stats() : new DiskCacheStats(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public EntityStoreStats entityStore() {
+        return entities != null ? entities.stats() : new EntityStoreStats(0, 0, 0, 0);
+    }
+
+    @Override
+    public BatchingStats batching() {
+        long lookups = 0;
+        long batches = 0;
+        long ids = 0;
+        for (BatchLoader<?, ?> loader : loaders) {
+            lookups += loader.loads();
+            batches += loader.batches();
+            ids += loader.keys();
+        }
+        return new BatchingStats(lookups, batches, ids);
+    }
+
+    @Override
+    public DecodingStats decoding() {
+        return decodingExecutor != null ? decodingExecutor.stats() : new DecodingStats(0, 0, 0);
+    }
+
+    @Override
+    public ConcurrencyStats concurrency() {
+        return limiter != null ? limiter.stats() : new ConcurrencyStats(0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public RateLimitStats rateLimiting(Endpoint endpoint) {
+        RateLimiter familyLimiter = endpointRateLimiters.get(endpoint);
+        if (familyLimiter == null) {
+            return rateLimiter != null ? rateLimiter.stats() : new RateLimitStats(0, 0, Duration.ZERO, Duration.ZERO, 0);
+        }
+        RateLimitStats stats = familyLimiter.stats();
+        if (rateLimiter == null) {
+            return stats;
+        }
+        // a request to the family waits for the later of its two slots
+        Duration sharedWait = rateLimiter.currentWait();
+        return sharedWait.compareTo(stats.currentWait()) > 0
+                ? new RateLimitStats(stats.acquired(), stats.delayed(), stats.totalDelay(), sharedWait, stats.rejected())
+                : stats;
+    }
+
+    @Override
+    public TenantStats tenant(String tenant) {
+        return scheduler != null
+                ? scheduler.stats(tenant)
+                : new TenantStats(0, 0, 0, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    }
+
+    @Override
+    public CircuitBreakerStats circuitBreaker(Endpoint endpoint) {
+        CircuitBreaker breaker = circuitBreakers.apply(endpoint);
+        return breaker != null ? breaker.stats() : new CircuitBreakerStats(CircuitBreakerStats.State.CLOSED, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package dev.jlynx.openopusjava;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The point in time by which a composite operation, like a page built from several lookups, must be done.
+ * <p>
+ * A client view made by {@link OpenOpusClient#withDeadline(Deadline)} draws every call from the one remaining
+ * budget: each attempt, retry and hedge of a request waits for its response at most until the deadline, and a
+ * call not completed by then fails with an {@link dev.jlynx.openopusjava.exception.OpenOpusDeadlineExceededException}.
+ * The same deadline may be given to several views, so the calls made through all of them share the budget.
+ * </p>
+ * <p>
+ * The deadline is measured with {@link System#nanoTime()}, so changes of the wall clock don't affect it.
+ * </p>
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Returns the deadline the budget ends at, counted from now.
+     *
+     * @param budget the time the operation may take
+     * @return a new {@code Deadline}
+     */
+    public static Deadline after(Duration budget) {
+        if (Objects.requireNonNull(budget).isNegative()) {
+            throw new IllegalArgumentException("budget cannot be negative");
+        }
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Returns the time left until the deadline; {@link Duration#ZERO} once it passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * Returns {@code true} if the deadline passed.
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + remaining() + "}";
+    }
+}
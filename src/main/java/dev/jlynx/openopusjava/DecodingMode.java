@@ -0,0 +1,22 @@
+package dev.jlynx.openopusjava;
+
+/**
+ * Determines how the parsed JSON tokens are bound to the response objects.
+ *
+ * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#decodingMode(DecodingMode)
+ */
+public enum DecodingMode {
+
+    /**
+     * The tokens are bound by Jackson databind through the {@code @JsonCreator} constructors
+     * of the response classes.
+     */
+    DATABIND,
+
+    /**
+     * The tokens are bound by decoders written for the known shapes of the Open Opus responses.
+     * They don't use reflection, so there's no introspection cost on the first response either.
+     * Unlike {@link #DATABIND}, unknown fields are skipped instead of failing the response.
+     */
+    SPECIALIZED
+}
@@ -0,0 +1,94 @@
+package dev.jlynx.openopusjava;
+
+/**
+ * The families of Open Opus API endpoints the {@link OpenOpusClient} calls.
+ * <p>
+ * Per-endpoint client settings, like which requests may be retried, are keyed by these families.
+ */
+public enum Endpoint {
+
+    /**
+     * Composers by letter, epoch, popularity or recommendation.
+     */
+    COMPOSER_LIST,
+
+    /**
+     * Composers by name search.
+     */
+    COMPOSER_SEARCH,
+
+    /**
+     * Composers by ids.
+     */
+    COMPOSER_IDS,
+
+    /**
+     * Genres of a composer.
+     */
+    GENRE_LIST,
+
+    /**
+     * Works of a composer, optionally by genre.
+     */
+    WORK_LIST,
+
+    /**
+     * Works of a composer by title search.
+     */
+    WORK_SEARCH,
+
+    /**
+     * Details of a work.
+     */
+    WORK_DETAIL,
+
+    /**
+     * Works by ids.
+     */
+    WORK_IDS,
+
+    /**
+     * Random works matching some criteria.
+     */
+    RANDOM_WORKS,
+
+    /**
+     * Composers and works by omnisearch.
+     */
+    OMNISEARCH,
+
+    /**
+     * Roles of performers.
+     */
+    PERFORMER_ROLES,
+
+    /**
+     * Any other path.
+     */
+    OTHER;
+
+    /**
+     * Returns the family of the endpoint with the given path.
+     *
+     * @param uriPath the API endpoint relative to the base URL, e.g. {@code "/work/detail/482.json"}
+     * @return the endpoint family, {@link #OTHER} if the path isn't known
+     */
+    public static Endpoint of(String uriPath) {
+        if (uriPath.startsWith("/composer/list/")) {
+            if (uriPath.startsWith("/composer/list/search/")) return COMPOSER_SEARCH;
+            if (uriPath.startsWith("/composer/list/ids/")) return COMPOSER_IDS;
+            return COMPOSER_LIST;
+        }
+        if (uriPath.startsWith("/work/list/")) {
+            if (uriPath.startsWith("/work/list/ids/")) return WORK_IDS;
+            if (uriPath.contains("/search/")) return WORK_SEARCH;
+            return WORK_LIST;
+        }
+        if (uriPath.startsWith("/work/detail/")) return WORK_DETAIL;
+        if (uriPath.startsWith("/genre/list/")) return GENRE_LIST;
+        if (uriPath.startsWith("/omnisearch/")) return OMNISEARCH;
+        if (uriPath.startsWith("/dyn/work/random")) return RANDOM_WORKS;
+        if (uriPath.startsWith("/dyn/performer/list")) return PERFORMER_ROLES;
+        return OTHER;
+    }
+}
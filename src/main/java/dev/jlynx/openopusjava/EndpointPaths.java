@@ -0,0 +1,196 @@
+package dev.jlynx.openopusjava;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import dev.jlynx.openopusjava.exception.OpenOpusException;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.internal.util.SpaceEncoder;
+import dev.jlynx.openopusjava.internal.util.StringSanitizer;
+import dev.jlynx.openopusjava.internal.util.UrlSearchParams;
+import dev.jlynx.openopusjava.request.RandomWorksCriteria;
+import dev.jlynx.openopusjava.response.subtype.Epoch;
+import dev.jlynx.openopusjava.response.subtype.Genre;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Validates the arguments of the client methods and builds the paths of the endpoints they call, relative to
+ * the base URL.
+ * <p>
+ * Shared by the {@link OpenOpusClient} and the {@link OpenOpusBlockingClient}, so both reject the same arguments
+ * and send the same requests.
+ */
+final class EndpointPaths {
+
+    static final String POPULAR_COMPOSERS = "/composer/list/pop.json";
+    static final String ESSENTIAL_COMPOSERS = "/composer/list/rec.json";
+
+    private final SpaceEncoder spaceEncoder;
+    private final StringSanitizer sanitizer;
+    private final OpenOpusClientOptions options;
+
+    EndpointPaths(SpaceEncoder spaceEncoder, StringSanitizer sanitizer, OpenOpusClientOptions options) {
+        this.spaceEncoder = spaceEncoder;
+        this.sanitizer = sanitizer;
+        this.options = options;
+    }
+
+    String composersByLetter(char letter) {
+        if (!Character.isLetter(letter)) {
+            throw new IllegalArgumentException("The 'letter' parameter should be a letter");
+        }
+        return "/composer/list/name/" + letter + ".json";
+    }
+
+    String composersByEpoch(Epoch epoch) {
+        return "/composer/list/epoch/" + spaceEncoder.encode(epoch.getValue()) + ".json";
+    }
+
+    String composerSearch(String searchString) {
+        searchString = sanitizer.sanitize(searchString);
+        if (searchString.isEmpty()) {
+            throw new IllegalArgumentException("The 'searchString' is null or empty after sanitization.");
+        }
+        searchString = spaceEncoder.encode(searchString);
+        return "/composer/list/search/" + searchString + ".json";
+    }
+
+    static void checkComposerIds(List<Integer> ids) {
+        if (ids.stream().anyMatch(i -> i < 1)) {
+            throw new IllegalArgumentException("Composer id cannot be less than one.");
+        }
+    }
+
+    static void checkComposerId(int id) {
+        if (id < 1) {
+            throw new IllegalArgumentException("Composer id cannot be less than one.");
+        }
+    }
+
+    static void checkWorkIds(List<Integer> workIds) {
+        if (workIds.stream().anyMatch(i -> i < 1)) {
+            throw new IllegalArgumentException("Work ID cannot be less than one.");
+        }
+    }
+
+    static void checkWorkId(int workId) {
+        if (workId < 1) {
+            throw new IllegalArgumentException("Work ID cannot be less than one.");
+        }
+    }
+
+    String genres(int composerId) {
+        checkComposerId(composerId);
+        return "/genre/list/composer/" + composerId + ".json";
+    }
+
+    String works(int composerId) {
+        checkComposerId(composerId);
+        return "/work/list/composer/" + composerId + "/genre/all.json";
+    }
+
+    String works(int composerId, Genre genre) {
+        checkComposerId(composerId);
+        return String.format("/work/list/composer/%d/genre/%s.json", composerId, genre.getValue());
+    }
+
+    String workSearch(String searchString, int composerId) {
+        checkComposerId(composerId);
+        searchString = sanitizer.sanitize(searchString);
+        if (searchString.isEmpty()) {
+            throw new IllegalArgumentException("The searchString is null or empty after sanitization..");
+        }
+        return String.format("/work/list/composer/%d/genre/all/search/%s.json", composerId, spaceEncoder.encode(searchString));
+    }
+
+    String workSearch(String searchString, int composerId, Genre genre) {
+        checkComposerId(composerId);
+        searchString = sanitizer.sanitize(searchString);
+        if (searchString.isEmpty()) {
+            throw new IllegalArgumentException("The searchString is null or empty after sanitization..");
+        }
+        return String.format("/work/list/composer/%d/genre/%s/search/%s.json", composerId,
+                spaceEncoder.encode(genre.getValue()), spaceEncoder.encode(searchString));
+    }
+
+    String workDetail(int workId) {
+        if (workId < 1) {
+            throw new IllegalArgumentException("Composer id cannot be less than one.");
+        }
+        return String.format("/work/detail/%d.json", workId);
+    }
+
+    String randomWorks(RandomWorksCriteria criteria) {
+        UrlSearchParams params = new UrlSearchParams();
+        if (criteria.getPopularWork().isPresent()) {
+            params.addParam("popularwork", criteria.getPopularWork().get() ? "1" : "0");
+        }
+        if (criteria.getRecommendedWork().isPresent()) {
+            params.addParam("recommendedwork", criteria.getRecommendedWork().get() ? "1" : "0");
+        }
+        if (criteria.getPopularComposer().isPresent()) {
+            params.addParam("popularcomposer", criteria.getPopularComposer().get() ? "1" : "0");
+        }
+        if (criteria.getRecommendedComposer().isPresent()) {
+            params.addParam("recommendedcomposer", criteria.getRecommendedComposer().get() ? "1" : "0");
+        }
+        if (criteria.getGenre().isPresent()) {
+            params.addParam("genre", criteria.getGenre().get().getValue());
+        }
+        if (criteria.getEpoch().isPresent()) {
+            params.addParam("epoch", criteria.getEpoch().get().getValue());
+        }
+        if (criteria.getComposer().isPresent()) {
+            params.addParam("composer", joined(criteria.getComposer().get()));
+        }
+        if (criteria.getComposerNot().isPresent()) {
+            params.addParam("composer_not", joined(criteria.getComposerNot().get()));
+        }
+        if (criteria.getWork().isPresent()) {
+            params.addParam("work", joined(criteria.getWork().get()));
+        }
+        String uri = "/dyn/work/random" + params.asString();
+        if (options.getBaseUrl().length() + uri.length() > options.getMaxUrlLength()) {
+            throw new IllegalArgumentException("The random works request URL is longer than "
+                    + options.getMaxUrlLength() + " characters; pass fewer composer or work ids.");
+        }
+        return uri;
+    }
+
+    String omnisearch(String search, int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("'offset' parameter cannot be less than zero.");
+        }
+        search = sanitizer.sanitize(search);
+        if (search.isEmpty()) {
+            throw new IllegalArgumentException("The 'search' parameter is empty after sanitization.");
+        }
+        search = spaceEncoder.encode(search);
+        return String.format("/omnisearch/%s/%d.json", search, offset);
+    }
+
+    String performerRoles(List<String> performers) {
+        if (performers.isEmpty()) {
+            throw new IllegalArgumentException("'performers' list cannot be empty");
+        }
+        performers = performers.stream()
+                .map(sanitizer::sanitize)
+                .toList();
+        String performersJson;
+        try {
+            performersJson = JsonCodecRegistry.getInstance().writer().writeValueAsString(performers);
+        } catch (JsonProcessingException e) {
+            throw new OpenOpusException(e);
+        }
+        performersJson = URLEncoder.encode(performersJson, StandardCharsets.UTF_8);
+        return "/dyn/performer/list?names=" + performersJson;
+    }
+
+    private static String joined(List<Integer> ids) {
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+}
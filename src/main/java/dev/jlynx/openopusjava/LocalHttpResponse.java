@@ -0,0 +1,64 @@
+package dev.jlynx.openopusjava;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link HttpResponse} assembled by the client, e.g. from stored entities or from several merged responses,
+ * rather than received as it is.
+ *
+ * @param request the request the response answers
+ * @param statusCode the status code of the response it's based on, or {@code 200}
+ * @param headers the headers of the response it's based on, or none
+ * @param body the response body
+ * @param version the HTTP version of the response it's based on
+ * @param <T> the type of the response body
+ */
+record LocalHttpResponse<T>(
+        HttpRequest request,
+        int statusCode,
+        HttpHeaders headers,
+        T body,
+        HttpClient.Version version
+) implements HttpResponse<T> {
+
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Map.of(), (name, value) -> true);
+
+    /**
+     * Creates a response answered entirely by the client.
+     */
+    static <T> LocalHttpResponse<T> of(HttpRequest request, T body) {
+        return new LocalHttpResponse<>(request, 200, NO_HEADERS, body, HttpClient.Version.HTTP_1_1);
+    }
+
+    /**
+     * Creates a response to {@code request} with a new body, keeping the status, headers and version of
+     * the response it's derived from.
+     */
+    static <T> LocalHttpResponse<T> derived(HttpRequest request, HttpResponse<?> base, T body) {
+        HttpHeaders headers = base.headers() != null ? base.headers() : NO_HEADERS;
+        HttpClient.Version version = base.version() != null ? base.version() : HttpClient.Version.HTTP_1_1;
+        return new LocalHttpResponse<>(request, base.statusCode(), headers, body, version);
+    }
+
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return request.uri();
+    }
+}
@@ -0,0 +1,431 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.exception.OpenOpusException;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.internal.util.PublisherIterator;
+import dev.jlynx.openopusjava.internal.util.SpaceEncoder;
+import dev.jlynx.openopusjava.internal.util.StringSanitizer;
+import dev.jlynx.openopusjava.metrics.OpenOpusClientMetrics;
+import dev.jlynx.openopusjava.request.RandomWorksCriteria;
+import dev.jlynx.openopusjava.response.body.*;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.Epoch;
+import dev.jlynx.openopusjava.response.subtype.Genre;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+import dev.jlynx.openopusjava.response.subtype.Work;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * The blocking counterpart of the {@link OpenOpusClient}, meant to be called from virtual threads.
+ * <p>
+ * Each method mirrors the {@link OpenOpusClient} method of the same name, accepts the same arguments and
+ * returns the response body directly. The request is sent with the blocking {@code HttpClient.send} on the
+ * calling thread, so no future is created and no other thread completes it. The response cache, request
+ * coalescing, retries and the entity store apply as they do to the {@link OpenOpusClient}; with hedging enabled,
+ * the requests to idempotent endpoints are sent asynchronously and awaited. So are the requests of the methods
+ * that combine several of them, the lists by ids and the single-id lookups.
+ * </p>
+ * <p>
+ * The failures are thrown as they are rather than wrapped in a {@link java.util.concurrent.CompletionException}:
+ * an {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException} if the Open Opus API returns a status error,
+ * an {@link dev.jlynx.openopusjava.exception.OpenOpusHttpStatusException} if it responds with an HTTP error status,
+ * and an {@link UncheckedIOException} if the exchange failed. If the calling thread is interrupted while waiting,
+ * an {@link OpenOpusException} is thrown and the interrupt status is kept.
+ * </p>
+ *
+ * <p> Example usage:
+ * <pre>{@code
+ * try (OpenOpusBlockingClient client = new OpenOpusBlockingClient(OpenOpusClientOptions.withDefaults())) {
+ *     ComposersList composers = client.listComposers('b');
+ * }
+ * }</pre>
+ */
+public class OpenOpusBlockingClient implements AutoCloseable {
+
+    private static final int STREAM_PREFETCH = 64;
+
+    private final OpenOpusHttpClientProxy http;
+    private final EndpointPaths paths;
+
+    public OpenOpusBlockingClient() {
+        this(OpenOpusClientOptions.withDefaults());
+    }
+
+    public OpenOpusBlockingClient(OpenOpusClientOptions options) {
+        http = new OpenOpusHttpClientProxy(options);
+        paths = new EndpointPaths(new SpaceEncoder(), new StringSanitizer(), options);
+        if (options.isCodecWarmUp()) {
+            JsonCodecRegistry.getInstance().warmUp();
+        }
+    }
+
+    private OpenOpusBlockingClient(OpenOpusHttpClientProxy http, EndpointPaths paths) {
+        this.http = http;
+        this.paths = paths;
+    }
+
+    /**
+     * Returns a view of this client sending its requests with the given priority, e.g. {@link Priority#BACKGROUND}
+     * for crawls and prefetching that shouldn't hold up user-facing lookups.
+     * <p>
+     * The priority decides which waiting request gets the next free slot of the concurrency limit, see
+     * {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#backgroundShare(double)}. It has no effect unless
+     * {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#adaptiveConcurrencyLimit(int, int, int)} is set:
+     * the waits for the rate limit and for the turn of the tenant keep the order of the requests, whatever their
+     * priority.
+     * <p>
+     * The view shares the connections, caches, limits and metrics of this client; closing it has no effect and it
+     * stops working when this client is closed. The lookups of {@code getComposer} and {@code getWorkSummary} are
+     * batched with those of all the views and sent with the priority of the client that was constructed.
+     *
+     * @param priority the priority of the requests of the view
+     * @return a view of this client, or this client if it already has the priority
+     */
+    public OpenOpusBlockingClient withPriority(Priority priority) {
+        OpenOpusHttpClientProxy prioritized = http.withPriority(priority);
+        return prioritized == http ? this : new OpenOpusBlockingClient(prioritized, paths);
+    }
+
+    /**
+     * Returns a view of this client making its calls on behalf of the given tenant, e.g. one user or one service
+     * sharing the client with others.
+     * <p>
+     * The tenant decides in which queue a call waits for its turn and whose share it counts against, see
+     * {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#tenantScheduling(int, int)}; the calls of this
+     * client are made on behalf of {@value OpenOpusClient#DEFAULT_TENANT} unless it's a view of another tenant.
+     * The view keeps the priority of this client and shares its connections, caches, limits and metrics; closing
+     * it has no effect. The lookups of {@code getComposer} and {@code getWorkSummary} are made on behalf of the
+     * tenant of the client that was constructed.
+     *
+     * @param tenant the key of the tenant
+     * @return a view of this client, or this client if it already makes its calls on behalf of the tenant
+     */
+    public OpenOpusBlockingClient forTenant(String tenant) {
+        OpenOpusHttpClientProxy scoped = http.forTenant(tenant);
+        return scoped == http ? this : new OpenOpusBlockingClient(scoped, paths);
+    }
+
+    /**
+     * Returns a view of this client whose calls all draw from the budget of the given deadline, e.g. to render a
+     * page from several lookups within a latency target.
+     * <p>
+     * Each attempt, retry and hedge of a request waits for its response at most until the deadline, instead of
+     * each getting the full request timeout, and so do the chunks of a lookup of many ids; a call not completed
+     * by then throws an {@link dev.jlynx.openopusjava.exception.OpenOpusDeadlineExceededException} and the
+     * exchange in flight is aborted.
+     * <p>
+     * The view keeps the priority and the tenant of this client and shares its connections, caches, limits and
+     * metrics; closing it has no effect. The lookups of {@code getComposer} and {@code getWorkSummary} are batched
+     * with those of the other views and sent without the deadline, but waiting for them ends at the deadline.
+     *
+     * @param deadline the deadline of the calls of the view
+     * @return a view of this client, or this client if it already has the deadline
+     * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#requestTimeout(java.time.Duration)
+     */
+    public OpenOpusBlockingClient withDeadline(Deadline deadline) {
+        OpenOpusHttpClientProxy bounded = http.withDeadline(deadline);
+        return bounded == http ? this : new OpenOpusBlockingClient(bounded, paths);
+    }
+
+    /**
+     * Returns a live view of the client's counters, e.g. of the hedged requests.
+     */
+    public OpenOpusClientMetrics metrics() {
+        return http.metrics();
+    }
+
+    /**
+     * Closes the underlying {@link java.net.http.HttpClient}.
+     */
+    @Override
+    public void close() {
+        http.closeClient();
+    }
+
+    /**
+     * Retrieves a list of composers whose surnames start with the specified letter.
+     *
+     * @param letter the first letter of the composers' names to filter by; must be an alphabetical letter
+     * @return the {@link ComposersList} of composers
+     * @throws IllegalArgumentException if the {@code letter} parameter is not a letter
+     * @see OpenOpusClient#listComposers(char)
+     */
+    public ComposersList listComposers(char letter) {
+        return get(paths.composersByLetter(letter), ComposersList.class);
+    }
+
+    /**
+     * Retrieves a list of popular composers.
+     *
+     * @return the {@link ComposersList} of composers
+     * @see OpenOpusClient#getPopularComposers()
+     */
+    public ComposersList getPopularComposers() {
+        return get(EndpointPaths.POPULAR_COMPOSERS, ComposersList.class);
+    }
+
+    /**
+     * Retrieves a list of recommended (or "essential") composers.
+     *
+     * @return the {@link ComposersList} of composers
+     * @see OpenOpusClient#getEssentialComposers()
+     */
+    public ComposersList getEssentialComposers() {
+        return get(EndpointPaths.ESSENTIAL_COMPOSERS, ComposersList.class);
+    }
+
+    /**
+     * Retrieves a list of composers who were active in the given musical epoch.
+     *
+     * @param epoch the musical epoch to filter composers by
+     * @return the {@link ComposersList} of composers
+     * @see OpenOpusClient#listComposers(Epoch)
+     */
+    public ComposersList listComposers(Epoch epoch) {
+        return get(paths.composersByEpoch(epoch), ComposersList.class);
+    }
+
+    /**
+     * Streams the composers who were active in the given musical epoch one by one.
+     * <p>
+     * The composers are read from the response as the returned stream is consumed. The stream should be
+     * closed, e.g. with try-with-resources, so that the response is discarded if it isn't consumed to the end.
+     *
+     * @param epoch the musical epoch to filter composers by
+     * @return a sequential {@link Stream} of the composers
+     * @see OpenOpusClient#streamComposers(Epoch)
+     */
+    public Stream<Composer> streamComposers(Epoch epoch) {
+        return PublisherIterator.stream(http.streamGetOpenOpus(paths.composersByEpoch(epoch), "composers", Composer.class),
+                STREAM_PREFETCH);
+    }
+
+    /**
+     * Searches for composers based on a given name or keyword.
+     *
+     * @param searchString the name or keyword to search for composers; it will be sanitized
+     * @return the {@link ComposersList} of matching composers
+     * @throws IllegalArgumentException if the searchString is null or empty after sanitization
+     * @see OpenOpusClient#searchComposers(String)
+     */
+    public ComposersList searchComposers(String searchString) {
+        return get(paths.composerSearch(searchString), ComposersList.class);
+    }
+
+    /**
+     * Retrieves a list of composers based on their unique IDs.
+     *
+     * @param ids the unique IDs of composers; each must be greater than zero
+     * @return the {@link ComposersList} of composers
+     * @throws IllegalArgumentException if any composer ID in the {@code ids} list is less than 1
+     * @see OpenOpusClient#listComposers(List)
+     */
+    public ComposersList listComposers(List<Integer> ids) {
+        EndpointPaths.checkComposerIds(ids);
+        return await(ByIdRequests.listComposers(http, ids)).body();
+    }
+
+    /**
+     * Retrieves a single composer by their unique ID.
+     *
+     * @param id the unique ID of the composer; must be greater than zero
+     * @return the {@code Composer}
+     * @throws IllegalArgumentException if the {@code id} is less than 1
+     * @throws dev.jlynx.openopusjava.exception.OpenOpusErrorException if the Open Opus API doesn't know the composer
+     * @see OpenOpusClient#getComposer(int)
+     */
+    public Composer getComposer(int id) {
+        EndpointPaths.checkComposerId(id);
+        return await(http.withinDeadline(http.composerLoader().load(id), "composer " + id));
+    }
+
+    /**
+     * Retrieves a list of musical genres associated with a specific composer.
+     *
+     * @param composerId the unique ID of the composer; must be greater than zero
+     * @return the {@link GenresList}
+     * @throws IllegalArgumentException if the {@code composerId} is less than 1
+     * @see OpenOpusClient#listGenres(int)
+     */
+    public GenresList listGenres(int composerId) {
+        return get(paths.genres(composerId), GenresList.class);
+    }
+
+    /**
+     * Retrieves a list of musical works by a specific composer.
+     *
+     * @param composerId the unique ID of the composer; must be greater than zero
+     * @return the {@link WorksList}
+     * @throws IllegalArgumentException if the {@code composerId} is less than 1
+     * @see OpenOpusClient#listWorks(int)
+     */
+    public WorksList listWorks(int composerId) {
+        return get(paths.works(composerId), WorksList.class);
+    }
+
+    /**
+     * Streams all works of the composer with the given id one by one.
+     * <p>
+     * The works are read from the response as the returned stream is consumed. The stream should be
+     * closed, e.g. with try-with-resources, so that the response is discarded if it isn't consumed to the end.
+     *
+     * @param composerId the unique identifier of the composer; must be greater than zero
+     * @return a sequential {@link Stream} of the works
+     * @throws IllegalArgumentException if {@code composerId} is less than one
+     * @see OpenOpusClient#streamWorks(int)
+     */
+    public Stream<Work> streamWorks(int composerId) {
+        return PublisherIterator.stream(http.streamGetOpenOpus(paths.works(composerId), "works", Work.class),
+                STREAM_PREFETCH);
+    }
+
+    /**
+     * Retrieves a list of musical works by a specific composer and genre.
+     *
+     * @param composerId the unique ID of the composer; must be greater than zero
+     * @param genre the genre to filter the composer's works
+     * @return the {@link WorksList}
+     * @throws IllegalArgumentException if the {@code composerId} is less than 1
+     * @see OpenOpusClient#listWorks(int, Genre)
+     */
+    public WorksList listWorks(int composerId, Genre genre) {
+        return get(paths.works(composerId, genre), WorksList.class);
+    }
+
+    /**
+     * Searches for musical works by a specific composer based on a search string.
+     *
+     * @param searchString the search term to match against the composer's works; it will be sanitized
+     * @param composerId the unique ID of the composer; must be greater than zero
+     * @return the {@link WorksList}
+     * @throws IllegalArgumentException if the {@code composerId} is less than 1 or if the sanitized
+     *                                  {@code searchString} is empty
+     * @see OpenOpusClient#searchWorks(String, int)
+     */
+    public WorksList searchWorks(String searchString, int composerId) {
+        return get(paths.workSearch(searchString, composerId), WorksList.class);
+    }
+
+    /**
+     * Searches for musical works by a specific composer within a specified genre based on a search string.
+     *
+     * @param searchString the search term to match against the composer's works; it will be sanitized
+     * @param composerId the unique ID of the composer; must be greater than zero
+     * @param genre the genre to filter the composer's works
+     * @return the {@link WorksList}
+     * @throws IllegalArgumentException if the {@code composerId} is less than 1 or if the sanitized
+     *                                  {@code searchString} is empty
+     * @see OpenOpusClient#searchWorks(String, int, Genre)
+     */
+    public WorksList searchWorks(String searchString, int composerId, Genre genre) {
+        return get(paths.workSearch(searchString, composerId, genre), WorksList.class);
+    }
+
+    /**
+     * Retrieves detailed information about a specific musical work.
+     *
+     * @param workId the unique ID of the musical work; must be greater than zero
+     * @return the {@link WorkDetailResponse}
+     * @throws IllegalArgumentException if the {@code workId} is less than 1
+     * @see OpenOpusClient#getWorkDetails(int)
+     */
+    public WorkDetailResponse getWorkDetails(int workId) {
+        return get(paths.workDetail(workId), WorkDetailResponse.class);
+    }
+
+    /**
+     * Retrieves a list of musical works based on their unique IDs.
+     *
+     * @param workIds the unique IDs of musical works; each must be greater than zero
+     * @return the {@link ListWorksByIdResponse}
+     * @throws IllegalArgumentException if any work ID in the {@code workIds} list is less than 1
+     * @see OpenOpusClient#listWorks(List)
+     */
+    public ListWorksByIdResponse listWorks(List<Integer> workIds) {
+        EndpointPaths.checkWorkIds(workIds);
+        return await(ByIdRequests.listWorks(http, workIds)).body();
+    }
+
+    /**
+     * Retrieves a single work, together with its composer, by its unique ID.
+     *
+     * @param workId the unique ID of the work; must be greater than zero
+     * @return the {@code WorkSummary}
+     * @throws IllegalArgumentException if the {@code workId} is less than 1
+     * @throws dev.jlynx.openopusjava.exception.OpenOpusErrorException if the Open Opus API doesn't know the work
+     * @see OpenOpusClient#getWorkSummary(int)
+     */
+    public WorkSummary getWorkSummary(int workId) {
+        EndpointPaths.checkWorkId(workId);
+        return await(http.withinDeadline(http.workLoader().load(workId), "work " + workId));
+    }
+
+    /**
+     * Retrieves a randomized list of musical works based on specified criteria.
+     *
+     * @param criteria the optional filters to apply when retrieving random works
+     * @return the {@link RandomWorks}
+     * @throws IllegalArgumentException if the request URL is longer than {@link OpenOpusClientOptions#getMaxUrlLength()}
+     * @see OpenOpusClient#listRandomWorks(RandomWorksCriteria)
+     */
+    public RandomWorks listRandomWorks(RandomWorksCriteria criteria) {
+        return get(paths.randomWorks(criteria), RandomWorks.class);
+    }
+
+    /**
+     * Performs a comprehensive search across both works and composers based on a search term.
+     *
+     * @param search the search term; it will be sanitized
+     * @param offset the starting point for paginated results; must be zero or greater
+     * @return the {@link OmnisearchResponse}
+     * @throws IllegalArgumentException if {@code offset} is less than zero
+     * @see OpenOpusClient#search(String, int)
+     */
+    public OmnisearchResponse search(String search, int offset) {
+        return get(paths.omnisearch(search, offset), OmnisearchResponse.class);
+    }
+
+    /**
+     * Retrieves the roles of specified performers.
+     *
+     * @param performers the names of performers whose roles are to be retrieved; must not be empty
+     * @return the {@link PerformerRolesResponse}
+     * @throws IllegalArgumentException if the {@code performers} list is empty
+     * @throws OpenOpusException if there is an error serializing the {@code performers} list to JSON format
+     * @see OpenOpusClient#listPerformerRoles(List)
+     */
+    public PerformerRolesResponse listPerformerRoles(List<String> performers) {
+        return get(paths.performerRoles(performers), PerformerRolesResponse.class);
+    }
+
+    private <T extends OpenOpusResponse> T get(String uriPath, Class<T> responseBodyType) {
+        try {
+            return http.sendGetOpenOpus(uriPath, responseBodyType).body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return OpenOpusHttpClientProxy.await(future);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    private static OpenOpusException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new OpenOpusException("Interrupted while waiting for the response", e);
+    }
+}
@@ -1,23 +1,23 @@
 package dev.jlynx.openopusjava;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.jlynx.openopusjava.exception.OpenOpusException;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
 import dev.jlynx.openopusjava.internal.util.SpaceEncoder;
 import dev.jlynx.openopusjava.internal.util.StringSanitizer;
+import dev.jlynx.openopusjava.metrics.OpenOpusClientMetrics;
 import dev.jlynx.openopusjava.request.RandomWorksCriteria;
 import dev.jlynx.openopusjava.response.body.*;
+import dev.jlynx.openopusjava.response.stream.ResponseStream;
+import dev.jlynx.openopusjava.response.subtype.Composer;
 import dev.jlynx.openopusjava.response.subtype.Epoch;
 import dev.jlynx.openopusjava.response.subtype.Genre;
-import dev.jlynx.openopusjava.internal.util.UrlSearchParams;
+import dev.jlynx.openopusjava.response.subtype.Work;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
 
-import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * The main entry point to the asynchronous Open Opus API client.
@@ -30,34 +30,112 @@ import java.util.stream.Collectors;
  */
 public class OpenOpusClient implements AutoCloseable {
 
+    /**
+     * The tenant on whose behalf a client makes its calls unless it's a view made by {@link #forTenant(String)}.
+     */
+    public static final String DEFAULT_TENANT = "default";
+
     private static final String BASE_URL = "https://api.openopus.org";
     private static final String BASE_URL_DYN = "https://dynapi.openopus.org";
 
     private final OpenOpusHttpClientProxy http;
-    private final SpaceEncoder spaceEncoder;
-    private final StringSanitizer sanitizer;
-    private final OpenOpusClientOptions options;
+    private final EndpointPaths paths;
 
     // todo: make this constructor call this(OpenOpusClientOptions.withDefaults()); ?
     public OpenOpusClient() {
-        options = OpenOpusClientOptions.withDefaults();
+        OpenOpusClientOptions options = OpenOpusClientOptions.withDefaults();
         http = new OpenOpusHttpClientProxy(options);
-        spaceEncoder = new SpaceEncoder();
-        sanitizer = new StringSanitizer();
+        paths = new EndpointPaths(new SpaceEncoder(), new StringSanitizer(), options);
     }
 
     public OpenOpusClient(OpenOpusClientOptions options) {
-        this.options = options;
         http = new OpenOpusHttpClientProxy(options);
-        spaceEncoder = new SpaceEncoder();
-        sanitizer = new StringSanitizer();
+        paths = new EndpointPaths(new SpaceEncoder(), new StringSanitizer(), options);
+        if (options.isCodecWarmUp()) {
+            JsonCodecRegistry.getInstance().warmUp();
+        }
     }
 
     OpenOpusClient(HttpClient httpClient, SpaceEncoder spaceEncoder, StringSanitizer sanitizer) {
-        options = OpenOpusClientOptions.withDefaults();
+        OpenOpusClientOptions options = OpenOpusClientOptions.withDefaults();
         this.http = new OpenOpusHttpClientProxy(options, httpClient);
-        this.spaceEncoder = spaceEncoder;
-        this.sanitizer = sanitizer;
+        this.paths = new EndpointPaths(spaceEncoder, sanitizer, options);
+    }
+
+    private OpenOpusClient(OpenOpusHttpClientProxy http, EndpointPaths paths) {
+        this.http = http;
+        this.paths = paths;
+    }
+
+    /**
+     * Returns a view of this client sending its requests with the given priority, e.g. {@link Priority#BACKGROUND}
+     * for crawls and prefetching that shouldn't hold up user-facing lookups.
+     * <p>
+     * The priority decides which waiting request gets the next free slot of the concurrency limit, see
+     * {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#backgroundShare(double)}. It has no effect unless
+     * {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#adaptiveConcurrencyLimit(int, int, int)} is set:
+     * the waits for the rate limit and for the turn of the tenant keep the order of the requests, whatever their
+     * priority.
+     * <p>
+     * The view shares the connections, caches, limits and metrics of this client; closing it has no effect and it
+     * stops working when this client is closed. The lookups of {@code getComposer} and {@code getWorkSummary} are
+     * batched with those of all the views and sent with the priority of the client that was constructed.
+     *
+     * @param priority the priority of the requests of the view
+     * @return a view of this client, or this client if it already has the priority
+     */
+    public OpenOpusClient withPriority(Priority priority) {
+        OpenOpusHttpClientProxy prioritized = http.withPriority(priority);
+        return prioritized == http ? this : new OpenOpusClient(prioritized, paths);
+    }
+
+    /**
+     * Returns a view of this client making its calls on behalf of the given tenant, e.g. one user or one service
+     * sharing the client with others.
+     * <p>
+     * The tenant decides in which queue a call waits for its turn and whose share it counts against, see
+     * {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#tenantScheduling(int, int)}; the calls of this
+     * client are made on behalf of {@value OpenOpusClient#DEFAULT_TENANT} unless it's a view of another tenant.
+     * The view keeps the priority of this client and shares its connections, caches, limits and metrics; closing
+     * it has no effect. The lookups of {@code getComposer} and {@code getWorkSummary} are made on behalf of the
+     * tenant of the client that was constructed.
+     *
+     * @param tenant the key of the tenant
+     * @return a view of this client, or this client if it already makes its calls on behalf of the tenant
+     */
+    public OpenOpusClient forTenant(String tenant) {
+        OpenOpusHttpClientProxy scoped = http.forTenant(tenant);
+        return scoped == http ? this : new OpenOpusClient(scoped, paths);
+    }
+
+    /**
+     * Returns a view of this client whose calls all draw from the budget of the given deadline, e.g. to render a
+     * page from several lookups within a latency target.
+     * <p>
+     * Each attempt, retry and hedge of a request waits for its response at most until the deadline, instead of
+     * each getting the full request timeout, and so do the chunks of a lookup of many ids; the future of a call
+     * not completed by then fails with an
+     * {@link dev.jlynx.openopusjava.exception.OpenOpusDeadlineExceededException} and the exchange in flight is
+     * aborted. Cancelling the future of a call aborts its exchange too.
+     * <p>
+     * The view keeps the priority and the tenant of this client and shares its connections, caches, limits and
+     * metrics; closing it has no effect. The lookups of {@code getComposer} and {@code getWorkSummary} are batched
+     * with those of the other views and sent without the deadline, but waiting for them ends at the deadline.
+     *
+     * @param deadline the deadline of the calls of the view
+     * @return a view of this client, or this client if it already has the deadline
+     * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#requestTimeout(java.time.Duration)
+     */
+    public OpenOpusClient withDeadline(Deadline deadline) {
+        OpenOpusHttpClientProxy bounded = http.withDeadline(deadline);
+        return bounded == http ? this : new OpenOpusClient(bounded, paths);
+    }
+
+    /**
+     * Returns a live view of the client's counters, e.g. of the hedged requests.
+     */
+    public OpenOpusClientMetrics metrics() {
+        return http.metrics();
     }
 
     /**
@@ -81,11 +159,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ComposersList>> listComposers(char letter) {
-        if (!Character.isLetter(letter)) {
-            throw new IllegalArgumentException("The 'letter' parameter should be a letter");
-        }
-        String uri = "/composer/list/name/" + letter + ".json";
-        return http.sendAsyncGetOpenOpus(uri, ComposersList.class);
+        return http.sendAsyncGetOpenOpus(paths.composersByLetter(letter), ComposersList.class);
     }
 
     /**
@@ -98,7 +172,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ComposersList>> getPopularComposers() {
-        return http.sendAsyncGetOpenOpus("/composer/list/pop.json", ComposersList.class);
+        return http.sendAsyncGetOpenOpus(EndpointPaths.POPULAR_COMPOSERS, ComposersList.class);
     }
 
     /**
@@ -111,7 +185,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ComposersList>> getEssentialComposers() {
-        return http.sendAsyncGetOpenOpus("/composer/list/rec.json", ComposersList.class);
+        return http.sendAsyncGetOpenOpus(EndpointPaths.ESSENTIAL_COMPOSERS, ComposersList.class);
     }
 
     /**
@@ -126,8 +200,22 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ComposersList>> listComposers(Epoch epoch) {
-        String uri = "/composer/list/epoch/" + spaceEncoder.encode(epoch.getValue()) + ".json";
-        return http.sendAsyncGetOpenOpus(uri, ComposersList.class);
+        return http.sendAsyncGetOpenOpus(paths.composersByEpoch(epoch), ComposersList.class);
+    }
+
+    /**
+     * Streams the composers who were active in the given musical epoch one by one.
+     * <p>
+     * Unlike {@link #listComposers(Epoch)}, the list isn't materialized: each {@link Composer} is published
+     * as soon as it's parsed, and the response is received only as fast as the subscriber requests composers.
+     * The request is sent when the returned stream gets its subscriber.
+     * </p>
+     * @param epoch the musical epoch to filter composers by
+     * @return a {@link ResponseStream} of the composers; it signals an
+     *         {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException} if the Open Opus API returns a status error
+     */
+    public ResponseStream<Composer> streamComposers(Epoch epoch) {
+        return http.streamGetOpenOpus(paths.composersByEpoch(epoch), "composers", Composer.class);
     }
 
     /**
@@ -145,13 +233,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ComposersList>> searchComposers(String searchString) {
-        searchString = sanitizer.sanitize(searchString);
-        if (searchString.isEmpty()) {
-            throw new IllegalArgumentException("The 'searchString' is null or empty after sanitization.");
-        }
-        searchString = spaceEncoder.encode(searchString);
-        String uri = "/composer/list/search/" + searchString + ".json";
-        return http.sendAsyncGetOpenOpus(uri, ComposersList.class);
+        return http.sendAsyncGetOpenOpus(paths.composerSearch(searchString), ComposersList.class);
     }
 
     /**
@@ -161,6 +243,10 @@ public class OpenOpusClient implements AutoCloseable {
      * to fetch the list of composers. If any ID in the provided list is less than 1, an {@code IllegalArgumentException}
      * is thrown.
      * </p>
+     * <p>
+     * A list of IDs too long for one request URL is split into several requests whose results are merged into
+     * one response, see {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#idChunking}.
+     * </p>
      *
      * @param ids A {@code List} of {@code Integer} values representing the unique IDs of composers.
      *            Each ID must be greater than zero.
@@ -169,14 +255,27 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ComposersList>> listComposers(List<Integer> ids) {
-        if (ids.stream().anyMatch(i -> i < 1)) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        String urlIds = ids.stream()
-                .map(Object::toString)
-                .collect(Collectors.joining(","));
-        String uri = "/composer/list/ids/" + urlIds + ".json";
-        return http.sendAsyncGetOpenOpus(uri, ComposersList.class);
+        EndpointPaths.checkComposerIds(ids);
+        return ByIdRequests.listComposers(http, ids);
+    }
+
+    /**
+     * Asynchronously retrieves a single composer by their unique ID.
+     * <p>
+     * The lookups made by all threads within a short window are sent together as one "list composers by ID"
+     * request, see {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#idBatching}. Each returned
+     * future completes with its own composer.
+     * </p>
+     *
+     * @param id the unique ID of the composer; must be greater than zero
+     * @return A {@code CompletableFuture} containing the {@code Composer}
+     * @throws IllegalArgumentException if the {@code id} is less than 1
+     * @throws java.util.concurrent.CompletionException with an {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException}
+     *         if the Open Opus API doesn't know the composer
+     */
+    public CompletableFuture<Composer> getComposer(int id) {
+        EndpointPaths.checkComposerId(id);
+        return http.withinDeadline(http.composerLoader().load(id), "composer " + id);
     }
 
     /**
@@ -196,11 +295,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @see Genre
      */
     public CompletableFuture<HttpResponse<GenresList>> listGenres(int composerId) {
-        if (composerId < 1) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        String uri = "/genre/list/composer/" + composerId + ".json";
-        return http.sendAsyncGetOpenOpus(uri, GenresList.class);
+        return http.sendAsyncGetOpenOpus(paths.genres(composerId), GenresList.class);
     }
 
     /**
@@ -218,11 +313,25 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<WorksList>> listWorks(int composerId) {
-        if (composerId < 1) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        String uri = "/work/list/composer/" + composerId + "/genre/all.json";
-        return http.sendAsyncGetOpenOpus(uri, WorksList.class);
+        return http.sendAsyncGetOpenOpus(paths.works(composerId), WorksList.class);
+    }
+
+    /**
+     * Streams all works of the composer with the given id one by one.
+     * <p>
+     * Unlike {@link #listWorks(int)}, the list isn't materialized: each {@link Work} is published as soon
+     * as it's parsed, and the response is received only as fast as the subscriber requests works. The composer
+     * object of the response is available through {@link ResponseStream#composer()}. The request is sent when
+     * the returned stream gets its subscriber.
+     * </p>
+     *
+     * @param composerId the unique identifier of the composer; must be greater than zero
+     * @return a {@link ResponseStream} of the works; it signals an
+     *         {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException} if the Open Opus API returns a status error
+     * @throws IllegalArgumentException if {@code composerId} is less than one
+     */
+    public ResponseStream<Work> streamWorks(int composerId) {
+        return http.streamGetOpenOpus(paths.works(composerId), "works", Work.class);
     }
 
     /**
@@ -241,11 +350,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<WorksList>> listWorks(int composerId, Genre genre) {
-        if (composerId < 1) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        String uri = String.format("/work/list/composer/%d/genre/%s.json", composerId, genre.getValue());
-        return http.sendAsyncGetOpenOpus(uri, WorksList.class);
+        return http.sendAsyncGetOpenOpus(paths.works(composerId, genre), WorksList.class);
     }
 
     /**
@@ -266,15 +371,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<WorksList>> searchWorks(String searchString, int composerId) {
-        if (composerId < 1) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        searchString = sanitizer.sanitize(searchString);
-        if (searchString.isEmpty()) {
-            throw new IllegalArgumentException("The searchString is null or empty after sanitization..");
-        }
-        String uri = String.format("/work/list/composer/%d/genre/all/search/%s.json", composerId, spaceEncoder.encode(searchString));
-        return http.sendAsyncGetOpenOpus(uri, WorksList.class);
+        return http.sendAsyncGetOpenOpus(paths.workSearch(searchString, composerId), WorksList.class);
     }
 
     /**
@@ -295,16 +392,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<WorksList>> searchWorks(String searchString, int composerId, Genre genre) {
-        if (composerId < 1) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        searchString = sanitizer.sanitize(searchString);
-        if (searchString.isEmpty()) {
-            throw new IllegalArgumentException("The searchString is null or empty after sanitization..");
-        }
-        String uri = String.format("/work/list/composer/%d/genre/%s/search/%s.json", composerId,
-                spaceEncoder.encode(genre.getValue()), spaceEncoder.encode(searchString));
-        return http.sendAsyncGetOpenOpus(uri, WorksList.class);
+        return http.sendAsyncGetOpenOpus(paths.workSearch(searchString, composerId, genre), WorksList.class);
     }
 
     /**
@@ -322,11 +410,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<WorkDetailResponse>> getWorkDetails(int workId) {
-        if (workId < 1) {
-            throw new IllegalArgumentException("Composer id cannot be less than one.");
-        }
-        String uri = String.format("/work/detail/%d.json", workId);
-        return http.sendAsyncGetOpenOpus(uri, WorkDetailResponse.class);
+        return http.sendAsyncGetOpenOpus(paths.workDetail(workId), WorkDetailResponse.class);
     }
 
     /**
@@ -336,6 +420,10 @@ public class OpenOpusClient implements AutoCloseable {
      * to fetch details about each work. If any ID in the provided list is less than 1, an {@code IllegalArgumentException}
      * is thrown.
      * </p>
+     * <p>
+     * A list of IDs too long for one request URL is split into several requests whose results, and their
+     * abstract, are merged into one response, see {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#idChunking}.
+     * </p>
      *
      * @param workIds A {@code List} of numbers representing the unique IDs of musical works.
      *                Each ID must be greater than zero.
@@ -344,16 +432,27 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<ListWorksByIdResponse>> listWorks(List<Integer> workIds) {
-        workIds.forEach(id -> {
-            if (id < 1) {
-                throw new IllegalArgumentException("Work ID cannot be less than one.");
-            }
-        });
-        String urlIds = workIds.stream()
-                .map(Object::toString)
-                .collect(Collectors.joining(","));
-        String uri = "/work/list/ids/" + urlIds + ".json";
-        return http.sendAsyncGetOpenOpus(uri, ListWorksByIdResponse.class);
+        EndpointPaths.checkWorkIds(workIds);
+        return ByIdRequests.listWorks(http, workIds);
+    }
+
+    /**
+     * Asynchronously retrieves a single work, with its composer, by its unique ID.
+     * <p>
+     * The lookups made by all threads within a short window are sent together as one "list works by ID"
+     * request, see {@link OpenOpusClientOptions.OpenOpusClientOptionsBuilder#idBatching}. Each returned
+     * future completes with its own work.
+     * </p>
+     *
+     * @param workId the unique ID of the work; must be greater than zero
+     * @return A {@code CompletableFuture} containing the {@code WorkSummary}
+     * @throws IllegalArgumentException if the {@code workId} is less than 1
+     * @throws java.util.concurrent.CompletionException with an {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException}
+     *         if the Open Opus API doesn't know the work
+     */
+    public CompletableFuture<WorkSummary> getWorkSummary(int workId) {
+        EndpointPaths.checkWorkId(workId);
+        return http.withinDeadline(http.workLoader().load(workId), "work " + workId);
     }
 
     /**
@@ -367,53 +466,15 @@ public class OpenOpusClient implements AutoCloseable {
      *
      * @param criteria A {@code RandomWorksCriteria} object containing optional filters to apply when retrieving random works.
      * @return A {@code CompletableFuture} containing an {@code HttpResponse} with a {@code RandomWorks} as the response body.
+     * @throws IllegalArgumentException if the request URL is longer than {@link OpenOpusClientOptions#getMaxUrlLength()};
+     *                                  unlike requests by ids, it can't be split because the works are sampled
+     *                                  from all the given ids at once
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      *
      * @see RandomWorksCriteria
      */
     public CompletableFuture<HttpResponse<RandomWorks>> listRandomWorks(RandomWorksCriteria criteria) {
-        UrlSearchParams params = new UrlSearchParams();
-        if (criteria.getPopularWork().isPresent()) {
-            params.addParam("popularwork", criteria.getPopularWork().get() ? "1" : "0");
-        }
-        if (criteria.getRecommendedWork().isPresent()) {
-            params.addParam("recommendedwork", criteria.getRecommendedWork().get() ? "1" : "0");
-        }
-        if (criteria.getPopularComposer().isPresent()) {
-            params.addParam("popularcomposer", criteria.getPopularComposer().get() ? "1" : "0");
-        }
-        if (criteria.getRecommendedComposer().isPresent()) {
-            params.addParam("recommendedcomposer", criteria.getRecommendedComposer().get() ? "1" : "0");
-        }
-        if (criteria.getGenre().isPresent()) {
-            params.addParam("genre", criteria.getGenre().get().getValue());
-        }
-        if (criteria.getEpoch().isPresent()) {
-            params.addParam("epoch", criteria.getEpoch().get().getValue());
-        }
-        if (criteria.getComposer().isPresent()) {
-            String ids = criteria.getComposer().get()
-                    .stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
-            params.addParam("composer", ids);
-        }
-        if (criteria.getComposerNot().isPresent()) {
-            String ids = criteria.getComposerNot().get()
-                    .stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
-            params.addParam("composer_not", ids);
-        }
-        if (criteria.getWork().isPresent()) {
-            String ids = criteria.getWork().get()
-                    .stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
-            params.addParam("work", ids);
-        }
-        String uri = "/dyn/work/random" + params.asString();
-        return http.sendAsyncGetOpenOpus(uri, RandomWorks.class);
+        return http.sendAsyncGetOpenOpus(paths.randomWorks(criteria), RandomWorks.class);
     }
 
     /**
@@ -434,16 +495,7 @@ public class OpenOpusClient implements AutoCloseable {
      * @see OmnisearchResponse
      */
     public CompletableFuture<HttpResponse<OmnisearchResponse>> search(String search, int offset) {
-        if (offset < 0) {
-            throw new IllegalArgumentException("'offset' parameter cannot be less than zero.");
-        }
-        search = sanitizer.sanitize(search);
-        if (search.isEmpty()) {
-            throw new IllegalArgumentException("The 'search' parameter is empty after sanitization.");
-        }
-        search = spaceEncoder.encode(search);
-        String uri = String.format("/omnisearch/%s/%d.json", search, offset);
-        return http.sendAsyncGetOpenOpus(uri, OmnisearchResponse.class);
+        return http.sendAsyncGetOpenOpus(paths.omnisearch(search, offset), OmnisearchResponse.class);
     }
 
     /**
@@ -463,21 +515,6 @@ public class OpenOpusClient implements AutoCloseable {
      * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
      */
     public CompletableFuture<HttpResponse<PerformerRolesResponse>> listPerformerRoles(List<String> performers) {
-        if (performers.isEmpty()) {
-            throw new IllegalArgumentException("'performers' list cannot be empty");
-        }
-        performers = performers.stream()
-                .map(sanitizer::sanitize)
-                .toList();
-        ObjectMapper mapper = new ObjectMapper();
-        String performersJson;
-        try {
-            performersJson = mapper.writeValueAsString(performers);
-        } catch (JsonProcessingException e) {
-            throw new OpenOpusException(e);
-        }
-        performersJson = URLEncoder.encode(performersJson, StandardCharsets.UTF_8);
-        String uri = "/dyn/performer/list?names=" + performersJson;
-        return http.sendAsyncGetOpenOpus(uri, PerformerRolesResponse.class);
+        return http.sendAsyncGetOpenOpus(paths.performerRoles(performers), PerformerRolesResponse.class);
     }
 }
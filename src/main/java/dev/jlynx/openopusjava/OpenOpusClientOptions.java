@@ -1,5 +1,17 @@
 package dev.jlynx.openopusjava;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
 /**
  * Contains a set of options to adjust the {@link OpenOpusClient}.
  *
@@ -17,11 +29,119 @@ public class OpenOpusClientOptions {
 
     private final boolean logging;
     private final int maxRetries;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final double retryBudgetRatio;
+    private final int retryBudgetMinPerSecond;
+    private final Set<Endpoint> nonIdempotentEndpoints;
+    private final Duration hedgeDelay;
+    private final boolean hedgeAfterObservedP95;
+    private final double maxHedgeRatio;
+    private final boolean requestCoalescing;
+    private final long cacheMaxBytes;
+    private final Map<Endpoint, Duration> cacheTtls;
+    private final boolean conditionalRevalidation;
+    private final Duration cacheStaleWhileRevalidate;
+    private final double cacheEarlyRefreshBeta;
+    private final int negativeCacheMaxEntries;
+    private final Path diskCacheDirectory;
+    private final long diskCacheMaxBytes;
+    private final Duration negativeCacheTtl;
+    private final int entityStoreMaxEntities;
+    private final Duration entityTtl;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final int maxUrlLength;
+    private final int maxParallelChunks;
+    private final int concurrencyInitialLimit;
+    private final int concurrencyMaxLimit;
+    private final int concurrencyMaxQueued;
+    private final double backgroundShare;
+    private final int tenantMaxInFlight;
+    private final int tenantMaxQueued;
+    private final Map<String, TenantShare> tenantShares;
+    private final RateLimit rateLimit;
+    private final Map<Endpoint, RateLimit> endpointRateLimits;
+    private final Duration rateLimitMaxWait;
+    private final double circuitFailureRateThreshold;
+    private final int circuitWindowSize;
+    private final Duration circuitOpenDuration;
+    private final Duration circuitSlowCallDuration;
+    private final double circuitSlowCallRateThreshold;
+    private final int circuitProbes;
+    private final boolean circuitBreakerPerEndpoint;
+    private final boolean cacheFallbackWhileCircuitOpen;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final Map<Endpoint, Duration> endpointRequestTimeouts;
+    private final boolean virtualThreadExecutor;
+    private final Executor ioExecutor;
+    private final Executor decodingExecutor;
+    private final int decodingParallelism;
+    private final long decodingMinBodyBytes;
+    private final boolean codecWarmUp;
+    private final ParsingMode parsingMode;
+    private final DecodingMode decodingMode;
+    private final String baseUrl;
 
 
-    private OpenOpusClientOptions(boolean logging, int maxRetries) {
-        this.logging = logging;
-        this.maxRetries = maxRetries;
+    private OpenOpusClientOptions(OpenOpusClientOptionsBuilder builder) {
+        this.logging = builder.logging;
+        this.maxRetries = builder.maxRetries;
+        this.retryBaseDelay = builder.retryBaseDelay;
+        this.retryMaxDelay = builder.retryMaxDelay;
+        this.retryBudgetRatio = builder.retryBudgetRatio;
+        this.retryBudgetMinPerSecond = builder.retryBudgetMinPerSecond;
+        this.nonIdempotentEndpoints = Collections.unmodifiableSet(EnumSet.copyOf(builder.nonIdempotentEndpoints));
+        this.hedgeDelay = builder.hedgeDelay;
+        this.hedgeAfterObservedP95 = builder.hedgeAfterObservedP95;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.requestCoalescing = builder.requestCoalescing;
+        this.cacheMaxBytes = builder.cacheMaxBytes;
+        this.cacheTtls = Collections.unmodifiableMap(new EnumMap<>(builder.cacheTtls));
+        this.conditionalRevalidation = builder.conditionalRevalidation;
+        this.cacheStaleWhileRevalidate = builder.cacheStaleWhileRevalidate;
+        this.cacheEarlyRefreshBeta = builder.cacheEarlyRefreshBeta;
+        this.negativeCacheMaxEntries = builder.negativeCacheMaxEntries;
+        this.negativeCacheTtl = builder.negativeCacheTtl;
+        this.diskCacheDirectory = builder.diskCacheDirectory;
+        this.diskCacheMaxBytes = builder.diskCacheMaxBytes;
+        this.entityStoreMaxEntities = builder.entityStoreMaxEntities;
+        this.entityTtl = builder.entityTtl;
+        this.batchWindow = builder.batchWindow;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxUrlLength = builder.maxUrlLength;
+        this.maxParallelChunks = builder.maxParallelChunks;
+        this.concurrencyInitialLimit = builder.concurrencyInitialLimit;
+        this.concurrencyMaxLimit = builder.concurrencyMaxLimit;
+        this.concurrencyMaxQueued = builder.concurrencyMaxQueued;
+        this.backgroundShare = builder.backgroundShare;
+        this.tenantMaxInFlight = builder.tenantMaxInFlight;
+        this.tenantMaxQueued = builder.tenantMaxQueued;
+        this.tenantShares = Map.copyOf(builder.tenantShares);
+        this.rateLimit = builder.rateLimit;
+        this.endpointRateLimits = Collections.unmodifiableMap(new EnumMap<>(builder.endpointRateLimits));
+        this.rateLimitMaxWait = builder.rateLimitMaxWait;
+        this.circuitFailureRateThreshold = builder.circuitFailureRateThreshold;
+        this.circuitWindowSize = builder.circuitWindowSize;
+        this.circuitOpenDuration = builder.circuitOpenDuration;
+        this.circuitSlowCallDuration = builder.circuitSlowCallDuration;
+        this.circuitSlowCallRateThreshold = builder.circuitSlowCallRateThreshold;
+        this.circuitProbes = builder.circuitProbes;
+        this.circuitBreakerPerEndpoint = builder.circuitBreakerPerEndpoint;
+        this.cacheFallbackWhileCircuitOpen = builder.cacheFallbackWhileCircuitOpen;
+        this.connectTimeout = builder.connectTimeout;
+        this.requestTimeout = builder.requestTimeout;
+        this.endpointRequestTimeouts = Collections.unmodifiableMap(new EnumMap<>(builder.endpointRequestTimeouts));
+        this.virtualThreadExecutor = builder.virtualThreadExecutor;
+        this.ioExecutor = builder.ioExecutor;
+        this.decodingExecutor = builder.decodingExecutor;
+        this.decodingParallelism = builder.decodingParallelism;
+        this.decodingMinBodyBytes = builder.decodingMinBodyBytes;
+        this.codecWarmUp = builder.codecWarmUp;
+        this.parsingMode = builder.parsingMode;
+        this.decodingMode = builder.decodingMode;
+        this.baseUrl = builder.baseUrl;
     }
 
     public boolean isLogging() {
@@ -32,6 +152,353 @@ public class OpenOpusClientOptions {
         return maxRetries;
     }
 
+    public Duration getRetryBaseDelay() {
+        return retryBaseDelay;
+    }
+
+    public Duration getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public int getRetryBudgetMinPerSecond() {
+        return retryBudgetMinPerSecond;
+    }
+
+    public Set<Endpoint> getNonIdempotentEndpoints() {
+        return nonIdempotentEndpoints;
+    }
+
+    /**
+     * Returns {@code true} if the requests to the given endpoint may be retried.
+     */
+    public boolean isIdempotent(Endpoint endpoint) {
+        return !nonIdempotentEndpoints.contains(endpoint);
+    }
+
+    /**
+     * Returns the fixed delay after which a slow request is hedged, if hedging after a fixed delay is enabled.
+     */
+    public Optional<Duration> getHedgeDelay() {
+        return Optional.ofNullable(hedgeDelay);
+    }
+
+    public boolean isHedgeAfterObservedP95() {
+        return hedgeAfterObservedP95;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Returns the maximum estimated size of the cached responses in bytes, or {@code 0} if the response
+     * cache is disabled.
+     */
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public Map<Endpoint, Duration> getCacheTtls() {
+        return cacheTtls;
+    }
+
+    /**
+     * Returns how long the responses of the endpoint family stay cached; {@link Duration#ZERO} if they aren't cached.
+     */
+    public Duration getCacheTtl(Endpoint endpoint) {
+        return cacheTtls.getOrDefault(endpoint, Duration.ZERO);
+    }
+
+    /**
+     * Returns {@code true} if the cached responses follow the {@code Cache-Control} of the API and are revalidated
+     * with their {@code ETag} or {@code Last-Modified} once they expire.
+     */
+    public boolean isConditionalRevalidation() {
+        return conditionalRevalidation;
+    }
+
+    /**
+     * Returns how long a cached response is still returned once it's stale, while it's refreshed in the
+     * background; {@link Duration#ZERO} if it isn't.
+     */
+    public Duration getCacheStaleWhileRevalidate() {
+        return cacheStaleWhileRevalidate;
+    }
+
+    /**
+     * Returns how eagerly the cached responses are refreshed in the background before they go stale; {@code 0} if
+     * they aren't.
+     */
+    public double getCacheEarlyRefreshBeta() {
+        return cacheEarlyRefreshBeta;
+    }
+
+    /**
+     * Returns the maximum number of error statuses cached, or {@code 0} if the negative cache is disabled.
+     */
+    public int getNegativeCacheMaxEntries() {
+        return negativeCacheMaxEntries;
+    }
+
+    /**
+     * Returns how long the error statuses stay cached; {@link Duration#ZERO} if the negative cache is disabled.
+     */
+    public Duration getNegativeCacheTtl() {
+        return negativeCacheTtl;
+    }
+
+    /**
+     * Returns the directory of the disk cache; empty if the disk cache is disabled.
+     */
+    public Optional<Path> getDiskCacheDirectory() {
+        return Optional.ofNullable(diskCacheDirectory);
+    }
+
+    /**
+     * Returns the size in bytes from which the disk cache is compacted, or {@code 0} if it's disabled.
+     */
+    public long getDiskCacheMaxBytes() {
+        return diskCacheMaxBytes;
+    }
+
+    /**
+     * Returns the maximum number of composers, and separately of works, the entity store keeps, or {@code 0}
+     * if the entity store is disabled.
+     */
+    public int getEntityStoreMaxEntities() {
+        return entityStoreMaxEntities;
+    }
+
+    public Duration getEntityTtl() {
+        return entityTtl;
+    }
+
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Returns the maximum length of a request URL, base URL included, that requests by ids are split to fit.
+     */
+    public int getMaxUrlLength() {
+        return maxUrlLength;
+    }
+
+    public int getMaxParallelChunks() {
+        return maxParallelChunks;
+    }
+
+    /**
+     * Returns {@code true} if the number of exchanges in flight is limited adaptively.
+     */
+    public boolean isConcurrencyLimited() {
+        return concurrencyInitialLimit > 0;
+    }
+
+    public int getConcurrencyInitialLimit() {
+        return concurrencyInitialLimit;
+    }
+
+    public int getConcurrencyMaxLimit() {
+        return concurrencyMaxLimit;
+    }
+
+    public int getConcurrencyMaxQueued() {
+        return concurrencyMaxQueued;
+    }
+
+    public double getBackgroundShare() {
+        return backgroundShare;
+    }
+
+    /**
+     * Returns {@code true} if the requests of the tenants are scheduled by weighted fair queuing.
+     */
+    public boolean isTenantScheduled() {
+        return tenantMaxInFlight > 0;
+    }
+
+    public int getTenantMaxInFlight() {
+        return tenantMaxInFlight;
+    }
+
+    public int getTenantMaxQueued() {
+        return tenantMaxQueued;
+    }
+
+    /**
+     * Returns the shares of the tenants set explicitly.
+     */
+    public Map<String, TenantShare> getTenantShares() {
+        return tenantShares;
+    }
+
+    /**
+     * Returns the share of the tenant: its own if set, or else a weight of {@code 1} capped only by the total
+     * number of requests in flight.
+     */
+    public TenantShare getTenantShare(String tenant) {
+        TenantShare share = tenantShares.get(tenant);
+        return share != null ? share : new TenantShare(1, Math.max(1, tenantMaxInFlight));
+    }
+
+    /**
+     * Returns the rate limit shared by all endpoint families, if any.
+     */
+    public Optional<RateLimit> getRateLimit() {
+        return Optional.ofNullable(rateLimit);
+    }
+
+    /**
+     * Returns the rate limits of the endpoint families that have their own.
+     */
+    public Map<Endpoint, RateLimit> getEndpointRateLimits() {
+        return endpointRateLimits;
+    }
+
+    /**
+     * Returns the longest a request may wait for its slot in the rate limits before it's rejected.
+     */
+    public Duration getRateLimitMaxWait() {
+        return rateLimitMaxWait;
+    }
+
+    /**
+     * Returns {@code true} if the exchanges go through a circuit breaker.
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return circuitFailureRateThreshold > 0;
+    }
+
+    public double getCircuitFailureRateThreshold() {
+        return circuitFailureRateThreshold;
+    }
+
+    public int getCircuitWindowSize() {
+        return circuitWindowSize;
+    }
+
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    /**
+     * Returns the duration from which an exchange counts as slow for the circuit breaker, if slow exchanges count.
+     */
+    public Optional<Duration> getCircuitSlowCallDuration() {
+        return Optional.ofNullable(circuitSlowCallDuration);
+    }
+
+    public double getCircuitSlowCallRateThreshold() {
+        return circuitSlowCallRateThreshold;
+    }
+
+    public int getCircuitProbes() {
+        return circuitProbes;
+    }
+
+    /**
+     * Returns {@code true} if every endpoint family of a host has a circuit breaker of its own.
+     */
+    public boolean isCircuitBreakerPerEndpoint() {
+        return circuitBreakerPerEndpoint;
+    }
+
+    /**
+     * Returns {@code true} if a request failed by an open circuit is answered with an expired cached response.
+     */
+    public boolean isCacheFallbackWhileCircuitOpen() {
+        return cacheFallbackWhileCircuitOpen;
+    }
+
+    /**
+     * Returns how long the client waits for a connection to be established, if it's limited.
+     */
+    public Optional<Duration> getConnectTimeout() {
+        return Optional.ofNullable(connectTimeout);
+    }
+
+    /**
+     * Returns how long each exchange waits for its response, unless its endpoint family has its own timeout.
+     */
+    public Optional<Duration> getRequestTimeout() {
+        return Optional.ofNullable(requestTimeout);
+    }
+
+    /**
+     * Returns the request timeouts of the endpoint families that have their own.
+     */
+    public Map<Endpoint, Duration> getEndpointRequestTimeouts() {
+        return endpointRequestTimeouts;
+    }
+
+    /**
+     * Returns how long an exchange with the endpoint family waits for its response, if it's limited.
+     */
+    public Optional<Duration> getRequestTimeout(Endpoint endpoint) {
+        return Optional.ofNullable(endpointRequestTimeouts.getOrDefault(endpoint, requestTimeout));
+    }
+
+    public boolean isVirtualThreadExecutor() {
+        return virtualThreadExecutor;
+    }
+
+    /**
+     * Returns the executor of the HTTP exchanges set by the user, if any.
+     */
+    public Optional<Executor> getIoExecutor() {
+        return Optional.ofNullable(ioExecutor);
+    }
+
+    /**
+     * Returns the executor of the large response bodies set by the user, if any.
+     */
+    public Optional<Executor> getDecodingExecutor() {
+        return Optional.ofNullable(decodingExecutor);
+    }
+
+    /**
+     * Returns the number of threads of the client's own decoding pool; zero if it doesn't create one.
+     */
+    public int getDecodingParallelism() {
+        return decodingParallelism;
+    }
+
+    /**
+     * Returns the size from which a response body is decoded on the decoding executor.
+     */
+    public long getDecodingMinBodyBytes() {
+        return decodingMinBodyBytes;
+    }
+
+    public boolean isCodecWarmUp() {
+        return codecWarmUp;
+    }
+
+    public ParsingMode getParsingMode() {
+        return parsingMode;
+    }
+
+    public DecodingMode getDecodingMode() {
+        return decodingMode;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     public static OpenOpusClientOptionsBuilder builder() {
         return new OpenOpusClientOptionsBuilder();
     }
@@ -43,6 +510,31 @@ public class OpenOpusClientOptions {
      * <ul>
      *     <li>{@code logging = false}</li>
      *     <li>{@code maxRetries = 3}</li>
+     *     <li>{@code retryBaseDelay = 100ms}, {@code retryMaxDelay = 5s}</li>
+     *     <li>{@code retryBudgetRatio = 0.2}, {@code retryBudgetMinPerSecond = 10}</li>
+     *     <li>all endpoints idempotent</li>
+     *     <li>no hedging, {@code maxHedgeRatio = 0.1}</li>
+     *     <li>{@code requestCoalescing = true}</li>
+     *     <li>no response cache; once enabled, lists, ids and details are cached for 24 hours, searches for
+     *     1 hour, and random works, performer roles and unknown endpoints aren't cached; no conditional
+     *     revalidation, no stale-while-revalidate and no early refresh</li>
+     *     <li>no negative cache and no disk cache</li>
+     *     <li>no entity store</li>
+     *     <li>{@code batchWindow = 2ms}, {@code maxBatchSize = 50}</li>
+     *     <li>{@code maxUrlLength = 2048}, {@code maxParallelChunks = 4}</li>
+     *     <li>no concurrency limit</li>
+     *     <li>{@code backgroundShare = 0.1}</li>
+     *     <li>no tenant scheduling; once enabled, every tenant has a weight of 1</li>
+     *     <li>no rate limit; once enabled, {@code rateLimitMaxWait = 10s}</li>
+     *     <li>no circuit breaker; once enabled, one per host, slow exchanges not counted, {@code circuitProbes = 3},
+     *     no cache fallback</li>
+     *     <li>{@code connectTimeout = 10s}, {@code requestTimeout = 30s}, no per-family request timeouts</li>
+     *     <li>{@code virtualThreadExecutor = false}</li>
+     *     <li>no I/O executor and no decoding executor</li>
+     *     <li>{@code codecWarmUp = false}</li>
+     *     <li>{@code parsingMode = ParsingMode.BUFFERED}</li>
+     *     <li>{@code decodingMode = DecodingMode.DATABIND}</li>
+     *     <li>{@code baseUrl = "https://api.openopus.org"}</li>
      * </ul>
      * @return a new {@code OpenOpusClientOptions} instance with default settings
      */
@@ -55,10 +547,118 @@ public class OpenOpusClientOptions {
 
         private boolean logging;
         private int maxRetries;
+        private Duration retryBaseDelay;
+        private Duration retryMaxDelay;
+        private double retryBudgetRatio;
+        private int retryBudgetMinPerSecond;
+        private Set<Endpoint> nonIdempotentEndpoints;
+        private Duration hedgeDelay;
+        private boolean hedgeAfterObservedP95;
+        private double maxHedgeRatio;
+        private boolean requestCoalescing;
+        private long cacheMaxBytes;
+        private Map<Endpoint, Duration> cacheTtls;
+        private boolean conditionalRevalidation;
+        private Duration cacheStaleWhileRevalidate;
+        private double cacheEarlyRefreshBeta;
+        private int negativeCacheMaxEntries;
+        private Duration negativeCacheTtl;
+        private Path diskCacheDirectory;
+        private long diskCacheMaxBytes;
+        private int entityStoreMaxEntities;
+        private Duration entityTtl;
+        private Duration batchWindow;
+        private int maxBatchSize;
+        private int maxUrlLength;
+        private int maxParallelChunks;
+        private int concurrencyInitialLimit;
+        private int concurrencyMaxLimit;
+        private int concurrencyMaxQueued;
+        private double backgroundShare;
+        private int tenantMaxInFlight;
+        private int tenantMaxQueued;
+        private Map<String, TenantShare> tenantShares;
+        private RateLimit rateLimit;
+        private Map<Endpoint, RateLimit> endpointRateLimits;
+        private Duration rateLimitMaxWait;
+        private double circuitFailureRateThreshold;
+        private int circuitWindowSize;
+        private Duration circuitOpenDuration;
+        private Duration circuitSlowCallDuration;
+        private double circuitSlowCallRateThreshold;
+        private int circuitProbes;
+        private boolean circuitBreakerPerEndpoint;
+        private boolean cacheFallbackWhileCircuitOpen;
+        private Duration connectTimeout;
+        private Duration requestTimeout;
+        private Map<Endpoint, Duration> endpointRequestTimeouts;
+        private boolean virtualThreadExecutor;
+        private Executor ioExecutor;
+        private Executor decodingExecutor;
+        private int decodingParallelism;
+        private long decodingMinBodyBytes;
+        private boolean codecWarmUp;
+        private ParsingMode parsingMode;
+        private DecodingMode decodingMode;
+        private String baseUrl;
 
         private OpenOpusClientOptionsBuilder() {
             logging = false;
             maxRetries = 3;
+            retryBaseDelay = Duration.ofMillis(100);
+            retryMaxDelay = Duration.ofSeconds(5);
+            retryBudgetRatio = 0.2;
+            retryBudgetMinPerSecond = 10;
+            nonIdempotentEndpoints = EnumSet.noneOf(Endpoint.class);
+            hedgeDelay = null;
+            hedgeAfterObservedP95 = false;
+            maxHedgeRatio = 0.1;
+            requestCoalescing = true;
+            cacheMaxBytes = 0;
+            cacheTtls = defaultCacheTtls();
+            conditionalRevalidation = false;
+            cacheStaleWhileRevalidate = Duration.ZERO;
+            cacheEarlyRefreshBeta = 0;
+            negativeCacheMaxEntries = 0;
+            negativeCacheTtl = Duration.ZERO;
+            diskCacheDirectory = null;
+            diskCacheMaxBytes = 0;
+            entityStoreMaxEntities = 0;
+            entityTtl = Duration.ZERO;
+            batchWindow = Duration.ofMillis(2);
+            maxBatchSize = 50;
+            maxUrlLength = 2048;
+            maxParallelChunks = 4;
+            concurrencyInitialLimit = 0;
+            concurrencyMaxLimit = 0;
+            concurrencyMaxQueued = 0;
+            backgroundShare = 0.1;
+            tenantMaxInFlight = 0;
+            tenantMaxQueued = 0;
+            tenantShares = new HashMap<>();
+            rateLimit = null;
+            endpointRateLimits = new EnumMap<>(Endpoint.class);
+            rateLimitMaxWait = Duration.ofSeconds(10);
+            circuitFailureRateThreshold = 0;
+            circuitWindowSize = 0;
+            circuitOpenDuration = Duration.ZERO;
+            circuitSlowCallDuration = null;
+            circuitSlowCallRateThreshold = 1;
+            circuitProbes = 3;
+            circuitBreakerPerEndpoint = false;
+            cacheFallbackWhileCircuitOpen = false;
+            connectTimeout = Duration.ofSeconds(10);
+            requestTimeout = Duration.ofSeconds(30);
+            endpointRequestTimeouts = new EnumMap<>(Endpoint.class);
+            virtualThreadExecutor = false;
+            ioExecutor = null;
+            decodingExecutor = null;
+            decodingParallelism = 0;
+            decodingMinBodyBytes = 0;
+            codecWarmUp = false;
+            parsingMode = ParsingMode.BUFFERED;
+            decodingMode = DecodingMode.DATABIND;
+            baseUrl = "https://api.openopus.org";
         }
 
         /**
@@ -72,21 +672,817 @@ public class OpenOpusClientOptions {
 
         /**
          * Sets the maximum number of query retries in case of e.g. network errors.
+         * <p>
+         * Connection failures and the transient HTTP statuses ({@code 408}, {@code 425}, {@code 429}
+         * and {@code 5xx} but {@code 501}) are retried; status errors reported by the API in its
+         * response body aren't. Set to {@code 0} to disable retries.
          *
          * @param maxRetries the upper limit for the number of query retries
          * @return this {@code OpenOpusClientOptionsBuilder} object with {@code maxRetires} set
          */
         public OpenOpusClientOptionsBuilder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries cannot be negative");
+            }
             this.maxRetries = maxRetries;
             return this;
         }
 
+        /**
+         * Sets the bounds of the delays between retries.
+         * <p>
+         * Each delay is drawn at random between {@code baseDelay} and three times the previous delay
+         * (decorrelated jitter), and never exceeds {@code maxDelay}. A longer {@code Retry-After} delay
+         * requested by the server takes precedence, up to {@code maxDelay}; a request asked to wait longer
+         * isn't retried but fails at once.
+         *
+         * @param baseDelay the shortest delay before a retry
+         * @param maxDelay the longest delay before a retry
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the retry delays set
+         */
+        public OpenOpusClientOptionsBuilder retryBackoff(Duration baseDelay, Duration maxDelay) {
+            if (baseDelay.isNegative() || baseDelay.isZero() || maxDelay.compareTo(baseDelay) < 0) {
+                throw new IllegalArgumentException("Retry delays must satisfy 0 < baseDelay <= maxDelay");
+            }
+            this.retryBaseDelay = baseDelay;
+            this.retryMaxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Limits the retries to a share of the requests, so that they can't amplify an outage of the API.
+         * <p>
+         * Each request allows {@code ratio} of a retry; besides, {@code minRetriesPerSecond} retries per second
+         * are always allowed. A retry over the budget isn't attempted and the request fails with the last error.
+         *
+         * @param ratio the share of requests that may be retried, between {@code 0} and {@code 1}
+         * @param minRetriesPerSecond the number of retries per second allowed regardless of the ratio
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the retry budget set
+         */
+        public OpenOpusClientOptionsBuilder retryBudget(double ratio, int minRetriesPerSecond) {
+            if (ratio < 0 || ratio > 1 || minRetriesPerSecond < 0) {
+                throw new IllegalArgumentException("Retry budget requires 0 <= ratio <= 1 and minRetriesPerSecond >= 0");
+            }
+            this.retryBudgetRatio = ratio;
+            this.retryBudgetMinPerSecond = minRetriesPerSecond;
+            return this;
+        }
+
+        /**
+         * Marks the requests to the given endpoints as not safe to repeat, so they're never retried.
+         * <p>
+         * All the Open Opus API endpoints are read-only, so they're all treated as idempotent by default.
+         *
+         * @param endpoints the endpoint families whose requests must not be retried
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the endpoints marked
+         */
+        public OpenOpusClientOptionsBuilder nonIdempotent(Endpoint... endpoints) {
+            Collections.addAll(nonIdempotentEndpoints, endpoints);
+            return this;
+        }
+
+        /**
+         * Enables hedged requests: if no response has arrived after {@code delay}, a second, identical
+         * request is sent and the first response of the two is used. The other exchange is cancelled.
+         * <p>
+         * Only the requests to idempotent endpoints are hedged.
+         *
+         * @param delay the time to wait for the response before sending the hedge
+         * @return this {@code OpenOpusClientOptionsBuilder} object with hedging enabled
+         * @see #hedgeAfterObservedP95()
+         * @see #maxHedgeRatio(double)
+         */
+        public OpenOpusClientOptionsBuilder hedgeAfter(Duration delay) {
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("Hedge delay cannot be negative");
+            }
+            this.hedgeDelay = delay;
+            return this;
+        }
+
+        /**
+         * Enables hedged requests sent after the 95th percentile of the response times recently observed
+         * for the same endpoint family. Until enough responses were observed, the {@link #hedgeAfter(Duration)}
+         * delay is used if set, and no hedges are sent otherwise.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with adaptive hedging enabled
+         */
+        public OpenOpusClientOptionsBuilder hedgeAfterObservedP95() {
+            this.hedgeAfterObservedP95 = true;
+            return this;
+        }
+
+        /**
+         * Caps the hedges to a share of the requests, so that a slow API doesn't get twice the load.
+         *
+         * @param ratio the share of requests that may be hedged, between {@code 0} and {@code 1}
+         * @return this {@code OpenOpusClientOptionsBuilder} object with {@code maxHedgeRatio} set
+         */
+        public OpenOpusClientOptionsBuilder maxHedgeRatio(double ratio) {
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("maxHedgeRatio must be between 0 and 1");
+            }
+            this.maxHedgeRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Disables request coalescing.
+         * <p>
+         * By default, concurrent calls that resolve to the same request URI share one exchange and
+         * receive the same deserialized response body. Disable it if the callers modify the returned
+         * objects, or need separate exchanges for any other reason.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with request coalescing disabled
+         */
+        public OpenOpusClientOptionsBuilder withRequestCoalescingDisabled() {
+            requestCoalescing = false;
+            return this;
+        }
+
+        /**
+         * Enables the in-memory response cache.
+         * <p>
+         * The deserialized responses are cached by request URI for the time to live of their endpoint
+         * family, see {@link #cacheTtl(Endpoint, Duration)}. The cache is bounded by the size of the
+         * response bodies as received, and evicts the entries least likely to be requested again.
+         * The cached response objects are shared by all the callers that get them.
+         *
+         * @param maxBytes the maximum size of the cached response bodies in bytes
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the response cache enabled
+         */
+        public OpenOpusClientOptionsBuilder responseCache(long maxBytes) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("Cache size must be positive");
+            }
+            this.cacheMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Sets how long the responses of an endpoint family stay cached.
+         *
+         * @param endpoint the endpoint family
+         * @param ttl the time to live of its responses; {@link Duration#ZERO} not to cache them
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the time to live set
+         */
+        public OpenOpusClientOptionsBuilder cacheTtl(Endpoint endpoint, Duration ttl) {
+            if (ttl.isNegative()) {
+                throw new IllegalArgumentException("Cache TTL cannot be negative");
+            }
+            cacheTtls.put(Objects.requireNonNull(endpoint), ttl);
+            return this;
+        }
+
+        /**
+         * Makes the response cache follow the HTTP caching headers of the API, so that refreshing an expired
+         * response whose content didn't change costs neither its body nor its parsing.
+         * <p>
+         * A response is cached for its {@code Cache-Control: max-age}, less its {@code Age}, instead of the time to
+         * live of its endpoint family, and not at all with {@code no-store}; with {@code no-cache} it's kept only to
+         * be revalidated. Once a cached response with an {@code ETag} or a {@code Last-Modified} header expired,
+         * the next request for it is sent with {@code If-None-Match} or {@code If-Modified-Since}. If the API
+         * answers {@code 304 Not Modified}, the already deserialized response is returned and cached again for the
+         * {@code max-age} of the {@code 304}, or the time to live of its family.
+         * <p>
+         * It takes effect with the response cache, see {@link #responseCache(long)}, for the endpoint families
+         * whose time to live isn't zero.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the conditional revalidation enabled
+         */
+        public OpenOpusClientOptionsBuilder withConditionalRevalidation() {
+            this.conditionalRevalidation = true;
+            return this;
+        }
+
+        /**
+         * Splits the life of a cached response in two, so that the callers of a popular response don't all wait
+         * on the API the moment it expires.
+         * <p>
+         * For its time to live the response is fresh. For {@code staleFor} afterwards it's stale but still returned
+         * at once, while one background request, sent with {@link Priority#BACKGROUND}, refreshes it; the response
+         * is no longer returned once that period is over too. A refresh that fails leaves the stale response in
+         * place, and the next call returning it starts another one, so a failing API is answered with stale
+         * responses for at most {@code staleFor}.
+         * <p>
+         * It takes effect with the response cache, see {@link #responseCache(long)}.
+         *
+         * @param staleFor how long a stale response is still returned while it's refreshed
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the stale period set
+         * @see #cacheEarlyRefresh(double)
+         */
+        public OpenOpusClientOptionsBuilder cacheStaleWhileRevalidate(Duration staleFor) {
+            if (staleFor.isNegative()) {
+                throw new IllegalArgumentException("staleFor cannot be negative");
+            }
+            this.cacheStaleWhileRevalidate = staleFor;
+            return this;
+        }
+
+        /**
+         * Makes the background refreshes of the cached responses start at random a little before the responses go
+         * stale, following the XFetch rule, so that the refreshes of responses cached at the same time don't line
+         * up.
+         * <p>
+         * A call returning a fresh response starts its refresh if {@code now + fetchTime * beta * -ln(random)}, with
+         * {@code random} uniform in {@code (0, 1]}, is past the time the response goes stale: the longer it took to
+         * fetch and the closer it is to going stale, the likelier. At most one refresh of a response runs at a time.
+         * A {@code beta} of {@code 1} is a good start; higher values refresh earlier.
+         * <p>
+         * It takes effect with the response cache, see {@link #responseCache(long)}.
+         *
+         * @param beta how eagerly responses are refreshed early, positive
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the early refresh enabled
+         */
+        public OpenOpusClientOptionsBuilder cacheEarlyRefresh(double beta) {
+            if (!(beta > 0)) {
+                throw new IllegalArgumentException("beta must be positive");
+            }
+            this.cacheEarlyRefreshBeta = beta;
+            return this;
+        }
+
+        /**
+         * Enables the negative cache, which remembers the requests the API answered with an error status, e.g. an
+         * unknown id or a search without results, so that repeating them fails at once.
+         * <p>
+         * An {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException} thrown for a request to an idempotent
+         * endpoint is cached by request URI for {@code ttl}, and the requests for that URI fail with an
+         * {@code OpenOpusErrorException} of the same message without being sent until it expires. Transport
+         * failures and HTTP error statuses are never cached. The negative cache is separate from the response cache:
+         * it holds at most {@code maxEntries} errors, evicting the least likely to be requested again, and has its
+         * own metrics.
+         *
+         * @param maxEntries the maximum number of cached errors
+         * @param ttl how long an error stays cached, keep it short
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the negative cache enabled
+         */
+        public OpenOpusClientOptionsBuilder negativeCache(int maxEntries, Duration ttl) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("maxEntries must be positive");
+            }
+            this.negativeCacheMaxEntries = maxEntries;
+            this.negativeCacheTtl = positive(Objects.requireNonNull(ttl), "ttl");
+            return this;
+        }
+
+        /**
+         * Puts a persistent second level under the response cache, so that a restarted client doesn't start cold.
+         * <p>
+         * The body of every response cached in memory is also appended to a log file in the directory, with its
+         * expiry, and a memory-mapped index maps the request URIs to the bodies. The bodies are stored in a compact
+         * binary encoding rather than as JSON: it takes less space and decodes several times faster. A request the
+         * response cache can't answer looks the index up and, on a hit, decodes the stored body and caches it in
+         * memory again for the rest of its time to live. The files are opened by the first lookup, and the index isn't read but only
+         * mapped, so the first requests after a restart are answered from the page cache.
+         * <p>
+         * Once the log outgrows {@code maxBytes}, it's compacted in the background: the expired and replaced
+         * bodies are dropped, and so are the oldest while the rest exceeds half of {@code maxBytes}. Every record
+         * is CRC-checked, so a record torn by a crash is detected and skipped. A disk failure never fails a
+         * request; the response is fetched instead.
+         * <p>
+         * It takes effect with the response cache, see {@link #responseCache(long)}. The directory must not be
+         * shared by two clients at the same time.
+         *
+         * @param directory the directory of the cache files, created if it doesn't exist
+         * @param maxBytes the size of the log in bytes from which it's compacted
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the disk cache enabled
+         */
+        public OpenOpusClientOptionsBuilder diskCache(Path directory, long maxBytes) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("Disk cache size must be positive");
+            }
+            this.diskCacheDirectory = Objects.requireNonNull(directory);
+            this.diskCacheMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Enables the entity store: every composer and work in any response is kept by its id, and
+         * {@link OpenOpusClient#listComposers(java.util.List)} and {@link OpenOpusClient#listWorks(java.util.List)}
+         * request from the API only the ids the store doesn't know.
+         * <p>
+         * The stored entities are shared by all the responses they're served in.
+         *
+         * @param maxEntities the maximum number of composers, and separately of works, to keep
+         * @param ttl how long an entity is served after it was last seen in a response
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the entity store enabled
+         */
+        public OpenOpusClientOptionsBuilder entityStore(int maxEntities, Duration ttl) {
+            if (maxEntities <= 0) {
+                throw new IllegalArgumentException("maxEntities must be positive");
+            }
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("Entity TTL must be positive");
+            }
+            this.entityStoreMaxEntities = maxEntities;
+            this.entityTtl = ttl;
+            return this;
+        }
+
+        /**
+         * Sets how the single-id lookups of {@link OpenOpusClient#getComposer(int)} and
+         * {@link OpenOpusClient#getWorkSummary(int)} are gathered into requests by ids.
+         * <p>
+         * The first lookup of a batch waits for {@code window}, and the lookups made meanwhile are sent with it
+         * in one request; a batch that reaches {@code maxBatchSize} distinct ids is sent at once.
+         *
+         * @param window how long a batch waits for more lookups; {@link Duration#ZERO} to wait only for the
+         *               lookups made at the same time
+         * @param maxBatchSize the maximum number of distinct ids in a batch
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the batching set
+         */
+        public OpenOpusClientOptionsBuilder idBatching(Duration window, int maxBatchSize) {
+            if (window.isNegative()) {
+                throw new IllegalArgumentException("Batch window cannot be negative");
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be positive");
+            }
+            this.batchWindow = window;
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how the requests for composers or works by ids are split when their ids don't fit in one URL.
+         * <p>
+         * The ids are split into chunks whose request URLs are at most {@code maxUrlLength} characters long,
+         * and at most {@code maxParallelChunks} of the chunks are requested at a time. The results of all the
+         * chunks are merged into one response, in the order of the requested ids.
+         * <p>
+         * Random works are sampled from all the given ids at once, so their request can't be split; it's
+         * rejected if its URL is longer than {@code maxUrlLength}.
+         *
+         * @param maxUrlLength the maximum length of a request URL, base URL included
+         * @param maxParallelChunks the maximum number of chunks of one request sent at a time
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the chunking set
+         */
+        public OpenOpusClientOptionsBuilder idChunking(int maxUrlLength, int maxParallelChunks) {
+            if (maxUrlLength < 1) {
+                throw new IllegalArgumentException("maxUrlLength must be positive");
+            }
+            if (maxParallelChunks < 1) {
+                throw new IllegalArgumentException("maxParallelChunks must be positive");
+            }
+            this.maxUrlLength = maxUrlLength;
+            this.maxParallelChunks = maxParallelChunks;
+            return this;
+        }
+
+        /**
+         * Limits the number of exchanges with the Open Opus API in flight, adapting the limit to how the server
+         * copes with the load.
+         * <p>
+         * The limit starts at {@code initialLimit}. It grows by one after a limit's worth of successful exchanges
+         * while the client uses at least half of it, up to {@code maxLimit}, and it's cut by 10% when an exchange
+         * times out, fails to connect, gets a transient HTTP error status or takes more than twice the latency
+         * seen with no load. Every exchange counts, retries and hedges included.
+         * <p>
+         * Exchanges above the limit wait for a free slot in a queue of at most {@code maxQueued}; when it's full,
+         * a request fails at once with an {@link dev.jlynx.openopusjava.exception.OpenOpusRejectedException},
+         * which isn't retried.
+         *
+         * @param initialLimit the limit before the first exchange completes
+         * @param maxLimit the highest the limit may grow
+         * @param maxQueued the maximum number of exchanges waiting for a slot
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the concurrency limit set
+         */
+        public OpenOpusClientOptionsBuilder adaptiveConcurrencyLimit(int initialLimit, int maxLimit, int maxQueued) {
+            if (initialLimit < 1) {
+                throw new IllegalArgumentException("initialLimit must be positive");
+            }
+            if (maxLimit < initialLimit) {
+                throw new IllegalArgumentException("maxLimit cannot be less than initialLimit");
+            }
+            if (maxQueued < 0) {
+                throw new IllegalArgumentException("maxQueued cannot be negative");
+            }
+            this.concurrencyInitialLimit = initialLimit;
+            this.concurrencyMaxLimit = maxLimit;
+            this.concurrencyMaxQueued = maxQueued;
+            return this;
+        }
+
+        /**
+         * Sets the minimum share of the free slots of the concurrency limit given to {@link Priority#BACKGROUND}
+         * requests while {@link Priority#INTERACTIVE} ones are waiting too.
+         * <p>
+         * Interactive requests are otherwise sent first, so without a share the background requests would wait for
+         * as long as interactive ones keep coming. The priorities only matter when requests wait for a slot, so they
+         * take effect with {@link #adaptiveConcurrencyLimit(int, int, int)}.
+         *
+         * @param share the share of the slots, between {@code 0} and {@code 1}
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the background share set
+         * @see OpenOpusClient#withPriority(Priority)
+         */
+        public OpenOpusClientOptionsBuilder backgroundShare(double share) {
+            if (share < 0 || share > 1) {
+                throw new IllegalArgumentException("share must be between 0 and 1");
+            }
+            this.backgroundShare = share;
+            return this;
+        }
+
+        /**
+         * Shares the requests in flight between the tenants of the client by weighted fair queuing, so that one
+         * tenant flooding the client can't starve the others.
+         * <p>
+         * Every call is made on behalf of a tenant, {@value OpenOpusClient#DEFAULT_TENANT} unless it's made through
+         * {@link OpenOpusClient#forTenant(String)}. At most {@code maxInFlight} calls of all tenants are in flight
+         * at once; the others wait in the queue of their tenant, and each free slot goes to the tenant that has had
+         * the least of them relative to its weight, see {@link #tenant(String, double, int)}. A call waits before it
+         * goes through the coalescing, the retries and the limits of the client, and it keeps its slot until its
+         * response, retries included; a cached response takes no slot. When the queue of a tenant holds
+         * {@code maxQueuedPerTenant} calls, its next call fails at once with an
+         * {@link dev.jlynx.openopusjava.exception.OpenOpusRejectedException}.
+         *
+         * @param maxInFlight the maximum number of calls of all tenants in flight
+         * @param maxQueuedPerTenant the maximum number of calls of one tenant waiting for a slot
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the tenant scheduling enabled
+         */
+        public OpenOpusClientOptionsBuilder tenantScheduling(int maxInFlight, int maxQueuedPerTenant) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+            if (maxQueuedPerTenant < 0) {
+                throw new IllegalArgumentException("maxQueuedPerTenant cannot be negative");
+            }
+            this.tenantMaxInFlight = maxInFlight;
+            this.tenantMaxQueued = maxQueuedPerTenant;
+            return this;
+        }
+
+        /**
+         * Sets the share of one tenant of the {@link #tenantScheduling(int, int)}.
+         * <p>
+         * While several tenants wait, a tenant of weight 3 gets three slots for every slot of a tenant of weight 1.
+         * A tenant never has more than {@code maxInFlight} calls in flight, even when the others leave slots free.
+         * Tenants without a share of their own have a weight of {@code 1} and no cap but the total.
+         *
+         * @param tenant the key of the tenant
+         * @param weight the share of the slots relative to the other tenants
+         * @param maxInFlight the maximum number of calls of the tenant in flight
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the share of the tenant set
+         */
+        public OpenOpusClientOptionsBuilder tenant(String tenant, double weight, int maxInFlight) {
+            tenantShares.put(Objects.requireNonNull(tenant), new TenantShare(weight, maxInFlight));
+            return this;
+        }
+
+        /**
+         * Limits the rate of requests the client sends to the Open Opus API, whatever their endpoint.
+         * <p>
+         * Requests are spaced {@code 1 / requestsPerSecond} apart, but after an idle period up to {@code burst}
+         * of them may be sent at once. A request sent too early waits for its turn without blocking a thread;
+         * the waiting requests keep their order. A request whose turn is further away than
+         * {@link #rateLimitMaxWait(Duration)}, or than the deadline of its call, fails at once with an
+         * {@link dev.jlynx.openopusjava.exception.OpenOpusRejectedException}. Every exchange counts, retries and
+         * hedges included. The current wait is reported by
+         * {@link dev.jlynx.openopusjava.metrics.OpenOpusClientMetrics#rateLimiting(Endpoint)}.
+         * <p>
+         * The limit applies to this client; clients sharing a ceiling should share one client.
+         *
+         * @param requestsPerSecond the sustained rate of requests
+         * @param burst the number of requests that may be sent at once
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the rate limit set
+         * @see #rateLimit(Endpoint, double, int)
+         */
+        public OpenOpusClientOptionsBuilder rateLimit(double requestsPerSecond, int burst) {
+            this.rateLimit = new RateLimit(requestsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * Limits the rate of requests the client sends to one endpoint family, like
+         * {@link #rateLimit(double, int)} does for all of them.
+         * <p>
+         * A request to the family must fit in both its own limit and the shared one, if set, so a family given a
+         * lower limit, like the searches of a batch job, can't use up the shared limit of the other families.
+         *
+         * @param endpoint the endpoint family
+         * @param requestsPerSecond the sustained rate of requests to the family
+         * @param burst the number of requests to the family that may be sent at once
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the rate limit of the family set
+         */
+        public OpenOpusClientOptionsBuilder rateLimit(Endpoint endpoint, double requestsPerSecond, int burst) {
+            endpointRateLimits.put(Objects.requireNonNull(endpoint), new RateLimit(requestsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * Sets the longest a request may wait for its turn in the rate limits. A request whose turn is further away
+         * isn't given one and fails at once with an {@link dev.jlynx.openopusjava.exception.OpenOpusRejectedException},
+         * which isn't retried, so that under a sustained burst the waits don't grow without bound.
+         *
+         * @param maxWait the longest wait for a turn; {@link Duration#ZERO} rejects every request that would wait
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the maximum wait set
+         */
+        public OpenOpusClientOptionsBuilder rateLimitMaxWait(Duration maxWait) {
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait cannot be negative");
+            }
+            this.rateLimitMaxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Puts a circuit breaker in front of the Open Opus API, so that while it's down the requests fail at once
+         * instead of each waiting for its exchange to time out.
+         * <p>
+         * The breaker records the outcome of the last {@code windowSize} exchanges with the host. Once it has
+         * recorded that many, it opens when the share of failed ones reaches {@code failureRateThreshold}: an
+         * exchange fails if it can't connect, times out or gets a {@code 5xx} status other than {@code 501}. While
+         * the circuit is open, requests fail without being sent with an
+         * {@link dev.jlynx.openopusjava.exception.OpenOpusCircuitOpenException}, which isn't retried. After
+         * {@code openDuration} the circuit lets {@link #circuitBreakerProbes(int)} requests through, and closes
+         * once they all succeed, or opens again when one fails. Every exchange counts, retries and hedges included.
+         *
+         * @param failureRateThreshold the share of failed exchanges that opens the circuit, between {@code 0}
+         *        (exclusive) and {@code 1}
+         * @param windowSize the number of recent exchanges the share is computed from
+         * @param openDuration how long the circuit stays open before it lets probe requests through
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the circuit breaker enabled
+         * @see #circuitBreakerSlowCalls(Duration, double)
+         */
+        public OpenOpusClientOptionsBuilder circuitBreaker(double failureRateThreshold, int windowSize, Duration openDuration) {
+            if (!(failureRateThreshold > 0) || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("failureRateThreshold must be greater than 0 and at most 1");
+            }
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be positive");
+            }
+            if (openDuration.isNegative()) {
+                throw new IllegalArgumentException("openDuration cannot be negative");
+            }
+            this.circuitFailureRateThreshold = failureRateThreshold;
+            this.circuitWindowSize = windowSize;
+            this.circuitOpenDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Makes slow exchanges open the circuit too, like failed ones do with {@link #circuitBreaker(double, int, Duration)}.
+         * <p>
+         * An exchange is slow if its response takes at least {@code slowCallDuration}, waits for the limits of the
+         * client excluded. The circuit opens when the share of slow exchanges among the recent ones reaches
+         * {@code slowCallRateThreshold}, and a slow probe opens it again.
+         *
+         * @param slowCallDuration the duration from which an exchange is slow
+         * @param slowCallRateThreshold the share of slow exchanges that opens the circuit, between {@code 0}
+         *        (exclusive) and {@code 1}
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the slow exchanges counted
+         */
+        public OpenOpusClientOptionsBuilder circuitBreakerSlowCalls(Duration slowCallDuration, double slowCallRateThreshold) {
+            if (slowCallDuration.isNegative() || slowCallDuration.isZero()) {
+                throw new IllegalArgumentException("slowCallDuration must be positive");
+            }
+            if (!(slowCallRateThreshold > 0) || slowCallRateThreshold > 1) {
+                throw new IllegalArgumentException("slowCallRateThreshold must be greater than 0 and at most 1");
+            }
+            this.circuitSlowCallDuration = slowCallDuration;
+            this.circuitSlowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of probe requests the circuit breaker lets through once it's been open for its open duration.
+         *
+         * @param probes the number of probe requests that must all succeed for the circuit to close
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the number of probes set
+         */
+        public OpenOpusClientOptionsBuilder circuitBreakerProbes(int probes) {
+            if (probes < 1) {
+                throw new IllegalArgumentException("probes must be positive");
+            }
+            this.circuitProbes = probes;
+            return this;
+        }
+
+        /**
+         * Gives every endpoint family its own circuit breaker instead of one per host, so that a failing family,
+         * like the searches, doesn't fail the requests to the others.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with a circuit breaker per endpoint family
+         */
+        public OpenOpusClientOptionsBuilder withCircuitBreakerPerEndpoint() {
+            this.circuitBreakerPerEndpoint = true;
+            return this;
+        }
+
+        /**
+         * Makes a request failed by an open circuit return the response cached for its URI even if it expired,
+         * as long as the cache still holds it. Without a cached response, the request fails as usual.
+         * <p>
+         * The fallback takes effect with the response cache, see {@link #responseCache(long)}.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the cache fallback enabled
+         */
+        public OpenOpusClientOptionsBuilder withCacheFallbackWhileCircuitOpen() {
+            this.cacheFallbackWhileCircuitOpen = true;
+            return this;
+        }
+
+        /**
+         * Sets how long the client waits for a connection to the Open Opus API to be established. A connection
+         * not established in time fails the exchange with an {@link java.net.http.HttpConnectTimeoutException},
+         * which is retried like other connection failures.
+         *
+         * @param timeout the connect timeout, or {@code null} to wait as long as the operating system does
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the connect timeout set
+         */
+        public OpenOpusClientOptionsBuilder connectTimeout(Duration timeout) {
+            this.connectTimeout = positive(timeout, "connect timeout");
+            return this;
+        }
+
+        /**
+         * Sets how long each exchange waits for the response headers, connecting included. An exchange not answered
+         * in time is aborted and fails with an {@link java.net.http.HttpTimeoutException}, which is retried like
+         * other connection failures; each attempt and each hedge gets the full timeout, unless the call has a
+         * {@link Deadline} that's closer.
+         *
+         * @param timeout the request timeout, or {@code null} to wait without a limit
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the request timeout set
+         * @see #requestTimeout(Endpoint, Duration)
+         */
+        public OpenOpusClientOptionsBuilder requestTimeout(Duration timeout) {
+            this.requestTimeout = positive(timeout, "request timeout");
+            return this;
+        }
+
+        /**
+         * Sets the request timeout of one endpoint family in place of the one set by {@link #requestTimeout(Duration)},
+         * like a longer one for the searches or a shorter one for the lookups by id.
+         *
+         * @param endpoint the endpoint family
+         * @param timeout the request timeout of the family
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the request timeout of the family set
+         */
+        public OpenOpusClientOptionsBuilder requestTimeout(Endpoint endpoint, Duration timeout) {
+            endpointRequestTimeouts.put(Objects.requireNonNull(endpoint), Objects.requireNonNull(positive(timeout, "request timeout")));
+            return this;
+        }
+
+        private static Duration positive(Duration timeout, String name) {
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return timeout;
+        }
+
+        /**
+         * Makes the underlying {@link java.net.http.HttpClient} run its asynchronous tasks, like completing the
+         * response futures, on a new virtual thread per task instead of on its default cached thread pool.
+         * <p>
+         * The executor is closed with the client.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the virtual thread executor enabled
+         */
+        public OpenOpusClientOptionsBuilder withVirtualThreadExecutor() {
+            virtualThreadExecutor = true;
+            return this;
+        }
+
+        /**
+         * Sets the executor the underlying {@link java.net.http.HttpClient} runs its asynchronous tasks on,
+         * like completing the response futures.
+         * <p>
+         * The executor belongs to the caller and is left running when the client is closed. It takes precedence
+         * over {@link #withVirtualThreadExecutor()}.
+         *
+         * @param ioExecutor the executor of the HTTP exchanges
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the I/O executor set
+         */
+        public OpenOpusClientOptionsBuilder ioExecutor(Executor ioExecutor) {
+            this.ioExecutor = Objects.requireNonNull(ioExecutor);
+            return this;
+        }
+
+        /**
+         * Makes the response bodies of at least {@code minBodyBytes} be decoded on the given executor instead of
+         * on the thread that received them, so that decoding a burst of large bodies doesn't hold up the
+         * HTTP exchanges. Smaller bodies are still decoded where they were received.
+         * <p>
+         * The executor belongs to the caller and is left running when the client is closed; it should be bounded,
+         * since it receives every large body. Only bodies parsed in the {@link ParsingMode#BUFFERED} mode are
+         * offloaded: the {@link ParsingMode#INCREMENTAL} mode parses a body while it arrives.
+         * <p>
+         * Overrides {@link #decodingPool(int, long)}.
+         *
+         * @param decodingExecutor the executor of the large bodies
+         * @param minBodyBytes the size from which a body is decoded on the executor
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the decoding executor set
+         */
+        public OpenOpusClientOptionsBuilder decodingExecutor(Executor decodingExecutor, long minBodyBytes) {
+            if (minBodyBytes < 0) {
+                throw new IllegalArgumentException("minBodyBytes cannot be negative");
+            }
+            this.decodingExecutor = Objects.requireNonNull(decodingExecutor);
+            this.decodingParallelism = 0;
+            this.decodingMinBodyBytes = minBodyBytes;
+            return this;
+        }
+
+        /**
+         * Makes the response bodies of at least {@code minBodyBytes} be decoded on a {@link java.util.concurrent.ForkJoinPool}
+         * of at most {@code parallelism} threads, created by the client and shut down when it's closed.
+         * <p>
+         * The queue depth and the active threads of the pool are reported by
+         * {@link dev.jlynx.openopusjava.metrics.OpenOpusClientMetrics#decoding()}.
+         * <p>
+         * Overrides {@link #decodingExecutor(Executor, long)}.
+         *
+         * @param parallelism the maximum number of decoding threads
+         * @param minBodyBytes the size from which a body is decoded on the pool
+         * @return this {@code OpenOpusClientOptionsBuilder} object with the decoding pool enabled
+         * @see #decodingExecutor(Executor, long)
+         */
+        public OpenOpusClientOptionsBuilder decodingPool(int parallelism, long minBodyBytes) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be positive");
+            }
+            if (minBodyBytes < 0) {
+                throw new IllegalArgumentException("minBodyBytes cannot be negative");
+            }
+            this.decodingExecutor = null;
+            this.decodingParallelism = parallelism;
+            this.decodingMinBodyBytes = minBodyBytes;
+            return this;
+        }
+
+        /**
+         * Makes the {@link OpenOpusClient} build the JSON readers of all response types when it's
+         * constructed instead of on the first response of each type.
+         * <p>
+         * The readers are shared by all clients in the JVM, so only the first client pays the cost.
+         *
+         * @return this {@code OpenOpusClientOptionsBuilder} object with eager codec warm-up enabled
+         */
+        public OpenOpusClientOptionsBuilder withCodecWarmUp() {
+            codecWarmUp = true;
+            return this;
+        }
+
+        /**
+         * Sets when the JSON response bodies are parsed.
+         *
+         * @param parsingMode the parsing mode to use for all responses
+         * @return this {@code OpenOpusClientOptionsBuilder} object with {@code parsingMode} set
+         * @see ParsingMode
+         */
+        public OpenOpusClientOptionsBuilder parsingMode(ParsingMode parsingMode) {
+            this.parsingMode = Objects.requireNonNull(parsingMode);
+            return this;
+        }
+
+        /**
+         * Sets how the parsed JSON tokens are bound to the response objects.
+         *
+         * @param decodingMode the decoding mode to use for all responses
+         * @return this {@code OpenOpusClientOptionsBuilder} object with {@code decodingMode} set
+         * @see DecodingMode
+         */
+        public OpenOpusClientOptionsBuilder decodingMode(DecodingMode decodingMode) {
+            this.decodingMode = Objects.requireNonNull(decodingMode);
+            return this;
+        }
+
+        /**
+         * Sets the base URL the API endpoint paths are resolved against, e.g. to go through a mirror
+         * or a caching proxy of the Open Opus API.
+         *
+         * @param baseUrl the scheme and authority of the API, without a trailing slash
+         * @return this {@code OpenOpusClientOptionsBuilder} object with {@code baseUrl} set
+         */
+        public OpenOpusClientOptionsBuilder baseUrl(String baseUrl) {
+            this.baseUrl = Objects.requireNonNull(baseUrl);
+            return this;
+        }
+
+        private static Map<Endpoint, Duration> defaultCacheTtls() {
+            Map<Endpoint, Duration> ttls = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                ttls.put(endpoint, Duration.ZERO);
+            }
+            Duration catalogue = Duration.ofHours(24);
+            for (Endpoint endpoint : EnumSet.of(Endpoint.COMPOSER_LIST, Endpoint.COMPOSER_IDS, Endpoint.GENRE_LIST,
+                    Endpoint.WORK_LIST, Endpoint.WORK_DETAIL, Endpoint.WORK_IDS)) {
+                ttls.put(endpoint, catalogue);
+            }
+            Duration searches = Duration.ofHours(1);
+            for (Endpoint endpoint : EnumSet.of(Endpoint.COMPOSER_SEARCH, Endpoint.WORK_SEARCH, Endpoint.OMNISEARCH)) {
+                ttls.put(endpoint, searches);
+            }
+            return ttls;
+        }
+
         /**
          * Builds a new {@code OpenOpusClientOptions} instance with desired property values set.
          * @return a new {@code OpenOpusClientOptions} instance based on the builder's values
          */
         public OpenOpusClientOptions build() {
-            return new OpenOpusClientOptions(logging, maxRetries);
+            return new OpenOpusClientOptions(this);
         }
     }
 }
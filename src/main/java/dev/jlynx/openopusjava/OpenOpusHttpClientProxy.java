@@ -1,45 +1,373 @@
 package dev.jlynx.openopusjava;
 
+import dev.jlynx.openopusjava.exception.OpenOpusCircuitOpenException;
+import dev.jlynx.openopusjava.exception.OpenOpusDeadlineExceededException;
 import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.exception.OpenOpusException;
+import dev.jlynx.openopusjava.exception.OpenOpusHttpStatusException;
+import dev.jlynx.openopusjava.exception.OpenOpusRejectedException;
+import dev.jlynx.openopusjava.internal.batch.BatchLoader;
+import dev.jlynx.openopusjava.internal.cache.BinaryCodec;
+import dev.jlynx.openopusjava.internal.cache.DiskCache;
+import dev.jlynx.openopusjava.internal.cache.EntityStore;
+import dev.jlynx.openopusjava.internal.cache.WTinyLfuCache;
+import dev.jlynx.openopusjava.internal.json.DecodingExecutor;
 import dev.jlynx.openopusjava.internal.json.JsonBodyHandler;
+import dev.jlynx.openopusjava.internal.resilience.AdaptiveConcurrencyLimiter;
+import dev.jlynx.openopusjava.internal.resilience.AsyncRetrier;
+import dev.jlynx.openopusjava.internal.resilience.CircuitBreaker;
+import dev.jlynx.openopusjava.internal.resilience.DecorrelatedJitterBackoff;
+import dev.jlynx.openopusjava.internal.resilience.Hedger;
+import dev.jlynx.openopusjava.internal.resilience.RateLimiter;
+import dev.jlynx.openopusjava.internal.resilience.RetryBudget;
+import dev.jlynx.openopusjava.internal.resilience.SingleFlight;
+import dev.jlynx.openopusjava.internal.resilience.WeightedFairScheduler;
+import dev.jlynx.openopusjava.internal.util.Futures;
 import dev.jlynx.openopusjava.internal.util.SpaceEncoder;
+import dev.jlynx.openopusjava.metrics.OpenOpusClientMetrics;
+import dev.jlynx.openopusjava.response.stream.ResponseStream;
+import dev.jlynx.openopusjava.response.subtype.Composer;
 import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 class OpenOpusHttpClientProxy {
 
     private static final Logger log = LoggerFactory.getLogger(OpenOpusHttpClientProxy.class);
-    private static final String BASE_URL = "https://api.openopus.org";
+    /** The time to live of a response that's expired at once, cached only to be revalidated. */
+    private static final Duration UNTIL_REVALIDATED = Duration.ofNanos(1);
 
     private final HttpClient http;
+    private final ExecutorService executor;
+    private final DecodingExecutor decodingExecutor;
     private final OpenOpusClientOptions options;
+    private final AsyncRetrier retrier;
+    private final Hedger hedger;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RateLimiter rateLimiter;
+    private final Map<Endpoint, RateLimiter> endpointRateLimiters;
+    private final WeightedFairScheduler scheduler;
+    private final Map<CircuitKey, CircuitBreaker> circuitBreakers;
+    private final SingleFlight<URI> singleFlight;
+    private final WTinyLfuCache<URI, HttpResponse<?>> cache;
+    // the messages of the error statuses
+    private final WTinyLfuCache<URI, String> errors;
+    // the second level under the response cache
+    private final DiskCache disk;
+    private final EntityStore entities;
+    private final BatchLoader<Integer, Composer> composerLoader;
+    private final BatchLoader<Integer, WorkSummary> workLoader;
+    private final ClientMetrics metrics;
+    private final Priority priority;
+    private final String tenant;
+    private final Deadline deadline;
+    private final boolean view;
 
     public OpenOpusHttpClientProxy(OpenOpusClientOptions options) {
-        http = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .build();
-        this.options = options;
+        this(options, options.getIoExecutor().isEmpty() && options.isVirtualThreadExecutor()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : null);
     }
 
     public OpenOpusHttpClientProxy(HttpClient http) {
-        this.options = OpenOpusClientOptions.withDefaults();
-        this.http = http;
+        this(OpenOpusClientOptions.withDefaults(), http);
     }
 
     public OpenOpusHttpClientProxy(OpenOpusClientOptions options, HttpClient http) {
+        this(options, http, null);
+    }
+
+    private OpenOpusHttpClientProxy(OpenOpusClientOptions options, ExecutorService executor) {
+        this(options, newHttpClient(options, options.getIoExecutor().orElse(executor)), executor);
+    }
+
+    private OpenOpusHttpClientProxy(OpenOpusClientOptions options, HttpClient http, ExecutorService executor) {
         this.options = options;
         this.http = http;
+        this.executor = executor;
+        this.decodingExecutor = newDecodingExecutor(options);
+        this.retrier = new AsyncRetrier(
+                options.getMaxRetries(),
+                new DecorrelatedJitterBackoff(options.getRetryBaseDelay(), options.getRetryMaxDelay()),
+                new RetryBudget(options.getRetryBudgetRatio(), options.getRetryBudgetMinPerSecond()),
+                OpenOpusHttpClientProxy::isTransient,
+                OpenOpusHttpClientProxy::requestedDelay,
+                this::logRetry
+        );
+        this.hedger = new Hedger(
+                options.getHedgeDelay().orElse(null),
+                options.isHedgeAfterObservedP95(),
+                options.getMaxHedgeRatio()
+        );
+        this.limiter = options.isConcurrencyLimited()
+                ? new AdaptiveConcurrencyLimiter(options.getConcurrencyInitialLimit(), options.getConcurrencyMaxLimit(),
+                        options.getConcurrencyMaxQueued(), options.getBackgroundShare(), OpenOpusHttpClientProxy::isTransient)
+                : null;
+        this.rateLimiter = options.getRateLimit()
+                .map(limit -> new RateLimiter(limit.requestsPerSecond(), limit.burst()))
+                .orElse(null);
+        this.endpointRateLimiters = new EnumMap<>(Endpoint.class);
+        options.getEndpointRateLimits().forEach((endpoint, limit) ->
+                endpointRateLimiters.put(endpoint, new RateLimiter(limit.requestsPerSecond(), limit.burst())));
+        this.scheduler = options.isTenantScheduled()
+                ? new WeightedFairScheduler(options.getTenantMaxInFlight(), options.getTenantMaxQueued(), options::getTenantShare)
+                : null;
+        this.circuitBreakers = options.isCircuitBreakerEnabled() ? new ConcurrentHashMap<>() : null;
+        this.singleFlight = new SingleFlight<>();
+        this.cache = options.getCacheMaxBytes() > 0 ? new WTinyLfuCache<>(options.getCacheMaxBytes()) : null;
+        this.disk = cache != null && options.getDiskCacheDirectory().isPresent()
+                ? new DiskCache(options.getDiskCacheDirectory().get(), options.getDiskCacheMaxBytes())
+                : null;
+        this.errors = options.getNegativeCacheMaxEntries() > 0
+                ? new WTinyLfuCache<>(options.getNegativeCacheMaxEntries(), options.getNegativeCacheMaxEntries())
+                : null;
+        this.entities = options.getEntityStoreMaxEntities() > 0
+                ? new EntityStore(options.getEntityStoreMaxEntities(), options.getEntityTtl())
+                : null;
+        this.composerLoader = new BatchLoader<>(options.getBatchWindow(), options.getMaxBatchSize(),
+                ids -> ByIdRequests.composersById(this, ids),
+                id -> new OpenOpusErrorException("Composer " + id + " not found"));
+        this.workLoader = new BatchLoader<>(options.getBatchWindow(), options.getMaxBatchSize(),
+                ids -> ByIdRequests.worksById(this, ids),
+                id -> new OpenOpusErrorException("Work " + id + " not found"));
+        this.metrics = new ClientMetrics(hedger, singleFlight, cache, errors, disk, entities, List.of(composerLoader, workLoader),
+                decodingExecutor, limiter, rateLimiter, endpointRateLimiters, scheduler, this::existingCircuitBreaker);
+        this.priority = Priority.INTERACTIVE;
+        this.tenant = OpenOpusClient.DEFAULT_TENANT;
+        this.deadline = null;
+        this.view = false;
+    }
+
+    private OpenOpusHttpClientProxy(OpenOpusHttpClientProxy client, Priority priority, String tenant, Deadline deadline) {
+        this.http = client.http;
+        this.executor = client.executor;
+        this.decodingExecutor = client.decodingExecutor;
+        this.options = client.options;
+        this.retrier = client.retrier;
+        this.hedger = client.hedger;
+        this.limiter = client.limiter;
+        this.rateLimiter = client.rateLimiter;
+        this.endpointRateLimiters = client.endpointRateLimiters;
+        this.scheduler = client.scheduler;
+        this.circuitBreakers = client.circuitBreakers;
+        this.singleFlight = client.singleFlight;
+        this.cache = client.cache;
+        this.errors = client.errors;
+        this.disk = client.disk;
+        this.entities = client.entities;
+        this.composerLoader = client.composerLoader;
+        this.workLoader = client.workLoader;
+        this.metrics = client.metrics;
+        this.priority = priority;
+        this.tenant = tenant;
+        this.deadline = deadline;
+        this.view = true;
+    }
+
+    /**
+     * Returns a view of this proxy sending its requests with the given priority.
+     * <p>
+     * The view shares everything else with this proxy, and closing it has no effect. The single-id lookups batched
+     * by the {@link #composerLoader()} and the {@link #workLoader()} are sent by the proxy that created the loaders,
+     * with its priority.
+     */
+    OpenOpusHttpClientProxy withPriority(Priority priority) {
+        return priority == this.priority ? this : new OpenOpusHttpClientProxy(this, Objects.requireNonNull(priority), tenant, deadline);
+    }
+
+    /**
+     * Returns a view of this proxy making its calls on behalf of the given tenant.
+     * <p>
+     * Like the views of {@link #withPriority(Priority)}, it shares everything else with this proxy, and the
+     * single-id lookups batched by the loaders are made on behalf of the tenant of the proxy that created them.
+     */
+    OpenOpusHttpClientProxy forTenant(String tenant) {
+        return Objects.requireNonNull(tenant).equals(this.tenant) ? this : new OpenOpusHttpClientProxy(this, priority, tenant, deadline);
+    }
+
+    /**
+     * Returns a view of this proxy whose calls draw from the budget of the given deadline.
+     * <p>
+     * Like the views of {@link #withPriority(Priority)}, it shares everything else with this proxy. The single-id
+     * lookups batched by the loaders are sent without the deadline, but {@link #withinDeadline} bounds the wait
+     * for them.
+     */
+    OpenOpusHttpClientProxy withDeadline(Deadline deadline) {
+        return Objects.requireNonNull(deadline) == this.deadline ? this : new OpenOpusHttpClientProxy(this, priority, tenant, deadline);
+    }
+
+    /**
+     * Bounds the future by the deadline of this proxy, if it has one: once the deadline passes, the returned future
+     * fails with an {@link OpenOpusDeadlineExceededException} and the given one is cancelled.
+     *
+     * @param future the future of the call
+     * @param target what the call waits for, for the message of the exception
+     */
+    <R> CompletableFuture<R> withinDeadline(CompletableFuture<R> future, Object target) {
+        if (deadline == null || future.isDone()) {
+            return future;
+        }
+        return Futures.within(future, deadline.remaining().toNanos(), () -> deadlineExceeded(target));
+    }
+
+    private static OpenOpusDeadlineExceededException deadlineExceeded(Object target) {
+        return new OpenOpusDeadlineExceededException("Deadline exceeded waiting for " + target);
+    }
+
+    /**
+     * Returns the request with its timeout cut to the time left until the deadline of this proxy, if that's sooner.
+     *
+     * @throws OpenOpusDeadlineExceededException if the deadline passed
+     */
+    private HttpRequest withinDeadline(HttpRequest request) {
+        if (deadline == null) {
+            return request;
+        }
+        Duration remaining = deadline.remaining();
+        if (remaining.isZero()) {
+            throw deadlineExceeded(request.uri());
+        }
+        if (request.timeout().isPresent() && request.timeout().get().compareTo(remaining) <= 0) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(remaining).build();
+    }
+
+    private static DecodingExecutor newDecodingExecutor(OpenOpusClientOptions options) {
+        if (options.getDecodingExecutor().isPresent()) {
+            return DecodingExecutor.of(options.getDecodingExecutor().get(), options.getDecodingMinBodyBytes());
+        }
+        if (options.getDecodingParallelism() > 0) {
+            return DecodingExecutor.newPool(options.getDecodingParallelism(), options.getDecodingMinBodyBytes());
+        }
+        return null;
+    }
+
+    /**
+     * The host, and the endpoint family if each family has its own circuit breaker.
+     */
+    private record CircuitKey(String host, Endpoint endpoint) {
+    }
+
+    /**
+     * Returns the circuit breaker the exchanges of the family with the host go through, or {@code null} if there's none.
+     */
+    private CircuitBreaker circuitBreaker(URI uri, Endpoint endpoint) {
+        if (circuitBreakers == null) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(circuitKey(uri, endpoint), key -> new CircuitBreaker(
+                options.getCircuitFailureRateThreshold(),
+                options.getCircuitSlowCallRateThreshold(),
+                options.getCircuitSlowCallDuration().orElse(null),
+                options.getCircuitWindowSize(),
+                options.getCircuitOpenDuration(),
+                options.getCircuitProbes(),
+                OpenOpusHttpClientProxy::isServerFailure
+        ));
+    }
+
+    /**
+     * Returns the circuit breaker of the family with the host of the base URL, or {@code null} if it has sent nothing.
+     */
+    private CircuitBreaker existingCircuitBreaker(Endpoint endpoint) {
+        return circuitBreakers != null ? circuitBreakers.get(circuitKey(URI.create(options.getBaseUrl()), endpoint)) : null;
+    }
+
+    private CircuitKey circuitKey(URI uri, Endpoint endpoint) {
+        return new CircuitKey(uri.getHost(), options.isCircuitBreakerPerEndpoint() ? endpoint : null);
+    }
+
+    private static HttpClient newHttpClient(OpenOpusClientOptions options, Executor executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        options.getConnectTimeout().ifPresent(builder::connectTimeout);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return builder.build();
+    }
+
+    public OpenOpusClientMetrics metrics() {
+        return metrics;
+    }
+
+    OpenOpusClientOptions options() {
+        return options;
+    }
+
+    /**
+     * Returns the entity store, or {@code null} if it's disabled.
+     */
+    EntityStore entityStore() {
+        return entities;
+    }
+
+    BatchLoader<Integer, Composer> composerLoader() {
+        return composerLoader;
+    }
+
+    BatchLoader<Integer, WorkSummary> workLoader() {
+        return workLoader;
+    }
+
+    /**
+     * Builds the GET request for the endpoint relative to the base URL, with the request timeout of its family.
+     */
+    HttpRequest requestFor(String uriPath) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(options.getBaseUrl() + uriPath))
+                .GET();
+        options.getRequestTimeout(Endpoint.of(uriPath)).ifPresent(builder::timeout);
+        return builder.build();
     }
 
     public void closeClient() {
+        if (view) {
+            return;
+        }
         http.close();
+        if (executor != null) {
+            executor.close();
+        }
+        if (decodingExecutor != null) {
+            decodingExecutor.close();
+        }
+        if (disk != null) {
+            try {
+                disk.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the disk cache", e);
+            }
+        }
     }
 
     /**
@@ -49,29 +377,803 @@ class OpenOpusHttpClientProxy {
      * URI by appending a given path to the base URL and encoding it. It then sends the
      * request asynchronously and parses the response into a specified type extending {@link OpenOpusResponse}.
      * If the response status indicates an error, it is processed by {@code handleStatusError}.
+     * <p>
+     * Connection failures and transient HTTP error statuses are retried up to {@code maxRetries} times,
+     * unless the endpoint is marked non-idempotent or the retry budget is spent. The backoff between
+     * attempts is waited out without blocking a thread. If hedging is enabled, each attempt of a request
+     * to an idempotent endpoint may be hedged by a second exchange.
+     * <p>
+     * Unless request coalescing is disabled, concurrent calls for the same URI share one exchange and get
+     * the same deserialized body. Each caller gets its own future, so cancelling it doesn't affect the others.
+     * <p>
+     * If the response cache is enabled, successful responses are cached for the time to live of their endpoint
+     * family and a cached response is returned without sending a request. With the conditional revalidation, their
+     * {@code Cache-Control} decides instead, and an expired response with a validator is revalidated: on a
+     * {@code 304} it's returned as it was deserialized. With the disk cache, their bodies are stored on disk as
+     * well, in a compact binary encoding, and a response missing from memory, e.g. after a restart, is decoded
+     * from there. With stale-while-revalidate, a stale response is still returned for a while, and the call that
+     * finds it first starts its refresh in the background; with the early refresh, a fresh response may start it
+     * too, shortly before it goes stale. If the negative cache is enabled, the error statuses of the API are
+     * cached apart, and a call for a URI with a cached error fails at once with an {@link OpenOpusErrorException}.
+     * If the entity store is enabled, the composers and works of every successful response are stored.
+     * <p>
+     * If the circuit breaker is enabled and the circuit of the request is open, the exchange fails at once with an
+     * {@link OpenOpusCircuitOpenException}, unless the cache fallback returns an expired cached response.
+     * <p>
+     * If the tenant scheduling is enabled, a call that isn't answered from the cache first waits for the turn of
+     * its tenant, and holds the slot until it completes.
+     * <p>
+     * Each exchange waits for its response at most for the request timeout of its endpoint family. If this proxy
+     * has a deadline, the timeout of each attempt and hedge is cut to the time left, and the call fails with an
+     * {@link OpenOpusDeadlineExceededException} once the deadline passes. A call joining a coalesced exchange in
+     * flight gives up at its own deadline, while the exchange keeps the timeouts of the call that started it.
+     * <p>
+     * Cancelling the returned future cancels the stage the call is in, down to aborting its exchange; a coalesced
+     * exchange is aborted only once all of its callers cancelled.
      *
-     * @param uriPath the API endpoint relative to the base domain {@code "https://api.openopus.org"}
+     * @param uriPath the API endpoint relative to the base URL, {@code "https://api.openopus.org"} by default
      * @param responseBodyType the expected type of the API's response body
      * @return a {@link CompletableFuture} that, when completed, contains an {@link HttpResponse} with
      *         the {@link OpenOpusResponse} inheriting object
      * @param <T> the type of the response body, extending {@link OpenOpusResponse}
-     * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error
+     * @throws java.util.concurrent.CompletionException if the Open Opus API returns a status error,
+     *         or with an {@link OpenOpusHttpStatusException} if it responds with an HTTP error status
      *
      * @see SpaceEncoder#encode(String)
      */
     public <T extends OpenOpusResponse> CompletableFuture<HttpResponse<T>> sendAsyncGetOpenOpus(String uriPath, Class<T> responseBodyType) {
-//        int currentRetry = 0;
-        URI uri = URI.create(BASE_URL + uriPath);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(uri)
-                .GET()
-                .build();
+        HttpRequest unconditional = requestFor(uriPath);
+        URI uri = unconditional.uri();
+        Endpoint endpoint = Endpoint.of(uriPath);
+        boolean idempotent = options.isIdempotent(endpoint);
+        Duration ttl = cache != null && idempotent ? options.getCacheTtl(endpoint) : Duration.ZERO;
+        HttpResponse<T> cached = cached(uriPath, responseBodyType, unconditional, ttl);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        OpenOpusErrorException error = cachedError(uri, idempotent);
+        if (error != null) {
+            return CompletableFuture.failedFuture(error);
+        }
+        if (deadline != null && deadline.isExpired()) {
+            return CompletableFuture.failedFuture(deadlineExceeded(uri));
+        }
+        return fetchAsync(unconditional, endpoint, idempotent, ttl, responseBodyType);
+    }
+
+    /**
+     * Returns the response cached for the request, in memory or else on disk, or {@code null} if there's none, and
+     * starts its background refresh if the lookup picked this call for it.
+     */
+    private <T extends OpenOpusResponse> HttpResponse<T> cached(
+            String uriPath,
+            Class<T> responseBodyType,
+            HttpRequest request,
+            Duration ttl
+    ) {
+        if (ttl.isZero()) {
+            return null;
+        }
+        WTinyLfuCache.Lookup<HttpResponse<?>> cached = cache.lookup(request.uri(), options.getCacheEarlyRefreshBeta());
+        if (cached == null) {
+            return disk != null ? fromDisk(request, responseBodyType) : null;
+        }
+        if (cached.reload()) {
+            refreshInBackground(uriPath, responseBodyType, cached.value());
+        }
+        @SuppressWarnings("unchecked")
+        HttpResponse<T> response = (HttpResponse<T>) cached.value();
+        return response;
+    }
+
+    /**
+     * Returns the response stored on disk for the request, decoded on the calling thread and cached in memory again
+     * for the rest of its time to live; or {@code null} if there's none or the disk failed.
+     */
+    private <T extends OpenOpusResponse> HttpResponse<T> fromDisk(HttpRequest request, Class<T> responseBodyType) {
+        try {
+            DiskCache.Hit hit = disk.get(request.uri().toString());
+            if (hit == null) {
+                return null;
+            }
+            HttpResponse<T> stored = LocalHttpResponse.of(request, BinaryCodec.decode(hit.value(), responseBodyType));
+            if (entities != null) {
+                entities.absorb(stored.body());
+            }
+            cache.put(request.uri(), stored, hit.value().length, hit.timeToLive(), options.getCacheStaleWhileRevalidate(), 0);
+            return stored;
+        } catch (IOException | RuntimeException e) {
+            if (options.isLogging()) {
+                log.debug("Failed to read {} from the disk cache", request.uri(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the binary encoding of the response body on disk for its time to live, if the disk cache is enabled.
+     * A failure is only logged: the response is still returned, and fetched again next time.
+     */
+    private void toDisk(URI uri, Object body, Duration timeToLive) {
+        if (disk == null || !(body instanceof OpenOpusResponse response)) {
+            return;
+        }
+        try {
+            disk.put(uri.toString(), BinaryCodec.encode(response), timeToLive);
+        } catch (IOException | RuntimeException e) {
+            if (options.isLogging()) {
+                log.debug("Failed to write {} to the disk cache", uri, e);
+            }
+        }
+    }
+
+    private <T> JsonBodyHandler<T> bodyHandler(Class<T> responseBodyType) {
+        return new JsonBodyHandler<>(responseBodyType, options.getParsingMode(), options.getDecodingMode(), decodingExecutor);
+    }
+
+    /**
+     * Returns a new exception with the message of the error status cached for the URI, or {@code null} if there's
+     * none. Each caller gets its own exception, so that they don't share its stack trace and suppressed exceptions.
+     */
+    private OpenOpusErrorException cachedError(URI uri, boolean idempotent) {
+        if (errors == null || !idempotent) {
+            return null;
+        }
+        String message = errors.get(uri);
+        if (message == null) {
+            return null;
+        }
+        if (options.isLogging()) {
+            log.debug("{} answered from the negative cache with error status '{}'", uri, message);
+        }
+        return new OpenOpusErrorException(message);
+    }
+
+    /**
+     * Fetches the response again with {@link Priority#BACKGROUND} and without a deadline, past the cache, for the
+     * cached response that's stale or about to be. A failed refresh leaves the cached response in place and lets
+     * the next lookup pick another one.
+     */
+    private <T extends OpenOpusResponse> void refreshInBackground(String uriPath, Class<T> responseBodyType, HttpResponse<?> cached) {
+        OpenOpusHttpClientProxy background = new OpenOpusHttpClientProxy(this, Priority.BACKGROUND, tenant, null);
+        HttpRequest request = background.requestFor(uriPath);
+        Endpoint endpoint = Endpoint.of(uriPath);
+        background.fetchAsync(request, endpoint, true, options.getCacheTtl(endpoint), responseBodyType)
+                .whenComplete((res, failure) -> {
+                    cache.endReload(request.uri(), cached);
+                    if (failure != null && options.isLogging()) {
+                        log.debug("Background refresh of {} failed, still serving the cached response", request.uri(),
+                                Futures.unwrap(failure));
+                    }
+                });
+    }
+
+    /**
+     * Makes the call of {@link #sendAsyncGetOpenOpus} that wasn't answered from the cache.
+     */
+    private <T extends OpenOpusResponse> CompletableFuture<HttpResponse<T>> fetchAsync(
+            HttpRequest unconditional,
+            Endpoint endpoint,
+            boolean idempotent,
+            Duration ttl,
+            Class<T> responseBodyType
+    ) {
+        URI uri = unconditional.uri();
+        JsonBodyHandler<T> bodyHandler = bodyHandler(responseBodyType);
+        HttpResponse<T> revalidated = revalidated(uri, ttl);
+        HttpRequest request = revalidated != null ? conditional(unconditional, revalidated) : unconditional;
+        Supplier<CompletableFuture<HttpResponse<T>>> attempt = idempotent && hedger.isEnabled()
+                ? () -> hedger.execute(endpoint, () -> exchange(endpoint, request, bodyHandler))
+                : () -> exchange(endpoint, request, bodyHandler);
+        Supplier<CompletableFuture<HttpResponse<T>>> exchanged = () -> {
+            long startNanos = System.nanoTime();
+            return Futures.thenApply(retrier.execute(attempt, idempotent),
+                    res -> accept(uri, res, revalidated, ttl, idempotent, System.nanoTime() - startNanos));
+        };
+        Supplier<CompletableFuture<HttpResponse<T>>> call = !ttl.isZero() && options.isCacheFallbackWhileCircuitOpen()
+                ? () -> Futures.exceptionally(exchanged.get(), failure -> {
+                    HttpResponse<T> stale = staleWhileCircuitOpen(uri, Futures.unwrap(failure));
+                    if (stale == null) {
+                        throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+                    }
+                    return stale;
+                })
+                : exchanged;
+        Supplier<CompletableFuture<HttpResponse<T>>> dispatch = idempotent && options.isRequestCoalescing()
+                ? () -> singleFlight.execute(uri, call)
+                : call;
+        return withinDeadline(scheduler != null ? scheduled(dispatch) : dispatch.get(), uri);
+    }
+
+    /**
+     * Returns the expired response cached for the URI if it may be revalidated, i.e. the conditional revalidation
+     * is enabled and the response has a validator; or else {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> HttpResponse<T> revalidated(URI uri, Duration ttl) {
+        if (ttl.isZero() || !options.isConditionalRevalidation()) {
+            return null;
+        }
+        HttpResponse<T> stale = (HttpResponse<T>) cache.getStale(uri);
+        return stale != null && hasValidator(stale.headers()) ? stale : null;
+    }
+
+    private static boolean hasValidator(HttpHeaders headers) {
+        return headers.firstValue("ETag").isPresent() || headers.firstValue("Last-Modified").isPresent();
+    }
+
+    /**
+     * Returns the request made conditional on the validators of the expired cached response.
+     */
+    private static HttpRequest conditional(HttpRequest request, HttpResponse<?> stale) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true);
+        stale.headers().firstValue("ETag").ifPresent(etag -> builder.header("If-None-Match", etag));
+        stale.headers().firstValue("Last-Modified").ifPresent(date -> builder.header("If-Modified-Since", date));
+        return builder.build();
+    }
+
+    /**
+     * Checks the response of an exchange, absorbs it into the entity store and caches it; an error status is cached
+     * in the negative cache before it's thrown. A {@code 304} answering a conditional request renews the expired
+     * cached response instead, which is returned without parsing anything.
+     *
+     * @param revalidated the expired cached response the request was made conditional on, or {@code null}
+     * @param ttl the time to live of the endpoint family, {@link Duration#ZERO} if it isn't cached
+     * @param idempotent whether the endpoint is idempotent, so that its error status may be cached
+     * @param loadNanos how long the call took, retries included, for the early refresh of the cached response
+     */
+    private <T extends OpenOpusResponse> HttpResponse<T> accept(
+            URI uri,
+            HttpResponse<T> res,
+            HttpResponse<T> revalidated,
+            Duration ttl,
+            boolean idempotent,
+            long loadNanos
+    ) {
+        if (revalidated != null && res.statusCode() == 304) {
+            if (options.isLogging()) {
+                log.debug("{} not modified, reusing the cached response", uri);
+            }
+            Duration fresh = freshness(res.headers(), true, ttl);
+            if (fresh.isZero()) {
+                cache.invalidate(uri);
+            } else {
+                cache.refresh(uri, revalidated, fresh);
+            }
+            return revalidated;
+        }
+        // only a response with a body gets here, never a transport failure or an HTTP error status
+        if (errors != null && idempotent && !res.body().getStatus().isSuccess()) {
+            errors.put(uri, res.body().getStatus().getError().orElse(""), 1, options.getNegativeCacheTtl());
+        }
+        @SuppressWarnings("unchecked")
+        HttpResponse<T> checked = (HttpResponse<T>) handleStatusError(res);
+        if (entities != null) {
+            entities.absorb(checked.body());
+        }
+        if (!ttl.isZero()) {
+            Duration fresh = freshness(checked.headers(), hasValidator(checked.headers()), ttl);
+            cache.put(uri, checked, ReceivedHttpResponse.bodySizeOf(checked), fresh, options.getCacheStaleWhileRevalidate(), loadNanos);
+            toDisk(uri, checked.body(), fresh);
+        }
+        return checked;
+    }
+
+    /**
+     * Returns how long a response with the headers stays fresh in the cache: the time to live of its endpoint family,
+     * unless the conditional revalidation is enabled and the headers say otherwise; {@link Duration#ZERO} if it
+     * mustn't be cached.
+     *
+     * @param revalidatable whether the cached response has a validator, so it's worth keeping once expired
+     */
+    private Duration freshness(HttpHeaders headers, boolean revalidatable, Duration ttl) {
+        if (!options.isConditionalRevalidation()) {
+            return ttl;
+        }
+        Duration maxAge = null;
+        for (String value : headers.allValues("Cache-Control")) {
+            for (String directive : value.split(",")) {
+                String name = directive.trim().toLowerCase(Locale.ROOT);
+                if (name.equals("no-store")) {
+                    return Duration.ZERO;
+                }
+                if (name.equals("no-cache")) {
+                    maxAge = Duration.ZERO;
+                } else if (name.startsWith("max-age=") && maxAge == null) {
+                    maxAge = parseSeconds(name.substring("max-age=".length())).orElse(null);
+                }
+            }
+        }
+        if (maxAge == null) {
+            return ttl;
+        }
+        Duration age = headers.firstValue("Age").flatMap(OpenOpusHttpClientProxy::parseSeconds).orElse(Duration.ZERO);
+        Duration fresh = maxAge.minus(age);
+        if (fresh.isNegative() || fresh.isZero()) {
+            return revalidatable ? UNTIL_REVALIDATED : Duration.ZERO;
+        }
+        return fresh;
+    }
+
+    /**
+     * Makes the call in the turn of this proxy's tenant, holding its slot until the call completes.
+     */
+    private <R> CompletableFuture<R> scheduled(Supplier<CompletableFuture<R>> call) {
+        return scheduled(call, null);
+    }
+
+    /**
+     * Makes the call in the turn of this proxy's tenant, holding its slot until the call completes, or if it
+     * succeeds and {@code held} is given, until {@code held} completes too.
+     */
+    private <R> CompletableFuture<R> scheduled(Supplier<CompletableFuture<R>> call, CompletableFuture<?> held) {
+        CompletableFuture<WeightedFairScheduler.Slot> turn = scheduler.acquire(tenant);
+        // a caller giving up while still queued leaves the queue
+        return Futures.thenCompose(turn, slot -> {
+            CompletableFuture<R> made;
+            try {
+                made = call.get();
+            } catch (RuntimeException e) {
+                slot.release();
+                throw e;
+            }
+            made.whenComplete((res, failure) -> {
+                if (failure == null && held != null) {
+                    held.whenComplete((ignored, heldFailure) -> slot.release());
+                } else {
+                    slot.release();
+                }
+            });
+            return made;
+        });
+    }
+
+    /**
+     * Returns the expired response cached for the URI if the failure is an open circuit, or else {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> HttpResponse<T> staleWhileCircuitOpen(URI uri, Throwable failure) {
+        if (!(failure instanceof OpenOpusCircuitOpenException)) {
+            return null;
+        }
+        HttpResponse<T> stale = (HttpResponse<T>) cache.getStale(uri);
+        if (stale != null && options.isLogging()) {
+            log.debug("Circuit open, answering {} from the expired cached response", uri);
+        }
+        return stale;
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> exchange(Endpoint endpoint, HttpRequest untimed, JsonBodyHandler<T> bodyHandler) {
+        return exchange(endpoint, untimed, bodyHandler, null);
+    }
+
+    /**
+     * Makes one exchange through the circuit breaker, the rate limits and the concurrency limit.
+     *
+     * @param held completes when the body of a response still being read once the exchange completes, like
+     *             that of a stream, is done with, and until then the exchange keeps its concurrency slot; or
+     *             {@code null} if the body is read by the time the exchange completes
+     */
+    private <T> CompletableFuture<HttpResponse<T>> exchange(
+            Endpoint endpoint,
+            HttpRequest untimed,
+            HttpResponse.BodyHandler<T> bodyHandler,
+            CompletableFuture<?> held
+    ) {
+        HttpRequest request;
+        try {
+            request = withinDeadline(untimed);
+        } catch (OpenOpusDeadlineExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // a timeout cut short by the deadline says nothing about the server either
+        boolean cut = request != untimed;
+        CircuitBreaker breaker = circuitBreaker(request.uri(), endpoint);
+        if (breaker == null) {
+            return exchangeWithinRate(endpoint, request, bodyHandler, null, held);
+        }
+        CircuitBreaker.Permit circuit = breaker.tryAcquire();
+        if (circuit == null) {
+            return CompletableFuture.failedFuture(circuitOpen(request.uri(), breaker));
+        }
+        CompletableFuture<HttpResponse<T>> exchanged = exchangeWithinRate(endpoint, request, bodyHandler, circuit, held);
+        exchanged.whenComplete((res, failure) -> {
+            Throwable cause = Futures.unwrap(failure);
+            if (cause instanceof CancellationException || (cut && cause instanceof HttpTimeoutException)) {
+                // a hedge or a caller gave up on it; that says nothing about the server
+                circuit.abandon();
+            } else {
+                circuit.release(cause);
+            }
+        });
+        return exchanged;
+    }
+
+    private static OpenOpusCircuitOpenException circuitOpen(URI uri, CircuitBreaker breaker) {
+        return new OpenOpusCircuitOpenException("Circuit to " + uri.getHost() + " open, not sending request to " + uri,
+                breaker.retryAfter());
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> exchangeWithinRate(
+            Endpoint endpoint,
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler,
+            CircuitBreaker.Permit circuit,
+            CompletableFuture<?> held
+    ) {
+        long wait;
+        try {
+            wait = reserveRate(endpoint);
+        } catch (OpenOpusRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (wait > 0) {
+            return Futures.thenCompose(RateLimiter.delay(wait),
+                    ignored -> exchangeWithinLimit(endpoint, request, bodyHandler, circuit, held));
+        }
+        return exchangeWithinLimit(endpoint, request, bodyHandler, circuit, held);
+    }
+
+    /**
+     * Reserves the next slot of the exchange in the rate limits of its endpoint family and of all families.
+     * <p>
+     * A slot further away than the maximum wait, or than the deadline of this proxy, isn't reserved. The slot of
+     * the family is then already taken when the shared limit refuses one; it only delays the next request.
+     *
+     * @return the nanoseconds to wait until the exchange may be sent
+     * @throws OpenOpusRejectedException if a slot is further away than the exchange may wait
+     */
+    private long reserveRate(Endpoint endpoint) {
+        RateLimiter familyLimiter = endpointRateLimiters.get(endpoint);
+        if (familyLimiter == null && rateLimiter == null) {
+            return 0;
+        }
+        long maxWait = options.getRateLimitMaxWait().toNanos();
+        if (deadline != null) {
+            maxWait = Math.min(maxWait, deadline.remaining().toNanos());
+        }
+        long wait = 0;
+        if (familyLimiter != null) {
+            wait = familyLimiter.reserve(maxWait);
+        }
+        if (wait >= 0 && rateLimiter != null) {
+            long sharedWait = rateLimiter.reserve(maxWait);
+            wait = sharedWait < 0 ? sharedWait : Math.max(wait, sharedWait);
+        }
+        if (wait < 0) {
+            throw new OpenOpusRejectedException("Rate limit of the Open Opus API has no slot for the request within "
+                    + Duration.ofNanos(maxWait));
+        }
+        return wait;
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> exchangeWithinLimit(
+            Endpoint endpoint,
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler,
+            CircuitBreaker.Permit circuit,
+            CompletableFuture<?> held
+    ) {
+        if (limiter == null) {
+            return send(request, bodyHandler, circuit);
+        }
+        return Futures.thenCompose(limiter.acquire(endpoint, priority), permit -> {
+            CompletableFuture<HttpResponse<T>> sent = send(request, bodyHandler, circuit);
+            sent.whenComplete((res, failure) -> {
+                if (failure == null && held != null) {
+                    permit.releaseWhenDone(held);
+                } else {
+                    permit.release(Futures.unwrap(failure));
+                }
+            });
+            return sent;
+        });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler,
+            CircuitBreaker.Permit circuit
+    ) {
         if (options.isLogging()) {
             log.debug("Sending {} request to {}", request.method(), request.uri());
         }
-        var future = http.sendAsync(request, new JsonBodyHandler<>(responseBodyType));
-        // todo: retries with exponential backoff and perhaps also jitter
-        return future.thenApply(res -> (HttpResponse<T>) handleStatusError(res));
+        if (circuit != null) {
+            circuit.start();
+        }
+        if (cache == null || !(bodyHandler instanceof JsonBodyHandler<T> jsonBodyHandler)) {
+            // cancelling the future of sendAsync aborts the exchange
+            return Futures.thenApply(http.sendAsync(request, bodyHandler), OpenOpusHttpClientProxy::handleHttpStatus);
+        }
+        // the size is recorded for this exchange alone, since retries and hedges share the handler
+        AtomicLong bodySize = new AtomicLong();
+        return Futures.thenApply(http.sendAsync(request, jsonBodyHandler.reportingBodySizeTo(bodySize::set)),
+                res -> new ReceivedHttpResponse<>(handleHttpStatus(res), bodySize.get()));
+    }
+
+    /**
+     * Sends a GET request to the desired Open Opus API endpoint on the calling thread and waits for the response.
+     * <p>
+     * The request takes the same route as with {@link #sendAsyncGetOpenOpus}: it's answered from the response
+     * cache, coalesced with identical requests in flight, retried and absorbed by the entity store alike. The
+     * exchange is made with the blocking {@link HttpClient#send} and the backoff between attempts is slept out,
+     * so on a virtual thread the request involves no other thread unless it joins one in flight. Hedging needs
+     * a second exchange in flight, so with hedging enabled the requests to idempotent endpoints are sent with
+     * {@link #sendAsyncGetOpenOpus} and awaited. So are the requests of a proxy with a deadline, so that every wait
+     * of the call, and not only the exchange, ends at the deadline.
+     *
+     * @param uriPath the API endpoint relative to the base URL
+     * @param responseBodyType the expected type of the API's response body
+     * @return the {@link HttpResponse} with the {@link OpenOpusResponse} inheriting object
+     * @param <T> the type of the response body, extending {@link OpenOpusResponse}
+     * @throws OpenOpusErrorException if the Open Opus API returns a status error
+     * @throws OpenOpusHttpStatusException if the Open Opus API responds with an HTTP error status
+     * @throws IOException if the exchange failed
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public <T extends OpenOpusResponse> HttpResponse<T> sendGetOpenOpus(String uriPath, Class<T> responseBodyType)
+            throws IOException, InterruptedException {
+        Endpoint endpoint = Endpoint.of(uriPath);
+        boolean idempotent = options.isIdempotent(endpoint);
+        if ((idempotent && hedger.isEnabled()) || deadline != null) {
+            return await(sendAsyncGetOpenOpus(uriPath, responseBodyType));
+        }
+        HttpRequest unconditional = requestFor(uriPath);
+        URI uri = unconditional.uri();
+        Duration ttl = cache != null && idempotent ? options.getCacheTtl(endpoint) : Duration.ZERO;
+        HttpResponse<T> cached = cached(uriPath, responseBodyType, unconditional, ttl);
+        if (cached != null) {
+            return cached;
+        }
+        OpenOpusErrorException error = cachedError(uri, idempotent);
+        if (error != null) {
+            throw error;
+        }
+        JsonBodyHandler<T> bodyHandler = bodyHandler(responseBodyType);
+        HttpResponse<T> revalidated = revalidated(uri, ttl);
+        HttpRequest request = revalidated != null ? conditional(unconditional, revalidated) : unconditional;
+        Callable<HttpResponse<T>> call = () -> {
+            long startNanos = System.nanoTime();
+            HttpResponse<T> res;
+            try {
+                res = retrier.executeBlocking(() -> exchangeBlocking(endpoint, request, bodyHandler), idempotent);
+            } catch (OpenOpusCircuitOpenException e) {
+                HttpResponse<T> stale = !ttl.isZero() && options.isCacheFallbackWhileCircuitOpen()
+                        ? staleWhileCircuitOpen(uri, e)
+                        : null;
+                if (stale == null) {
+                    throw e;
+                }
+                return stale;
+            }
+            return accept(uri, res, revalidated, ttl, idempotent, System.nanoTime() - startNanos);
+        };
+        WeightedFairScheduler.Slot slot = scheduler != null ? await(scheduler.acquire(tenant)) : null;
+        try {
+            if (!idempotent || !options.isRequestCoalescing()) {
+                return callBlocking(call);
+            }
+            // the first caller makes the exchange inside execute; the others wait for it
+            return await(singleFlight.execute(uri, () -> {
+                try {
+                    return CompletableFuture.completedFuture(callBlocking(call));
+                } catch (IOException | InterruptedException | RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }));
+        } finally {
+            if (slot != null) {
+                slot.release();
+            }
+        }
+    }
+
+    /**
+     * Waits for the future on the calling thread and unwraps its failure; cancels it if the thread is interrupted.
+     *
+     * @throws IOException if the future failed with an {@code IOException}
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = Futures.unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof InterruptedException interrupted) {
+                throw interrupted;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new OpenOpusException(cause);
+        }
+    }
+
+    private static <T> T callBlocking(Callable<T> call) throws IOException, InterruptedException {
+        try {
+            return call.call();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OpenOpusException(e);
+        }
+    }
+
+    private <T> HttpResponse<T> exchangeBlocking(Endpoint endpoint, HttpRequest request, JsonBodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        CircuitBreaker breaker = circuitBreaker(request.uri(), endpoint);
+        if (breaker == null) {
+            return exchangeBlockingWithinRate(endpoint, request, bodyHandler, null);
+        }
+        CircuitBreaker.Permit circuit = breaker.tryAcquire();
+        if (circuit == null) {
+            throw circuitOpen(request.uri(), breaker);
+        }
+        Throwable failure = null;
+        boolean interrupted = false;
+        try {
+            return exchangeBlockingWithinRate(endpoint, request, bodyHandler, circuit);
+        } catch (InterruptedException e) {
+            interrupted = true;
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (interrupted) {
+                // the caller gave up on it; that says nothing about the server
+                circuit.abandon();
+            } else {
+                circuit.release(failure);
+            }
+        }
+    }
+
+    private <T> HttpResponse<T> exchangeBlockingWithinRate(
+            Endpoint endpoint,
+            HttpRequest request,
+            JsonBodyHandler<T> bodyHandler,
+            CircuitBreaker.Permit circuit
+    ) throws IOException, InterruptedException {
+        long wait = reserveRate(endpoint);
+        if (wait > 0) {
+            Thread.sleep(Duration.ofNanos(wait));
+        }
+        if (limiter == null) {
+            return sendBlocking(request, bodyHandler, circuit);
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = await(limiter.acquire(endpoint, priority));
+        Throwable failure = null;
+        try {
+            return sendBlocking(request, bodyHandler, circuit);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            permit.release(failure);
+        }
+    }
+
+    private <T> HttpResponse<T> sendBlocking(HttpRequest request, JsonBodyHandler<T> bodyHandler, CircuitBreaker.Permit circuit)
+            throws IOException, InterruptedException {
+        if (options.isLogging()) {
+            log.debug("Sending {} request to {}", request.method(), request.uri());
+        }
+        if (circuit != null) {
+            circuit.start();
+        }
+        try {
+            if (cache == null) {
+                return handleHttpStatus(http.send(request, bodyHandler));
+            }
+            AtomicLong bodySize = new AtomicLong();
+            HttpResponse<T> res = http.send(request, bodyHandler.reportingBodySizeTo(bodySize::set));
+            return new ReceivedHttpResponse<>(handleHttpStatus(res), bodySize.get());
+        } catch (IOException e) {
+            // a malformed body fails as it does asynchronously, so it isn't retried either
+            if (e.getCause() instanceof UncheckedIOException malformed) {
+                throw malformed;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a {@link ResponseStream} of the elements of one array field of an Open Opus API response.
+     * <p>
+     * The GET request is sent once the stream gets its subscriber, and the body is read only as fast as
+     * the subscriber requests elements. The request timeout, cut to the deadline of this proxy if it has one,
+     * bounds the wait for the response headers; reading the body isn't bounded.
+     * <p>
+     * The exchange goes through the circuit breaker, the rate limits, the concurrency limit and the tenant scheduler
+     * like that of {@link #sendAsyncGetOpenOpus}, but it's neither cached, coalesced, retried nor hedged. It holds
+     * its slots in the concurrency limit and the tenant scheduler until the stream terminates or is cancelled.
+     *
+     * @param uriPath the API endpoint relative to the base URL
+     * @param arrayField the name of the top-level array field whose elements are streamed
+     * @param elementType the type of the array elements
+     * @return a {@link ResponseStream} publishing the elements of {@code arrayField}
+     * @param <E> the type of the array elements
+     * @throws OpenOpusDeadlineExceededException if the deadline of this proxy passed
+     */
+    public <E> ResponseStream<E> streamGetOpenOpus(String uriPath, String arrayField, Class<E> elementType) {
+        HttpRequest request = requestFor(uriPath);
+        if (deadline != null && deadline.isExpired()) {
+            throw deadlineExceeded(request.uri());
+        }
+        if (options.isLogging()) {
+            log.debug("Streaming {} request to {}", request.method(), request.uri());
+        }
+        Endpoint endpoint = Endpoint.of(uriPath);
+        OpenOpusResponseStream.Exchange exchange = (bodyHandler, terminated) -> {
+            Supplier<CompletableFuture<HttpResponse<Void>>> call = () -> exchange(endpoint, request, bodyHandler, terminated);
+            return scheduler != null ? scheduled(call, terminated) : call.get();
+        };
+        return new OpenOpusResponseStream<>(exchange, arrayField, elementType, options.getDecodingMode());
+    }
+
+    private static <T> HttpResponse<T> handleHttpStatus(HttpResponse<T> res) {
+        if (res.statusCode() >= 400) {
+            Duration retryAfter = res.headers().firstValue("Retry-After")
+                    .flatMap(OpenOpusHttpClientProxy::parseSeconds)
+                    .orElse(null);
+            throw new OpenOpusHttpStatusException(res.statusCode(), res.request().uri(), retryAfter);
+        }
+        return res;
+    }
+
+    /**
+     * Parses a header value counting seconds, like {@code Retry-After}, {@code Age} or a {@code max-age}.
+     */
+    private static Optional<Duration> parseSeconds(String value) {
+        try {
+            long seconds = Long.parseLong(value.trim());
+            return seconds >= 0 ? Optional.of(Duration.ofSeconds(seconds)) : Optional.empty();
+        } catch (NumberFormatException e) {
+            // an HTTP-date of Retry-After, after which the backoff delay is used instead
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        if (failure instanceof OpenOpusHttpStatusException e) {
+            return e.isTransient();
+        }
+        // connection refused or reset, truncated bodies and timeouts; malformed JSON surfaces as UncheckedIOException
+        return failure instanceof IOException;
+    }
+
+    /**
+     * Tells whether an exchange failure counts against the server in the circuit breaker: a connection failure, a
+     * timeout or a {@code 5xx} status other than {@code 501}. Rate limiting and client errors don't.
+     */
+    private static boolean isServerFailure(Throwable failure) {
+        if (failure instanceof OpenOpusHttpStatusException e) {
+            return e.getStatusCode() >= 500 && e.getStatusCode() != 501;
+        }
+        return failure instanceof IOException;
+    }
+
+    private static Duration requestedDelay(Throwable failure) {
+        if (failure instanceof OpenOpusHttpStatusException e) {
+            return e.getRetryAfter().orElse(null);
+        }
+        return null;
+    }
+
+    private void logRetry(int retry, Duration delay, Throwable cause) {
+        if (options.isLogging()) {
+            log.debug("Retry {} of {} in {} ms after: {}", retry, options.getMaxRetries(), delay.toMillis(), cause.toString());
+        }
     }
 
     private HttpResponse<? extends OpenOpusResponse> handleStatusError(HttpResponse<? extends OpenOpusResponse> res) {
@@ -0,0 +1,180 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.internal.json.JsonArrayStreamSubscriber;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.internal.json.JsonDecoder;
+import dev.jlynx.openopusjava.response.stream.ResponseStream;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@link ResponseStream} sending its request on subscription, through the limits of the client like any
+ * other request.
+ * <p>
+ * The request is retried or hedged by no one, since its elements are passed on as they arrive. It holds its slots
+ * in the concurrency limit and the tenant scheduler until the stream terminates or the subscriber cancels it.
+ * </p>
+ *
+ * @param <E> the type of the list elements
+ */
+class OpenOpusResponseStream<E> implements ResponseStream<E> {
+
+    private static final String STATUS_FIELD = "status";
+    private static final String COMPOSER_FIELD = "composer";
+
+    private final Exchange exchange;
+    private final String arrayField;
+    private final JsonDecoder<E> elementDecoder;
+    private final DecodingMode decodingMode;
+    private final CompletableFuture<OpenOpusResponse.OpenOpusResponseStatus> status;
+    private final CompletableFuture<Optional<Composer>> composer;
+    private final AtomicBoolean subscribed;
+    private final CompletableFuture<Void> terminated;
+
+    OpenOpusResponseStream(Exchange exchange, String arrayField, Class<E> elementType, DecodingMode decodingMode) {
+        this.exchange = exchange;
+        this.arrayField = arrayField;
+        this.elementDecoder = JsonCodecRegistry.getInstance().decoderFor(elementType, decodingMode);
+        this.decodingMode = decodingMode;
+        this.status = new CompletableFuture<>();
+        this.composer = new CompletableFuture<>();
+        this.subscribed = new AtomicBoolean();
+        this.terminated = new CompletableFuture<>();
+    }
+
+    @Override
+    public CompletableFuture<OpenOpusResponse.OpenOpusResponseStatus> status() {
+        return status;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Composer>> composer() {
+        return composer;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super E> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A ResponseStream accepts a single subscriber"));
+            return;
+        }
+        JsonCodecRegistry codecs = JsonCodecRegistry.getInstance();
+        JsonArrayStreamSubscriber<E> body = new JsonArrayStreamSubscriber<>(
+                arrayField,
+                elementDecoder,
+                Map.of(
+                        STATUS_FIELD, codecs.decoderFor(OpenOpusResponse.OpenOpusResponseStatus.class, decodingMode),
+                        COMPOSER_FIELD, codecs.decoderFor(Composer.class, decodingMode)
+                ),
+                this::onSideField,
+                this::checkEndOfBody,
+                new SideChannelClosingSubscriber(subscriber)
+        );
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                body.request(n);
+            }
+
+            @Override
+            public void cancel() {
+                body.cancel();
+                terminated.complete(null);
+            }
+        });
+        // the exchange fails on an HTTP error status, so its body is discarded
+        CompletableFuture<HttpResponse<Void>> sent = exchange.send(
+                responseInfo -> responseInfo.statusCode() >= 400 ? HttpResponse.BodySubscribers.discarding() : body,
+                terminated);
+        sent.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                body.fail(throwable);
+            }
+        });
+        // a subscriber cancelling before the response arrived takes the request out of the queues it waits in
+        terminated.whenComplete((ignored, failure) -> sent.cancel(true));
+    }
+
+    private void onSideField(String field, Object value) {
+        switch (field) {
+            case STATUS_FIELD -> status.complete((OpenOpusResponse.OpenOpusResponseStatus) value);
+            case COMPOSER_FIELD -> composer.complete(Optional.ofNullable((Composer) value));
+            default -> { }
+        }
+    }
+
+    private Throwable checkEndOfBody() {
+        composer.complete(Optional.empty());
+        OpenOpusResponse.OpenOpusResponseStatus parsed = status.getNow(null);
+        if (parsed == null) {
+            return new OpenOpusErrorException("The Open Opus API response has no status object");
+        }
+        if (!parsed.isSuccess()) {
+            return new OpenOpusErrorException(parsed.getError().orElse(""));
+        }
+        return null;
+    }
+
+    /**
+     * Fails the side channel futures that are still pending when the stream terminates with an error.
+     */
+    private class SideChannelClosingSubscriber implements Flow.Subscriber<E> {
+
+        private final Flow.Subscriber<? super E> delegate;
+
+        SideChannelClosingSubscriber(Flow.Subscriber<? super E> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(E item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            status.completeExceptionally(throwable);
+            composer.completeExceptionally(throwable);
+            delegate.onError(throwable);
+            terminated.complete(null);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+            terminated.complete(null);
+        }
+    }
+
+    /**
+     * Sends the request of the stream with the body handler, holding the slots of the request until
+     * {@code terminated} completes.
+     */
+    @FunctionalInterface
+    interface Exchange {
+
+        CompletableFuture<HttpResponse<Void>> send(HttpResponse.BodyHandler<Void> bodyHandler, CompletableFuture<Void> terminated);
+    }
+}
@@ -0,0 +1,20 @@
+package dev.jlynx.openopusjava;
+
+/**
+ * Determines when the JSON response bodies are parsed.
+ *
+ * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#parsingMode(ParsingMode)
+ */
+public enum ParsingMode {
+
+    /**
+     * The body is received in full and parsed afterwards.
+     */
+    BUFFERED,
+
+    /**
+     * The body is tokenized by a non-blocking parser as each chunk arrives, so parsing overlaps
+     * the network transfer. Pays off for large bodies and slow connections.
+     */
+    INCREMENTAL
+}
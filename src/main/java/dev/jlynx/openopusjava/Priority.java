@@ -0,0 +1,24 @@
+package dev.jlynx.openopusjava;
+
+/**
+ * Determines the order in which the requests waiting for a free slot of the concurrency limit are sent. Without
+ * the adaptive concurrency limit, it has no effect.
+ *
+ * @see OpenOpusClient#withPriority(Priority)
+ * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#backgroundShare(double)
+ */
+public enum Priority {
+
+    /**
+     * The request is sent before any waiting background request, except for the minimum share of the background
+     * requests. The default.
+     */
+    INTERACTIVE,
+
+    /**
+     * The request is sent when no interactive request is waiting, or in its turn within the minimum share of the
+     * background requests. When the queue is full, an interactive request takes the place of the last queued
+     * background request, which is rejected.
+     */
+    BACKGROUND
+}
@@ -0,0 +1,20 @@
+package dev.jlynx.openopusjava;
+
+/**
+ * A ceiling on the rate of requests the client sends to the Open Opus API.
+ *
+ * @param requestsPerSecond the sustained rate of requests
+ * @param burst the number of requests that may be sent at once after an idle period
+ * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#rateLimit(double, int)
+ */
+public record RateLimit(double requestsPerSecond, int burst) {
+
+    public RateLimit {
+        if (!(requestsPerSecond > 0)) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+    }
+}
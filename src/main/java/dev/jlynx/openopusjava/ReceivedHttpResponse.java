@@ -0,0 +1,67 @@
+package dev.jlynx.openopusjava;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+/**
+ * An {@link HttpResponse} received from the Open Opus API together with the size of its body as it was received,
+ * which the response cache weighs it by.
+ *
+ * @param response the response as it was received
+ * @param bodySize the size of the body in bytes
+ * @param <T> the type of the response body
+ */
+record ReceivedHttpResponse<T>(HttpResponse<T> response, long bodySize) implements HttpResponse<T> {
+
+    /**
+     * Returns the size in bytes of the body of the response as it was received, or {@code 0} if it's not known.
+     */
+    static long bodySizeOf(HttpResponse<?> response) {
+        return response instanceof ReceivedHttpResponse<?> received ? received.bodySize() : 0;
+    }
+
+    @Override
+    public int statusCode() {
+        return response.statusCode();
+    }
+
+    @Override
+    public HttpRequest request() {
+        return response.request();
+    }
+
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+        return response.previousResponse();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return response.headers();
+    }
+
+    @Override
+    public T body() {
+        return response.body();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return response.sslSession();
+    }
+
+    @Override
+    public URI uri() {
+        return response.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+        return response.version();
+    }
+}
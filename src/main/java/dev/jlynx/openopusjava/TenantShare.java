@@ -0,0 +1,20 @@
+package dev.jlynx.openopusjava;
+
+/**
+ * The share of one tenant in the requests a client sends to the Open Opus API.
+ *
+ * @param weight the share of the slots relative to the other tenants while they all wait
+ * @param maxInFlight the maximum number of requests of the tenant in flight
+ * @see OpenOpusClientOptions.OpenOpusClientOptionsBuilder#tenant(String, double, int)
+ */
+public record TenantShare(double weight, int maxInFlight) {
+
+    public TenantShare {
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("weight must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+    }
+}
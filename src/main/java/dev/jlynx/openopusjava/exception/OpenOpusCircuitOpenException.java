@@ -0,0 +1,27 @@
+package dev.jlynx.openopusjava.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the client failed a request at once without sending it, because recent exchanges with the
+ * Open Opus API failed or were slow often enough to open the circuit breaker.
+ * <p>
+ * The failure isn't retried; the circuit lets a few probe requests through once {@link #getRetryAfter()} passed.
+ */
+public class OpenOpusCircuitOpenException extends OpenOpusException {
+
+    private final Duration retryAfter;
+
+    public OpenOpusCircuitOpenException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the circuit stays open before it lets probe requests through; {@link Duration#ZERO} if it
+     * already does, but all the probes are in flight.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
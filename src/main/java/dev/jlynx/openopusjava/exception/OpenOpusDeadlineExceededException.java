@@ -0,0 +1,14 @@
+package dev.jlynx.openopusjava.exception;
+
+/**
+ * Thrown when a call made through a client view with a {@link dev.jlynx.openopusjava.Deadline} didn't complete
+ * before the deadline. The exchange in flight, if any, is aborted.
+ * <p>
+ * The failure isn't retried, since the budget of the call is spent.
+ */
+public class OpenOpusDeadlineExceededException extends OpenOpusException {
+
+    public OpenOpusDeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,46 @@
+package dev.jlynx.openopusjava.exception;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Thrown when the Open Opus API responded with an HTTP error status code.
+ */
+public class OpenOpusHttpStatusException extends OpenOpusException {
+
+    private final int statusCode;
+    private final URI uri;
+    private final Duration retryAfter;
+
+    public OpenOpusHttpStatusException(int statusCode, URI uri, Duration retryAfter) {
+        super("The Open Opus API responded with HTTP status " + statusCode + " to " + uri);
+        this.statusCode = statusCode;
+        this.uri = uri;
+        this.retryAfter = retryAfter;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * Returns the delay the server asked for in its {@code Retry-After} header.
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    /**
+     * Returns {@code true} if the status code indicates a transient condition, so the same request
+     * may succeed later: {@code 408}, {@code 425}, {@code 429} and all {@code 5xx} codes except {@code 501}.
+     */
+    public boolean isTransient() {
+        return statusCode == 408 || statusCode == 425 || statusCode == 429
+                || (statusCode >= 500 && statusCode != 501 && statusCode < 600);
+    }
+}
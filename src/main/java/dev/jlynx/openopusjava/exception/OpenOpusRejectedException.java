@@ -0,0 +1,15 @@
+package dev.jlynx.openopusjava.exception;
+
+/**
+ * Thrown when the client rejected a request without sending it, because the Open Opus API is already given
+ * as much traffic as the client allows and the requests waiting for their turn have filled the queue, or their
+ * turn in the rate limit is further away than a request may wait.
+ * <p>
+ * The rejection is immediate and not retried; the caller may try again later.
+ */
+public class OpenOpusRejectedException extends OpenOpusException {
+
+    public OpenOpusRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,161 @@
+package dev.jlynx.openopusjava.internal.batch;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.internal.util.Futures;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Gathers single-key loads into batches, in the manner of a DataLoader.
+ * <p>
+ * The first key of a batch opens it for {@code window}; the keys loaded meanwhile join it, and the batch is
+ * dispatched when the window ends or once it holds {@code maxBatchSize} distinct keys. A key loaded twice
+ * in the same batch is dispatched once. Each caller gets its own future, so cancelling it doesn't affect
+ * the others; a key the batch result doesn't contain fails only the callers of that key.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+@Internal
+public final class BatchLoader<K, V> {
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction;
+    private final Function<K, RuntimeException> missingKey;
+    private final ReentrantLock lock;
+    private final LongAdder loads;
+    private final LongAdder batches;
+    private final LongAdder keys;
+    // guarded by lock
+    private Map<K, CompletableFuture<V>> pending;
+
+    /**
+     * Constructs a loader.
+     *
+     * @param window how long a batch waits for more keys after its first one
+     * @param maxBatchSize the number of distinct keys that dispatches a batch before its window ends
+     * @param batchFunction loads the values of a batch of distinct keys, in the order they were loaded
+     * @param missingKey creates the failure of the callers of a key the batch result doesn't contain
+     */
+    public BatchLoader(
+            Duration window,
+            int maxBatchSize,
+            Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction,
+            Function<K, RuntimeException> missingKey
+    ) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchFunction = batchFunction;
+        this.missingKey = missingKey;
+        this.lock = new ReentrantLock();
+        this.loads = new LongAdder();
+        this.batches = new LongAdder();
+        this.keys = new LongAdder();
+    }
+
+    /**
+     * Loads the value of the key with the next batch.
+     *
+     * @return a future of this caller, completed with the value of the key
+     */
+    public CompletableFuture<V> load(K key) {
+        loads.increment();
+        CompletableFuture<V> shared;
+        Map<K, CompletableFuture<V>> full = null;
+        Map<K, CompletableFuture<V>> opened = null;
+        lock.lock();
+        try {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+                opened = pending;
+            }
+            shared = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        CompletableFuture<V> caller = shared.copy();
+        if (full != null) {
+            dispatch(full);
+        } else if (opened != null) {
+            Map<K, CompletableFuture<V>> batch = opened;
+            CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS).execute(() -> dispatchIfPending(batch));
+        }
+        return caller;
+    }
+
+    /**
+     * Returns the number of {@link #load} calls.
+     */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns the number of batches dispatched.
+     */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the number of distinct keys dispatched in all batches.
+     */
+    public long keys() {
+        return keys.sum();
+    }
+
+    private void dispatchIfPending(Map<K, CompletableFuture<V>> batch) {
+        lock.lock();
+        try {
+            if (pending != batch) {
+                // dispatched already because it filled up
+                return;
+            }
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batches.increment();
+        keys.add(batch.size());
+        CompletableFuture<Map<K, V>> result;
+        try {
+            result = batchFunction.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((values, failure) -> batch.forEach((key, future) -> {
+            if (failure != null) {
+                future.completeExceptionally(Futures.unwrap(failure));
+                return;
+            }
+            V value = values.get(key);
+            if (value != null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(missingKey.apply(key));
+            }
+        }));
+    }
+}
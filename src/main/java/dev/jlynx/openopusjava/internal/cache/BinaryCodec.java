@@ -0,0 +1,629 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.response.body.*;
+import dev.jlynx.openopusjava.response.subtype.*;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusRequestMetadata;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusResponseStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of the response bodies, for storing them outside the heap, e.g. on disk or in a cache
+ * shared by several processes, and decoding them again without a JSON parser.
+ * <p>
+ * A body is written as a format byte, the index of its type and its fields in the order of the model constructors,
+ * without names. Integers are varints, zigzag-encoded where they may be negative, and dates are packed into one
+ * varint as {@code year << 9 | month << 5 | day}. Epochs and genres are written as their ordinals. The strings that
+ * tend to repeat within a body, e.g. composer names, portrait URIs and the fields of the status, go through a
+ * dictionary built as the body is written: the first occurrence is written out and numbered, the next ones are
+ * written as that number. Titles and search terms are written out every time. Each nullable object, list and string
+ * starts with a marker of its presence, so that {@code null}s survive the round trip.
+ * </p>
+ * <p>
+ * The format isn't meant to be read by other versions of the library: a change of the model or of the order of the
+ * enum constants bumps {@link #FORMAT}, and a body of another format fails to decode.
+ * </p>
+ */
+@Internal
+public final class BinaryCodec {
+
+    static final int FORMAT = 0xB1;
+
+    private static final List<Class<? extends OpenOpusResponse>> TYPES = List.of(
+            ComposersList.class,
+            GenresList.class,
+            WorksList.class,
+            WorkDetailResponse.class,
+            ListWorksByIdResponse.class,
+            RandomWorks.class,
+            OmnisearchResponse.class,
+            PerformerRolesResponse.class
+    );
+    private static final Epoch[] EPOCHS = Epoch.values();
+    private static final Genre[] GENRES = Genre.values();
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Encodes a response body.
+     *
+     * @param body a response body of one of the types of the Open Opus endpoints
+     * @return the encoded body
+     * @throws IllegalArgumentException if the body isn't of one of those types
+     */
+    public static byte[] encode(OpenOpusResponse body) {
+        int type = TYPES.indexOf(body.getClass());
+        if (type < 0) {
+            throw new IllegalArgumentException("Unsupported response body type: " + body.getClass().getName());
+        }
+        Writer out = new Writer();
+        out.rawByte(FORMAT);
+        out.rawByte(type);
+        status(out, body.getStatus());
+        request(out, body.getRequest().orElse(null));
+        switch (body) {
+            case ComposersList list -> out.list(list.getComposers(), BinaryCodec::composer);
+            case GenresList list -> {
+                composer(out, list.getComposer());
+                out.list(list.getGenres(), (w, genre) -> w.ordinal(genre));
+            }
+            case WorksList list -> {
+                composer(out, list.getComposer());
+                out.list(list.getWorks(), BinaryCodec::work);
+            }
+            case WorkDetailResponse detail -> {
+                composerOverview(out, detail.getComposer());
+                workDetail(out, detail.getWork());
+                out.list(detail.getSimilarlyTitled().orElse(null), BinaryCodec::similarWork);
+            }
+            case ListWorksByIdResponse list -> {
+                out.list(list.getWorks(), BinaryCodec::workSummary);
+                listWorksByIdAbstract(out, list.getWorksAbstract());
+            }
+            case RandomWorks random -> out.list(random.getWorks(), BinaryCodec::randomWork);
+            case OmnisearchResponse search -> {
+                out.list(search.getResults(), BinaryCodec::searchEntry);
+                out.nullableInt(search.getNext().orElse(null));
+            }
+            case PerformerRolesResponse performers -> performerRoles(out, performers.getPerformers());
+            default -> throw new AssertionError(body.getClass());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a body encoded by {@link #encode(OpenOpusResponse)}.
+     *
+     * @param bytes the encoded body
+     * @param type the expected type of the body
+     * @return the decoded body
+     * @throws IOException if the bytes aren't a body of that type in this format
+     */
+    public static <T extends OpenOpusResponse> T decode(byte[] bytes, Class<T> type) throws IOException {
+        if (bytes.length < 2 || (bytes[0] & 0xFF) != FORMAT) {
+            throw new IOException("Not a binary response body of format " + FORMAT);
+        }
+        int index = bytes[1];
+        if (index < 0 || index >= TYPES.size() || TYPES.get(index) != type) {
+            throw new IOException("Expected a binary " + type.getSimpleName() + " but found type " + index);
+        }
+        Reader in = new Reader(bytes, 2);
+        try {
+            OpenOpusResponseStatus status = status(in);
+            OpenOpusRequestMetadata request = request(in);
+            OpenOpusResponse body = switch (index) {
+                case 0 -> new ComposersList(status, request, in.list(BinaryCodec::composer));
+                case 1 -> new GenresList(status, request, composer(in), in.list(r -> r.ordinal(GENRES)));
+                case 2 -> new WorksList(status, request, composer(in), in.list(BinaryCodec::work));
+                case 3 -> new WorkDetailResponse(status, request, composerOverview(in), workDetail(in),
+                        in.list(BinaryCodec::similarWork));
+                case 4 -> new ListWorksByIdResponse(status, request, workSummaries(in), listWorksByIdAbstract(in));
+                case 5 -> new RandomWorks(status, request, in.list(BinaryCodec::randomWork));
+                case 6 -> new OmnisearchResponse(status, request, in.list(BinaryCodec::searchEntry), in.nullableInt());
+                case 7 -> new PerformerRolesResponse(status, request, performerRoles(in));
+                default -> throw new AssertionError(index);
+            };
+            if (in.position != bytes.length) {
+                throw new IOException("Found " + (bytes.length - in.position) + " bytes after the binary body");
+            }
+            return type.cast(body);
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed binary " + type.getSimpleName(), e);
+        }
+    }
+
+    // wrapper objects
+
+    private static void status(Writer out, OpenOpusResponseStatus status) {
+        if (out.present(status)) {
+            out.shared(status.getVersion());
+            out.bool(status.isSuccess());
+            out.shared(status.getError().orElse(null));
+            out.shared(status.getSource());
+            out.signed(status.getRows());
+            out.float64(status.getProcessingTime());
+            out.shared(status.getApi());
+        }
+    }
+
+    private static OpenOpusResponseStatus status(Reader in) {
+        if (!in.present()) return null;
+        return new OpenOpusResponseStatus(in.shared(), in.bool(), in.shared(), in.shared(), in.signed(), in.float64(),
+                in.shared());
+    }
+
+    private static void request(Writer out, OpenOpusRequestMetadata request) {
+        if (out.present(request)) {
+            out.shared(request.getType());
+            out.list(request.getItem().orElse(null), Writer::shared);
+            out.string(request.getSearch().orElse(null));
+            out.nullableInt(request.getOffset().orElse(null));
+        }
+    }
+
+    private static OpenOpusRequestMetadata request(Reader in) {
+        if (!in.present()) return null;
+        String type = in.shared();
+        List<String> item = in.list(Reader::shared);
+        String search = in.string();
+        Integer offset = in.nullableInt();
+        return new OpenOpusRequestMetadata(type, item, search, offset != null ? offset.toString() : null);
+    }
+
+    // model objects
+
+    private static void composer(Writer out, Composer composer) {
+        if (out.present(composer)) {
+            out.signed(composer.getId());
+            out.shared(composer.getLastName());
+            out.shared(composer.getFullName());
+            out.date(composer.getBirth());
+            out.date(composer.getDeath().orElse(null));
+            out.ordinal(composer.getEpoch());
+            out.shared(composer.getPortraitUri());
+        }
+    }
+
+    private static Composer composer(Reader in) {
+        if (!in.present()) return null;
+        return new Composer(in.signed(), in.shared(), in.shared(), in.date(), in.date(), in.ordinal(EPOCHS), in.shared());
+    }
+
+    private static void composerOverview(Writer out, ComposerOverview composer) {
+        if (out.present(composer)) {
+            out.signed(composer.id());
+            out.shared(composer.lastName());
+            out.shared(composer.fullName());
+            out.ordinal(composer.epoch());
+        }
+    }
+
+    private static ComposerOverview composerOverview(Reader in) {
+        if (!in.present()) return null;
+        return new ComposerOverview(in.signed(), in.shared(), in.shared(), in.ordinal(EPOCHS));
+    }
+
+    private static void work(Writer out, Work work) {
+        if (out.present(work)) {
+            out.signed(work.getId());
+            out.string(work.getTitle());
+            out.shared(work.getSubtitle());
+            out.string(work.getSearchTerms());
+            out.bool(work.isPopular());
+            out.bool(work.isRecommended());
+            out.ordinal(work.getGenre());
+        }
+    }
+
+    private static Work work(Reader in) {
+        if (!in.present()) return null;
+        return new Work(in.signed(), in.string(), in.shared(), in.string(), flag(in.bool()), flag(in.bool()),
+                in.ordinal(GENRES));
+    }
+
+    private static void workDetail(Writer out, WorkDetail work) {
+        if (out.present(work)) {
+            out.signed(work.getId());
+            out.string(work.getTitle());
+            out.shared(work.getSubtitle());
+            out.ordinal(work.getGenre());
+            out.shared(work.getSearchMode());
+            out.list(work.getSearchTerms(), Writer::string);
+            out.shared(work.getCatalogue().orElse(null));
+            out.string(work.getCatalogueNumber().orElse(null));
+        }
+    }
+
+    private static WorkDetail workDetail(Reader in) {
+        if (!in.present()) return null;
+        return new WorkDetail(in.signed(), in.string(), in.shared(), in.ordinal(GENRES), in.shared(),
+                in.list(Reader::string), in.shared(), in.string());
+    }
+
+    private static void workSummary(Writer out, WorkSummary work) {
+        if (out.present(work)) {
+            out.signed(work.id());
+            out.string(work.title());
+            out.shared(work.subtitle());
+            out.ordinal(work.genre());
+            out.bool(work.popular());
+            out.bool(work.recommended());
+            composer(out, work.composer());
+        }
+    }
+
+    private static WorkSummary workSummary(Reader in) {
+        if (!in.present()) return null;
+        return new WorkSummary(in.signed(), in.string(), in.shared(), in.ordinal(GENRES), in.bool(), in.bool(),
+                composer(in));
+    }
+
+    /**
+     * Reads the works listed by id into a map again, keyed by their position: the body keeps only the values.
+     */
+    private static Map<String, WorkSummary> workSummaries(Reader in) {
+        List<WorkSummary> works = in.list(BinaryCodec::workSummary);
+        if (works == null) {
+            return null;
+        }
+        Map<String, WorkSummary> byPosition = new LinkedHashMap<>();
+        for (int i = 0; i < works.size(); i++) {
+            byPosition.put(Integer.toString(i), works.get(i));
+        }
+        return byPosition;
+    }
+
+    private static void listWorksByIdAbstract(Writer out, ListWorksByIdAbstract worksAbstract) {
+        if (out.present(worksAbstract)) {
+            ListWorksByIdAbstract.ComposersAbstract composers = worksAbstract.composers();
+            if (out.present(composers)) {
+                out.list(composers.portraitUris(), Writer::shared);
+                out.list(composers.names(), Writer::shared);
+                out.signed(composers.rows());
+            }
+            if (out.present(worksAbstract.works())) {
+                out.signed(worksAbstract.works().rows());
+            }
+        }
+    }
+
+    private static ListWorksByIdAbstract listWorksByIdAbstract(Reader in) {
+        if (!in.present()) return null;
+        ListWorksByIdAbstract.ComposersAbstract composers = in.present()
+                ? new ListWorksByIdAbstract.ComposersAbstract(in.list(Reader::shared), in.list(Reader::shared), in.signed())
+                : null;
+        ListWorksByIdAbstract.WorksAbstract works = in.present() ? new ListWorksByIdAbstract.WorksAbstract(in.signed()) : null;
+        return new ListWorksByIdAbstract(composers, works);
+    }
+
+    private static void similarWork(Writer out, SimilarWork work) {
+        if (out.present(work)) {
+            out.signed(work.id());
+            out.string(work.title());
+            out.string(work.searchTerm());
+            out.signed(work.similarity());
+        }
+    }
+
+    private static SimilarWork similarWork(Reader in) {
+        if (!in.present()) return null;
+        return new SimilarWork(in.signed(), in.string(), in.string(), in.signed());
+    }
+
+    private static void randomWork(Writer out, RandomWork work) {
+        if (out.present(work)) {
+            out.signed(work.id());
+            out.string(work.title());
+            out.ordinal(work.genre());
+            composerOverview(out, work.composer());
+        }
+    }
+
+    private static RandomWork randomWork(Reader in) {
+        if (!in.present()) return null;
+        return new RandomWork(in.signed(), in.string(), in.ordinal(GENRES), composerOverview(in));
+    }
+
+    private static void searchEntry(Writer out, SearchEntry entry) {
+        if (out.present(entry)) {
+            composer(out, entry.composer());
+            work(out, entry.work());
+        }
+    }
+
+    private static SearchEntry searchEntry(Reader in) {
+        if (!in.present()) return null;
+        return new SearchEntry(composer(in), work(in));
+    }
+
+    private static void performerRoles(Writer out, PerformerRoles roles) {
+        if (out.present(roles)) {
+            out.list(roles.readable(), BinaryCodec::performerRole);
+            Map<String, String> digest = roles.digest();
+            out.count(digest == null ? -1 : digest.size());
+            if (digest != null) {
+                digest.forEach((name, role) -> {
+                    out.shared(name);
+                    out.shared(role);
+                });
+            }
+        }
+    }
+
+    private static PerformerRoles performerRoles(Reader in) {
+        if (!in.present()) return null;
+        List<PerformerRole> readable = in.list(BinaryCodec::performerRole);
+        int size = in.count();
+        Map<String, String> digest = null;
+        if (size >= 0) {
+            digest = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                digest.put(in.shared(), in.shared());
+            }
+        }
+        return new PerformerRoles(readable, digest);
+    }
+
+    private static void performerRole(Writer out, PerformerRole role) {
+        if (out.present(role)) {
+            out.shared(role.name());
+            out.shared(role.role());
+        }
+    }
+
+    private static PerformerRole performerRole(Reader in) {
+        if (!in.present()) return null;
+        return new PerformerRole(in.shared(), in.shared());
+    }
+
+    /**
+     * Returns the flag as the model constructors take it from the JSON.
+     */
+    private static String flag(boolean set) {
+        return set ? "1" : "0";
+    }
+
+    @FunctionalInterface
+    private interface Write<E> {
+        void write(Writer out, E element);
+    }
+
+    @FunctionalInterface
+    private interface Read<E> {
+        E read(Reader in);
+    }
+
+    /**
+     * A growable buffer with the dictionary of the strings written so far.
+     */
+    private static final class Writer {
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        void rawByte(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                rawByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            rawByte((int) value);
+        }
+
+        void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        /** -1 for {@code null} */
+        void count(int count) {
+            varint(count + 1L);
+        }
+
+        void bool(boolean value) {
+            rawByte(value ? 1 : 0);
+        }
+
+        boolean present(Object value) {
+            bool(value != null);
+            return value != null;
+        }
+
+        void nullableInt(Integer value) {
+            if (present(value)) {
+                signed(value);
+            }
+        }
+
+        void float64(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                rawByte((int) (bits >>> shift));
+            }
+        }
+
+        void ordinal(Enum<?> value) {
+            varint(value == null ? 0 : value.ordinal() + 1L);
+        }
+
+        void date(LocalDate date) {
+            if (date == null) {
+                varint(0);
+            } else {
+                long packed = (long) date.getYear() << 9 | date.getMonthValue() << 5 | date.getDayOfMonth();
+                varint(((packed << 1) ^ (packed >> 63)) + 1);
+            }
+        }
+
+        /** byte length + 1, then the UTF-8 bytes; 0 for {@code null} */
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            bytes(bytes);
+        }
+
+        /** 0 for {@code null}, an odd tag for a number of the dictionary, an even one for a new string */
+        void shared(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer number = dictionary.putIfAbsent(value, dictionary.size());
+            if (number != null) {
+                varint((long) number << 1 | 1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L << 1);
+            bytes(bytes);
+        }
+
+        <E> void list(List<E> list, Write<? super E> element) {
+            count(list == null ? -1 : list.size());
+            if (list != null) {
+                for (E e : list) {
+                    element.write(this, e);
+                }
+            }
+        }
+
+        void bytes(byte[] bytes) {
+            if (buffer.length - size < bytes.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes.length));
+            }
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * A cursor over an encoded body, with the dictionary of the strings read so far.
+     */
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private final List<String> dictionary = new ArrayList<>();
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at " + position);
+        }
+
+        int signed() {
+            long value = varint();
+            return Math.toIntExact((value >>> 1) ^ -(value & 1));
+        }
+
+        int count() {
+            return Math.toIntExact(varint() - 1);
+        }
+
+        boolean bool() {
+            return buffer[position++] != 0;
+        }
+
+        boolean present() {
+            return bool();
+        }
+
+        Integer nullableInt() {
+            return present() ? signed() : null;
+        }
+
+        double float64() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = bits << 8 | buffer[position++] & 0xFF;
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        <E extends Enum<E>> E ordinal(E[] constants) {
+            int ordinal = Math.toIntExact(varint());
+            return ordinal == 0 ? null : constants[ordinal - 1];
+        }
+
+        LocalDate date() {
+            long tag = varint();
+            if (tag == 0) {
+                return null;
+            }
+            long packed = ((tag - 1) >>> 1) ^ -((tag - 1) & 1);
+            return LocalDate.of(Math.toIntExact(packed >> 9), (int) (packed >> 5) & 0xF, (int) packed & 0x1F);
+        }
+
+        String string() {
+            int length = Math.toIntExact(varint() - 1);
+            return length < 0 ? null : utf8(length);
+        }
+
+        String shared() {
+            long tag = varint();
+            if (tag == 0) {
+                return null;
+            }
+            if ((tag & 1) == 1) {
+                return dictionary.get(Math.toIntExact(tag >>> 1));
+            }
+            String value = utf8(Math.toIntExact((tag >>> 1) - 1));
+            dictionary.add(value);
+            return value;
+        }
+
+        <E> List<E> list(Read<? extends E> element) {
+            int size = count();
+            if (size < 0) {
+                return null;
+            }
+            // a corrupt count can't allocate more than the bytes left, as each element takes one at least
+            List<E> list = new ArrayList<>(Math.min(size, buffer.length - position));
+            for (int i = 0; i < size; i++) {
+                list.add(element.read(this));
+            }
+            return list;
+        }
+
+        private String utf8(int length) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,697 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.DiskCacheStats;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * A cache of byte values by string key kept in a directory, so that it survives restarts; meant as the second level
+ * under an in-memory cache.
+ * <p>
+ * The values are appended as records to a log file, and a hash index, memory-mapped from a file of its own, maps
+ * each key to the offset of its latest record. Nothing is read when the cache is opened on first use: the index is
+ * only mapped, and its pages are loaded by the lookups touching them, usually from the page cache. Each record
+ * carries a CRC32C of its content, so a record torn by a crash, or an index slot pointing at garbage, is detected:
+ * a torn record at the end of the log is cut off when the cache is opened, and any other bad record is a miss.
+ * </p>
+ * <p>
+ * The records of replaced or expired values stay in the log until a compaction copies the live ones to a new log
+ * with a new index, in the background, and swaps the files. It runs once the log outgrows its maximum size or the
+ * index fills up, and keeps the newest live records up to half of the maximum size. Neither file is forced to
+ * disk: whatever the CRCs reject after a crash of the machine is simply fetched again.
+ * </p>
+ * <p>
+ * Lookups share a read lock; appends and the swap at the end of a compaction take the write lock.
+ * </p>
+ */
+@Internal
+public final class DiskCache implements Closeable {
+
+    static final String LOG_FILE = "responses.log";
+    static final String INDEX_FILE = "responses.idx";
+    private static final String COMPACTING = ".compacting";
+
+    private static final int LOG_MAGIC = 0x4F4F4C47;
+    private static final int INDEX_MAGIC = 0x4F4F4958;
+    private static final int VERSION = 1;
+    /** magic, version, generation */
+    private static final int LOG_HEADER = 16;
+    /** crc, key length, value length, expiry */
+    private static final int RECORD_HEADER = 20;
+    /** magic, version, generation, capacity, count, indexed end */
+    private static final int INDEX_HEADER = 32;
+    /** key hash, record offset; offset 0 marks an empty slot, as it's inside the log header */
+    private static final int SLOT = 16;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD = 0.75;
+    private static final int EXPECTED_RECORD_BYTES = 4 * 1024;
+    private static final int MAX_KEY_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final Path logPath;
+    private final Path indexPath;
+    private final long maxBytes;
+    private final Executor compactionExecutor;
+    private final LongSupplier clock;
+    private final ReentrantReadWriteLock lock;
+    private final AtomicBoolean compacting;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder writes;
+    private final LongAdder compactions;
+    private final LongAdder corruptRecords;
+    private final LongAdder failedCompactions;
+    // written under the write lock
+    private volatile boolean opened;
+    // guarded by the lock
+    private FileChannel log;
+    private Index index;
+    private long logEnd;
+
+    /**
+     * Constructs a cache kept in the directory, which is created if needed. Nothing is opened until the first
+     * lookup or write.
+     *
+     * @param directory the directory of the log and index files, used by this cache only
+     * @param maxBytes the size of the log from which it's compacted
+     */
+    public DiskCache(Path directory, long maxBytes) {
+        this(directory, maxBytes,
+                compaction -> Thread.ofPlatform().daemon().name("open-opus-disk-cache-compaction").start(compaction),
+                System::currentTimeMillis);
+    }
+
+    DiskCache(Path directory, long maxBytes, Executor compactionExecutor, LongSupplier clock) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.directory = directory;
+        this.logPath = directory.resolve(LOG_FILE);
+        this.indexPath = directory.resolve(INDEX_FILE);
+        this.maxBytes = maxBytes;
+        this.compactionExecutor = compactionExecutor;
+        this.clock = clock;
+        this.lock = new ReentrantReadWriteLock();
+        this.compacting = new AtomicBoolean();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.writes = new LongAdder();
+        this.compactions = new LongAdder();
+        this.corruptRecords = new LongAdder();
+        this.failedCompactions = new LongAdder();
+    }
+
+    /**
+     * Returns the value stored for the key, or {@code null} if there's none, it expired, or its record is corrupt.
+     *
+     * @throws IOException if the files couldn't be opened or read
+     */
+    public Hit get(String key) throws IOException {
+        open();
+        long hash = hash(key);
+        lock.readLock().lock();
+        try {
+            if (log == null) {
+                return null;
+            }
+            int mask = index.capacity - 1;
+            int slot = home(hash, mask);
+            for (int probe = 0; probe < index.capacity; probe++, slot = (slot + 1) & mask) {
+                long offset = index.offset(slot);
+                if (offset == 0) {
+                    break;
+                }
+                if (index.hash(slot) != hash) {
+                    continue;
+                }
+                Record record = readRecord(log, offset, logEnd);
+                if (record == null) {
+                    corruptRecords.increment();
+                    break;
+                }
+                if (record.key.equals(key)) {
+                    long now = clock.getAsLong();
+                    if (record.expiresAt > now) {
+                        hits.increment();
+                        return new Hit(record.value, Duration.ofMillis(record.expiresAt - now));
+                    }
+                    break;
+                }
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the value for the key, replacing the previous one. A value with a non-positive time to live, or
+     * larger than half of the maximum size, isn't stored; nor is any while the log is twice its maximum size,
+     * waiting for a compaction.
+     *
+     * @param key the key
+     * @param value the value, which mustn't be modified afterwards
+     * @param timeToLive how long the value may be returned
+     * @throws IOException if the files couldn't be opened or written
+     */
+    public void put(String key, byte[] value, Duration timeToLive) throws IOException {
+        long ttlMillis = timeToLive.toMillis();
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long size = (long) RECORD_HEADER + keyBytes.length + value.length;
+        if (ttlMillis <= 0 || keyBytes.length > MAX_KEY_BYTES || size > maxBytes / 2) {
+            return;
+        }
+        open();
+        boolean compactionDue;
+        lock.writeLock().lock();
+        try {
+            if (log == null || logEnd - maxBytes > maxBytes) {
+                return;
+            }
+            long now = clock.getAsLong();
+            long expiresAt = now + Math.min(ttlMillis, Long.MAX_VALUE - now);
+            long end = append(log, index, logEnd, key, encode(keyBytes, value, expiresAt));
+            if (end == logEnd) {
+                return;
+            }
+            logEnd = end;
+            index.indexedEnd(end);
+            writes.increment();
+            compactionDue = logEnd > maxBytes || (index.count() > index.capacity * MAX_LOAD && index.capacity < MAX_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compactionDue) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the counters.
+     */
+    public DiskCacheStats stats() {
+        long entries = 0;
+        long bytes = 0;
+        lock.readLock().lock();
+        try {
+            if (log != null) {
+                entries = index.count();
+                bytes = logEnd;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new DiskCacheStats(hits.sum(), misses.sum(), writes.sum(), entries, bytes, compactions.sum(),
+                corruptRecords.sum(), failedCompactions.sum());
+    }
+
+    /**
+     * Closes the log; the cache returns nothing and stores nothing afterwards. The index is left to be unmapped by
+     * the garbage collector.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            opened = true;
+            if (log != null) {
+                log.close();
+                log = null;
+                index = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A value found by {@link #get}.
+     *
+     * @param value the stored value
+     * @param timeToLive how long the value may still be returned
+     */
+    public record Hit(byte[] value, Duration timeToLive) {
+    }
+
+    private void open() throws IOException {
+        if (opened) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (opened) {
+                return;
+            }
+            // a directory that can't be opened isn't tried again
+            opened = true;
+            Files.createDirectories(directory);
+            FileChannel channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long generation = readLogHeader(channel);
+                if (generation == 0) {
+                    generation = newGeneration();
+                    channel.truncate(0);
+                    writeFully(channel, logHeader(generation), 0);
+                }
+                Index existing = Index.open(indexPath, generation, channel.size());
+                index = existing != null
+                        ? existing
+                        : Index.create(indexPath, capacityFor(maxBytes / EXPECTED_RECORD_BYTES), generation);
+                log = channel;
+                recover(channel.size());
+            } catch (IOException | RuntimeException e) {
+                log = null;
+                index = null;
+                channel.close();
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the records appended after the index was last updated, and cuts the log off at the first torn one.
+     */
+    // guarded by the write lock
+    private void recover(long size) throws IOException {
+        long position = index.indexedEnd();
+        while (position < size) {
+            Record record = readRecord(log, position, size);
+            if (record == null) {
+                corruptRecords.increment();
+                log.truncate(position);
+                break;
+            }
+            place(log, index, position, record.key, position);
+            position += record.size;
+        }
+        logEnd = position;
+        index.indexedEnd(position);
+    }
+
+    private void scheduleCompaction() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactionExecutor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    failedCompactions.increment();
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            compacting.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the live records to a new log with a new index, dropping the oldest while they exceed half of the
+     * maximum size, then swaps the files. The records appended meanwhile are copied under the write lock, right
+     * before the swap.
+     */
+    void compact() throws IOException {
+        FileChannel source;
+        long end;
+        lock.readLock().lock();
+        try {
+            if (log == null) {
+                return;
+            }
+            source = log;
+            end = logEnd;
+        } finally {
+            lock.readLock().unlock();
+        }
+        long now = clock.getAsLong();
+        long liveBytes = 0;
+        long liveRecords = 0;
+        for (long position = LOG_HEADER; position < end; ) {
+            Record record = readRecord(source, position, end);
+            if (record == null) {
+                break;
+            }
+            if (record.expiresAt > now && isLive(record, position)) {
+                liveBytes += record.size;
+                liveRecords++;
+            }
+            position += record.size;
+        }
+        long excess = liveBytes - maxBytes / 2;
+        long generation = newGeneration();
+        Path compactedLogPath = directory.resolve(LOG_FILE + COMPACTING);
+        Path compactedIndexPath = directory.resolve(INDEX_FILE + COMPACTING);
+        FileChannel target = FileChannel.open(compactedLogPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean swapped = false;
+        try {
+            writeFully(target, logHeader(generation), 0);
+            Index targetIndex = Index.create(compactedIndexPath,
+                    capacityFor(Math.max(2 * liveRecords, maxBytes / EXPECTED_RECORD_BYTES)), generation);
+            long targetEnd = LOG_HEADER;
+            long dropped = 0;
+            for (long position = LOG_HEADER; position < end; ) {
+                Record record = readRecord(source, position, end);
+                if (record == null) {
+                    break;
+                }
+                if (record.expiresAt > now && isLive(record, position)) {
+                    if (dropped < excess) {
+                        dropped += record.size;
+                    } else {
+                        targetEnd = append(target, targetIndex, targetEnd, record.key, encode(record));
+                    }
+                }
+                position += record.size;
+            }
+            lock.writeLock().lock();
+            try {
+                if (log != source) {
+                    return;
+                }
+                for (long position = end; position < logEnd; ) {
+                    Record record = readRecord(log, position, logEnd);
+                    if (record == null) {
+                        break;
+                    }
+                    if (isLive(record, position)) {
+                        targetEnd = append(target, targetIndex, targetEnd, record.key, encode(record));
+                    }
+                    position += record.size;
+                }
+                targetIndex.indexedEnd(targetEnd);
+                // the log first: an index left with the old generation after a crash in between is rebuilt
+                Files.move(compactedLogPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(compactedIndexPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.close();
+                log = target;
+                index = targetIndex;
+                logEnd = targetEnd;
+                compactions.increment();
+                swapped = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            if (!swapped) {
+                target.close();
+                Files.deleteIfExists(compactedLogPath);
+                Files.deleteIfExists(compactedIndexPath);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the index still maps the key of the record to its position. Compares the offsets of the
+     * slots only, without reading any other record.
+     */
+    private boolean isLive(Record record, long position) {
+        long hash = hash(record.key);
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return false;
+            }
+            int mask = index.capacity - 1;
+            int slot = home(hash, mask);
+            for (int probe = 0; probe < index.capacity; probe++, slot = (slot + 1) & mask) {
+                long offset = index.offset(slot);
+                if (offset == 0) {
+                    return false;
+                }
+                if (offset == position) {
+                    return index.hash(slot) == hash;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the encoded record at the end of the log and points the slot of its key to it.
+     *
+     * @return the new end of the log, or {@code end} if the index is full and nothing was appended
+     */
+    private static long append(FileChannel log, Index index, long end, String key, ByteBuffer record) throws IOException {
+        int slot = slotOf(log, index, end, key, hash(key));
+        if (slot < 0) {
+            return end;
+        }
+        int size = record.remaining();
+        writeFully(log, record, end);
+        index.set(slot, hash(key), end, index.offset(slot) == 0);
+        return end + size;
+    }
+
+    /**
+     * Points the slot of the key to the record at the position, which is already in the log.
+     */
+    private static void place(FileChannel log, Index index, long end, String key, long position) throws IOException {
+        int slot = slotOf(log, index, end, key, hash(key));
+        if (slot >= 0) {
+            index.set(slot, hash(key), position, index.offset(slot) == 0);
+        }
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot it goes to, or {@code -1} if the index is full. A slot
+     * whose record is corrupt is taken over as well.
+     */
+    private static int slotOf(FileChannel log, Index index, long end, String key, long hash) throws IOException {
+        int mask = index.capacity - 1;
+        int slot = home(hash, mask);
+        for (int probe = 0; probe < index.capacity; probe++, slot = (slot + 1) & mask) {
+            long offset = index.offset(slot);
+            if (offset == 0) {
+                return slot;
+            }
+            if (index.hash(slot) == hash) {
+                Record record = readRecord(log, offset, end);
+                if (record == null || record.key.equals(key)) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the record at the position, or returns {@code null} if it doesn't fit before the end or fails its CRC.
+     */
+    private static Record readRecord(FileChannel log, long position, long end) throws IOException {
+        if (position < LOG_HEADER || end - position < RECORD_HEADER) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        readFully(log, header, position);
+        int crc = header.getInt(0);
+        int keyLength = header.getInt(4);
+        int valueLength = header.getInt(8);
+        long expiresAt = header.getLong(12);
+        if (keyLength < 0 || keyLength > MAX_KEY_BYTES || valueLength < 0
+                || (long) RECORD_HEADER + keyLength + valueLength > end - position) {
+            return null;
+        }
+        ByteBuffer content = ByteBuffer.allocate(keyLength + valueLength);
+        readFully(log, content, position + RECORD_HEADER);
+        CRC32C checksum = new CRC32C();
+        checksum.update(header.array(), 4, RECORD_HEADER - 4);
+        checksum.update(content.array());
+        if ((int) checksum.getValue() != crc) {
+            return null;
+        }
+        String key = new String(content.array(), 0, keyLength, StandardCharsets.UTF_8);
+        byte[] value = Arrays.copyOfRange(content.array(), keyLength, keyLength + valueLength);
+        return new Record(key, value, expiresAt, RECORD_HEADER + keyLength + valueLength);
+    }
+
+    private static ByteBuffer encode(Record record) {
+        return encode(record.key.getBytes(StandardCharsets.UTF_8), record.value, record.expiresAt);
+    }
+
+    private static ByteBuffer encode(byte[] key, byte[] value, long expiresAt) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + key.length + value.length);
+        record.putInt(0).putInt(key.length).putInt(value.length).putLong(expiresAt).put(key).put(value);
+        CRC32C checksum = new CRC32C();
+        checksum.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) checksum.getValue());
+        return record.flip();
+    }
+
+    private static ByteBuffer logHeader(long generation) {
+        return ByteBuffer.allocate(LOG_HEADER).putInt(LOG_MAGIC).putInt(VERSION).putLong(generation).flip();
+    }
+
+    /**
+     * Returns the generation of the log, or {@code 0} if its header is missing or isn't one.
+     */
+    private static long readLogHeader(FileChannel log) throws IOException {
+        if (log.size() < LOG_HEADER) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER);
+        readFully(log, header, 0);
+        return header.getInt(0) == LOG_MAGIC && header.getInt(4) == VERSION ? header.getLong(8) : 0;
+    }
+
+    private static long newGeneration() {
+        long generation;
+        do {
+            generation = ThreadLocalRandom.current().nextLong();
+        } while (generation == 0);
+        return generation;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long start = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, start + buffer.position());
+        }
+    }
+
+    private static int capacityFor(long entries) {
+        long wanted = Math.max(MIN_CAPACITY, (long) (entries / MAX_LOAD) + 1);
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(wanted - 1) << 1);
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of the key's UTF-16 code units, finalized by the mixer of MurmurHash3.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static int home(long hash, int mask) {
+        return (int) hash & mask;
+    }
+
+    private record Record(String key, byte[] value, long expiresAt, int size) {
+    }
+
+    /**
+     * An open-addressing table of slots in a memory-mapped file, probed linearly. Slots are never removed, only
+     * pointed to newer records; the compaction builds a new table.
+     */
+    private static final class Index {
+
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+
+        private Index(MappedByteBuffer buffer, int capacity) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        static Index create(Path path, int capacity, long generation) throws IOException {
+            Files.deleteIfExists(path);
+            Index index = map(path, capacity);
+            index.buffer.putInt(0, INDEX_MAGIC).putInt(4, VERSION).putLong(8, generation).putInt(16, capacity);
+            index.indexedEnd(LOG_HEADER);
+            return index;
+        }
+
+        /**
+         * Maps the index file if it's an index of the log generation that doesn't point past its end; or else
+         * returns {@code null}.
+         */
+        static Index open(Path path, long generation, long logSize) throws IOException {
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() < INDEX_HEADER) {
+                    return null;
+                }
+                readFully(channel, header, 0);
+                int capacity = header.getInt(16);
+                long indexedEnd = header.getLong(24);
+                if (header.getInt(0) != INDEX_MAGIC || header.getInt(4) != VERSION || header.getLong(8) != generation
+                        || capacity < MIN_CAPACITY || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1
+                        || channel.size() != INDEX_HEADER + (long) capacity * SLOT
+                        || indexedEnd < LOG_HEADER || indexedEnd > logSize) {
+                    return null;
+                }
+            }
+            return map(path, header.getInt(16));
+        }
+
+        private static Index map(Path path, int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                return new Index(channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER + (long) capacity * SLOT), capacity);
+            }
+        }
+
+        int count() {
+            return buffer.getInt(20);
+        }
+
+        long indexedEnd() {
+            return buffer.getLong(24);
+        }
+
+        void indexedEnd(long end) {
+            buffer.putLong(24, end);
+        }
+
+        long hash(int slot) {
+            return buffer.getLong(INDEX_HEADER + slot * SLOT);
+        }
+
+        long offset(int slot) {
+            return buffer.getLong(INDEX_HEADER + slot * SLOT + 8);
+        }
+
+        void set(int slot, long hash, long offset, boolean added) {
+            buffer.putLong(INDEX_HEADER + slot * SLOT, hash);
+            buffer.putLong(INDEX_HEADER + slot * SLOT + 8, offset);
+            if (added) {
+                buffer.putInt(20, count() + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.EntityStoreStats;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.body.GenresList;
+import dev.jlynx.openopusjava.response.body.ListWorksByIdResponse;
+import dev.jlynx.openopusjava.response.body.OmnisearchResponse;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.SearchEntry;
+import dev.jlynx.openopusjava.response.subtype.Work;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A normalized store of the composers and works seen in any response, keyed by their ids.
+ * <p>
+ * The same composer comes back in composer lists, as the composer of work and genre lists, in search
+ * results and with the works listed by id; the store keeps one copy of each, the latest seen. A work is
+ * stored as a {@link WorkSummary} together with its composer, the shape the "list works by id" endpoint
+ * returns, so it's stored only from the responses that tell its composer. Both kinds of entities are
+ * bounded by count and expire after the same time to live.
+ * </p>
+ */
+@Internal
+public final class EntityStore {
+
+    private final WTinyLfuCache<Integer, Composer> composers;
+    private final WTinyLfuCache<Integer, WorkSummary> works;
+    private final Duration ttl;
+    private final LongAdder idsServed;
+    private final LongAdder idsRequested;
+
+    /**
+     * Constructs an empty store.
+     *
+     * @param maxEntities the maximum number of composers, and separately of works, to keep
+     * @param ttl how long an entity is served after it was last seen
+     */
+    public EntityStore(int maxEntities, Duration ttl) {
+        this.composers = new WTinyLfuCache<>(maxEntities, maxEntities);
+        this.works = new WTinyLfuCache<>(maxEntities, maxEntities);
+        this.ttl = ttl;
+        this.idsServed = new LongAdder();
+        this.idsRequested = new LongAdder();
+    }
+
+    /**
+     * Stores the composers and works of a response body of any type; the other bodies are ignored.
+     */
+    public void absorb(Object body) {
+        if (body instanceof ComposersList list && list.getComposers() != null) {
+            list.getComposers().forEach(this::putComposer);
+        } else if (body instanceof WorksList list) {
+            Composer composer = putComposer(list.getComposer());
+            if (composer != null && list.getWorks() != null) {
+                list.getWorks().forEach(work -> putWork(summaryOf(work, composer)));
+            }
+        } else if (body instanceof GenresList list) {
+            putComposer(list.getComposer());
+        } else if (body instanceof ListWorksByIdResponse list && list.getWorks() != null) {
+            for (WorkSummary work : list.getWorks()) {
+                putComposer(work.composer());
+                putWork(work);
+            }
+        } else if (body instanceof OmnisearchResponse search && search.getResults() != null) {
+            for (SearchEntry entry : search.getResults()) {
+                Composer composer = putComposer(entry.composer());
+                if (composer != null && entry.work() != null) {
+                    putWork(summaryOf(entry.work(), composer));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the stored composer with the id, or {@code null}.
+     */
+    public Composer composer(int id) {
+        return composers.get(id);
+    }
+
+    /**
+     * Returns the stored work with the id, or {@code null}.
+     */
+    public WorkSummary work(int id) {
+        return works.get(id);
+    }
+
+    /**
+     * Counts the ids of one by-id request that were served from the store and those that had to be requested.
+     */
+    public void recordLookup(int served, int requested) {
+        idsServed.add(served);
+        idsRequested.add(requested);
+    }
+
+    /**
+     * Returns a snapshot of the store counters.
+     */
+    public EntityStoreStats stats() {
+        return new EntityStoreStats(composers.size(), works.size(), idsServed.sum(), idsRequested.sum());
+    }
+
+    private Composer putComposer(Composer composer) {
+        if (composer == null || composer.getId() < 1) {
+            return null;
+        }
+        Composer merged = merge(composers.get(composer.getId()), composer);
+        composers.put(merged.getId(), merged, 1, ttl);
+        return merged;
+    }
+
+    private void putWork(WorkSummary work) {
+        if (work != null && work.id() > 0) {
+            works.put(work.id(), work, 1, ttl);
+        }
+    }
+
+    private static WorkSummary summaryOf(Work work, Composer composer) {
+        return new WorkSummary(work.getId(), work.getTitle(), work.getSubtitle(), work.getGenre(),
+                work.isPopular(), work.isRecommended(), composer);
+    }
+
+    /**
+     * Fills the fields a newer, partial copy of a composer lacks from the stored one.
+     */
+    private static Composer merge(Composer stored, Composer seen) {
+        if (stored == null || stored.equals(seen)) {
+            return seen;
+        }
+        return new Composer(
+                seen.getId(),
+                seen.getLastName() != null ? seen.getLastName() : stored.getLastName(),
+                seen.getFullName() != null ? seen.getFullName() : stored.getFullName(),
+                seen.getBirth() != null ? seen.getBirth() : stored.getBirth(),
+                seen.getDeath().or(stored::getDeath).orElse(null),
+                seen.getEpoch() != null ? seen.getEpoch() : stored.getEpoch(),
+                seen.getPortraitUri() != null ? seen.getPortraitUri() : stored.getPortraitUri()
+        );
+    }
+}
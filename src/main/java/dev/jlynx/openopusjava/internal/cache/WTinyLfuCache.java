@@ -0,0 +1,608 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.CacheStats;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * A cache bounded by the total weight of its entries, evicting with the W-TinyLFU policy.
+ * <p>
+ * New entries enter a small LRU window holding 1% of the capacity. Entries leaving the window compete for
+ * the main space, a segmented LRU split into a probation and a protected segment: the entry the window
+ * evicts is admitted only if a {@link FrequencySketch} estimates it was requested more often than the
+ * entry the probation segment would evict to make room for it. Entries read again while on probation are
+ * promoted to the protected segment. This keeps the popular entries when a scan of one-off keys passes
+ * through the cache.
+ * </p>
+ * <p>
+ * Reads never take a lock: they look up the entry in a {@link ConcurrentHashMap} and offer it to one of
+ * several lossy ring buffers, picked by thread so that concurrent readers rarely contend. The reads the
+ * buffers collect are recorded in the sketch and the segments by whichever thread holds the eviction lock
+ * next, which is taken by writes and, without waiting, by reads that find their buffer filling up.
+ * Expired entries aren't returned; they're dropped when they're replaced or chosen for eviction.
+ * </p>
+ * <p>
+ * An entry may stay servable for a while after it went stale, so that {@link #lookup} returns it at once while
+ * one caller reloads it. The caller is also picked, with the XFetch rule, a little before the entry goes stale:
+ * the longer the value took to load and the closer the entry is to going stale, the likelier an early reload, so
+ * the reloads of entries cached together spread out instead of all waiting on the source at the same moment.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+@Internal
+public final class WTinyLfuCache<K, V> {
+
+    private static final double WINDOW_SHARE = 0.01;
+    private static final double PROTECTED_SHARE = 0.8;
+    private static final long EXPECTED_ENTRY_WEIGHT = 2 * 1024;
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 4;
+    /** Candidates at least this frequent are sometimes admitted anyway, against attacks on the sketch. */
+    private static final int ADMIT_HASHDOS_THRESHOLD = 6;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Node> RELOADING = AtomicIntegerFieldUpdater.newUpdater(Node.class, "reloading");
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final FrequencySketch sketch;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final int readBufferMask;
+
+    private final ReentrantLock evictionLock;
+    private final Deque<K, V> window;
+    private final Deque<K, V> probation;
+    private final Deque<K, V> protectedSegment;
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder refreshes;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     */
+    public WTinyLfuCache(long maximumWeight) {
+        this(maximumWeight, maximumWeight / EXPECTED_ENTRY_WEIGHT, System::nanoTime);
+    }
+
+    /**
+     * Constructs an empty cache sized for about {@code expectedEntries} entries, e.g. one weighing each entry {@code 1}.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param expectedEntries the number of entries the cache is expected to hold when full
+     */
+    public WTinyLfuCache(long maximumWeight, long expectedEntries) {
+        this(maximumWeight, expectedEntries, System::nanoTime);
+    }
+
+    WTinyLfuCache(long maximumWeight, LongSupplier clock) {
+        this(maximumWeight, maximumWeight / EXPECTED_ENTRY_WEIGHT, clock);
+    }
+
+    WTinyLfuCache(long maximumWeight, long expectedEntries, LongSupplier clock) {
+        this(maximumWeight, expectedEntries, clock, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    WTinyLfuCache(long maximumWeight, long expectedEntries, LongSupplier clock, DoubleSupplier random) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.data = new ConcurrentHashMap<>();
+        this.sketch = new FrequencySketch(expectedEntries);
+        this.clock = clock;
+        this.random = random;
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_SHARE));
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_SHARE);
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        @SuppressWarnings("unchecked")
+        ReadBuffer<K, V>[] buffers = new ReadBuffer[Math.min(stripes, 64)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ReadBuffer<>();
+        }
+        this.readBuffers = buffers;
+        this.readBufferMask = buffers.length - 1;
+        this.evictionLock = new ReentrantLock();
+        this.window = new Deque<>();
+        this.probation = new Deque<>();
+        this.protectedSegment = new Deque<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.refreshes = new LongAdder();
+    }
+
+    /**
+     * Returns the value cached for the key, or {@code null} if there's none or it expired. A stale value that's
+     * still servable is returned too.
+     */
+    public V get(K key) {
+        Node<K, V> node = read(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Returns the value cached for the key like {@link #get}, and whether the caller should reload it.
+     * <p>
+     * A reload is due once the value is stale, or with the XFetch probability before: the caller is picked if
+     * {@code now + loadTime * beta * -ln(random)} reaches the point the value goes stale. Only one caller at a time
+     * is picked for a value; it must call {@link #endReload} once its reload ended, unless it put a new value.
+     *
+     * @param key the key
+     * @param beta how eagerly values are reloaded before they go stale; {@code 0} reloads only stale ones
+     * @return the value and whether to reload it, or {@code null} if there's none or it expired
+     */
+    public Lookup<V> lookup(K key, double beta) {
+        Node<K, V> node = read(key);
+        if (node == null) {
+            return null;
+        }
+        boolean reload = isReloadDue(node, beta) && RELOADING.compareAndSet(node, 0, 1);
+        return new Lookup<>(node.value, reload);
+    }
+
+    private Node<K, V> read(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null || node.isExpired(clock.getAsLong())) {
+            // a miss is followed by a request, next to which recording it here costs nothing
+            sketch.increment(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node;
+    }
+
+    private boolean isReloadDue(Node<K, V> node, double beta) {
+        long untilStale = node.staleAt - clock.getAsLong();
+        if (untilStale <= 0) {
+            return true;
+        }
+        if (!(beta > 0) || node.loadNanos <= 0) {
+            return false;
+        }
+        // 1 - nextDouble() is in (0, 1], so the logarithm is finite
+        double gap = node.loadNanos * beta * -Math.log(1 - random.getAsDouble());
+        return gap >= untilStale;
+    }
+
+    /**
+     * Lets the value cached for the key be reloaded again once the reload its caller was picked for ended without
+     * replacing it, e.g. because it failed. Does nothing if the key maps to another value.
+     */
+    public void endReload(K key, V value) {
+        Node<K, V> node = data.get(key);
+        if (node != null && node.value == value) {
+            node.reloading = 0;
+        }
+    }
+
+    /**
+     * Returns the value cached for the key even if it expired, as long as it hasn't been dropped yet, or
+     * {@code null} if there's none.
+     * <p>
+     * The read isn't counted as a hit or a miss and doesn't make the entry more likely to stay.
+     */
+    public V getStale(K key) {
+        Node<K, V> node = data.get(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Caches the value for the key, replacing the previous value.
+     * <p>
+     * A value heavier than the whole cache, or with a non-positive time to live, isn't cached.
+     *
+     * @param key the key
+     * @param value the value
+     * @param weight the weight of the entry, e.g. its size in bytes
+     * @param timeToLive how long the value may be returned
+     */
+    public void put(K key, V value, long weight, Duration timeToLive) {
+        put(key, value, weight, timeToLive, Duration.ZERO, 0);
+    }
+
+    /**
+     * Caches the value for the key, replacing the previous value, and lets it be returned while it's reloaded for
+     * {@code staleFor} after it went stale.
+     * <p>
+     * A value heavier than the whole cache, or with a non-positive time to live, isn't cached.
+     *
+     * @param key the key
+     * @param value the value
+     * @param weight the weight of the entry, e.g. its size in bytes
+     * @param timeToLive how long the value is fresh
+     * @param staleFor how long the value may still be returned once it's stale
+     * @param loadNanos how long loading the value took, which makes early reloads likelier; {@code 0} for none
+     */
+    public void put(K key, V value, long weight, Duration timeToLive, Duration staleFor, long loadNanos) {
+        if (weight > maximumWeight || timeToLive.isNegative() || timeToLive.isZero()) {
+            return;
+        }
+        long staleAt = clock.getAsLong() + saturatedNanos(timeToLive);
+        Node<K, V> node = new Node<>(key, value, Math.max(0, weight), staleAt, saturatedNanos(staleFor), loadNanos);
+        evictionLock.lock();
+        try {
+            Node<K, V> previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            node.segment = Segment.WINDOW;
+            window.addLast(node);
+            windowWeight += node.weight;
+            drainReadBuffer();
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the value cached for the key fresh again for the time to live, keeping its weight, its stale period
+     * and its place in the segments, if the key still maps to that value; expired or not. Meant for a value the
+     * source confirmed unchanged, which needn't be rebuilt or weighed again. It may be reloaded again afterwards.
+     *
+     * @param key the key
+     * @param value the value expected for the key
+     * @param timeToLive how long the value may be returned from now on
+     * @return {@code true} if the value was refreshed, {@code false} if it's been replaced or dropped meanwhile
+     */
+    public boolean refresh(K key, V value, Duration timeToLive) {
+        Node<K, V> node = data.get(key);
+        if (node == null || node.value != value) {
+            return false;
+        }
+        node.renew(clock.getAsLong() + saturatedNanos(timeToLive));
+        node.reloading = 0;
+        refreshes.increment();
+        afterRead(node);
+        return true;
+    }
+
+    /**
+     * Removes the value cached for the key, if any.
+     */
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries, including the expired ones not dropped yet.
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Returns the total weight of the entries, including the expired ones not dropped yet.
+     */
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return windowWeight + probationWeight + protectedWeight;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size(), weightedSize(), refreshes.sum());
+    }
+
+    /**
+     * A value found by {@link #lookup}.
+     *
+     * @param value the cached value
+     * @param reload whether the caller was picked to reload the value
+     * @param <V> the type of the value
+     */
+    public record Lookup<V>(V value, boolean reload) {
+    }
+
+    private void afterRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[probe() & readBufferMask];
+        // a full buffer drops the read; the frequencies and the order of the segments are approximate anyway
+        if (buffer.offer(node) >= DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(this::onAccess);
+        }
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 32)) * 0x9e3779b9 >>> 16;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        switch (node.segment) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                probationWeight -= node.weight;
+                node.segment = Segment.PROTECTED;
+                protectedSegment.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > protectedMaximum) {
+                    Node<K, V> demoted = protectedSegment.pollFirst();
+                    protectedWeight -= demoted.weight;
+                    demoted.segment = Segment.PROBATION;
+                    probation.addLast(demoted);
+                    probationWeight += demoted.weight;
+                }
+            }
+            case PROTECTED -> protectedSegment.moveToLast(node);
+            case RETIRED -> {
+                // evicted or replaced since it was read
+            }
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowMaximum) {
+            Node<K, V> candidate = window.pollFirst();
+            windowWeight -= candidate.weight;
+            candidate.segment = Segment.PROBATION;
+            probation.addLast(candidate);
+            probationWeight += candidate.weight;
+        }
+        long now = clock.getAsLong();
+        while (windowWeight + probationWeight + protectedWeight > maximumWeight) {
+            if (probation.isEmpty()) {
+                if (!protectedSegment.isEmpty()) {
+                    Node<K, V> demoted = protectedSegment.pollFirst();
+                    protectedWeight -= demoted.weight;
+                    demoted.segment = Segment.PROBATION;
+                    probation.addLast(demoted);
+                    probationWeight += demoted.weight;
+                    continue;
+                }
+                evictNode(window.peekFirst());
+                continue;
+            }
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = probation.peekLast();
+            if (victim == candidate || victim.isExpired(now)) {
+                evictNode(victim);
+            } else if (candidate.isExpired(now) || !admit(candidate.key, victim.key)) {
+                evictNode(candidate);
+            } else {
+                evictNode(victim);
+            }
+        }
+    }
+
+    private boolean admit(K candidate, K victim) {
+        int candidateFrequency = sketch.frequency(candidate);
+        int victimFrequency = sketch.frequency(victim);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency < ADMIT_HASHDOS_THRESHOLD) {
+            return false;
+        }
+        return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictions.increment();
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.segment) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> {
+                probation.remove(node);
+                probationWeight -= node.weight;
+            }
+            case PROTECTED -> {
+                protectedSegment.remove(node);
+                protectedWeight -= node.weight;
+            }
+            case RETIRED -> {
+                return;
+            }
+        }
+        node.segment = Segment.RETIRED;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    /**
+     * A bounded ring buffer written by many threads without locks and drained under the eviction lock.
+     */
+    private static final class ReadBuffer<K, V> {
+
+        private final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private volatile long reads;
+
+        /**
+         * Adds the node unless the buffer is full or contended, and returns the number of pending nodes.
+         */
+        long offer(Node<K, V> node) {
+            long head = reads;
+            long tail = writes.get();
+            long pending = tail - head;
+            if (pending < READ_BUFFER_SIZE && writes.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) (tail & (READ_BUFFER_SIZE - 1)), node);
+                pending++;
+            }
+            return pending;
+        }
+
+        void drainTo(Consumer<Node<K, V>> consumer) {
+            long head = reads;
+            long tail = writes.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & (READ_BUFFER_SIZE - 1));
+                Node<K, V> node = slots.get(index);
+                if (node == null) {
+                    // the writer claimed the slot but hasn't published the node yet
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(node);
+            }
+            reads = head;
+        }
+    }
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED, RETIRED
+    }
+
+    private static final class Node<K, V> {
+
+        final K key;
+        final V value;
+        final long weight;
+        final long staleNanos;
+        final long loadNanos;
+        // renewed by refresh
+        volatile long staleAt;
+        volatile long expiresAt;
+        // 1 while a caller reloads the value
+        volatile int reloading;
+        // guarded by the eviction lock
+        Segment segment;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight, long staleAt, long staleNanos, long loadNanos) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.staleNanos = staleNanos;
+            this.loadNanos = loadNanos;
+            renew(staleAt);
+        }
+
+        void renew(long staleAt) {
+            this.staleAt = staleAt;
+            // capped, so that the expiry of a saturated stale period still compares by difference with the clock
+            this.expiresAt = staleAt + Math.min(staleNanos, Long.MAX_VALUE / 4);
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * An intrusive doubly-linked list of nodes, in access order from the least recently used.
+     */
+    private static final class Deque<K, V> {
+
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        boolean isEmpty() {
+            return first == null;
+        }
+
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        Node<K, V> peekLast() {
+            return last;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.jlynx.openopusjava.internal.io;
+
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * An {@link InputStream} reading sequentially through a list of {@link ByteBuffer}s without copying
+ * them into one array first.
+ * <p>
+ * The buffers are consumed: their positions advance as the stream is read. This class is not thread-safe.
+ * </p>
+ */
+@Internal
+public class ByteBuffersInputStream extends InputStream {
+
+    private final List<ByteBuffer> buffers;
+    private int index;
+
+    /**
+     * Constructs a stream over the given buffers, read in list order.
+     *
+     * @param buffers the buffers holding the stream's content
+     */
+    public ByteBuffersInputStream(List<ByteBuffer> buffers) {
+        this.buffers = buffers;
+        this.index = 0;
+    }
+
+    @Override
+    public int read() {
+        ByteBuffer current = current();
+        if (current == null) {
+            return -1;
+        }
+        return current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer current = current();
+        if (current == null) {
+            return -1;
+        }
+        int n = Math.min(len, current.remaining());
+        current.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        ByteBuffer current = current();
+        return current == null ? 0 : current.remaining();
+    }
+
+    private ByteBuffer current() {
+        while (index < buffers.size()) {
+            ByteBuffer buffer = buffers.get(index);
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+}
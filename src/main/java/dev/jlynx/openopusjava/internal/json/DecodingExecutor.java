@@ -0,0 +1,120 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.DecodingStats;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the decoding of large response bodies off the threads that complete the HTTP exchanges.
+ * <p>
+ * A body of at least {@code minBodyBytes} is decoded on the wrapped executor, so that parsing a burst of
+ * large bodies doesn't hold up the network; smaller bodies are cheaper to decode where they were received.
+ * The wrapper counts the bodies waiting for a thread and those being decoded.
+ * </p>
+ */
+@Internal
+public final class DecodingExecutor {
+
+    private final Executor executor;
+    private final boolean owned;
+    private final long minBodyBytes;
+    private final LongAdder offloaded;
+    private final AtomicLong queued;
+    private final AtomicInteger active;
+
+    private DecodingExecutor(Executor executor, boolean owned, long minBodyBytes) {
+        this.executor = executor;
+        this.owned = owned;
+        this.minBodyBytes = minBodyBytes;
+        this.offloaded = new LongAdder();
+        this.queued = new AtomicLong();
+        this.active = new AtomicInteger();
+    }
+
+    /**
+     * Wraps an executor the caller owns; {@link #close()} leaves it running.
+     */
+    public static DecodingExecutor of(Executor executor, long minBodyBytes) {
+        return new DecodingExecutor(executor, false, minBodyBytes);
+    }
+
+    /**
+     * Creates a dedicated {@link ForkJoinPool} of at most {@code parallelism} threads, shut down by {@link #close()}.
+     */
+    public static DecodingExecutor newPool(int parallelism, long minBodyBytes) {
+        AtomicInteger threads = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(
+                parallelism,
+                p -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    thread.setName("open-opus-decoder-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null,
+                true,
+                0,
+                parallelism,
+                1,
+                p -> true,
+                60,
+                TimeUnit.SECONDS
+        );
+        return new DecodingExecutor(pool, true, minBodyBytes);
+    }
+
+    /**
+     * Returns {@code true} if a body of the given size is decoded on the executor.
+     */
+    public boolean offloads(long bodyBytes) {
+        return bodyBytes >= minBodyBytes;
+    }
+
+    /**
+     * Runs the decoding task on the executor.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the executor doesn't accept the task
+     */
+    public void execute(Runnable decoding) {
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    decoding.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+        offloaded.increment();
+    }
+
+    /**
+     * Returns a snapshot of the counters.
+     */
+    public DecodingStats stats() {
+        return new DecodingStats(offloaded.sum(), queued.get(), active.get());
+    }
+
+    /**
+     * Shuts the executor down if this wrapper created it.
+     */
+    public void close() {
+        if (owned && executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link HttpResponse.BodySubscriber} that tokenizes the JSON body with Jackson's non-blocking
+ * parser while it's still being received.
+ * <p>
+ * Every {@link ByteBuffer} is fed to the parser in {@code onNext} and all the tokens it completes are
+ * recorded in a {@link TokenBuffer}. When the last chunk arrives only the already tokenized body is left
+ * to bind, so decoding overlaps the network transfer instead of adding to the latency after it.
+ * </p>
+ *
+ * @param <T> the type the JSON body is deserialized into
+ */
+@Internal
+public class IncrementalJsonBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    private final JsonDecoder<T> decoder;
+    private final CompletableFuture<T> body;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final TokenBuffer tokens;
+    private Flow.Subscription subscription;
+    private boolean failed;
+    private long bytesReceived;
+
+    /**
+     * Constructs a subscriber deserializing the body with the given reader.
+     *
+     * @param reader the reader bound to the target type
+     */
+    public IncrementalJsonBodySubscriber(ObjectReader reader) {
+        this(JsonDecoder.of(reader));
+    }
+
+    /**
+     * Constructs a subscriber binding the body with the given decoder.
+     *
+     * @param decoder the decoder of the target type
+     */
+    public IncrementalJsonBodySubscriber(JsonDecoder<T> decoder) {
+        this.decoder = decoder;
+        this.body = new CompletableFuture<>();
+        try {
+            this.parser = JsonCodecRegistry.getInstance().factory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(parser);
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return body;
+    }
+
+    /**
+     * Returns the number of body bytes received so far.
+     */
+    public long bytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+        if (failed) {
+            return;
+        }
+        try {
+            for (ByteBuffer buffer : item) {
+                bytesReceived += buffer.remaining();
+                feeder.feedInput(buffer);
+                drainTokens();
+            }
+        } catch (IOException e) {
+            fail(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeQuietly();
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (failed) {
+            return;
+        }
+        try {
+            feeder.endOfInput();
+            drainTokens();
+            T value;
+            try (JsonParser buffered = tokens.asParser()) {
+                value = decoder.decode(buffered);
+            }
+            body.complete(value);
+        } catch (IOException e) {
+            body.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            body.completeExceptionally(e);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void drainTokens() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        failed = true;
+        subscription.cancel();
+        closeQuietly();
+        body.completeExceptionally(e);
+    }
+
+    private void closeQuietly() {
+        try {
+            parser.close();
+            tokens.close();
+        } catch (IOException ignored) {
+            // nothing is left to release
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link HttpResponse.BodySubscriber} that emits the elements of one array field of a JSON object
+ * body to a {@link Flow.Subscriber} as soon as each of them is parsed.
+ * <p>
+ * The body is tokenized with Jackson's non-blocking parser. Every element of the {@code arrayField}
+ * array is bound on its own and queued for the downstream subscriber. The next chunk of the body is
+ * requested from the {@code HttpClient} only when the queue is empty and the downstream has outstanding
+ * demand, so a slow subscriber holds back the network transfer instead of letting elements pile up.
+ * </p>
+ * <p>
+ * The other top-level fields named in {@code sideFields} are bound with their decoders and passed to the
+ * {@code sideChannel} as they're parsed; all remaining fields are skipped. When the body ends, the
+ * {@code endOfBodyCheck} may return an error to signal instead of completion.
+ * </p>
+ *
+ * @param <E> the type of the array elements
+ */
+@Internal
+public class JsonArrayStreamSubscriber<E> implements HttpResponse.BodySubscriber<Void>, Flow.Subscription {
+
+    private final String arrayField;
+    private final JsonDecoder<E> elementDecoder;
+    private final Map<String, JsonDecoder<?>> sideFields;
+    private final BiConsumer<String, Object> sideChannel;
+    private final Supplier<Throwable> endOfBodyCheck;
+    private final Flow.Subscriber<? super E> downstream;
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final Queue<E> queue;
+    private final AtomicLong requested;
+    private final AtomicInteger wip;
+
+    private volatile Flow.Subscription upstream;
+    private volatile boolean upstreamPending;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+    // a non-positive request of the downstream, which must fail the stream (rule 3.9 of Reactive Streams)
+    private volatile Throwable invalidRequest;
+    private boolean terminated;
+
+    // tokenizer state, only touched from onNext/onComplete which the HttpClient calls serially
+    private boolean inRoot;
+    private boolean inArray;
+    private String field;
+    private TokenBuffer capture;
+    private int captureDepth;
+    private JsonDecoder<?> captureDecoder;
+    private String captureField;
+    private int skipDepth;
+
+    /**
+     * Constructs a subscriber streaming the elements of {@code arrayField} to {@code downstream}.
+     *
+     * @param arrayField the name of the top-level array field whose elements are streamed
+     * @param elementDecoder the decoder of the element type
+     * @param sideFields decoders of the other top-level fields to bind, by field name
+     * @param sideChannel receives the field name and bound value of each of the {@code sideFields}
+     * @param endOfBodyCheck returns the error to signal downstream after the body ended, or {@code null}
+     * @param downstream the subscriber receiving the elements
+     */
+    public JsonArrayStreamSubscriber(
+            String arrayField,
+            JsonDecoder<E> elementDecoder,
+            Map<String, JsonDecoder<?>> sideFields,
+            BiConsumer<String, Object> sideChannel,
+            Supplier<Throwable> endOfBodyCheck,
+            Flow.Subscriber<? super E> downstream
+    ) {
+        this.arrayField = arrayField;
+        this.elementDecoder = elementDecoder;
+        this.sideFields = sideFields;
+        this.sideChannel = sideChannel;
+        this.endOfBodyCheck = endOfBodyCheck;
+        this.downstream = downstream;
+        try {
+            this.parser = JsonCodecRegistry.getInstance().factory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.requested = new AtomicLong();
+        this.wip = new AtomicInteger();
+    }
+
+    /**
+     * Returns an already completed stage: the elements are delivered to the downstream subscriber,
+     * not through the response body.
+     */
+    @Override
+    public CompletionStage<Void> getBody() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        // checked after upstream is set, so a cancel or an invalid request coming meanwhile cancels it either way
+        if (cancelled || invalidRequest != null) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+        if (done) {
+            return;
+        }
+        if (invalidRequest != null) {
+            abandonBody();
+            return;
+        }
+        try {
+            for (ByteBuffer buffer : item) {
+                feeder.feedInput(buffer);
+                parseAvailable();
+            }
+        } catch (IOException e) {
+            fail(new UncheckedIOException(e));
+            return;
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        upstreamPending = false;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        if (invalidRequest != null) {
+            abandonBody();
+            return;
+        }
+        closeQuietly();
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        if (invalidRequest != null) {
+            abandonBody();
+            return;
+        }
+        try {
+            feeder.endOfInput();
+            parseAvailable();
+            error = endOfBodyCheck.get();
+        } catch (IOException e) {
+            error = new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            closeQuietly();
+        }
+        done = true;
+        drain();
+    }
+
+    /**
+     * Signals an error that occurred before any body was received, e.g. a failed connection.
+     *
+     * @param throwable the error to pass downstream
+     */
+    public void fail(Throwable throwable) {
+        Flow.Subscription current = upstream;
+        if (current != null) {
+            current.cancel();
+        }
+        onError(throwable);
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            // the parser may be in use by onNext at this moment, so it's left to the upstream signals to close it
+            if (invalidRequest == null) {
+                invalidRequest = new IllegalArgumentException("Requested a non-positive number of elements: " + n);
+            }
+            drain();
+            return;
+        }
+        requested.getAndAccumulate(n, (current, add) -> {
+            long sum = current + add;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Flow.Subscription current = upstream;
+        if (current != null) {
+            current.cancel();
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (cancelled) {
+                queue.clear();
+            } else if (!terminated && invalidRequest != null) {
+                terminated = true;
+                queue.clear();
+                Flow.Subscription current = upstream;
+                if (current != null) {
+                    current.cancel();
+                }
+                downstream.onError(invalidRequest);
+            } else if (!terminated) {
+                long r = requested.get();
+                long emitted = 0;
+                E element;
+                while (emitted != r && (element = queue.poll()) != null) {
+                    downstream.onNext(element);
+                    emitted++;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (queue.isEmpty()) {
+                    if (done) {
+                        terminated = true;
+                        Throwable t = error;
+                        if (t != null) {
+                            downstream.onError(t);
+                        } else {
+                            downstream.onComplete();
+                        }
+                    } else if (requested.get() > 0 && !upstreamPending && upstream != null) {
+                        upstreamPending = true;
+                        upstream.request(1);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void parseAvailable() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token);
+        }
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        if (capture != null) {
+            capture.copyCurrentEvent(parser);
+            captureDepth += depthChange(token);
+            if (captureDepth == 0) {
+                finishCapture();
+            }
+            return;
+        }
+        if (skipDepth > 0) {
+            skipDepth += depthChange(token);
+            return;
+        }
+        if (inArray) {
+            if (token == JsonToken.END_ARRAY) {
+                inArray = false;
+            } else {
+                startCapture(elementDecoder, null, token);
+            }
+            return;
+        }
+        if (!inRoot) {
+            inRoot = token == JsonToken.START_OBJECT;
+            return;
+        }
+        switch (token) {
+            case FIELD_NAME -> field = parser.currentName();
+            case END_OBJECT -> inRoot = false;
+            default -> {
+                if (token == JsonToken.START_ARRAY && arrayField.equals(field)) {
+                    inArray = true;
+                } else if (sideFields.containsKey(field)) {
+                    startCapture(sideFields.get(field), field, token);
+                } else if (token.isStructStart()) {
+                    skipDepth = 1;
+                }
+            }
+        }
+    }
+
+    private void startCapture(JsonDecoder<?> decoder, String fieldName, JsonToken token) throws IOException {
+        capture = new TokenBuffer(parser);
+        capture.copyCurrentEvent(parser);
+        captureDecoder = decoder;
+        captureField = fieldName;
+        captureDepth = depthChange(token);
+        if (captureDepth == 0) {
+            finishCapture();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void finishCapture() throws IOException {
+        TokenBuffer completed = capture;
+        capture = null;
+        try (JsonParser tokens = completed.asParser()) {
+            Object value = captureDecoder.decode(tokens);
+            if (captureField == null) {
+                if (!cancelled) {
+                    queue.offer((E) value);
+                }
+            } else {
+                sideChannel.accept(captureField, value);
+            }
+        }
+    }
+
+    private static int depthChange(JsonToken token) {
+        if (token.isStructStart()) {
+            return 1;
+        }
+        if (token.isStructEnd()) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Stops reading the body after the downstream broke the protocol, on the thread of an upstream signal, which
+     * is the only one allowed to touch the parser. If no signal comes after the cancellation, the parser holds
+     * nothing but its buffers.
+     */
+    private void abandonBody() {
+        done = true;
+        closeQuietly();
+        drain();
+    }
+
+    private void closeQuietly() {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // nothing is left to release
+        }
+    }
+}
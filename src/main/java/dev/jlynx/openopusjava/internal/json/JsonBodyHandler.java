@@ -1,13 +1,12 @@
 package dev.jlynx.openopusjava.internal.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jlynx.openopusjava.DecodingMode;
+import dev.jlynx.openopusjava.ParsingMode;
 import dev.jlynx.openopusjava.internal.Internal;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * A {@code JsonBodyHandler} is an implementation of {@link HttpResponse.BodyHandler}
@@ -16,13 +15,32 @@ import java.nio.charset.StandardCharsets;
  * This handler leverages the Jackson library to parse JSON content into Java objects.
  * It is intended to be used with the Java {@code HttpClient} to handle JSON responses
  * by mapping them to the specified {@code targetType}.
+ * <p>
+ * The decoder is obtained from the shared {@link JsonCodecRegistry}, so no mapper
+ * is created and no type introspection happens per response. In the {@link DecodingMode#SPECIALIZED}
+ * mode it's one of the reflection-free {@link SpecializedDecoders}. The body bytes are fed to
+ * the parser directly by a {@link JsonBodySubscriber}, or tokenized while they arrive by an
+ * {@link IncrementalJsonBodySubscriber} in the {@link ParsingMode#INCREMENTAL} mode.
+ * <p>
+ * In the {@link ParsingMode#BUFFERED} mode, large bodies may be decoded on a {@link DecodingExecutor}. The
+ * {@link ParsingMode#INCREMENTAL} mode parses the body as it arrives, on the threads delivering it.
+ * <p>
+ * The body of an HTTP error response, usually an HTML error page, is discarded and the
+ * response body is {@code null}, like that of a {@code 304 Not Modified}.
+ * <p>
+ * The handler holds no state of the exchanges it's used for, so one handler may serve several exchanges at once.
+ * The size of a body is handed to the consumer given to {@link #reportingBodySizeTo}, which is created for each
+ * exchange.
  *
  * @param <T> the type of the response body that this handler deserializes from JSON
  */
 @Internal
 public class JsonBodyHandler<T> implements HttpResponse.BodyHandler<T> {
 
-    private final Class<T> targetType;
+    private final JsonDecoder<T> decoder;
+    private final ParsingMode parsingMode;
+    private final DecodingExecutor decodingExecutor;
+    private final LongConsumer bodySizeConsumer;
 
     /**
      * Constructs a new {@code JsonBodyHandler} for the specified target type.
@@ -31,27 +49,96 @@ public class JsonBodyHandler<T> implements HttpResponse.BodyHandler<T> {
      *                   should be deserialized.
      */
     public JsonBodyHandler(Class<T> targetType) {
-        this.targetType = targetType;
+        this(targetType, ParsingMode.BUFFERED);
+    }
+
+    /**
+     * Constructs a new {@code JsonBodyHandler} for the specified target type and parsing mode.
+     *
+     * @param targetType The {@link Class} of the type to which the JSON response
+     *                   should be deserialized.
+     * @param parsingMode determines whether the body is parsed after it's received or while it's received
+     */
+    public JsonBodyHandler(Class<T> targetType, ParsingMode parsingMode) {
+        this(targetType, parsingMode, DecodingMode.DATABIND);
+    }
+
+    /**
+     * Constructs a new {@code JsonBodyHandler} for the specified target type, parsing mode and decoding mode.
+     *
+     * @param targetType The {@link Class} of the type to which the JSON response
+     *                   should be deserialized.
+     * @param parsingMode determines whether the body is parsed after it's received or while it's received
+     * @param decodingMode determines whether the body is bound by Jackson databind or by a specialized decoder
+     */
+    public JsonBodyHandler(Class<T> targetType, ParsingMode parsingMode, DecodingMode decodingMode) {
+        this(targetType, parsingMode, decodingMode, null);
+    }
+
+    /**
+     * Constructs a new {@code JsonBodyHandler} for the specified target type, parsing mode and decoding mode,
+     * decoding the large bodies on the given executor.
+     *
+     * @param targetType The {@link Class} of the type to which the JSON response
+     *                   should be deserialized.
+     * @param parsingMode determines whether the body is parsed after it's received or while it's received
+     * @param decodingMode determines whether the body is bound by Jackson databind or by a specialized decoder
+     * @param decodingExecutor the executor of the large bodies, or {@code null}
+     */
+    public JsonBodyHandler(Class<T> targetType, ParsingMode parsingMode, DecodingMode decodingMode, DecodingExecutor decodingExecutor) {
+        this(JsonCodecRegistry.getInstance().decoderFor(targetType, decodingMode), parsingMode, decodingExecutor, null);
+    }
+
+    private JsonBodyHandler(
+            JsonDecoder<T> decoder,
+            ParsingMode parsingMode,
+            DecodingExecutor decodingExecutor,
+            LongConsumer bodySizeConsumer
+    ) {
+        this.decoder = decoder;
+        this.parsingMode = parsingMode;
+        this.decodingExecutor = decodingExecutor;
+        this.bodySizeConsumer = bodySizeConsumer;
+    }
+
+    /**
+     * Returns a handler deserializing the body like this one and handing its size in bytes to the consumer
+     * once it's deserialized.
+     *
+     * @param bodySizeConsumer the consumer of the body size, usually one for each exchange
+     */
+    public JsonBodyHandler<T> reportingBodySizeTo(LongConsumer bodySizeConsumer) {
+        return new JsonBodyHandler<>(decoder, parsingMode, decodingExecutor, bodySizeConsumer);
     }
 
     @Override
     public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
-        return asJson(targetType);
-    }
-
-    private static <T> HttpResponse.BodySubscriber<T> asJson(Class<T> targetType) {
-        HttpResponse.BodySubscriber<String> upstream = HttpResponse
-                .BodySubscribers.ofString(StandardCharsets.UTF_8);
-        return HttpResponse.BodySubscribers.mapping(
-                upstream,
-                (String body) -> {
-                    try {
-                        ObjectMapper mapper = new ObjectMapper();
-                        mapper.registerModule(new JavaTimeModule());
-                        return mapper.readValue(body, targetType);
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(e);
-                    }
-                });
+        if (responseInfo.statusCode() >= 400 || responseInfo.statusCode() == 304) {
+            return HttpResponse.BodySubscribers.replacing(null);
+        }
+        return switch (parsingMode) {
+            case BUFFERED -> {
+                JsonBodySubscriber<T> subscriber = new JsonBodySubscriber<>(decoder, decodingExecutor);
+                yield reportingBodySize(subscriber, subscriber::bytesReceived);
+            }
+            case INCREMENTAL -> {
+                IncrementalJsonBodySubscriber<T> subscriber = new IncrementalJsonBodySubscriber<>(decoder);
+                yield reportingBodySize(subscriber, subscriber::bytesReceived);
+            }
+        };
+    }
+
+    /**
+     * Hands the body size to the consumer before the body is passed on, so it's known by the time the response
+     * completes.
+     */
+    private HttpResponse.BodySubscriber<T> reportingBodySize(HttpResponse.BodySubscriber<T> subscriber, LongSupplier bytesReceived) {
+        if (bodySizeConsumer == null) {
+            return subscriber;
+        }
+        return HttpResponse.BodySubscribers.mapping(subscriber, body -> {
+            bodySizeConsumer.accept(bytesReceived.getAsLong());
+            return body;
+        });
     }
 }
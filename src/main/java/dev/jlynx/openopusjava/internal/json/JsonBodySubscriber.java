@@ -0,0 +1,138 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.internal.io.ByteBuffersInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link HttpResponse.BodySubscriber} that keeps the received {@link ByteBuffer}s as they are
+ * and hands them to the Jackson parser once the body is complete.
+ * <p>
+ * Unlike {@code BodySubscribers.ofString} followed by {@code mapping}, the body is never decoded
+ * into an intermediate {@code String}: Jackson reads the UTF-8 bytes directly from the buffers.
+ * </p>
+ * <p>
+ * Given a {@link DecodingExecutor}, a body it {@linkplain DecodingExecutor#offloads offloads} is decoded there
+ * instead of on the thread that completed the body.
+ * </p>
+ *
+ * @param <T> the type the JSON body is deserialized into
+ */
+@Internal
+public class JsonBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    private final JsonDecoder<T> decoder;
+    private final DecodingExecutor decodingExecutor;
+    private final List<ByteBuffer> received;
+    private final CompletableFuture<T> body;
+    private Flow.Subscription subscription;
+    private long bytesReceived;
+
+    /**
+     * Constructs a subscriber deserializing the body with the given reader.
+     *
+     * @param reader the reader bound to the target type
+     */
+    public JsonBodySubscriber(ObjectReader reader) {
+        this(JsonDecoder.of(reader));
+    }
+
+    /**
+     * Constructs a subscriber binding the body with the given decoder.
+     *
+     * @param decoder the decoder of the target type
+     */
+    public JsonBodySubscriber(JsonDecoder<T> decoder) {
+        this(decoder, null);
+    }
+
+    /**
+     * Constructs a subscriber binding the body with the given decoder, on the decoding executor if it's large.
+     *
+     * @param decoder the decoder of the target type
+     * @param decodingExecutor the executor of the large bodies, or {@code null} to decode all bodies on the
+     *                         thread that completes them
+     */
+    public JsonBodySubscriber(JsonDecoder<T> decoder, DecodingExecutor decodingExecutor) {
+        this.decoder = decoder;
+        this.decodingExecutor = decodingExecutor;
+        this.received = new ArrayList<>();
+        this.body = new CompletableFuture<>();
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return body;
+    }
+
+    /**
+     * Returns the number of body bytes received so far.
+     */
+    public long bytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+        for (ByteBuffer buffer : item) {
+            bytesReceived += buffer.remaining();
+        }
+        received.addAll(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        received.clear();
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        List<ByteBuffer> buffers = List.copyOf(received);
+        received.clear();
+        if (decodingExecutor != null && decodingExecutor.offloads(bytesReceived)) {
+            try {
+                decodingExecutor.execute(() -> decode(buffers));
+                return;
+            } catch (RejectedExecutionException e) {
+                // the executor is shut down or saturated; decoding here is still better than failing
+            }
+        }
+        decode(buffers);
+    }
+
+    private void decode(List<ByteBuffer> buffers) {
+        try (JsonParser parser = JsonCodecRegistry.getInstance().factory().createParser(new ByteBuffersInputStream(buffers))) {
+            T value = decoder.decode(parser);
+            body.complete(value);
+        } catch (IOException e) {
+            body.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            body.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jlynx.openopusjava.DecodingMode;
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.response.body.*;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A process-wide registry of pre-built Jackson readers, one per response body type.
+ * <p>
+ * Creating an {@link ObjectMapper} and introspecting the response classes is by far the most
+ * expensive part of decoding a response. This registry does it once per JVM: it holds a single
+ * configured {@code ObjectMapper} and caches an immutable, thread-safe {@link ObjectReader} for
+ * every target type it's asked for. The readers are shared by all clients.
+ * </p>
+ */
+@Internal
+public final class JsonCodecRegistry {
+
+    /**
+     * All the response body types returned by the {@code OpenOpusClient}.
+     */
+    public static final List<Class<?>> RESPONSE_BODY_TYPES = List.of(
+            ComposersList.class,
+            GenresList.class,
+            WorksList.class,
+            WorkDetailResponse.class,
+            ListWorksByIdResponse.class,
+            RandomWorks.class,
+            OmnisearchResponse.class,
+            PerformerRolesResponse.class
+    );
+
+    private static final JsonCodecRegistry INSTANCE = new JsonCodecRegistry();
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers;
+
+    private JsonCodecRegistry() {
+        mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        writer = mapper.writer();
+        readers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the shared registry instance.
+     */
+    public static JsonCodecRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the reader for the given type, building it on first use.
+     * <p>
+     * The root deserializer is resolved eagerly when the reader is built, so the first
+     * response of a type doesn't pay for the introspection.
+     * </p>
+     *
+     * @param type the type the reader deserializes into
+     * @return a shared, immutable {@link ObjectReader} for {@code type}
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Returns the decoder for the given type in the given mode.
+     * <p>
+     * In the {@link DecodingMode#SPECIALIZED} mode the type's {@link SpecializedDecoders specialized decoder}
+     * is returned if there is one; all other types fall back to the databind reader.
+     * </p>
+     *
+     * @param type the type the decoder binds to
+     * @param mode the decoding mode
+     * @return a shared, stateless {@link JsonDecoder} for {@code type}
+     * @param <T> the type the decoder binds to
+     */
+    public <T> JsonDecoder<T> decoderFor(Class<T> type, DecodingMode mode) {
+        if (mode == DecodingMode.SPECIALIZED) {
+            JsonDecoder<T> specialized = SpecializedDecoders.forType(type);
+            if (specialized != null) {
+                return specialized;
+            }
+        }
+        return JsonDecoder.of(readerFor(type));
+    }
+
+    /**
+     * Returns the factory creating the parsers of the registry's mapper.
+     */
+    public JsonFactory factory() {
+        return mapper.getFactory();
+    }
+
+    /**
+     * Returns a shared writer using the registry's mapper configuration.
+     */
+    public ObjectWriter writer() {
+        return writer;
+    }
+
+    /**
+     * Builds the readers of all the {@link #RESPONSE_BODY_TYPES} ahead of time.
+     * Calling this method more than once is cheap.
+     */
+    public void warmUp() {
+        RESPONSE_BODY_TYPES.forEach(this::readerFor);
+    }
+}
@@ -0,0 +1,34 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.io.IOException;
+
+/**
+ * Binds the next JSON value read from a {@link JsonParser} to an object.
+ * <p>
+ * The parser is either positioned on the first token of the value, or not advanced yet
+ * (its current token is {@code null}). Decoders don't close the parser.
+ * </p>
+ *
+ * @param <T> the type the JSON value is bound to
+ */
+@Internal
+@FunctionalInterface
+public interface JsonDecoder<T> {
+
+    T decode(JsonParser parser) throws IOException;
+
+    /**
+     * Returns a decoder delegating to Jackson databind through the given reader.
+     *
+     * @param reader the reader bound to the target type
+     * @return a decoder calling {@link ObjectReader#readValue(JsonParser)}
+     * @param <T> the type the reader deserializes into
+     */
+    static <T> JsonDecoder<T> of(ObjectReader reader) {
+        return reader::readValue;
+    }
+}
@@ -0,0 +1,233 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads scalar values and generic containers with the same coercions Jackson databind applies
+ * to the Open Opus model: numbers and booleans may come as JSON strings and {@code null} becomes
+ * the zero value of primitives.
+ * <p>
+ * All the methods expect the parser to be positioned on the value's first token and leave it on
+ * the value's last token.
+ * </p>
+ */
+final class JsonScalars {
+
+    private JsonScalars() {
+    }
+
+    /**
+     * Advances a parser that wasn't advanced yet to the first token and returns the current token.
+     */
+    static JsonToken start(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        return token != null ? token : parser.nextToken();
+    }
+
+    static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        throw unexpected(parser, "a string");
+    }
+
+    static int readInt(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_STRING -> parseInt(parser);
+            case VALUE_NUMBER_FLOAT -> (int) parser.getDoubleValue();
+            case VALUE_NULL -> 0;
+            default -> throw unexpected(parser, "an int");
+        };
+    }
+
+    static Integer readInteger(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return readInt(parser);
+    }
+
+    static double readDouble(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_STRING -> {
+                String text = parser.getText().trim();
+                try {
+                    yield text.isEmpty() ? 0.0 : Double.parseDouble(text);
+                } catch (NumberFormatException e) {
+                    throw unexpected(parser, "a double");
+                }
+            }
+            case VALUE_NULL -> 0.0;
+            default -> throw unexpected(parser, "a double");
+        };
+    }
+
+    static boolean readBoolean(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_TRUE -> true;
+            case VALUE_FALSE, VALUE_NULL -> false;
+            case VALUE_NUMBER_INT -> parser.getIntValue() != 0;
+            case VALUE_STRING -> {
+                String text = parser.getText().trim();
+                if (text.equalsIgnoreCase("true")) {
+                    yield true;
+                }
+                if (text.equalsIgnoreCase("false") || text.isEmpty()) {
+                    yield false;
+                }
+                throw unexpected(parser, "a boolean");
+            }
+            default -> throw unexpected(parser, "a boolean");
+        };
+    }
+
+    /**
+     * Reads a {@code yyyy-MM-dd} date straight from the parser's character buffer. Like the
+     * default {@code SMART} resolver of a {@code DateTimeFormatter}, a day past the end of the
+     * month is clamped to its last day.
+     */
+    static LocalDate readDate(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw unexpected(parser, "a yyyy-MM-dd date");
+        }
+        int length = parser.getTextLength();
+        if (length == 0) {
+            return null;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (length != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            throw unexpected(parser, "a yyyy-MM-dd date");
+        }
+        int year = digits(parser, chars, offset, 4);
+        int month = digits(parser, chars, offset + 5, 2);
+        int day = digits(parser, chars, offset + 8, 2);
+        if (day < 1 || day > 31) {
+            throw unexpected(parser, "a yyyy-MM-dd date");
+        }
+        try {
+            YearMonth yearMonth = YearMonth.of(year, month);
+            return yearMonth.atDay(Math.min(day, yearMonth.lengthOfMonth()));
+        } catch (DateTimeException e) {
+            throw unexpected(parser, "a yyyy-MM-dd date");
+        }
+    }
+
+    static List<String> readStringList(JsonParser parser) throws IOException {
+        return readList(parser, JsonScalars::readString);
+    }
+
+    static Map<String, String> readStringMap(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw unexpected(parser, "an object");
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            parser.nextToken();
+            map.put(field, readString(parser));
+        }
+        return map;
+    }
+
+    static <E> List<E> readList(JsonParser parser, JsonDecoder<E> elementDecoder) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw unexpected(parser, "an array");
+        }
+        List<E> list = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            list.add(elementDecoder.decode(parser));
+        }
+        return list;
+    }
+
+    /**
+     * Fails unless the parser is positioned on the start of an object.
+     */
+    static void expectObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw unexpected(parser, "an object");
+        }
+    }
+
+    static JsonParseException unexpected(JsonParser parser, String expected) throws IOException {
+        return new JsonParseException(parser, "Expected " + expected + " but found " + parser.currentToken()
+                + (parser.currentToken() != null && parser.currentToken().isScalarValue() ? " '" + parser.getText() + "'" : ""));
+    }
+
+    private static int parseInt(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (length == 0) {
+            return 0;
+        }
+        boolean negative = chars[offset] == '-';
+        int start = negative ? offset + 1 : offset;
+        int end = offset + length;
+        if (start == end || end - start > 9) {
+            return parseIntSlow(parser);
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return parseIntSlow(parser);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static int parseIntSlow(JsonParser parser) throws IOException {
+        String text = parser.getText().trim();
+        try {
+            return text.isEmpty() ? 0 : Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw unexpected(parser, "an int");
+        }
+    }
+
+    private static int digits(JsonParser parser, char[] chars, int from, int count) throws IOException {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw unexpected(parser, "a yyyy-MM-dd date");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,537 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.response.body.*;
+import dev.jlynx.openopusjava.response.subtype.*;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusRequestMetadata;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusResponseStatus;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.jlynx.openopusjava.internal.json.JsonScalars.*;
+
+/**
+ * Hand-written {@link JsonDecoder}s for the known shapes of the Open Opus responses.
+ * <p>
+ * The decoders walk the tokens directly and call the model constructors, so there's no reflection,
+ * no {@code @JsonCreator} property buffering and no introspection on first use. Field names are
+ * compared with {@code equals} in the order the API emits them; the parser canonicalizes the names
+ * it reads, so a match is usually decided by the identity check alone. Enums are mapped with a
+ * {@code switch} on the value and dates are read from the parser's character buffer.
+ * </p>
+ * <p>
+ * Fields the model doesn't know are skipped.
+ * </p>
+ */
+@Internal
+public final class SpecializedDecoders {
+
+    private static final Map<Class<?>, JsonDecoder<?>> DECODERS = Map.ofEntries(
+            Map.entry(ComposersList.class, (JsonDecoder<?>) SpecializedDecoders::composersList),
+            Map.entry(GenresList.class, (JsonDecoder<?>) SpecializedDecoders::genresList),
+            Map.entry(WorksList.class, (JsonDecoder<?>) SpecializedDecoders::worksList),
+            Map.entry(WorkDetailResponse.class, (JsonDecoder<?>) SpecializedDecoders::workDetailResponse),
+            Map.entry(ListWorksByIdResponse.class, (JsonDecoder<?>) SpecializedDecoders::listWorksByIdResponse),
+            Map.entry(RandomWorks.class, (JsonDecoder<?>) SpecializedDecoders::randomWorks),
+            Map.entry(OmnisearchResponse.class, (JsonDecoder<?>) SpecializedDecoders::omnisearchResponse),
+            Map.entry(PerformerRolesResponse.class, (JsonDecoder<?>) SpecializedDecoders::performerRolesResponse),
+            Map.entry(Composer.class, (JsonDecoder<?>) SpecializedDecoders::composer),
+            Map.entry(Work.class, (JsonDecoder<?>) SpecializedDecoders::work),
+            Map.entry(OpenOpusResponseStatus.class, (JsonDecoder<?>) SpecializedDecoders::status)
+    );
+
+    private SpecializedDecoders() {
+    }
+
+    /**
+     * Returns the specialized decoder of the given type.
+     *
+     * @param type a response body type, or an element type of the streamed lists
+     * @return the decoder, or {@code null} if there's none for {@code type}
+     * @param <T> the type the decoder binds to
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonDecoder<T> forType(Class<T> type) {
+        return (JsonDecoder<T>) DECODERS.get(type);
+    }
+
+    // response bodies
+
+    static ComposersList composersList(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        List<Composer> composers = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("composers".equals(field)) composers = readList(p, SpecializedDecoders::composer);
+            else p.skipChildren();
+        }
+        return new ComposersList(status, request, composers);
+    }
+
+    static GenresList genresList(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        Composer composer = null;
+        List<Genre> genres = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("composer".equals(field)) composer = composer(p);
+            else if ("genres".equals(field)) genres = readList(p, SpecializedDecoders::genre);
+            else p.skipChildren();
+        }
+        return new GenresList(status, request, composer, genres);
+    }
+
+    static WorksList worksList(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        Composer composer = null;
+        List<Work> works = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("composer".equals(field)) composer = composer(p);
+            else if ("works".equals(field)) works = readList(p, SpecializedDecoders::work);
+            else p.skipChildren();
+        }
+        return new WorksList(status, request, composer, works);
+    }
+
+    static WorkDetailResponse workDetailResponse(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        ComposerOverview composer = null;
+        WorkDetail work = null;
+        List<SimilarWork> similarlyTitled = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("composer".equals(field)) composer = composerOverview(p);
+            else if ("work".equals(field)) work = workDetail(p);
+            else if ("similarlytitled".equals(field)) similarlyTitled = readList(p, SpecializedDecoders::similarWork);
+            else p.skipChildren();
+        }
+        return new WorkDetailResponse(status, request, composer, work, similarlyTitled);
+    }
+
+    static ListWorksByIdResponse listWorksByIdResponse(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        Map<String, WorkSummary> works = null;
+        ListWorksByIdAbstract worksAbstract = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("abstract".equals(field)) worksAbstract = listWorksByIdAbstract(p);
+            else if ("works".equals(field)) works = workSummaries(p);
+            else p.skipChildren();
+        }
+        return new ListWorksByIdResponse(status, request, works, worksAbstract);
+    }
+
+    static RandomWorks randomWorks(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        List<RandomWork> works = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("works".equals(field)) works = readList(p, SpecializedDecoders::randomWork);
+            else p.skipChildren();
+        }
+        return new RandomWorks(status, request, works);
+    }
+
+    static OmnisearchResponse omnisearchResponse(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        List<SearchEntry> results = null;
+        Integer next = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("results".equals(field)) results = readList(p, SpecializedDecoders::searchEntry);
+            else if ("next".equals(field)) next = readInteger(p);
+            else p.skipChildren();
+        }
+        return new OmnisearchResponse(status, request, results, next);
+    }
+
+    static PerformerRolesResponse performerRolesResponse(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        OpenOpusResponseStatus status = null;
+        OpenOpusRequestMetadata request = null;
+        PerformerRoles performers = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("status".equals(field)) status = status(p);
+            else if ("request".equals(field)) request = request(p);
+            else if ("performers".equals(field)) performers = performerRoles(p);
+            else p.skipChildren();
+        }
+        return new PerformerRolesResponse(status, request, performers);
+    }
+
+    // wrapper objects
+
+    static OpenOpusResponseStatus status(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        String version = null;
+        boolean success = false;
+        String error = null;
+        String source = null;
+        int rows = 0;
+        double processingTime = 0.0;
+        String api = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("version".equals(field)) version = readString(p);
+            else if ("success".equals(field)) success = readBoolean(p);
+            else if ("error".equals(field)) error = readString(p);
+            else if ("source".equals(field)) source = readString(p);
+            else if ("rows".equals(field)) rows = readInt(p);
+            else if ("processingtime".equals(field)) processingTime = readDouble(p);
+            else if ("api".equals(field)) api = readString(p);
+            else p.skipChildren();
+        }
+        return new OpenOpusResponseStatus(version, success, error, source, rows, processingTime, api);
+    }
+
+    static OpenOpusRequestMetadata request(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        String type = null;
+        Object item = null;
+        String search = null;
+        String offset = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("type".equals(field)) type = readString(p);
+            else if ("item".equals(field)) item = p.currentToken() == JsonToken.START_ARRAY ? readStringList(p) : readString(p);
+            else if ("search".equals(field)) search = readString(p);
+            else if ("offset".equals(field)) offset = readString(p);
+            else p.skipChildren();
+        }
+        return new OpenOpusRequestMetadata(type, item, search, offset);
+    }
+
+    // model objects
+
+    static Composer composer(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String lastName = null;
+        String fullName = null;
+        LocalDate birth = null;
+        LocalDate death = null;
+        Epoch epoch = null;
+        String portraitUri = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("id".equals(field)) id = readInt(p);
+            else if ("name".equals(field)) lastName = readString(p);
+            else if ("complete_name".equals(field)) fullName = readString(p);
+            else if ("birth".equals(field)) birth = readDate(p);
+            else if ("death".equals(field)) death = readDate(p);
+            else if ("epoch".equals(field)) epoch = epoch(p);
+            else if ("portrait".equals(field)) portraitUri = readString(p);
+            else p.skipChildren();
+        }
+        return new Composer(id, lastName, fullName, birth, death, epoch, portraitUri);
+    }
+
+    static ComposerOverview composerOverview(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String lastName = null;
+        String fullName = null;
+        Epoch epoch = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("id".equals(field)) id = readInt(p);
+            else if ("name".equals(field)) lastName = readString(p);
+            else if ("complete_name".equals(field)) fullName = readString(p);
+            else if ("epoch".equals(field)) epoch = epoch(p);
+            else p.skipChildren();
+        }
+        return new ComposerOverview(id, lastName, fullName, epoch);
+    }
+
+    static Work work(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String title = null;
+        String subtitle = null;
+        String searchTerms = null;
+        String popular = null;
+        String recommended = null;
+        Genre genre = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("title".equals(field)) title = readString(p);
+            else if ("subtitle".equals(field)) subtitle = readString(p);
+            else if ("searchterms".equals(field)) searchTerms = readString(p);
+            else if ("popular".equals(field)) popular = readString(p);
+            else if ("recommended".equals(field)) recommended = readString(p);
+            else if ("id".equals(field)) id = readInt(p);
+            else if ("genre".equals(field)) genre = genre(p);
+            else p.skipChildren();
+        }
+        return new Work(id, title, subtitle, searchTerms, popular, recommended, genre);
+    }
+
+    static WorkDetail workDetail(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String title = null;
+        String subtitle = null;
+        Genre genre = null;
+        String searchMode = null;
+        List<String> searchTerms = null;
+        String catalogue = null;
+        String catalogueNumber = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("id".equals(field)) id = readInt(p);
+            else if ("title".equals(field)) title = readString(p);
+            else if ("subtitle".equals(field)) subtitle = readString(p);
+            else if ("genre".equals(field)) genre = genre(p);
+            else if ("searchmode".equals(field)) searchMode = readString(p);
+            else if ("catalogue".equals(field)) catalogue = readString(p);
+            else if ("catalogue_number".equals(field)) catalogueNumber = readString(p);
+            else if ("searchterms".equals(field)) searchTerms = readStringList(p);
+            else p.skipChildren();
+        }
+        return new WorkDetail(id, title, subtitle, genre, searchMode, searchTerms, catalogue, catalogueNumber);
+    }
+
+    static WorkSummary workSummary(JsonParser p) throws IOException {
+        if (start(p) == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String title = null;
+        String subtitle = null;
+        Genre genre = null;
+        String popular = null;
+        String recommended = null;
+        Composer composer = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("title".equals(field)) title = readString(p);
+            else if ("subtitle".equals(field)) subtitle = readString(p);
+            else if ("popular".equals(field)) popular = readString(p);
+            else if ("recommended".equals(field)) recommended = readString(p);
+            else if ("id".equals(field)) id = readInt(p);
+            else if ("genre".equals(field)) genre = genre(p);
+            else if ("composer".equals(field)) composer = composer(p);
+            else p.skipChildren();
+        }
+        return new WorkSummary(id, title, subtitle, genre, popular, recommended, composer);
+    }
+
+    static Map<String, WorkSummary> workSummaries(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        Map<String, WorkSummary> works = new LinkedHashMap<>();
+        for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {
+            p.nextToken();
+            works.put(key, workSummary(p));
+        }
+        return works;
+    }
+
+    static ListWorksByIdAbstract listWorksByIdAbstract(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        ListWorksByIdAbstract.ComposersAbstract composers = null;
+        ListWorksByIdAbstract.WorksAbstract works = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("composers".equals(field)) composers = composersAbstract(p);
+            else if ("works".equals(field)) works = worksAbstract(p);
+            else p.skipChildren();
+        }
+        return new ListWorksByIdAbstract(composers, works);
+    }
+
+    static ListWorksByIdAbstract.ComposersAbstract composersAbstract(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        List<String> portraitUris = null;
+        List<String> names = null;
+        int rows = 0;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("portraits".equals(field)) portraitUris = readStringList(p);
+            else if ("names".equals(field)) names = readStringList(p);
+            else if ("rows".equals(field)) rows = readInt(p);
+            else p.skipChildren();
+        }
+        return new ListWorksByIdAbstract.ComposersAbstract(portraitUris, names, rows);
+    }
+
+    static ListWorksByIdAbstract.WorksAbstract worksAbstract(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int rows = 0;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("rows".equals(field)) rows = readInt(p);
+            else p.skipChildren();
+        }
+        return new ListWorksByIdAbstract.WorksAbstract(rows);
+    }
+
+    static SimilarWork similarWork(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String title = null;
+        String searchTerm = null;
+        int similarity = 0;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("id".equals(field)) id = readInt(p);
+            else if ("title".equals(field)) title = readString(p);
+            else if ("searchterm".equals(field)) searchTerm = readString(p);
+            else if ("similarity".equals(field)) similarity = readInt(p);
+            else p.skipChildren();
+        }
+        return new SimilarWork(id, title, searchTerm, similarity);
+    }
+
+    static RandomWork randomWork(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        int id = 0;
+        String title = null;
+        Genre genre = null;
+        ComposerOverview composer = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("id".equals(field)) id = readInt(p);
+            else if ("title".equals(field)) title = readString(p);
+            else if ("genre".equals(field)) genre = genre(p);
+            else if ("composer".equals(field)) composer = composerOverview(p);
+            else p.skipChildren();
+        }
+        return new RandomWork(id, title, genre, composer);
+    }
+
+    static SearchEntry searchEntry(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        Composer composer = null;
+        Work work = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("composer".equals(field)) composer = composer(p);
+            else if ("work".equals(field)) work = work(p);
+            else p.skipChildren();
+        }
+        return new SearchEntry(composer, work);
+    }
+
+    static PerformerRoles performerRoles(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        List<PerformerRole> readable = null;
+        Map<String, String> digest = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("readable".equals(field)) readable = readList(p, SpecializedDecoders::performerRole);
+            else if ("digest".equals(field)) digest = readStringMap(p);
+            else p.skipChildren();
+        }
+        return new PerformerRoles(readable, digest);
+    }
+
+    static PerformerRole performerRole(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expectObject(p);
+        String name = null;
+        String role = null;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            p.nextToken();
+            if ("name".equals(field)) name = readString(p);
+            else if ("role".equals(field)) role = readString(p);
+            else p.skipChildren();
+        }
+        return new PerformerRole(name, role);
+    }
+
+    // enums
+
+    static Epoch epoch(JsonParser p) throws IOException {
+        String value = readString(p);
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "Medieval" -> Epoch.MEDIEVAL;
+            case "Renaissance" -> Epoch.RENAISSANCE;
+            case "Baroque" -> Epoch.BAROQUE;
+            case "Classical" -> Epoch.CLASSICAL;
+            case "Early Romantic" -> Epoch.EARLY_ROMANTIC;
+            case "Romantic" -> Epoch.ROMANTIC;
+            case "Late Romantic" -> Epoch.LATE_ROMANTIC;
+            case "20th Century" -> Epoch.TWENTIETH_CENTURY;
+            case "Post-War" -> Epoch.POST_WAR;
+            case "21st Century" -> Epoch.TWENTY_FIRST_CENTURY;
+            default -> throw unexpected(p, "an epoch");
+        };
+    }
+
+    static Genre genre(JsonParser p) throws IOException {
+        String value = readString(p);
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "Popular" -> Genre.POPULAR;
+            case "Recommended" -> Genre.RECOMMENDED;
+            case "Chamber" -> Genre.CHAMBER;
+            case "Keyboard" -> Genre.KEYBOARD;
+            case "Orchestral" -> Genre.ORCHESTRAL;
+            case "Vocal" -> Genre.VOCAL;
+            case "Stage" -> Genre.STAGE;
+            default -> throw unexpected(p, "a genre");
+        };
+    }
+}
@@ -0,0 +1,338 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.Endpoint;
+import dev.jlynx.openopusjava.Priority;
+import dev.jlynx.openopusjava.exception.OpenOpusRejectedException;
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.ConcurrencyStats;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Limits the number of exchanges in flight to a limit adjusted by AIMD (additive increase, multiplicative
+ * decrease) from the latency and the failures of the completed exchanges.
+ * <p>
+ * The limit grows by one per {@code limit} successful exchanges while at least half of it is in use. It's cut
+ * by {@value #BACKOFF_RATIO} when an exchange fails with an overload signal, like a {@code 503} or a timeout, or
+ * takes more than {@value #LATENCY_TOLERANCE} times the no-load latency of its endpoint family. Only exchanges
+ * started after the last cut may cut it again, so one slow burst costs one cut rather than one per response. The
+ * latency includes receiving and decoding the body, so each {@link Endpoint} has a no-load latency of its own, and
+ * a large list isn't judged by a small lookup: it's the lowest latency seen, drifting up by 1/256 of the
+ * difference with each slower sample so that it follows a lasting change of the server.
+ * </p>
+ * <p>
+ * An exchange above the limit waits in the FIFO queue of its {@link Priority}, which together hold at most
+ * {@code maxQueued} exchanges; beyond that it's rejected at once with an {@link OpenOpusRejectedException}, unless
+ * it's interactive and can take the place of the last background exchange, which is rejected instead. A free slot
+ * goes to the first interactive exchange, except that {@code backgroundShare} of the slots freed while both
+ * queues wait go to the first background exchange, so background work advances under constant interactive load.
+ * A waiter cancelled by its caller, e.g. at its deadline, leaves its queue at once.
+ * The state is guarded by a lock that is never held while a waiter is completed.
+ * </p>
+ */
+@Internal
+public final class AdaptiveConcurrencyLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+    static final double LATENCY_TOLERANCE = 2.0;
+    private static final int MIN_LIMIT = 1;
+    private static final int BASELINE_DRIFT_SHIFT = 8;
+
+    private final int maxLimit;
+    private final int maxQueued;
+    private final double backgroundShare;
+    private final Predicate<Throwable> isOverload;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock;
+    private final Deque<Waiter> interactive;
+    private final Deque<Waiter> background;
+    // guarded by lock
+    private double limit;
+    private int inFlight;
+    private final long[] noLoadNanos;
+    private long lastCutNanos;
+    private long rejected;
+    private double backgroundCredit;
+
+    /**
+     * Constructs a limiter.
+     *
+     * @param initialLimit the limit before any exchange completed
+     * @param maxLimit the limit the limiter never exceeds
+     * @param maxQueued the maximum number of exchanges waiting for a slot
+     * @param backgroundShare the minimum share of the slots given to background exchanges while interactive ones wait
+     * @param isOverload tells whether an exchange failure signals an overloaded server
+     */
+    public AdaptiveConcurrencyLimiter(
+            int initialLimit,
+            int maxLimit,
+            int maxQueued,
+            double backgroundShare,
+            Predicate<Throwable> isOverload
+    ) {
+        this(initialLimit, maxLimit, maxQueued, backgroundShare, isOverload, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(
+            int initialLimit,
+            int maxLimit,
+            int maxQueued,
+            double backgroundShare,
+            Predicate<Throwable> isOverload,
+            LongSupplier nanoClock
+    ) {
+        if (initialLimit < MIN_LIMIT || maxLimit < initialLimit || maxQueued < 0) {
+            throw new IllegalArgumentException("Concurrency limit requires 1 <= initialLimit <= maxLimit and maxQueued >= 0");
+        }
+        if (backgroundShare < 0 || backgroundShare > 1) {
+            throw new IllegalArgumentException("Background share must be between 0 and 1");
+        }
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.backgroundShare = backgroundShare;
+        this.isOverload = isOverload;
+        this.nanoClock = nanoClock;
+        this.lock = new ReentrantLock();
+        this.interactive = new ArrayDeque<>();
+        this.background = new ArrayDeque<>();
+        this.limit = initialLimit;
+        this.noLoadNanos = new long[Endpoint.values().length];
+        Arrays.fill(noLoadNanos, Long.MAX_VALUE);
+        this.lastCutNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a slot for an exchange.
+     *
+     * @param endpoint the endpoint family of the exchange, whose no-load latency it's judged by
+     * @param priority the priority of the exchange
+     * @return a future completed with the permit once a slot is free, or failed with an
+     *         {@link OpenOpusRejectedException} if the queue is full; cancelling it gives up the place in the queue
+     */
+    public CompletableFuture<Permit> acquire(Endpoint endpoint, Priority priority) {
+        Waiter displaced = null;
+        CompletableFuture<Permit> waiter;
+        Deque<Waiter> queue;
+        lock.lock();
+        try {
+            if (interactive.isEmpty() && background.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit(endpoint, nanoClock.getAsLong()));
+            }
+            if (interactive.size() + background.size() >= maxQueued) {
+                rejected++;
+                if (priority == Priority.BACKGROUND || background.isEmpty()) {
+                    return CompletableFuture.failedFuture(rejection());
+                }
+                displaced = background.pollLast();
+            }
+            waiter = new CompletableFuture<>();
+            queue = priority == Priority.BACKGROUND ? background : interactive;
+            queue.add(new Waiter(endpoint, waiter));
+        } finally {
+            lock.unlock();
+        }
+        if (displaced != null) {
+            displaced.future().completeExceptionally(rejection());
+        }
+        waiter.whenComplete((permit, failure) -> {
+            if (waiter.isCancelled()) {
+                leave(queue, waiter);
+            }
+        });
+        return waiter;
+    }
+
+    private void leave(Deque<Waiter> queue, CompletableFuture<Permit> cancelled) {
+        lock.lock();
+        try {
+            queue.removeIf(waiter -> waiter.future() == cancelled);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static OpenOpusRejectedException rejection() {
+        return new OpenOpusRejectedException("Too many requests to the Open Opus API in flight and queued");
+    }
+
+    /**
+     * Returns a snapshot of the limit, the exchanges in flight and queued, and the rejections.
+     */
+    public ConcurrencyStats stats() {
+        lock.lock();
+        try {
+            return new ConcurrencyStats((int) limit, inFlight, interactive.size() + background.size(), background.size(), rejected);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onComplete(Permit permit, Throwable failure) {
+        long now = nanoClock.getAsLong();
+        List<Waiter> granted;
+        lock.lock();
+        try {
+            adjust(permit, failure, now);
+            inFlight--;
+            granted = grant();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    private void onResponse(Permit permit) {
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            adjust(permit, null, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private void adjust(Permit permit, Throwable failure, long now) {
+        if (failure == null) {
+            onSuccess(permit, now - permit.startNanos, now);
+        } else if (isOverload.test(failure)) {
+            cut(permit, now);
+        }
+    }
+
+    // guarded by lock
+    private void onSuccess(Permit permit, long latencyNanos, long now) {
+        int endpoint = permit.endpoint.ordinal();
+        if (latencyNanos < noLoadNanos[endpoint]) {
+            noLoadNanos[endpoint] = latencyNanos;
+        } else {
+            noLoadNanos[endpoint] += (latencyNanos - noLoadNanos[endpoint]) >> BASELINE_DRIFT_SHIFT;
+        }
+        if (latencyNanos > LATENCY_TOLERANCE * noLoadNanos[endpoint]) {
+            cut(permit, now);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    // guarded by lock
+    private void cut(Permit permit, long now) {
+        if (permit.startNanos - lastCutNanos >= 0) {
+            limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+            lastCutNanos = now;
+        }
+    }
+
+    // guarded by lock
+    private List<Waiter> grant() {
+        List<Waiter> granted = null;
+        Waiter waiter;
+        while (inFlight < (int) limit && (waiter = next()) != null) {
+            if (waiter.future().isDone()) {
+                // cancelled by the caller while it was being removed
+                continue;
+            }
+            inFlight++;
+            if (granted == null) {
+                granted = new ArrayList<>();
+            }
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    // guarded by lock
+    private Waiter next() {
+        if (background.isEmpty()) {
+            return interactive.poll();
+        }
+        if (interactive.isEmpty()) {
+            return background.poll();
+        }
+        backgroundCredit += backgroundShare;
+        if (backgroundCredit >= 1) {
+            backgroundCredit -= 1;
+            return background.poll();
+        }
+        return interactive.poll();
+    }
+
+    private void complete(List<Waiter> granted) {
+        if (granted == null) {
+            return;
+        }
+        for (Waiter waiter : granted) {
+            Permit permit = new Permit(waiter.endpoint, nanoClock.getAsLong());
+            if (!waiter.future().complete(permit)) {
+                // cancelled after it was granted; pass the slot on without judging the server by it
+                permit.abandon();
+            }
+        }
+    }
+
+    private void abandon() {
+        List<Waiter> granted;
+        lock.lock();
+        try {
+            inFlight--;
+            granted = grant();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    private record Waiter(Endpoint endpoint, CompletableFuture<Permit> future) {
+    }
+
+    /**
+     * A slot taken by one exchange; it must be released exactly once when the exchange completes.
+     */
+    public final class Permit {
+
+        private final Endpoint endpoint;
+        private final long startNanos;
+
+        private Permit(Endpoint endpoint, long startNanos) {
+            this.endpoint = endpoint;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Frees the slot and adjusts the limit by the outcome of the exchange.
+         *
+         * @param failure the failure of the exchange, or {@code null} if it succeeded
+         */
+        public void release(Throwable failure) {
+            onComplete(this, failure);
+        }
+
+        /**
+         * Adjusts the limit by the latency of a response whose body is still being read, e.g. one streamed at the
+         * pace of its subscriber, and frees the slot once {@code held} completes.
+         *
+         * @param held completes when the body has been read or abandoned
+         */
+        public void releaseWhenDone(CompletionStage<?> held) {
+            onResponse(this);
+            held.whenComplete((ignored, failure) -> AdaptiveConcurrencyLimiter.this.abandon());
+        }
+
+        /**
+         * Frees the slot of an exchange that wasn't sent, leaving the limit as it is.
+         */
+        public void abandon() {
+            AdaptiveConcurrencyLimiter.this.abandon();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.internal.util.Futures;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries failed asynchronous operations without blocking any thread.
+ * <p>
+ * After a failure classified as transient, the next attempt is scheduled with
+ * {@link CompletableFuture#delayedExecutor}, so the backoff is waited out by the JDK's shared delay
+ * scheduler rather than by a parked thread. The delays follow a {@link DecorrelatedJitterBackoff}, are
+ * stretched to the delay the server asked for, and each retry must be granted by the {@link RetryBudget}. A
+ * failure asking for a longer delay than the maximum of the backoff isn't retried: the caller would rather get
+ * it at once than wait, e.g. a day, for a {@code Retry-After} holding its future.
+ * </p>
+ * <p>
+ * Cancelling the returned future stops the retries and cancels the attempt in flight.
+ * </p>
+ * <p>
+ * Blocking operations, run on the caller's virtual thread, are retried by {@link #executeBlocking} with the
+ * same delays, budget and classification; there the backoff is waited out by sleeping.
+ * </p>
+ */
+@Internal
+public final class AsyncRetrier {
+
+    /**
+     * Notified before each retry is scheduled.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        void onRetry(int retry, Duration delay, Throwable cause);
+    }
+
+    private final int maxRetries;
+    private final DecorrelatedJitterBackoff backoff;
+    private final RetryBudget budget;
+    private final Predicate<Throwable> transientFailure;
+    private final Function<Throwable, Duration> requestedDelay;
+    private final Listener listener;
+
+    /**
+     * Constructs a retrier.
+     *
+     * @param maxRetries the maximum number of retries after the first attempt
+     * @param backoff computes the delays between attempts
+     * @param budget limits the share of retried requests
+     * @param transientFailure tells whether a failure may be retried
+     * @param requestedDelay returns the delay the server asked for with a failure, or {@code null}
+     * @param listener notified before each retry
+     */
+    public AsyncRetrier(
+            int maxRetries,
+            DecorrelatedJitterBackoff backoff,
+            RetryBudget budget,
+            Predicate<Throwable> transientFailure,
+            Function<Throwable, Duration> requestedDelay,
+            Listener listener
+    ) {
+        this.maxRetries = maxRetries;
+        this.backoff = backoff;
+        this.budget = budget;
+        this.transientFailure = transientFailure;
+        this.requestedDelay = requestedDelay;
+        this.listener = listener;
+    }
+
+    /**
+     * Runs the operation, retrying its transient failures.
+     *
+     * @param operation starts one attempt of the operation
+     * @param retryable {@code false} if the operation must not be repeated, e.g. because it isn't idempotent
+     * @return a future completed with the result of the first successful attempt, or with the failure
+     *         of the last one
+     * @param <T> the result type
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> operation, boolean retryable) {
+        budget.onRequest();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+        result.whenComplete((value, failure) -> {
+            CompletableFuture<T> attempt = inFlight.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        attempt(operation, retryable ? maxRetries : 0, 0, backoff.initialNanos(), result, inFlight);
+        return result;
+    }
+
+    private <T> void attempt(
+            Supplier<CompletableFuture<T>> operation,
+            int retriesLeft,
+            int retriesDone,
+            long previousDelayNanos,
+            CompletableFuture<T> result,
+            AtomicReference<CompletableFuture<T>> inFlight
+    ) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> attempt;
+        try {
+            attempt = operation.get();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        inFlight.set(attempt);
+        if (result.isCancelled()) {
+            attempt.cancel(true);
+            return;
+        }
+        attempt.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = Futures.unwrap(failure);
+            if (retriesLeft == 0 || result.isDone() || !transientFailure.test(cause)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            long delayNanos = delayNanos(previousDelayNanos, cause);
+            if (delayNanos < 0 || !budget.tryRetry()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            long scheduledDelay = delayNanos;
+            listener.onRetry(retriesDone + 1, Duration.ofNanos(scheduledDelay), cause);
+            CompletableFuture.delayedExecutor(scheduledDelay, TimeUnit.NANOSECONDS).execute(() ->
+                    attempt(operation, retriesLeft - 1, retriesDone + 1, scheduledDelay, result, inFlight));
+        });
+    }
+
+    /**
+     * Runs a blocking operation on the calling thread, retrying its transient failures.
+     *
+     * @param operation runs one attempt of the operation
+     * @param retryable {@code false} if the operation must not be repeated, e.g. because it isn't idempotent
+     * @return the result of the first successful attempt
+     * @param <T> the result type
+     * @throws Exception the failure of the last attempt
+     * @throws InterruptedException if the thread is interrupted while waiting for the next attempt
+     */
+    public <T> T executeBlocking(Callable<T> operation, boolean retryable) throws Exception {
+        budget.onRequest();
+        int retriesLeft = retryable ? maxRetries : 0;
+        long previousDelayNanos = backoff.initialNanos();
+        for (int retriesDone = 0; ; retriesDone++) {
+            try {
+                return operation.call();
+            } catch (Exception failure) {
+                if (retriesLeft-- == 0 || !transientFailure.test(failure)) {
+                    throw failure;
+                }
+                long delayNanos = delayNanos(previousDelayNanos, failure);
+                if (delayNanos < 0 || !budget.tryRetry()) {
+                    throw failure;
+                }
+                listener.onRetry(retriesDone + 1, Duration.ofNanos(delayNanos), failure);
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+                previousDelayNanos = delayNanos;
+            }
+        }
+    }
+
+    /**
+     * Returns the delay before the next retry, or {@code -1} if the server asked for more than the maximum backoff.
+     */
+    private long delayNanos(long previousDelayNanos, Throwable cause) {
+        long delayNanos = backoff.nextNanos(previousDelayNanos);
+        Duration requested = requestedDelay.apply(cause);
+        if (requested != null) {
+            if (requested.compareTo(Duration.ofNanos(backoff.maxNanos())) > 0) {
+                return -1;
+            }
+            delayNanos = Math.max(delayNanos, requested.toNanos());
+        }
+        return delayNanos;
+    }
+}
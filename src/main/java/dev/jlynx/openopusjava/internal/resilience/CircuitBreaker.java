@@ -0,0 +1,272 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.CircuitBreakerStats;
+import dev.jlynx.openopusjava.metrics.CircuitBreakerStats.State;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Stops sending exchanges to a server that keeps failing or responding slowly, so that callers fail at once
+ * instead of each waiting out its own timeout.
+ * <p>
+ * While closed, the breaker records whether each of the last {@code windowSize} exchanges failed and whether it
+ * was slow. Once the window is full, it opens when the share of failures reaches {@code failureRateThreshold} or
+ * the share of slow exchanges reaches {@code slowCallRateThreshold}. While open, no exchange is permitted. After
+ * {@code openDuration} it turns half-open and permits {@code probes} exchanges: if they all succeed in time, it
+ * closes with an empty window; the first probe that fails or is slow opens it again.
+ * </p>
+ * <p>
+ * Each transition starts a new generation, and outcomes of exchanges permitted in an earlier one are ignored, so a
+ * straggler started before the circuit opened can't close it. Permitting an exchange while closed only reads a
+ * volatile field; the rest is guarded by a lock.
+ * </p>
+ */
+@Internal
+public final class CircuitBreaker {
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int probes;
+    private final Predicate<Throwable> isFailure;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock;
+    private final byte[] window;
+    // written under lock
+    private volatile State state;
+    private volatile long generation;
+    // guarded by lock
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int probesPermitted;
+    private int probesSucceeded;
+    private long notPermitted;
+    private long opened;
+
+    /**
+     * Constructs a closed breaker.
+     *
+     * @param failureRateThreshold the share of failed exchanges in the window that opens the circuit
+     * @param slowCallRateThreshold the share of slow exchanges in the window that opens the circuit
+     * @param slowCallDuration the duration from which an exchange is slow, or {@code null} if none is
+     * @param windowSize the number of recent exchanges the rates are computed from
+     * @param openDuration how long the circuit stays open before it lets probes through
+     * @param probes the number of exchanges let through while half-open
+     * @param isFailure tells whether an exchange failure counts against the server
+     */
+    public CircuitBreaker(
+            double failureRateThreshold,
+            double slowCallRateThreshold,
+            Duration slowCallDuration,
+            int windowSize,
+            Duration openDuration,
+            int probes,
+            Predicate<Throwable> isFailure
+    ) {
+        this(failureRateThreshold, slowCallRateThreshold, slowCallDuration, windowSize, openDuration, probes, isFailure,
+                System::nanoTime);
+    }
+
+    CircuitBreaker(
+            double failureRateThreshold,
+            double slowCallRateThreshold,
+            Duration slowCallDuration,
+            int windowSize,
+            Duration openDuration,
+            int probes,
+            Predicate<Throwable> isFailure,
+            LongSupplier nanoClock
+    ) {
+        if (!(failureRateThreshold > 0) || failureRateThreshold > 1 || !(slowCallRateThreshold > 0) || slowCallRateThreshold > 1) {
+            throw new IllegalArgumentException("Circuit breaker requires rate thresholds between 0 (exclusive) and 1");
+        }
+        if (windowSize < 1 || probes < 1) {
+            throw new IllegalArgumentException("Circuit breaker requires windowSize >= 1 and probes >= 1");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration != null ? slowCallDuration.toNanos() : Long.MAX_VALUE;
+        this.openNanos = openDuration.toNanos();
+        this.probes = probes;
+        this.isFailure = isFailure;
+        this.nanoClock = nanoClock;
+        this.lock = new ReentrantLock();
+        this.window = new byte[windowSize];
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * Permits an exchange, turning the circuit half-open if it's been open long enough.
+     *
+     * @return the permit to record the outcome of the exchange with, or {@code null} if the exchange may not be sent
+     */
+    public Permit tryAcquire() {
+        // read before the state, so a racing transition makes the permit stale, which only costs its outcome
+        long closedGeneration = generation;
+        if (state == State.CLOSED) {
+            return new Permit(closedGeneration);
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED || (state == State.HALF_OPEN && probesPermitted < probes)) {
+                if (state == State.HALF_OPEN) {
+                    probesPermitted++;
+                }
+                return new Permit(generation);
+            }
+            notPermitted++;
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how long the circuit stays open; {@link Duration#ZERO} if it's not open or may turn half-open now.
+     */
+    public Duration retryAfter() {
+        lock.lock();
+        try {
+            return state == State.OPEN
+                    ? Duration.ofNanos(Math.max(0, openNanos - (nanoClock.getAsLong() - openedAt)))
+                    : Duration.ZERO;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the state, the rates of the window and the counters.
+     */
+    public CircuitBreakerStats stats() {
+        lock.lock();
+        try {
+            double failureRate = recorded > 0 ? (double) failures / recorded : 0;
+            double slowCallRate = recorded > 0 ? (double) slowCalls / recorded : 0;
+            return new CircuitBreakerStats(state, failureRate, slowCallRate, notPermitted, opened);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Permit permit, Throwable failure) {
+        boolean failed = failure != null && isFailure.test(failure);
+        boolean slow = nanoClock.getAsLong() - permit.startNanos >= slowCallNanos;
+        lock.lock();
+        try {
+            if (permit.generation != generation || state == State.OPEN) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transition(State.OPEN);
+                } else if (++probesSucceeded >= probes) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+            if (recorded == window.length) {
+                failures -= window[next] & FAILED;
+                slowCalls -= (window[next] & SLOW) >> 1;
+            } else {
+                recorded++;
+            }
+            window[next] = outcome;
+            next = (next + 1) % window.length;
+            failures += outcome & FAILED;
+            slowCalls += (outcome & SLOW) >> 1;
+            if (recorded == window.length && (failures >= failureRateThreshold * recorded
+                    || slowCalls >= slowCallRateThreshold * recorded)) {
+                transition(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void abandon(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation == generation && state == State.HALF_OPEN) {
+                probesPermitted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private void transition(State to) {
+        generation++;
+        if (to == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+            opened++;
+        }
+        probesPermitted = 0;
+        probesSucceeded = 0;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+        state = to;
+    }
+
+    /**
+     * The permission to send one exchange; it must be released, or abandoned, exactly once.
+     * <p>
+     * The exchange may first wait for other limits; its duration is measured from {@link #start()}.
+     */
+    public final class Permit {
+
+        private final long generation;
+        private long startNanos;
+        private boolean started;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Marks the start of the exchange, right before it's sent.
+         */
+        public void start() {
+            startNanos = nanoClock.getAsLong();
+            started = true;
+        }
+
+        /**
+         * Records the outcome and the duration of the exchange if it was started, or else gives up the permit.
+         *
+         * @param failure the failure of the exchange, or {@code null} if it succeeded
+         */
+        public void release(Throwable failure) {
+            if (started) {
+                record(this, failure);
+            } else {
+                abandon();
+            }
+        }
+
+        /**
+         * Gives up the permit of an exchange that wasn't sent, without recording it.
+         */
+        public void abandon() {
+            CircuitBreaker.this.abandon(this);
+        }
+    }
+}
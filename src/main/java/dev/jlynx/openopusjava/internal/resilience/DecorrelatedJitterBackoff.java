@@ -0,0 +1,61 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes retry delays with decorrelated jitter.
+ * <p>
+ * Each delay is drawn uniformly from {@code [base, 3 * previous]} and capped at {@code max}. The delays
+ * grow roughly exponentially, but the retries of clients that failed at the same moment spread out
+ * instead of hitting the server again in lockstep.
+ * </p>
+ */
+@Internal
+public final class DecorrelatedJitterBackoff {
+
+    private final long baseNanos;
+    private final long maxNanos;
+
+    /**
+     * Constructs a backoff starting at {@code base} and never exceeding {@code max}.
+     *
+     * @param base the smallest delay and the first upper bound
+     * @param max the largest delay
+     */
+    public DecorrelatedJitterBackoff(Duration base, Duration max) {
+        if (base.isNegative() || base.isZero() || max.compareTo(base) < 0) {
+            throw new IllegalArgumentException("Backoff requires 0 < base <= max, got base=" + base + ", max=" + max);
+        }
+        this.baseNanos = base.toNanos();
+        this.maxNanos = max.toNanos();
+    }
+
+    /**
+     * Returns the delay to pass as {@code previousNanos} before the first retry.
+     */
+    public long initialNanos() {
+        return baseNanos;
+    }
+
+    /**
+     * Returns the largest delay.
+     */
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the next delay.
+     *
+     * @param previousNanos the previous delay, or {@link #initialNanos()} before the first retry
+     * @return the delay before the next retry in nanoseconds
+     */
+    public long nextNanos(long previousNanos) {
+        long upper = previousNanos > maxNanos / 3 ? maxNanos : Math.max(baseNanos, previousNanos * 3);
+        long delay = upper <= baseNanos ? baseNanos : ThreadLocalRandom.current().nextLong(baseNanos, upper + 1);
+        return Math.min(maxNanos, delay);
+    }
+}
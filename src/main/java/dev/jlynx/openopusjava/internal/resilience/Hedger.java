@@ -0,0 +1,172 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.Endpoint;
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.HedgingStats;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical request when the first one is slow, and takes whichever responds first.
+ * <p>
+ * The hedge is sent after a fixed delay, or after the 95th percentile of the latencies recently observed
+ * for the endpoint once enough of them were recorded. Hedges are capped to a share of the requests by a
+ * {@link RetryBudget}, so a slow server doesn't get twice the load. The first successful response wins
+ * and the other exchange is cancelled; the request fails only if every exchange sent for it failed.
+ * </p>
+ */
+@Internal
+public final class Hedger {
+
+    private static final double PERCENTILE = 0.95;
+    private static final int MIN_SAMPLES = 20;
+    private static final int WINDOW = 1_000;
+
+    private final Duration fixedDelay;
+    private final boolean observedDelay;
+    private final RetryBudget budget;
+    private final Map<Endpoint, LatencyHistogram> latencies;
+    private final LongAdder eligible;
+    private final LongAdder fired;
+    private final LongAdder won;
+    private final LongAdder suppressed;
+
+    /**
+     * Constructs a hedger.
+     *
+     * @param fixedDelay the delay before the hedge, or {@code null} to hedge only after the observed p95
+     * @param observedDelay whether to hedge after the observed p95 of the endpoint when it's known
+     * @param maxHedgeRatio the share of requests that may be hedged
+     */
+    public Hedger(Duration fixedDelay, boolean observedDelay, double maxHedgeRatio) {
+        this.fixedDelay = fixedDelay;
+        this.observedDelay = observedDelay;
+        this.budget = new RetryBudget(maxHedgeRatio, 0);
+        this.latencies = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new LatencyHistogram(WINDOW));
+        }
+        this.eligible = new LongAdder();
+        this.fired = new LongAdder();
+        this.won = new LongAdder();
+        this.suppressed = new LongAdder();
+    }
+
+    /**
+     * Returns {@code true} if hedging is configured at all.
+     */
+    public boolean isEnabled() {
+        return fixedDelay != null || observedDelay;
+    }
+
+    /**
+     * Runs the operation, hedging it if it doesn't complete in time.
+     *
+     * @param endpoint the endpoint family whose latencies set the hedge delay
+     * @param operation starts one exchange
+     * @return a future completed with the first successful result
+     * @param <T> the result type
+     */
+    public <T> CompletableFuture<T> execute(Endpoint endpoint, Supplier<CompletableFuture<T>> operation) {
+        LatencyHistogram histogram = latencies.get(endpoint);
+        Duration delay = delayFor(histogram);
+        if (delay == null) {
+            return timed(histogram, operation);
+        }
+        eligible.increment();
+        budget.onRequest();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        CompletableFuture<T> primary = timed(histogram, operation);
+        AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+        AtomicBoolean settled = new AtomicBoolean();
+
+        primary.whenComplete((value, failure) -> {
+            if (failure == null) {
+                if (settled.compareAndSet(false, true)) {
+                    result.complete(value);
+                    if (hedge.get() != null) {
+                        hedge.get().cancel(true);
+                    }
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(failure);
+            }
+        });
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                primary.cancel(true);
+                if (hedge.get() != null) {
+                    hedge.get().cancel(true);
+                }
+            }
+        });
+
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || !pending.compareAndSet(1, 2)) {
+                return;
+            }
+            if (!budget.tryRetry()) {
+                suppressed.increment();
+                if (pending.decrementAndGet() == 0) {
+                    // the primary failed while the budget was checked
+                    primary.whenComplete((value, failure) -> result.completeExceptionally(failure));
+                }
+                return;
+            }
+            fired.increment();
+            CompletableFuture<T> second = timed(histogram, operation);
+            hedge.set(second);
+            second.whenComplete((value, failure) -> {
+                if (failure == null) {
+                    if (settled.compareAndSet(false, true)) {
+                        won.increment();
+                        result.complete(value);
+                        primary.cancel(true);
+                    }
+                } else if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(failure);
+                }
+            });
+            if (result.isDone()) {
+                second.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the hedging counters.
+     */
+    public HedgingStats stats() {
+        return new HedgingStats(eligible.sum(), fired.sum(), won.sum(), suppressed.sum());
+    }
+
+    private Duration delayFor(LatencyHistogram histogram) {
+        if (observedDelay && histogram.count() >= MIN_SAMPLES) {
+            return histogram.percentile(PERCENTILE);
+        }
+        return fixedDelay;
+    }
+
+    private static <T> CompletableFuture<T> timed(LatencyHistogram histogram, Supplier<CompletableFuture<T>> operation) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = operation.get();
+        future.whenComplete((value, failure) -> {
+            if (failure == null) {
+                histogram.record(System.nanoTime() - start);
+            }
+        });
+        return future;
+    }
+}
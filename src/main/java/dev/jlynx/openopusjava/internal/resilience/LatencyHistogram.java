@@ -0,0 +1,114 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free, decaying latency histogram for estimating percentiles.
+ * <p>
+ * The buckets are log-linear: every power of two of microseconds is split into four buckets, so an estimate
+ * is at most about 19% above the true value, from 1 µs up to about a minute. After every {@code window}
+ * recorded samples all counts are halved, so the estimate follows recent latencies.
+ * </p>
+ */
+@Internal
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAX_POWER = 26;
+    private static final int BUCKETS = (MAX_POWER + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong total;
+    private final AtomicLong sinceDecay;
+    private final int window;
+
+    /**
+     * Constructs a histogram decaying after every {@code window} samples.
+     *
+     * @param window the number of samples between two decays
+     */
+    public LatencyHistogram(int window) {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.total = new AtomicLong();
+        this.sinceDecay = new AtomicLong();
+        this.window = window;
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(1, nanos / 1_000)));
+        total.incrementAndGet();
+        if (sinceDecay.incrementAndGet() >= window) {
+            sinceDecay.set(0);
+            decay();
+        }
+    }
+
+    /**
+     * Returns the number of samples the estimates are based on.
+     */
+    public long count() {
+        return total.get();
+    }
+
+    /**
+     * Returns an upper estimate of the given percentile.
+     *
+     * @param percentile between {@code 0} and {@code 1}, e.g. {@code 0.95}
+     * @return the estimate, or {@code null} if nothing was recorded
+     */
+    public Duration percentile(double percentile) {
+        long snapshotTotal = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            snapshotTotal += snapshot[i];
+        }
+        if (snapshotTotal == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * snapshotTotal);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(upperBoundMicros(i) * 1_000);
+            }
+        }
+        return Duration.ofNanos(upperBoundMicros(BUCKETS - 1) * 1_000);
+    }
+
+    private void decay() {
+        long removed = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long before = counts.getAndUpdate(i, c -> c / 2);
+            removed += before - before / 2;
+        }
+        total.addAndGet(-removed);
+    }
+
+    static int indexOf(long micros) {
+        int power = 63 - Long.numberOfLeadingZeros(micros);
+        if (power >= MAX_POWER) {
+            return BUCKETS - 1;
+        }
+        int sub = power < 2 ? (int) (micros - (1L << power)) : (int) ((micros >>> (power - 2)) & (SUB_BUCKETS - 1));
+        return power * SUB_BUCKETS + Math.min(sub, SUB_BUCKETS - 1);
+    }
+
+    static long upperBoundMicros(int index) {
+        int power = index / SUB_BUCKETS;
+        int sub = index % SUB_BUCKETS;
+        long base = 1L << power;
+        long step = Math.max(1, base / SUB_BUCKETS);
+        return base + (sub + 1) * step;
+    }
+}
@@ -0,0 +1,132 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.RateLimitStats;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket implemented as the generic cell rate algorithm (GCRA): the bucket is a single theoretical
+ * arrival time, so a request reserves its slot with one compare-and-set and no lock.
+ * <p>
+ * Requests are spaced {@code 1 / permitsPerSecond} apart, and up to {@code burst} requests may go at once after
+ * an idle period. A request that comes too early reserves the next free slot and waits for it, so the waiting
+ * requests keep their order. The wait is a timer of {@link CompletableFuture#delayedExecutor}, not a parked
+ * thread. A request whose slot is further away than the wait it accepts is refused without reserving it, so a
+ * sustained burst can't pile up ever longer waits.
+ * </p>
+ */
+@Internal
+public final class RateLimiter {
+
+    private static final CompletableFuture<Void> NO_WAIT = CompletableFuture.completedFuture(null);
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder acquired;
+    private final LongAdder delayed;
+    private final LongAdder delayNanos;
+    private final LongAdder rejected;
+
+    /**
+     * Constructs a limiter.
+     *
+     * @param permitsPerSecond the sustained rate of requests
+     * @param burst the number of requests that may go at once after an idle period
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Rate limit requires permitsPerSecond > 0 and burst >= 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstToleranceNanos = (burst - 1) * intervalNanos;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+        this.acquired = new LongAdder();
+        this.delayed = new LongAdder();
+        this.delayNanos = new LongAdder();
+        this.rejected = new LongAdder();
+    }
+
+    /**
+     * Reserves the next slot, however far away it is.
+     *
+     * @return the nanoseconds to wait for the slot; {@code 0} if the request may go now
+     */
+    public long reserve() {
+        return reserve(Long.MAX_VALUE);
+    }
+
+    /**
+     * Reserves the next slot if it's due within the given wait.
+     *
+     * @param maxWaitNanos the longest the request may wait for its slot
+     * @return the nanoseconds to wait for the slot; {@code 0} if the request may go now, or {@code -1} if the slot
+     *         is further away than {@code maxWaitNanos} and wasn't reserved
+     */
+    public long reserve(long maxWaitNanos) {
+        long now = nanoClock.getAsLong();
+        long arrival;
+        long start;
+        long wait;
+        do {
+            arrival = theoreticalArrival.get();
+            start = Math.max(arrival, now);
+            wait = Math.max(0, start - burstToleranceNanos - now);
+            if (wait > maxWaitNanos) {
+                rejected.increment();
+                return -1;
+            }
+        } while (!theoreticalArrival.compareAndSet(arrival, start + intervalNanos));
+        acquired.increment();
+        if (wait > 0) {
+            delayed.increment();
+            delayNanos.add(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * Reserves the next slot and returns a future completed when it's due.
+     */
+    public CompletableFuture<Void> acquire() {
+        return delay(reserve());
+    }
+
+    /**
+     * Returns a future completed after the given number of nanoseconds, or a completed one if it's not positive.
+     */
+    public static CompletableFuture<Void> delay(long nanos) {
+        if (nanos <= 0) {
+            return NO_WAIT;
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Returns how long a request reserving a slot now would wait.
+     */
+    public Duration currentWait() {
+        long now = nanoClock.getAsLong();
+        return Duration.ofNanos(Math.max(0, theoreticalArrival.get() - burstToleranceNanos - now));
+    }
+
+    /**
+     * Returns a snapshot of the counters.
+     */
+    public RateLimitStats stats() {
+        return new RateLimitStats(acquired.sum(), delayed.sum(), Duration.ofNanos(delayNanos.sum()), currentWait(),
+                rejected.sum());
+    }
+}
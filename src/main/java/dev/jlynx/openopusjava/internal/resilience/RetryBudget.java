@@ -0,0 +1,104 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries to a share of the requests, so that retries can't multiply the load on a failing server.
+ * <p>
+ * Every request deposits {@code ratio} of a token and every retry withdraws a whole one. Besides, the budget
+ * is refilled with {@code minRetriesPerSecond} tokens per second, so a client sending few requests can still
+ * retry. The balance is capped at ten seconds' worth of refills, and at least ten retries, so a long
+ * healthy period doesn't buy an unbounded burst of retries later.
+ * </p>
+ * <p>
+ * The balance is kept in thousandths of a token in an {@link AtomicLong}; no lock is taken.
+ * </p>
+ */
+@Internal
+public final class RetryBudget {
+
+    private static final long TOKEN = 1_000;
+    private static final long WINDOW_SECONDS = 10;
+
+    private final long deposit;
+    private final long refillPerSecond;
+    private final long maxBalance;
+    private final LongSupplier nanoClock;
+    private final AtomicLong balance;
+    private final AtomicLong lastRefill;
+
+    /**
+     * Constructs a budget.
+     *
+     * @param ratio the share of requests that may be retried, between {@code 0} and {@code 1}
+     * @param minRetriesPerSecond the number of retries per second allowed regardless of the ratio
+     */
+    public RetryBudget(double ratio, int minRetriesPerSecond) {
+        this(ratio, minRetriesPerSecond, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, LongSupplier nanoClock) {
+        if (ratio < 0 || ratio > 1 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("Retry budget requires 0 <= ratio <= 1 and minRetriesPerSecond >= 0");
+        }
+        this.deposit = Math.round(ratio * TOKEN);
+        this.refillPerSecond = minRetriesPerSecond * TOKEN;
+        this.maxBalance = Math.max(WINDOW_SECONDS * TOKEN, refillPerSecond * WINDOW_SECONDS);
+        this.nanoClock = nanoClock;
+        this.balance = new AtomicLong(refillPerSecond);
+        this.lastRefill = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Records an original request.
+     */
+    public void onRequest() {
+        add(deposit);
+    }
+
+    /**
+     * Withdraws one retry from the budget.
+     *
+     * @return {@code true} if the retry is allowed
+     */
+    public boolean tryRetry() {
+        refill();
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Returns the number of retries currently allowed.
+     */
+    public long available() {
+        refill();
+        return balance.get() / TOKEN;
+    }
+
+    private void refill() {
+        if (refillPerSecond == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long last = lastRefill.get();
+        long elapsed = Math.min(now - last, TimeUnit.SECONDS.toNanos(WINDOW_SECONDS));
+        long amount = elapsed * refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        if (amount > 0 && lastRefill.compareAndSet(last, now)) {
+            add(amount);
+        }
+    }
+
+    private void add(long amount) {
+        balance.accumulateAndGet(amount, (current, delta) -> Math.min(maxBalance, current + delta));
+    }
+}
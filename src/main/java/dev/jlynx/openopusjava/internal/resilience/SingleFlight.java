@@ -0,0 +1,127 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.internal.util.Futures;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same operation into one.
+ * <p>
+ * The first caller for a key starts the operation; callers arriving while it's in flight join it instead of
+ * starting their own. Every caller gets its own future completed with the same result, so cancelling one of
+ * them doesn't affect the others. Only when all callers have cancelled is the operation itself cancelled.
+ * The key is forgotten as soon as the operation completes, so results are never reused afterwards.
+ * </p>
+ *
+ * @param <K> the type of the keys identifying identical operations
+ */
+@Internal
+public final class SingleFlight<K> {
+
+    private final ConcurrentMap<K, Flight<?>> flights;
+    private final LongAdder started;
+    private final LongAdder joined;
+
+    public SingleFlight() {
+        this.flights = new ConcurrentHashMap<>();
+        this.started = new LongAdder();
+        this.joined = new LongAdder();
+    }
+
+    /**
+     * Runs the operation, or joins the identical one in flight.
+     *
+     * @param key identifies identical operations
+     * @param operation starts the operation
+     * @return a future of this caller, completed with the operation's result
+     * @param <T> the result type; the same for all operations with the same key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(K key, Supplier<CompletableFuture<T>> operation) {
+        while (true) {
+            Flight<T> created = new Flight<>();
+            Flight<T> existing = (Flight<T>) flights.putIfAbsent(key, created);
+            if (existing == null) {
+                CompletableFuture<T> caller = created.join();
+                started.increment();
+                created.start(key, operation);
+                return caller;
+            }
+            CompletableFuture<T> caller = existing.join();
+            if (caller != null) {
+                joined.increment();
+                return caller;
+            }
+            // every caller of the existing flight has cancelled it
+            flights.remove(key, existing);
+        }
+    }
+
+    /**
+     * Returns the number of operations started.
+     */
+    public long started() {
+        return started.sum();
+    }
+
+    /**
+     * Returns the number of callers that joined an operation in flight instead of starting one.
+     */
+    public long joined() {
+        return joined.sum();
+    }
+
+    private final class Flight<T> {
+
+        private static final int CANCELLED = -1;
+
+        private final CompletableFuture<T> shared = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger();
+
+        CompletableFuture<T> join() {
+            int current;
+            do {
+                current = callers.get();
+                if (current == CANCELLED) {
+                    return null;
+                }
+            } while (!callers.compareAndSet(current, current + 1));
+            CompletableFuture<T> caller = shared.copy();
+            caller.whenComplete((value, failure) -> {
+                if (caller.isCancelled() && callers.decrementAndGet() == 0 && callers.compareAndSet(0, CANCELLED)) {
+                    shared.cancel(true);
+                }
+            });
+            return caller;
+        }
+
+        void start(K key, Supplier<CompletableFuture<T>> operation) {
+            CompletableFuture<T> source;
+            try {
+                source = operation.get();
+            } catch (RuntimeException e) {
+                source = CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<T> started = source;
+            shared.whenComplete((value, failure) -> {
+                flights.remove(key, this);
+                if (shared.isCancelled()) {
+                    started.cancel(true);
+                }
+            });
+            started.whenComplete((value, failure) -> {
+                if (failure == null) {
+                    shared.complete(value);
+                } else {
+                    shared.completeExceptionally(Futures.unwrap(failure));
+                }
+            });
+        }
+    }
+}
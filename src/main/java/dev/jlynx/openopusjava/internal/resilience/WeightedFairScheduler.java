@@ -0,0 +1,338 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.TenantShare;
+import dev.jlynx.openopusjava.exception.OpenOpusRejectedException;
+import dev.jlynx.openopusjava.internal.Internal;
+import dev.jlynx.openopusjava.metrics.TenantStats;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Shares a number of requests in flight between tenants in proportion to their weights, by start-time fair queuing.
+ * <p>
+ * Every request gets a virtual start tag: the later of the virtual time and the finish tag of the previous request of
+ * its tenant, which is its start tag plus {@code 1 / weight}. A free slot goes to the waiting request with the lowest
+ * start tag among the tenants below their own cap of requests in flight, and the virtual time moves to its tag. A
+ * tenant of weight 3 thus gets three slots for every one of a tenant of weight 1 while both wait, and a tenant
+ * returning after an idle period starts at the virtual time, so it can't claim the slots it didn't use.
+ * </p>
+ * <p>
+ * Each tenant waits in its own FIFO queue of at most {@code maxQueuedPerTenant} requests; beyond that its requests
+ * are rejected at once with an {@link OpenOpusRejectedException}, while the other tenants keep queueing. A tenant with
+ * nothing queued or in flight leaves the scheduling, so a free slot is matched only against the tenants waiting;
+ * its statistics are kept for the {@value #MAX_IDLE_TENANTS} tenants idle the shortest, so any number of
+ * short-lived tenant keys takes bounded memory. The state is guarded by a lock that is never held while a waiter
+ * is completed.
+ * </p>
+ */
+@Internal
+public final class WeightedFairScheduler {
+
+    private static final int LATENCY_WINDOW = 1_000;
+    static final int MAX_IDLE_TENANTS = 1_024;
+
+    private final int maxInFlight;
+    private final int maxQueuedPerTenant;
+    private final Function<String, TenantShare> shares;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock;
+    // guarded by lock
+    private final Map<String, Tenant> tenants;
+    private final Map<String, Tenant> idleTenants;
+    private int inFlight;
+    private double virtualTime;
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param maxInFlight the maximum number of requests of all tenants in flight
+     * @param maxQueuedPerTenant the maximum number of requests of one tenant waiting for a slot
+     * @param shares returns the share of a tenant, looked up when the tenant makes its first request, or its first
+     *               since its statistics were dropped
+     */
+    public WeightedFairScheduler(int maxInFlight, int maxQueuedPerTenant, Function<String, TenantShare> shares) {
+        this(maxInFlight, maxQueuedPerTenant, shares, System::nanoTime);
+    }
+
+    WeightedFairScheduler(int maxInFlight, int maxQueuedPerTenant, Function<String, TenantShare> shares, LongSupplier nanoClock) {
+        if (maxInFlight < 1 || maxQueuedPerTenant < 0) {
+            throw new IllegalArgumentException("Tenant scheduling requires maxInFlight >= 1 and maxQueuedPerTenant >= 0");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        this.shares = shares;
+        this.nanoClock = nanoClock;
+        this.lock = new ReentrantLock();
+        this.tenants = new LinkedHashMap<>();
+        this.idleTenants = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Tenant> eldest) {
+                return size() > MAX_IDLE_TENANTS;
+            }
+        };
+    }
+
+    /**
+     * Takes a slot for a request of the tenant.
+     *
+     * @param tenant the key of the tenant
+     * @return a future completed with the slot once it's the tenant's turn, or failed with an
+     *         {@link OpenOpusRejectedException} if the tenant's queue is full; cancelling it gives up the place in
+     *         the queue
+     */
+    public CompletableFuture<Slot> acquire(String tenant) {
+        long now = nanoClock.getAsLong();
+        Tenant queuedBy;
+        Waiter waiter;
+        lock.lock();
+        try {
+            Tenant state = tenants.get(tenant);
+            if (state == null) {
+                state = idleTenants.remove(tenant);
+                if (state == null) {
+                    state = new Tenant(tenant, shares.apply(tenant));
+                }
+                tenants.put(tenant, state);
+            }
+            state.dropCancelled();
+            // a free slot is never left while a tenant below its cap waits, so only this tenant's queue can hold it
+            if (state.queue.isEmpty() && inFlight < maxInFlight && state.inFlight < state.share.maxInFlight()) {
+                virtualTime = state.nextStartTag(virtualTime);
+                inFlight++;
+                state.inFlight++;
+                state.queueWait.record(0);
+                return CompletableFuture.completedFuture(new Slot(state, now));
+            }
+            if (state.queue.size() >= maxQueuedPerTenant) {
+                state.rejected++;
+                retireIfIdle(state);
+                return CompletableFuture.failedFuture(new OpenOpusRejectedException(
+                        "Too many requests of tenant '" + tenant + "' to the Open Opus API queued"));
+            }
+            waiter = new Waiter(state.nextStartTag(virtualTime), now);
+            state.queue.add(waiter);
+            queuedBy = state;
+        } finally {
+            lock.unlock();
+        }
+        waiter.future.whenComplete((slot, failure) -> {
+            if (waiter.future.isCancelled()) {
+                leave(queuedBy, waiter);
+            }
+        });
+        return waiter.future;
+    }
+
+    private void leave(Tenant state, Waiter cancelled) {
+        lock.lock();
+        try {
+            state.queue.remove(cancelled);
+            retireIfIdle(state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the requests of the tenant; all zero if it hasn't made any.
+     */
+    public TenantStats stats(String tenant) {
+        lock.lock();
+        try {
+            Tenant state = tenants.get(tenant);
+            if (state == null) {
+                state = idleTenants.get(tenant);
+            }
+            if (state == null) {
+                return new TenantStats(0, 0, 0, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+            }
+            return new TenantStats(state.queue.size(), state.inFlight, state.completed, state.rejected,
+                    percentile(state.queueWait, 0.95), percentile(state.latency, 0.5), percentile(state.latency, 0.95));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Duration percentile(LatencyHistogram histogram, double percentile) {
+        Duration estimate = histogram.percentile(percentile);
+        return estimate != null ? estimate : Duration.ZERO;
+    }
+
+    private void release(Tenant state, boolean completed, long latencyNanos) {
+        List<Grant> granted;
+        lock.lock();
+        try {
+            inFlight--;
+            state.inFlight--;
+            if (completed) {
+                state.completed++;
+                state.latency.record(latencyNanos);
+            }
+            retireIfIdle(state);
+            granted = grant();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    // guarded by lock
+    private List<Grant> grant() {
+        List<Grant> granted = null;
+        long now = nanoClock.getAsLong();
+        while (inFlight < maxInFlight) {
+            Tenant next = null;
+            for (Iterator<Tenant> it = tenants.values().iterator(); it.hasNext(); ) {
+                Tenant state = it.next();
+                state.dropCancelled();
+                if (state.isIdle()) {
+                    // its last waiters were cancelled
+                    it.remove();
+                    idleTenants.put(state.key, state);
+                    continue;
+                }
+                if (!state.queue.isEmpty() && state.inFlight < state.share.maxInFlight()
+                        && (next == null || state.queue.peek().startTag < next.queue.peek().startTag)) {
+                    next = state;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Waiter waiter = next.queue.poll();
+            virtualTime = Math.max(virtualTime, waiter.startTag);
+            inFlight++;
+            next.inFlight++;
+            next.queueWait.record(now - waiter.enqueuedNanos);
+            if (granted == null) {
+                granted = new ArrayList<>();
+            }
+            granted.add(new Grant(waiter, new Slot(next, waiter.enqueuedNanos)));
+        }
+        return granted;
+    }
+
+    // guarded by lock; moves the tenant out of the scheduling if it has nothing queued or in flight
+    private void retireIfIdle(Tenant state) {
+        state.dropCancelled();
+        if (state.isIdle() && tenants.remove(state.key) != null) {
+            idleTenants.put(state.key, state);
+        }
+    }
+
+    /**
+     * Returns the number of tenants the scheduler keeps any state of.
+     */
+    int tenantCount() {
+        lock.lock();
+        try {
+            return tenants.size() + idleTenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void complete(List<Grant> granted) {
+        if (granted == null) {
+            return;
+        }
+        for (Grant grant : granted) {
+            if (!grant.waiter.future.complete(grant.slot)) {
+                // cancelled after it was granted
+                grant.slot.abandon();
+            }
+        }
+    }
+
+    private record Grant(Waiter waiter, Slot slot) {
+    }
+
+    private static final class Waiter {
+
+        private final CompletableFuture<Slot> future;
+        private final double startTag;
+        private final long enqueuedNanos;
+
+        private Waiter(double startTag, long enqueuedNanos) {
+            this.future = new CompletableFuture<>();
+            this.startTag = startTag;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final class Tenant {
+
+        private final String key;
+        private final TenantShare share;
+        private final Deque<Waiter> queue;
+        private final LatencyHistogram queueWait;
+        private final LatencyHistogram latency;
+        private double lastFinishTag;
+        private int inFlight;
+        private long completed;
+        private long rejected;
+
+        private Tenant(String key, TenantShare share) {
+            this.key = key;
+            this.share = share;
+            this.queue = new ArrayDeque<>();
+            this.queueWait = new LatencyHistogram(LATENCY_WINDOW);
+            this.latency = new LatencyHistogram(LATENCY_WINDOW);
+        }
+
+        private double nextStartTag(double virtualTime) {
+            double startTag = Math.max(virtualTime, lastFinishTag);
+            lastFinishTag = startTag + 1 / share.weight();
+            return startTag;
+        }
+
+        private boolean isIdle() {
+            return queue.isEmpty() && inFlight == 0;
+        }
+
+        private void dropCancelled() {
+            while (!queue.isEmpty() && queue.peek().future.isDone()) {
+                queue.poll();
+            }
+        }
+    }
+
+    /**
+     * A slot taken by one request of a tenant; it must be released exactly once when the request completes.
+     */
+    public final class Slot {
+
+        private final Tenant tenant;
+        private final long acquiredNanos;
+
+        private Slot(Tenant tenant, long acquiredNanos) {
+            this.tenant = tenant;
+            this.acquiredNanos = acquiredNanos;
+        }
+
+        /**
+         * Frees the slot and records the latency of the request, from its arrival at the scheduler.
+         */
+        public void release() {
+            WeightedFairScheduler.this.release(tenant, true, nanoClock.getAsLong() - acquiredNanos);
+        }
+
+        /**
+         * Frees the slot of a request that wasn't made, without recording it.
+         */
+        public void abandon() {
+            WeightedFairScheduler.this.release(tenant, false, 0);
+        }
+    }
+}
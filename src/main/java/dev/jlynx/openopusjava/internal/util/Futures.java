@@ -0,0 +1,138 @@
+package dev.jlynx.openopusjava.internal.util;
+
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Chains {@link CompletableFuture}s so that cancelling the end of the chain cancels the stage in progress.
+ * <p>
+ * A dependent stage of {@code thenApply} or {@code thenCompose} doesn't cancel the stage it depends on, so a
+ * caller cancelling the future of a request would leave its exchange running. The stages made here do, down to
+ * the future of {@link java.net.http.HttpClient#sendAsync}, whose cancellation aborts the exchange.
+ * </p>
+ */
+@Internal
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Like {@code source.thenApply(fn)}, and cancelling the result cancels {@code source}.
+     */
+    public static <T, R> CompletableFuture<R> thenApply(CompletableFuture<T> source, Function<? super T, ? extends R> fn) {
+        CompletableFuture<R> result = source.thenApply(fn);
+        cancelWith(result, source);
+        return result;
+    }
+
+    /**
+     * Like {@code source.exceptionally(fn)}, and cancelling the result cancels {@code source}.
+     */
+    public static <T> CompletableFuture<T> exceptionally(CompletableFuture<T> source, Function<Throwable, ? extends T> fn) {
+        CompletableFuture<T> result = source.exceptionally(fn);
+        cancelWith(result, source);
+        return result;
+    }
+
+    /**
+     * Like {@code source.thenCompose(fn)}, and cancelling the result cancels {@code source}, or the future
+     * returned by {@code fn} once there is one.
+     */
+    public static <T, R> CompletableFuture<R> thenCompose(
+            CompletableFuture<T> source,
+            Function<? super T, ? extends CompletableFuture<R>> fn
+    ) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        source.whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            CompletableFuture<R> next;
+            try {
+                next = fn.apply(value);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            // cancels next at once if the result was cancelled meanwhile
+            cancelWith(result, next);
+            next.whenComplete((res, nextFailure) -> {
+                if (nextFailure != null) {
+                    result.completeExceptionally(nextFailure);
+                } else {
+                    result.complete(res);
+                }
+            });
+        });
+        cancelWith(result, source);
+        return result;
+    }
+
+    /**
+     * Returns a future completed like {@code source}, or failed with the exception of {@code timeout} if
+     * {@code source} isn't done within {@code nanos}; then {@code source} is cancelled. Cancelling the result
+     * cancels {@code source} too. The timer is dropped once the result completes.
+     */
+    public static <T> CompletableFuture<T> within(CompletableFuture<T> source, long nanos, Supplier<? extends Throwable> timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean expired = new AtomicBoolean();
+        CompletableFuture<Void> timer = new CompletableFuture<Void>().orTimeout(nanos, TimeUnit.NANOSECONDS);
+        timer.whenComplete((ignored, timedOut) -> {
+            if (timedOut != null && !result.isDone()) {
+                // cancelled before the result fails, so the source is done once the caller sees the failure
+                expired.set(true);
+                source.cancel(true);
+                result.completeExceptionally(timeout.get());
+            }
+        });
+        source.whenComplete((value, failure) -> {
+            if (expired.get() && source.isCancelled()) {
+                return;
+            }
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((ignored, failure) -> {
+            timer.complete(null);
+            if (result.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Strips the {@link CompletionException} and {@link ExecutionException} wrappers off a failure.
+     */
+    public static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Cancels {@code upstream} when {@code dependent} is cancelled.
+     */
+    public static void cancelWith(CompletableFuture<?> dependent, Future<?> upstream) {
+        dependent.whenComplete((ignored, failure) -> {
+            if (dependent.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package dev.jlynx.openopusjava.internal.util;
+
+import dev.jlynx.openopusjava.exception.OpenOpusException;
+import dev.jlynx.openopusjava.internal.Internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consumes a {@link Flow.Publisher} by blocking the consuming thread, e.g. a virtual thread.
+ * <p>
+ * At most {@code prefetch} elements are requested ahead of the consumer; half of them are requested again
+ * each time the consumer has taken as many. A failure of the publisher is thrown by the {@code hasNext}
+ * call that reaches it. Closing the iterator, or the stream it backs, cancels the subscription.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+@Internal
+public final class PublisherIterator<E> implements Iterator<E>, Flow.Subscriber<E>, AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private final int prefetch;
+    private final BlockingQueue<Object> signals;
+    private volatile Flow.Subscription subscription;
+    private volatile boolean closed;
+    // accessed by the consuming thread only
+    private Object next;
+    private int taken;
+
+    private PublisherIterator(int prefetch) {
+        if (prefetch < 2) {
+            throw new IllegalArgumentException("prefetch must be at least 2");
+        }
+        this.prefetch = prefetch;
+        this.signals = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Subscribes a new iterator to the publisher.
+     */
+    public static <E> PublisherIterator<E> subscribe(Flow.Publisher<E> publisher, int prefetch) {
+        PublisherIterator<E> iterator = new PublisherIterator<>(prefetch);
+        publisher.subscribe(iterator);
+        return iterator;
+    }
+
+    /**
+     * Subscribes a new iterator to the publisher and returns a sequential stream of its elements, which
+     * cancels the subscription when closed.
+     */
+    public static <E> Stream<E> stream(Flow.Publisher<E> publisher, int prefetch) {
+        PublisherIterator<E> iterator = subscribe(publisher, prefetch);
+        Spliterator<E> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (closed) {
+            subscription.cancel();
+        } else {
+            subscription.request(prefetch);
+        }
+    }
+
+    @Override
+    public void onNext(E item) {
+        signals.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        signals.add(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        signals.add(END);
+    }
+
+    /**
+     * Waits for the next element or the end of the publisher.
+     *
+     * @throws OpenOpusException if the thread is interrupted while waiting; the subscription is cancelled
+     *         and the interrupt status restored
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            if (closed) {
+                return false;
+            }
+            try {
+                next = signals.take();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new OpenOpusException("Interrupted while waiting for the next element", e);
+            }
+        }
+        if (next == END) {
+            return false;
+        }
+        if (next instanceof Failure failure) {
+            next = END;
+            throw failure.rethrown();
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        @SuppressWarnings("unchecked")
+        E element = (E) next;
+        next = null;
+        if (++taken == prefetch / 2) {
+            // an element arrived, so onSubscribe has set the subscription
+            subscription.request(taken);
+            taken = 0;
+        }
+        return element;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private record Failure(Throwable cause) {
+
+        RuntimeException rethrown() {
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            if (cause instanceof IOException io) {
+                return new UncheckedIOException(io);
+            }
+            return new OpenOpusException(cause);
+        }
+    }
+}
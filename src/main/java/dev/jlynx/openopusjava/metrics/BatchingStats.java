@@ -0,0 +1,11 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the counters of the single-id lookups batched into requests by ids.
+ *
+ * @param lookups the number of single-id lookups
+ * @param batches the number of batches sent
+ * @param ids the number of distinct ids sent in all batches
+ */
+public record BatchingStats(long lookups, long batches, long ids) {
+}
@@ -0,0 +1,22 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the response cache counters.
+ *
+ * @param hits the number of requests answered from the cache
+ * @param misses the number of requests the cache couldn't answer
+ * @param evictions the number of entries evicted to make room for others, or because they expired
+ * @param entries the number of cached responses
+ * @param weightedBytes the estimated size of the cached responses in bytes
+ * @param revalidated the number of expired responses the API confirmed unchanged, which were reused as they were
+ */
+public record CacheStats(long hits, long misses, long evictions, long entries, long weightedBytes, long revalidated) {
+
+    /**
+     * Returns the share of requests answered from the cache, or {@code 0} if there were none.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,34 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of a circuit breaker.
+ *
+ * @param state the state of the circuit
+ * @param failureRate the share of failed exchanges among the recent ones while closed
+ * @param slowCallRate the share of slow exchanges among the recent ones while closed
+ * @param notPermitted the number of exchanges failed at once because the circuit was open
+ * @param opened the number of times the circuit opened
+ */
+public record CircuitBreakerStats(State state, double failureRate, double slowCallRate, long notPermitted, long opened) {
+
+    /**
+     * The state of a circuit.
+     */
+    public enum State {
+
+        /**
+         * The exchanges are sent, and their outcomes recorded.
+         */
+        CLOSED,
+
+        /**
+         * The exchanges fail at once without being sent.
+         */
+        OPEN,
+
+        /**
+         * A few probe exchanges are sent to find out whether the server recovered; the others fail at once.
+         */
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,10 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the request coalescing counters.
+ *
+ * @param exchanges the number of requests that started an exchange of their own
+ * @param coalesced the number of requests that shared the exchange of an identical request in flight
+ */
+public record CoalescingStats(long exchanges, long coalesced) {
+}
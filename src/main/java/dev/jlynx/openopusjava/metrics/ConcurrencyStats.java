@@ -0,0 +1,13 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the adaptive concurrency limiter.
+ *
+ * @param limit the current number of exchanges allowed in flight
+ * @param inFlight the number of exchanges in flight
+ * @param queued the number of exchanges waiting for a slot
+ * @param queuedBackground the number of those exchanges with the background priority
+ * @param rejected the number of exchanges rejected because the queue was full
+ */
+public record ConcurrencyStats(int limit, int inFlight, int queued, int queuedBackground, long rejected) {
+}
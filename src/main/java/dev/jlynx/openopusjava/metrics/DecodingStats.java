@@ -0,0 +1,11 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the counters of the response bodies decoded on the decoding executor.
+ *
+ * @param offloaded the number of bodies handed to the decoding executor
+ * @param queued the number of those bodies waiting for a decoding thread
+ * @param active the number of bodies being decoded
+ */
+public record DecodingStats(long offloaded, long queued, int active) {
+}
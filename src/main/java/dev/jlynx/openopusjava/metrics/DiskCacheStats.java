@@ -0,0 +1,33 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the disk cache counters.
+ *
+ * @param hits the number of requests answered from the disk cache
+ * @param misses the number of requests the disk cache couldn't answer
+ * @param writes the number of responses written to the disk cache
+ * @param entries the number of keys in the index, including those of expired responses not compacted yet
+ * @param bytes the size of the log file in bytes
+ * @param compactions the number of completed compactions
+ * @param corruptRecords the number of records that failed their CRC check, e.g. because a crash tore them
+ * @param failedCompactions the number of compactions that failed, which leave the cache as it was
+ */
+public record DiskCacheStats(
+        long hits,
+        long misses,
+        long writes,
+        long entries,
+        long bytes,
+        long compactions,
+        long corruptRecords,
+        long failedCompactions
+) {
+
+    /**
+     * Returns the share of requests answered from the disk cache, or {@code 0} if there were none.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
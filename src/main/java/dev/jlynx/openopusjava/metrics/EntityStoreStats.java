@@ -0,0 +1,12 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the entity store counters.
+ *
+ * @param composers the number of composers stored
+ * @param works the number of works stored
+ * @param idsServed the number of ids requested by id that were served from the store
+ * @param idsRequested the number of ids requested by id that had to be requested from the API
+ */
+public record EntityStoreStats(long composers, long works, long idsServed, long idsRequested) {
+}
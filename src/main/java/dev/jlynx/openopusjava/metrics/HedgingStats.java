@@ -0,0 +1,12 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the hedged request counters.
+ *
+ * @param eligible the number of requests that could have been hedged
+ * @param fired the number of hedge requests sent
+ * @param won the number of hedge requests that responded before the original request
+ * @param suppressed the number of hedges not sent because the hedge rate cap was reached
+ */
+public record HedgingStats(long eligible, long fired, long won, long suppressed) {
+}
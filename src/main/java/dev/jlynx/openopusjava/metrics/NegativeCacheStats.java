@@ -0,0 +1,20 @@
+package dev.jlynx.openopusjava.metrics;
+
+/**
+ * A snapshot of the negative cache counters.
+ *
+ * @param hits the number of requests failed at once with a cached error status
+ * @param misses the number of requests the negative cache couldn't answer
+ * @param evictions the number of errors evicted to make room for others, or because they expired
+ * @param entries the number of cached errors
+ */
+public record NegativeCacheStats(long hits, long misses, long evictions, long entries) {
+
+    /**
+     * Returns the share of requests failed from the negative cache, or {@code 0} if there were none.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
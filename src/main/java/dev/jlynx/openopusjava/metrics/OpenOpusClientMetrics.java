@@ -0,0 +1,79 @@
+package dev.jlynx.openopusjava.metrics;
+
+import dev.jlynx.openopusjava.Endpoint;
+
+/**
+ * A live view of the counters of an {@link dev.jlynx.openopusjava.OpenOpusClient}.
+ * <p>
+ * Every call returns a new snapshot; the counters keep running between calls.
+ */
+public interface OpenOpusClientMetrics {
+
+    /**
+     * Returns the counters of the hedged requests.
+     */
+    HedgingStats hedging();
+
+    /**
+     * Returns the counters of the coalesced requests.
+     */
+    CoalescingStats coalescing();
+
+    /**
+     * Returns the counters of the response cache; all zero if the cache is disabled.
+     */
+    CacheStats cache();
+
+    /**
+     * Returns the counters of the negative cache of error statuses; all zero if it's disabled.
+     */
+    NegativeCacheStats negativeCache();
+
+    /**
+     * Returns the counters of the disk cache under the response cache; all zero if it's disabled or wasn't used yet.
+     */
+    DiskCacheStats diskCache();
+
+    /**
+     * Returns the counters of the entity store; all zero if the store is disabled.
+     */
+    EntityStoreStats entityStore();
+
+    /**
+     * Returns the counters of the single-id lookups batched into requests by ids.
+     */
+    BatchingStats batching();
+
+    /**
+     * Returns the counters of the response bodies decoded on the decoding executor; all zero if there's none.
+     */
+    DecodingStats decoding();
+
+    /**
+     * Returns the state of the adaptive concurrency limiter; all zero if the concurrency isn't limited.
+     */
+    ConcurrencyStats concurrency();
+
+    /**
+     * Returns the counters of the rate limit the requests to the endpoint family go through: its own if it has
+     * one, or else the one shared by all families; all zero if neither is set.
+     * <p>
+     * The current wait of a family with its own limit accounts for the shared limit too.
+     */
+    RateLimitStats rateLimiting(Endpoint endpoint);
+
+    /**
+     * Returns the queue, the calls in flight and the recent latencies of the tenant; all zero if the tenants aren't
+     * scheduled or the tenant hasn't made a call.
+     *
+     * @see dev.jlynx.openopusjava.OpenOpusClient#forTenant(String)
+     */
+    TenantStats tenant(String tenant);
+
+    /**
+     * Returns the state of the circuit breaker the requests to the endpoint family go through: its own if every
+     * family has one, or else the one of the host; closed and all zero if the circuit breaker is disabled or no
+     * request went through it yet.
+     */
+    CircuitBreakerStats circuitBreaker(Endpoint endpoint);
+}
@@ -0,0 +1,15 @@
+package dev.jlynx.openopusjava.metrics;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of a rate limiter.
+ *
+ * @param acquired the number of exchanges that went through the limiter
+ * @param delayed the number of those exchanges that had to wait for their slot
+ * @param totalDelay the sum of the waits
+ * @param currentWait how long an exchange starting now would wait
+ * @param rejected the number of exchanges rejected because their slot was further away than the maximum wait
+ */
+public record RateLimitStats(long acquired, long delayed, Duration totalDelay, Duration currentWait, long rejected) {
+}
@@ -0,0 +1,25 @@
+package dev.jlynx.openopusjava.metrics;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the requests of one tenant going through the weighted fair scheduler.
+ *
+ * @param queued the number of requests waiting for their turn
+ * @param inFlight the number of requests in flight
+ * @param completed the number of requests completed, successfully or not
+ * @param rejected the number of requests rejected because the tenant's queue was full
+ * @param queueWaitP95 the recent 95th percentile of the wait for a turn
+ * @param latencyP50 the recent median latency of the requests, waiting included
+ * @param latencyP95 the recent 95th percentile of the latency of the requests, waiting included
+ */
+public record TenantStats(
+        int queued,
+        int inFlight,
+        long completed,
+        long rejected,
+        Duration queueWaitP95,
+        Duration latencyP50,
+        Duration latencyP95
+) {
+}
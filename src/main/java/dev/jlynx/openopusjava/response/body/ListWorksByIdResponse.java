@@ -30,7 +30,7 @@ public class ListWorksByIdResponse extends OpenOpusResponse {
             ListWorksByIdAbstract worksAbstract
     ) {
         super(status, request);
-        this.works = new ArrayList<>(works.values());
+        this.works = works != null ? new ArrayList<>(works.values()) : null;
         this.worksAbstract = worksAbstract;
     }
 
@@ -0,0 +1,37 @@
+package dev.jlynx.openopusjava.response.stream;
+
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A list response of the Open Opus API delivered element by element.
+ * <p>
+ * Each element is published as soon as its JSON object is parsed, and the body is read from the network
+ * only as fast as the subscriber requests elements. The request is sent when a subscriber subscribes;
+ * a {@code ResponseStream} accepts a single subscriber.
+ * </p>
+ * <p>
+ * The fields of the response wrapper that aren't part of the list are available through the side channel
+ * futures. If the API returns a status error, the subscriber receives an
+ * {@link dev.jlynx.openopusjava.exception.OpenOpusErrorException} in {@code onError}.
+ * </p>
+ *
+ * @param <E> the type of the list elements
+ */
+public interface ResponseStream<E> extends Flow.Publisher<E> {
+
+    /**
+     * Returns a future completed with the response's status object as soon as it's parsed.
+     */
+    CompletableFuture<OpenOpusResponse.OpenOpusResponseStatus> status();
+
+    /**
+     * Returns a future completed with the response's {@code composer} object as soon as it's parsed,
+     * or with an empty {@code Optional} at the end of a body that has none.
+     */
+    CompletableFuture<Optional<Composer>> composer();
+}
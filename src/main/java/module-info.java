@@ -10,7 +10,9 @@ module dev.jlynx.openopusjava {
     exports dev.jlynx.openopusjava.request;
     exports dev.jlynx.openopusjava.response.body;
     exports dev.jlynx.openopusjava.response.subtype;
+    exports dev.jlynx.openopusjava.response.stream;
     exports dev.jlynx.openopusjava.exception;
+    exports dev.jlynx.openopusjava.metrics;
 
     opens dev.jlynx.openopusjava.response.subtype;
     opens dev.jlynx.openopusjava.response.body;
@@ -0,0 +1,289 @@
+package dev.jlynx.openopusjava;
+
+import com.sun.net.httpserver.HttpHandler;
+import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.metrics.BatchingStats;
+import dev.jlynx.openopusjava.metrics.EntityStoreStats;
+import dev.jlynx.openopusjava.request.RandomWorksCriteria;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.body.ListWorksByIdResponse;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.ListWorksByIdAbstract;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
+import dev.jlynx.openopusjava.support.Payloads;
+import dev.jlynx.openopusjava.support.StubOpenOpusServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.jlynx.openopusjava.support.StubOpenOpusServer.json;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByIdRequestsTest {
+
+    private StubOpenOpusServer server;
+    private OpenOpusClient underTest;
+
+    @BeforeEach
+    void setUp() {
+        server = StubOpenOpusServer.start();
+        underTest = new OpenOpusClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .entityStore(1_000, Duration.ofHours(1))
+                .idBatching(Duration.ofMillis(50), 50)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+        server.close();
+    }
+
+    @Test
+    void listComposers_ShouldRequestOnlyUnknownIds_AndKeepRequestedOrder() {
+        // GIVEN
+        server.route("/composer/list/ids/1,2.json", json(Payloads.composersListOf(List.of(1, 2))));
+        server.route("/composer/list/ids/4,3.json", json(Payloads.composersListOf(List.of(4, 3))));
+        underTest.listComposers(List.of(1, 2)).join();
+
+        // WHEN
+        HttpResponse<ComposersList> returned = underTest.listComposers(List.of(4, 1, 3, 2)).join();
+
+        // THEN
+        assertEquals(List.of(4, 1, 3, 2), returned.body().getComposers().stream().map(Composer::getId).toList());
+        assertEquals(4, returned.body().getStatus().getRows());
+        assertTrue(returned.uri().getPath().endsWith("/composer/list/ids/4,1,3,2.json"));
+        assertEquals(1, server.hits("/composer/list/ids/1,2.json"));
+        assertEquals(1, server.hits("/composer/list/ids/4,3.json"));
+        assertEquals(new EntityStoreStats(4, 0, 2, 4), underTest.metrics().entityStore());
+    }
+
+    @Test
+    void listComposers_ShouldServeFromStore_WhenComposersCameWithWorks() {
+        // GIVEN
+        server.route("/work/list/composer/7/genre/all.json", json(Payloads.worksList(7, 3)));
+        underTest.listWorks(7).join();
+
+        // WHEN
+        HttpResponse<ComposersList> returned = underTest.listComposers(List.of(7)).join();
+
+        // THEN
+        assertEquals(7, returned.body().getComposers().get(0).getId());
+        assertEquals(200, returned.statusCode());
+        assertEquals(0, server.hits("/composer/list/ids/7.json"));
+    }
+
+    @Test
+    void listWorks_ShouldServeKnownWorks_AndRecomputeAbstract() {
+        // GIVEN
+        server.route("/work/list/composer/7/genre/all.json", json(Payloads.worksList(7, 2)));
+        server.route("/work/list/ids/5.json", json(Payloads.listWorksByIdOf(List.of(5))));
+        underTest.listWorks(7).join();
+
+        // WHEN
+        HttpResponse<ListWorksByIdResponse> returned = underTest.listWorks(List.of(700_002, 5, 700_001)).join();
+
+        // THEN
+        List<WorkSummary> works = returned.body().getWorks();
+        assertEquals(List.of(700_002, 5, 700_001), works.stream().map(WorkSummary::id).toList());
+        assertEquals(7, works.get(0).composer().getId());
+        ListWorksByIdAbstract worksAbstract = returned.body().getWorksAbstract();
+        assertEquals(List.of("Composer7", "Composer6"), worksAbstract.composers().names());
+        assertEquals(2, worksAbstract.composers().rows());
+        assertEquals(3, worksAbstract.works().rows());
+        assertEquals(1, server.hits("/work/list/ids/5.json"));
+    }
+
+    @Test
+    void listWorks_ShouldReturnResponseUnchanged_WhenNoIdIsKnown() {
+        // GIVEN
+        String body = Payloads.listWorksByIdOf(List.of(1, 2));
+        server.route("/work/list/ids/1,2.json", json(body));
+
+        // WHEN
+        HttpResponse<ListWorksByIdResponse> returned = underTest.listWorks(List.of(1, 2)).join();
+
+        // THEN
+        assertEquals(List.of(), returned.body().getWorksAbstract().composers().names());
+        assertEquals(1, server.hits("/work/list/ids/1,2.json"));
+    }
+
+    @Test
+    void getComposer_ShouldBatchConcurrentLookups_IntoOneRequest() {
+        // GIVEN
+        server.route("/composer/list/ids/3,1.json", json(Payloads.composersListOf(List.of(1, 3))));
+
+        // WHEN
+        CompletableFuture<Composer> third = underTest.getComposer(3);
+        CompletableFuture<Composer> first = underTest.getComposer(1);
+        CompletableFuture<Composer> again = underTest.getComposer(3);
+
+        // THEN
+        assertEquals(3, third.join().getId());
+        assertEquals(1, first.join().getId());
+        assertEquals(3, again.join().getId());
+        assertEquals(1, server.hits("/composer/list/ids/3,1.json"));
+        assertEquals(new BatchingStats(3, 1, 2), underTest.metrics().batching());
+    }
+
+    @Test
+    void getWorkSummary_ShouldFailOnlyLookupsOfUnknownIds() {
+        // GIVEN
+        server.route("/work/list/ids/5,999.json", json(Payloads.listWorksByIdOf(List.of(5))));
+
+        // WHEN
+        CompletableFuture<WorkSummary> known = underTest.getWorkSummary(5);
+        CompletableFuture<WorkSummary> unknown = underTest.getWorkSummary(999);
+
+        // THEN
+        assertEquals(5, known.join().id());
+        CompletionException thrown = assertThrows(CompletionException.class, unknown::join);
+        assertInstanceOf(OpenOpusErrorException.class, thrown.getCause());
+    }
+
+    @Test
+    void getComposer_ShouldFailWithNotFound_WhenApiFindsNoneOfTheIds() {
+        // GIVEN
+        server.route("/composer/list/ids/998.json", json(Payloads.errorResponse("No composers found")));
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class, () -> underTest.getComposer(998).join());
+
+        // THEN
+        assertEquals("Composer 998 not found", thrown.getCause().getMessage());
+    }
+
+    @Test
+    void listComposers_ShouldSplitIdsIntoChunks_AndMergeThemInRequestedOrder() {
+        // GIVEN
+        OpenOpusClient chunking = chunkingClient("/composer/list/ids/", 3, 4);
+        server.route("/composer/list/ids/5,1.json", json(Payloads.composersListOf(List.of(1, 5))));
+        server.route("/composer/list/ids/4,2.json", json(Payloads.composersListOf(List.of(2, 4))));
+        server.route("/composer/list/ids/3.json", json(Payloads.composersListOf(List.of(3))));
+
+        // WHEN
+        HttpResponse<ComposersList> returned = chunking.listComposers(List.of(5, 1, 4, 2, 3)).join();
+
+        // THEN
+        assertEquals(List.of(5, 1, 4, 2, 3), returned.body().getComposers().stream().map(Composer::getId).toList());
+        assertEquals(5, returned.body().getStatus().getRows());
+        assertTrue(returned.uri().getPath().endsWith("/composer/list/ids/5,1,4,2,3.json"));
+        assertEquals(1, server.hits("/composer/list/ids/5,1.json"));
+        assertEquals(1, server.hits("/composer/list/ids/4,2.json"));
+        assertEquals(1, server.hits("/composer/list/ids/3.json"));
+        chunking.close();
+    }
+
+    @Test
+    void listWorks_ShouldCombineAbstractOfAllChunks() {
+        // GIVEN
+        OpenOpusClient chunking = chunkingClient("/work/list/ids/", 3, 4);
+        server.route("/work/list/ids/1,2.json", json(Payloads.listWorksByIdOf(List.of(1, 2))));
+        server.route("/work/list/ids/18.json", json(Payloads.listWorksByIdOf(List.of(18))));
+
+        // WHEN
+        HttpResponse<ListWorksByIdResponse> returned = chunking.listWorks(List.of(1, 2, 18)).join();
+
+        // THEN
+        assertEquals(List.of(1, 2, 18), returned.body().getWorks().stream().map(WorkSummary::id).toList());
+        ListWorksByIdAbstract worksAbstract = returned.body().getWorksAbstract();
+        assertEquals(List.of("Composer2", "Composer3"), worksAbstract.composers().names());
+        assertEquals(2, worksAbstract.composers().rows());
+        assertEquals(3, worksAbstract.works().rows());
+        chunking.close();
+    }
+
+    @Test
+    void listWorks_ShouldLeaveOutChunk_WhenApiFindsNoneOfItsIds() {
+        // GIVEN
+        OpenOpusClient chunking = chunkingClient("/work/list/ids/", 3, 4);
+        server.route("/work/list/ids/1,2.json", json(Payloads.listWorksByIdOf(List.of(1, 2))));
+        server.route("/work/list/ids/99.json", json(Payloads.errorResponse("No works found")));
+
+        // WHEN
+        HttpResponse<ListWorksByIdResponse> returned = chunking.listWorks(List.of(99, 1, 2)).join();
+
+        // THEN
+        assertEquals(List.of(1, 2), returned.body().getWorks().stream().map(WorkSummary::id).toList());
+        chunking.close();
+    }
+
+    @Test
+    void listComposers_ShouldReturnKnownComposers_WhenApiFindsNoneOfTheOthers() {
+        // GIVEN
+        server.route("/composer/list/ids/1.json", json(Payloads.composersListOf(List.of(1))));
+        server.route("/composer/list/ids/998.json", json(Payloads.errorResponse("No composers found")));
+        underTest.listComposers(List.of(1)).join();
+
+        // WHEN
+        HttpResponse<ComposersList> returned = underTest.listComposers(List.of(998, 1)).join();
+
+        // THEN
+        assertEquals(List.of(1), returned.body().getComposers().stream().map(Composer::getId).toList());
+        assertEquals(1, returned.body().getStatus().getRows());
+        assertEquals(1, server.hits("/composer/list/ids/998.json"));
+    }
+
+    @Test
+    void listComposers_ShouldRequestAtMostMaxParallelChunks_AtATime() {
+        // GIVEN
+        OpenOpusClient chunking = chunkingClient("/composer/list/ids/", 1, 2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        for (int id = 1; id <= 6; id++) {
+            HttpHandler handler = json(Payloads.composersListOf(List.of(id)));
+            server.route("/composer/list/ids/" + id + ".json", exchange -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                    handler.handle(exchange);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        // WHEN
+        HttpResponse<ComposersList> returned = chunking.listComposers(List.of(1, 2, 3, 4, 5, 6)).join();
+
+        // THEN
+        assertEquals(6, returned.body().getComposers().size());
+        assertEquals(2, maxInFlight.get());
+        chunking.close();
+    }
+
+    @Test
+    void listRandomWorks_ShouldThrow_WhenUrlIsTooLong() {
+        // GIVEN
+        OpenOpusClient chunking = chunkingClient("/dyn/work/random", 10, 4);
+        RandomWorksCriteria criteria = RandomWorksCriteria.builder()
+                .setComposer(List.of(100, 200, 300, 400))
+                .build();
+
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> chunking.listRandomWorks(criteria));
+        chunking.close();
+    }
+
+    /**
+     * Creates a client without the entity store whose URLs leave {@code idsLength} characters for the ids after
+     * the given path.
+     */
+    private OpenOpusClient chunkingClient(String path, int idsLength, int maxParallelChunks) {
+        int maxUrlLength = server.baseUrl().length() + path.length() + ".json".length() + idsLength;
+        return new OpenOpusClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .idChunking(maxUrlLength, maxParallelChunks)
+                .build());
+    }
+}
@@ -0,0 +1,286 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.exception.OpenOpusCircuitOpenException;
+import dev.jlynx.openopusjava.exception.OpenOpusDeadlineExceededException;
+import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.exception.OpenOpusHttpStatusException;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.subtype.Work;
+import dev.jlynx.openopusjava.support.Payloads;
+import dev.jlynx.openopusjava.support.StubOpenOpusServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static dev.jlynx.openopusjava.support.StubOpenOpusServer.json;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenOpusBlockingClientTest {
+
+    private static final String POPULAR_PATH = "/composer/list/pop.json";
+
+    private StubOpenOpusServer server;
+    private OpenOpusBlockingClient underTest;
+
+    @BeforeEach
+    void setUp() {
+        server = StubOpenOpusServer.start();
+        underTest = new OpenOpusBlockingClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .retryBackoff(Duration.ofMillis(1), Duration.ofMillis(5))
+                .withVirtualThreadExecutor()
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+        server.close();
+    }
+
+    @Test
+    void getPopularComposers_ShouldReturnBody() {
+        // GIVEN
+        server.route(POPULAR_PATH, json(Payloads.composersList(3)));
+
+        // WHEN
+        ComposersList returned = underTest.getPopularComposers();
+
+        // THEN
+        assertEquals(3, returned.getComposers().size());
+        assertEquals(1, server.hits(POPULAR_PATH));
+    }
+
+    @Test
+    void getPopularComposers_ShouldThrowUnwrapped_WhenStatusErrorReturned() {
+        // GIVEN
+        server.route(POPULAR_PATH, json(Payloads.errorResponse("No composers found")));
+
+        // WHEN
+        OpenOpusErrorException thrown = assertThrows(OpenOpusErrorException.class, () -> underTest.getPopularComposers());
+
+        // THEN
+        assertEquals("No composers found", thrown.getMessage());
+    }
+
+    @Test
+    void getPopularComposers_ShouldRetryTransientStatus_OnCallingThread() {
+        // GIVEN
+        server.route(POPULAR_PATH, StubOpenOpusServer.sequence(
+                StubOpenOpusServer.status(503),
+                json(Payloads.composersList(2))
+        ));
+
+        // WHEN
+        ComposersList returned = underTest.getPopularComposers();
+
+        // THEN
+        assertEquals(2, returned.getComposers().size());
+        assertEquals(2, server.hits(POPULAR_PATH));
+    }
+
+    @Test
+    void getPopularComposers_ShouldThrowHttpStatusException_WhenStatusIsNotTransient() {
+        // GIVEN
+        server.route(POPULAR_PATH, StubOpenOpusServer.status(404));
+
+        // WHEN
+        OpenOpusHttpStatusException thrown = assertThrows(OpenOpusHttpStatusException.class,
+                () -> underTest.getPopularComposers());
+
+        // THEN
+        assertEquals(404, thrown.getStatusCode());
+        assertEquals(1, server.hits(POPULAR_PATH));
+    }
+
+    @Test
+    void getPopularComposers_ShouldCoalesceConcurrentCallers() throws Exception {
+        // GIVEN
+        server.route(POPULAR_PATH, StubOpenOpusServer.delayed(Duration.ofMillis(200), json(Payloads.composersList(1))));
+        List<Future<ComposersList>> calls = new ArrayList<>();
+
+        // WHEN
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                calls.add(callers.submit(() -> underTest.getPopularComposers()));
+            }
+        }
+
+        // THEN
+        ComposersList first = calls.get(0).get();
+        for (Future<ComposersList> call : calls) {
+            assertSame(first, call.get());
+        }
+        assertEquals(1, server.hits(POPULAR_PATH));
+        assertEquals(9, underTest.metrics().coalescing().coalesced());
+    }
+
+    @Test
+    void getPopularComposers_ShouldServeCachedResponse() {
+        // GIVEN
+        OpenOpusBlockingClient caching = new OpenOpusBlockingClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .responseCache(1 << 20)
+                .build());
+        server.route(POPULAR_PATH, json(Payloads.composersList(2)));
+
+        // WHEN
+        ComposersList first = caching.getPopularComposers();
+        ComposersList second = caching.getPopularComposers();
+
+        // THEN
+        assertSame(first, second);
+        assertEquals(1, server.hits(POPULAR_PATH));
+        caching.close();
+    }
+
+    @Test
+    void getPopularComposers_ShouldThrowCircuitOpen_WithoutSending() {
+        // GIVEN
+        server.route(POPULAR_PATH, StubOpenOpusServer.status(503));
+        try (OpenOpusBlockingClient guarded = new OpenOpusBlockingClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .maxRetries(0)
+                .circuitBreaker(1, 1, Duration.ofMinutes(1))
+                .build())) {
+            assertThrows(OpenOpusHttpStatusException.class, guarded::getPopularComposers);
+
+            // WHEN & THEN
+            assertThrows(OpenOpusCircuitOpenException.class, guarded::getPopularComposers);
+            assertEquals(1, server.hits(POPULAR_PATH));
+        }
+    }
+
+    @Test
+    void withDeadline_ShouldThrowDeadlineExceeded_WhenResponseIsLate() {
+        // GIVEN
+        server.route(POPULAR_PATH, StubOpenOpusServer.delayed(Duration.ofSeconds(2), json(Payloads.composersList(2))));
+        OpenOpusBlockingClient bounded = underTest.withDeadline(Deadline.after(Duration.ofMillis(100)));
+
+        // WHEN & THEN
+        assertThrows(OpenOpusDeadlineExceededException.class, bounded::getPopularComposers);
+        assertEquals(1, server.hits(POPULAR_PATH));
+    }
+
+    @Test
+    void getPopularComposers_ShouldReuseCachedComposers_WhenNotModified() {
+        // GIVEN
+        server.route(POPULAR_PATH, StubOpenOpusServer.validated(Payloads.composersList(2),
+                Map.of("ETag", "\"p1\"", "Cache-Control", "max-age=0")));
+        try (OpenOpusBlockingClient revalidating = new OpenOpusBlockingClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .responseCache(1024 * 1024)
+                .withConditionalRevalidation()
+                .build())) {
+            ComposersList first = revalidating.getPopularComposers();
+
+            // WHEN
+            ComposersList revalidated = revalidating.getPopularComposers();
+
+            // THEN
+            assertSame(first, revalidated);
+            assertEquals(2, server.hits(POPULAR_PATH));
+        }
+    }
+
+    @Test
+    void listComposers_ShouldReturnComposersByIds() {
+        // GIVEN
+        server.route("/composer/list/ids/2,1.json", json(Payloads.composersListOf(List.of(1, 2))));
+
+        // WHEN
+        ComposersList returned = underTest.listComposers(List.of(2, 1));
+
+        // THEN
+        assertEquals(2, returned.getComposers().size());
+    }
+
+    @Test
+    void getComposer_ShouldThrowUnwrapped_WhenApiDoesNotKnowIt() {
+        // GIVEN
+        server.route("/composer/list/ids/998.json", json(Payloads.errorResponse("No composers found")));
+
+        // WHEN
+        OpenOpusErrorException thrown = assertThrows(OpenOpusErrorException.class, () -> underTest.getComposer(998));
+
+        // THEN
+        assertEquals("Composer 998 not found", thrown.getMessage());
+    }
+
+    @Test
+    void streamWorks_ShouldReturnAllWorksInOrder() {
+        // GIVEN
+        server.route("/work/list/composer/1/genre/all.json", StubOpenOpusServer.throttled(
+                Payloads.worksList(1, 300), 4 * 1024, Duration.ofMillis(1)));
+
+        // WHEN
+        List<Work> works;
+        try (Stream<Work> stream = underTest.streamWorks(1)) {
+            works = stream.toList();
+        }
+
+        // THEN
+        assertEquals(300, works.size());
+        assertEquals(100_001, works.get(0).getId());
+        assertEquals(100_300, works.get(299).getId());
+    }
+
+    @Test
+    void withPriority_ShouldShareClient_AndNotCloseIt() {
+        // GIVEN
+        server.route(POPULAR_PATH, json(Payloads.composersList(2)));
+        OpenOpusBlockingClient background = underTest.withPriority(Priority.BACKGROUND);
+
+        // WHEN
+        ComposersList returned = background.getPopularComposers();
+        background.close();
+
+        // THEN
+        assertEquals(2, returned.getComposers().size());
+        assertSame(underTest, underTest.withPriority(Priority.INTERACTIVE));
+        assertSame(underTest.metrics(), background.metrics());
+        assertEquals(2, underTest.getPopularComposers().getComposers().size());
+    }
+
+    @Test
+    void forTenant_ShouldScheduleCallsOfTenant() {
+        // GIVEN
+        server.route(POPULAR_PATH, json(Payloads.composersList(2)));
+        try (OpenOpusBlockingClient scheduled = new OpenOpusBlockingClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .tenantScheduling(1, 10)
+                .build())) {
+            OpenOpusBlockingClient tenant = scheduled.forTenant("reports");
+
+            // WHEN
+            ComposersList returned = tenant.getPopularComposers();
+
+            // THEN
+            assertEquals(2, returned.getComposers().size());
+            assertSame(tenant, tenant.forTenant("reports"));
+            assertEquals(1, scheduled.metrics().tenant("reports").completed());
+            assertEquals(0, scheduled.metrics().tenant("reports").inFlight());
+        }
+    }
+
+    @Test
+    void listComposers_ShouldValidateArguments_LikeAsyncClient() {
+        // GIVEN
+        char notALetter = '7';
+
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> underTest.listComposers(notALetter));
+        assertThrows(IllegalArgumentException.class, () -> underTest.listComposers(List.of(1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> underTest.getComposer(0));
+        assertEquals(0, server.hits("/composer/list/name/7.json"));
+    }
+}
@@ -0,0 +1,978 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.exception.OpenOpusCircuitOpenException;
+import dev.jlynx.openopusjava.exception.OpenOpusDeadlineExceededException;
+import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.exception.OpenOpusHttpStatusException;
+import dev.jlynx.openopusjava.exception.OpenOpusRejectedException;
+import dev.jlynx.openopusjava.metrics.CacheStats;
+import dev.jlynx.openopusjava.metrics.CircuitBreakerStats;
+import dev.jlynx.openopusjava.metrics.CoalescingStats;
+import dev.jlynx.openopusjava.metrics.ConcurrencyStats;
+import dev.jlynx.openopusjava.metrics.HedgingStats;
+import dev.jlynx.openopusjava.metrics.NegativeCacheStats;
+import dev.jlynx.openopusjava.metrics.TenantStats;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.support.Payloads;
+import dev.jlynx.openopusjava.support.ServerCapacity;
+import dev.jlynx.openopusjava.support.StubOpenOpusServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static dev.jlynx.openopusjava.support.StubOpenOpusServer.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenOpusHttpClientProxyTest {
+
+    private static final String WORKS_PATH = "/work/list/composer/1/genre/all.json";
+
+    private StubOpenOpusServer server;
+    private OpenOpusHttpClientProxy underTest;
+
+    @BeforeEach
+    void setUp() {
+        server = StubOpenOpusServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (underTest != null) {
+            underTest.closeClient();
+        }
+        server.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ParsingMode.class)
+    void sendAsyncGetOpenOpus_ShouldParseThrottledBody(ParsingMode parsingMode) {
+        // GIVEN
+        server.route(WORKS_PATH, throttled(Payloads.worksList(1, 500), 8 * 1024, Duration.ofMillis(1)));
+        underTest = new OpenOpusHttpClientProxy(options().parsingMode(parsingMode).build());
+
+        // WHEN
+        HttpResponse<WorksList> returned = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertTrue(returned.body().getStatus().isSuccess());
+        assertEquals(500, returned.body().getWorks().size());
+        assertEquals(1, returned.body().getComposer().getId());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldDecodeLargeBodiesOnDecodingPool() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 500)));
+        server.route("/composer/list/pop.json", json(Payloads.composersList(2)));
+        underTest = new OpenOpusHttpClientProxy(options().decodingPool(2, 16 * 1024).build());
+
+        // WHEN
+        HttpResponse<WorksList> large = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        HttpResponse<ComposersList> small = underTest.sendAsyncGetOpenOpus("/composer/list/pop.json", ComposersList.class).join();
+
+        // THEN
+        assertEquals(500, large.body().getWorks().size());
+        assertEquals(2, small.body().getComposers().size());
+        assertEquals(1, underTest.metrics().decoding().offloaded());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldRetryTransientStatuses() {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(status(503), status(502), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        HttpResponse<WorksList> returned = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(10, returned.body().getWorks().size());
+        assertEquals(3, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldRetryDroppedConnection() {
+        // GIVEN
+        String body = Payloads.worksList(1, 200);
+        server.route(WORKS_PATH, sequence(truncated(body), json(body)));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        HttpResponse<WorksList> returned = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(200, returned.body().getWorks().size());
+        assertEquals(2, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldFailWithLastError_WhenRetriesExhausted() {
+        // GIVEN
+        server.route(WORKS_PATH, status(503));
+        underTest = new OpenOpusHttpClientProxy(options().maxRetries(2).build());
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        OpenOpusHttpStatusException cause = assertInstanceOf(OpenOpusHttpStatusException.class, thrown.getCause());
+        assertEquals(503, cause.getStatusCode());
+        assertEquals(3, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotRetry_WhenStatusIsNotTransient() {
+        // GIVEN
+        server.route(WORKS_PATH, status(404));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertInstanceOf(OpenOpusHttpStatusException.class, thrown.getCause());
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotRetry_WhenApiReturnsStatusError() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.errorResponse("Composer not found")));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertInstanceOf(OpenOpusErrorException.class, thrown.getCause());
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotRetry_WhenEndpointIsNotIdempotent() {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(status(503), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().nonIdempotent(Endpoint.WORK_LIST).build());
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertInstanceOf(OpenOpusHttpStatusException.class, thrown.getCause());
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldStopRetrying_WhenBudgetIsSpent() {
+        // GIVEN
+        server.route(WORKS_PATH, status(503));
+        underTest = new OpenOpusHttpClientProxy(options().retryBudget(0.0, 0).build());
+
+        // WHEN
+        assertThrows(CompletionException.class, () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotRetry_WhenServerAsksForLongerDelayThanMaxBackoff() {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(status(503, Duration.ofDays(1)), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).orTimeout(5, TimeUnit.SECONDS).join());
+
+        // THEN
+        OpenOpusHttpStatusException cause = assertInstanceOf(OpenOpusHttpStatusException.class, thrown.getCause());
+        assertEquals(503, cause.getStatusCode());
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotBlockCaller_WhileBackingOff() {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(status(503), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().retryBackoff(Duration.ofMillis(300), Duration.ofMillis(300)).build());
+
+        // WHEN
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<WorksList>> future = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        long returnedAfter = System.nanoTime() - start;
+
+        // THEN
+        assertTrue(Duration.ofNanos(returnedAfter).compareTo(Duration.ofMillis(300)) < 0);
+        assertEquals(10, future.join().body().getWorks().size());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(300)) >= 0);
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldUseHedge_WhenFirstResponseIsSlow() {
+        // GIVEN
+        String body = Payloads.worksList(1, 10);
+        server.route(WORKS_PATH, sequence(delayed(Duration.ofSeconds(3), json(body)), json(body)));
+        underTest = new OpenOpusHttpClientProxy(options().hedgeAfter(Duration.ofMillis(50)).maxHedgeRatio(1.0).build());
+
+        // WHEN
+        long start = System.nanoTime();
+        HttpResponse<WorksList> returned = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals(10, returned.body().getWorks().size());
+        assertEquals(2, server.hits(WORKS_PATH));
+        assertEquals(new HedgingStats(1, 1, 1, 0), underTest.metrics().hedging());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotHedge_WhenResponseArrivesInTime() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options().hedgeAfter(Duration.ofSeconds(2)).maxHedgeRatio(1.0).build());
+
+        // WHEN
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(1, server.hits(WORKS_PATH));
+        assertEquals(new HedgingStats(1, 0, 0, 0), underTest.metrics().hedging());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldSuppressHedge_WhenHedgeRateCapIsReached() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(200), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().hedgeAfter(Duration.ofMillis(20)).maxHedgeRatio(0.0).build());
+
+        // WHEN
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(1, server.hits(WORKS_PATH));
+        assertEquals(new HedgingStats(1, 0, 0, 1), underTest.metrics().hedging());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldShareOneExchange_WhenIdenticalRequestsAreConcurrent() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(200), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        CompletableFuture<HttpResponse<WorksList>> first = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        CompletableFuture<HttpResponse<WorksList>> second = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        CompletableFuture<HttpResponse<WorksList>> third = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+
+        // THEN
+        assertSame(first.join().body(), second.join().body());
+        assertSame(first.join().body(), third.join().body());
+        assertEquals(1, server.hits(WORKS_PATH));
+        assertEquals(new CoalescingStats(1, 2), underTest.metrics().coalescing());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldCompleteOtherCallers_WhenOneCallerCancels() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(200), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+        CompletableFuture<HttpResponse<WorksList>> cancelled = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        CompletableFuture<HttpResponse<WorksList>> other = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+
+        // WHEN
+        cancelled.cancel(true);
+
+        // THEN
+        assertEquals(10, other.join().body().getWorks().size());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldSendAgain_WhenPreviousIdenticalRequestCompleted() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(2, server.hits(WORKS_PATH));
+        assertEquals(new CoalescingStats(2, 0), underTest.metrics().coalescing());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotCoalesce_WhenCoalescingIsDisabled() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(100), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options().withRequestCoalescingDisabled().build());
+
+        // WHEN
+        CompletableFuture<HttpResponse<WorksList>> first = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        CompletableFuture<HttpResponse<WorksList>> second = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        CompletableFuture.allOf(first, second).join();
+
+        // THEN
+        assertNotSame(first.join().body(), second.join().body());
+        assertEquals(2, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldReturnCachedResponse_WhenCacheIsEnabled() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options().responseCache(1024 * 1024).build());
+
+        // WHEN
+        HttpResponse<WorksList> first = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        HttpResponse<WorksList> second = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertSame(first.body(), second.body());
+        assertEquals(1, server.hits(WORKS_PATH));
+        CacheStats stats = underTest.metrics().cache();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(Payloads.worksList(1, 10).length(), stats.weightedBytes());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldWeighCachedResponseByItsOwnBody_WhenHedgeWins() {
+        // GIVEN
+        String slow = Payloads.worksList(1, 100);
+        String fast = Payloads.worksList(1, 10);
+        server.route(WORKS_PATH, sequence(delayed(Duration.ofMillis(300), json(slow)), json(fast)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .hedgeAfter(Duration.ofMillis(50))
+                .maxHedgeRatio(1.0)
+                .responseCache(1024 * 1024)
+                .build());
+
+        // WHEN
+        HttpResponse<WorksList> returned = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(10, returned.body().getWorks().size());
+        assertEquals(fast.length(), underTest.metrics().cache().weightedBytes());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotCache_WhenEndpointTtlIsZero() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .responseCache(1024 * 1024)
+                .cacheTtl(Endpoint.WORK_LIST, Duration.ZERO)
+                .build());
+
+        // WHEN
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(2, server.hits(WORKS_PATH));
+        assertEquals(0, underTest.metrics().cache().entries());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotCacheErrors() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.errorResponse("Not found")));
+        underTest = new OpenOpusHttpClientProxy(options().responseCache(1024 * 1024).build());
+
+        // WHEN
+        assertThrows(CompletionException.class, () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+        assertThrows(CompletionException.class, () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertEquals(2, server.hits(WORKS_PATH));
+        assertEquals(0, underTest.metrics().cache().entries());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldRejectAtOnce_WhenConcurrencyQueueIsFull() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(300), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .withRequestCoalescingDisabled()
+                .adaptiveConcurrencyLimit(2, 2, 3)
+                .build());
+
+        // WHEN
+        List<CompletableFuture<HttpResponse<WorksList>>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+
+        // THEN
+        for (CompletableFuture<HttpResponse<WorksList>> rejected : calls.subList(5, 10)) {
+            assertTrue(rejected.isCompletedExceptionally());
+            CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(OpenOpusRejectedException.class, thrown.getCause());
+        }
+        assertEquals(new ConcurrencyStats(2, 2, 3, 0, 5), underTest.metrics().concurrency());
+        for (CompletableFuture<HttpResponse<WorksList>> admitted : calls.subList(0, 5)) {
+            assertEquals(10, admitted.join().body().getWorks().size());
+        }
+        assertEquals(5, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldAdaptConcurrencyLimit_WhenServerCapacityChanges() {
+        // GIVEN
+        ServerCapacity capacity = new ServerCapacity(8);
+        server.route(WORKS_PATH, capacity.serve(Duration.ofMillis(50), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .withRequestCoalescingDisabled()
+                .adaptiveConcurrencyLimit(32, 128, 10_000)
+                .build());
+
+        // WHEN
+        sendAll(300);
+        int shrunk = underTest.metrics().concurrency().limit();
+        int peakWhileOverloaded = capacity.peakInFlight();
+        capacity.set(128);
+        capacity.reset();
+        sendAll(600);
+        int grown = underTest.metrics().concurrency().limit();
+
+        // THEN
+        assertTrue(shrunk <= 12, "limit after overload: " + shrunk);
+        assertTrue(peakWhileOverloaded <= 32, "requests in flight at the server: " + peakWhileOverloaded);
+        assertTrue(grown > shrunk + 4, "limit after capacity grew: " + grown);
+        assertEquals(0, capacity.overloaded());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldSpaceRequests_WithoutBlockingCaller() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .withRequestCoalescingDisabled()
+                .rateLimit(20, 2)
+                .build());
+
+        // WHEN
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<WorksList>>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+        Duration sent = Duration.ofNanos(System.nanoTime() - start);
+        Duration expectedWait = underTest.metrics().rateLimiting(Endpoint.WORK_LIST).currentWait();
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        Duration completed = Duration.ofNanos(System.nanoTime() - start);
+
+        // THEN
+        assertTrue(sent.toMillis() < 150, "sent in " + sent);
+        assertTrue(expectedWait.toMillis() > 150, "current wait " + expectedWait);
+        assertTrue(completed.toMillis() >= 200, "completed in " + completed);
+        assertEquals(4, underTest.metrics().rateLimiting(Endpoint.WORK_LIST).delayed());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldReject_WhenRateLimitSlotIsFurtherAwayThanMaxWait() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .withRequestCoalescingDisabled()
+                .rateLimit(1, 1)
+                .rateLimitMaxWait(Duration.ofMillis(1_500))
+                .build());
+
+        // WHEN
+        List<CompletableFuture<HttpResponse<WorksList>>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+
+        // THEN
+        CompletionException thrown = assertThrows(CompletionException.class, () -> calls.get(2).join());
+        assertInstanceOf(OpenOpusRejectedException.class, thrown.getCause());
+        assertThrows(CompletionException.class, () -> calls.get(3).join());
+        assertEquals(2, underTest.metrics().rateLimiting(Endpoint.WORK_LIST).rejected());
+        calls.get(1).join();
+        assertEquals(2, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldLimitEndpointFamilySeparately() {
+        // GIVEN
+        String searchPath = "/work/list/composer/1/genre/all/search/sonata.json";
+        server.route(searchPath, json(Payloads.worksList(1, 10)));
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .withRequestCoalescingDisabled()
+                .rateLimit(Endpoint.WORK_SEARCH, 1, 1)
+                .build());
+        underTest.sendAsyncGetOpenOpus(searchPath, WorksList.class).join();
+
+        // WHEN
+        CompletableFuture<HttpResponse<WorksList>> search = underTest.sendAsyncGetOpenOpus(searchPath, WorksList.class);
+        HttpResponse<WorksList> list = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(10, list.body().getWorks().size());
+        assertFalse(search.isDone());
+        assertTrue(underTest.metrics().rateLimiting(Endpoint.WORK_SEARCH).currentWait().toMillis() > 500);
+        assertEquals(Duration.ZERO, underTest.metrics().rateLimiting(Endpoint.WORK_LIST).currentWait());
+        search.join();
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldSendInteractiveRequestsBeforeQueuedBackgroundRequests() {
+        // GIVEN
+        String searchPath = "/omnisearch/bach/0.json";
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(20), json(Payloads.worksList(1, 10))));
+        server.route(searchPath, delayed(Duration.ofMillis(20), json(Payloads.worksList(1, 1))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .withRequestCoalescingDisabled()
+                .adaptiveConcurrencyLimit(1, 1, 100)
+                .backgroundShare(0.1)
+                .build());
+        OpenOpusHttpClientProxy background = underTest.withPriority(Priority.BACKGROUND);
+        List<CompletableFuture<HttpResponse<WorksList>>> crawl = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            crawl.add(background.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+
+        // WHEN
+        HttpResponse<WorksList> interactive = underTest.sendAsyncGetOpenOpus(searchPath, WorksList.class).join();
+
+        // THEN
+        assertEquals(1, interactive.body().getWorks().size());
+        assertTrue(underTest.metrics().concurrency().queuedBackground() >= 15);
+        CompletableFuture.allOf(crawl.toArray(CompletableFuture[]::new)).join();
+        assertEquals(20, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldServeQuietTenant_WhileNoisyTenantFloodsClient() {
+        // GIVEN
+        String searchPath = "/omnisearch/bach/0.json";
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(20), json(Payloads.worksList(1, 10))));
+        server.route(searchPath, delayed(Duration.ofMillis(20), json(Payloads.worksList(1, 1))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .withRequestCoalescingDisabled()
+                .tenantScheduling(2, 100)
+                .build());
+        OpenOpusHttpClientProxy noisy = underTest.forTenant("noisy");
+        OpenOpusHttpClientProxy quiet = underTest.forTenant("quiet");
+        List<CompletableFuture<HttpResponse<WorksList>>> flood = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            flood.add(noisy.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+
+        // WHEN
+        HttpResponse<WorksList> answered = quiet.sendAsyncGetOpenOpus(searchPath, WorksList.class).join();
+        TenantStats noisyWhileQuietAnswered = underTest.metrics().tenant("noisy");
+
+        // THEN
+        assertEquals(1, answered.body().getWorks().size());
+        assertTrue(noisyWhileQuietAnswered.queued() >= 30, "noisy calls queued: " + noisyWhileQuietAnswered.queued());
+        CompletableFuture.allOf(flood.toArray(CompletableFuture[]::new)).join();
+        TenantStats quietStats = underTest.metrics().tenant("quiet");
+        TenantStats noisyStats = underTest.metrics().tenant("noisy");
+        assertEquals(1, quietStats.completed());
+        assertEquals(40, noisyStats.completed());
+        assertTrue(quietStats.latencyP95().compareTo(noisyStats.latencyP95()) < 0,
+                "quiet " + quietStats.latencyP95() + ", noisy " + noisyStats.latencyP95());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldCapRequestsOfTenantInFlight() {
+        // GIVEN
+        ServerCapacity capacity = new ServerCapacity(2);
+        server.route(WORKS_PATH, capacity.serve(Duration.ofMillis(10), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .withRequestCoalescingDisabled()
+                .tenantScheduling(8, 100)
+                .tenant("crawler", 1, 2)
+                .build());
+        OpenOpusHttpClientProxy crawler = underTest.forTenant("crawler");
+
+        // WHEN
+        List<CompletableFuture<HttpResponse<WorksList>>> crawl = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            crawl.add(crawler.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+        CompletableFuture.allOf(crawl.toArray(CompletableFuture[]::new)).join();
+
+        // THEN
+        assertEquals(0, capacity.overloaded());
+        assertTrue(capacity.peakInFlight() <= 2);
+        assertEquals(20, underTest.metrics().tenant("crawler").completed());
+        assertEquals(0, underTest.metrics().tenant(OpenOpusClient.DEFAULT_TENANT).completed());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldFailFast_WhileCircuitIsOpen() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(50), status(503)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .withRequestCoalescingDisabled()
+                .circuitBreaker(0.5, 4, Duration.ofMinutes(1))
+                .build());
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<HttpResponse<WorksList>> failed = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+            assertInstanceOf(OpenOpusHttpStatusException.class, assertThrows(CompletionException.class, failed::join).getCause());
+        }
+
+        // WHEN
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<WorksList>> rejected = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+        Duration failedAfter = Duration.ofNanos(System.nanoTime() - start);
+
+        // THEN
+        OpenOpusCircuitOpenException circuitOpen = assertInstanceOf(OpenOpusCircuitOpenException.class, thrown.getCause());
+        assertTrue(circuitOpen.getRetryAfter().toSeconds() > 50);
+        assertTrue(failedAfter.toMillis() < 50, "failed after " + failedAfter);
+        assertEquals(4, server.hits(WORKS_PATH));
+        CircuitBreakerStats stats = underTest.metrics().circuitBreaker(Endpoint.WORK_LIST);
+        assertEquals(CircuitBreakerStats.State.OPEN, stats.state());
+        assertEquals(1, stats.notPermitted());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldCloseCircuit_WhenProbesSucceed() throws InterruptedException {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(status(500), status(500), json(Payloads.worksList(1, 10))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .withRequestCoalescingDisabled()
+                .circuitBreaker(1, 2, Duration.ofMillis(100))
+                .circuitBreakerProbes(1)
+                .build());
+        sendAll(2);
+        assertEquals(CircuitBreakerStats.State.OPEN, underTest.metrics().circuitBreaker(Endpoint.WORK_LIST).state());
+
+        // WHEN
+        Thread.sleep(150);
+        HttpResponse<WorksList> probed = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(10, probed.body().getWorks().size());
+        assertEquals(CircuitBreakerStats.State.CLOSED, underTest.metrics().circuitBreaker(Endpoint.WORK_LIST).state());
+        assertEquals(3, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldKeepOtherFamiliesClosed_WhenCircuitIsPerEndpoint() {
+        // GIVEN
+        String searchPath = "/omnisearch/bach/0.json";
+        server.route(searchPath, status(502));
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .withRequestCoalescingDisabled()
+                .circuitBreaker(1, 1, Duration.ofMinutes(1))
+                .withCircuitBreakerPerEndpoint()
+                .build());
+        assertThrows(CompletionException.class, () -> underTest.sendAsyncGetOpenOpus(searchPath, WorksList.class).join());
+
+        // WHEN
+        CompletableFuture<HttpResponse<WorksList>> search = underTest.sendAsyncGetOpenOpus(searchPath, WorksList.class);
+        HttpResponse<WorksList> list = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertInstanceOf(OpenOpusCircuitOpenException.class, assertThrows(CompletionException.class, search::join).getCause());
+        assertEquals(10, list.body().getWorks().size());
+        assertEquals(CircuitBreakerStats.State.OPEN, underTest.metrics().circuitBreaker(Endpoint.OMNISEARCH).state());
+        assertEquals(CircuitBreakerStats.State.CLOSED, underTest.metrics().circuitBreaker(Endpoint.WORK_LIST).state());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldFallBackToExpiredCachedResponse_WhileCircuitIsOpen() throws InterruptedException {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(json(Payloads.worksList(1, 10)), status(503)));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .responseCache(1024 * 1024)
+                .cacheTtl(Endpoint.WORK_LIST, Duration.ofMillis(50))
+                .circuitBreaker(1, 1, Duration.ofMinutes(1))
+                .withCacheFallbackWhileCircuitOpen()
+                .build());
+        HttpResponse<WorksList> fresh = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        Thread.sleep(100);
+        CompletableFuture<HttpResponse<WorksList>> opening = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        assertInstanceOf(OpenOpusHttpStatusException.class, assertThrows(CompletionException.class, opening::join).getCause());
+
+        // WHEN
+        HttpResponse<WorksList> fallback = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertSame(fresh.body(), fallback.body());
+        assertEquals(2, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldTimeOut_WithRequestTimeoutOfEndpointFamily() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(500), json(Payloads.worksList(1, 10))));
+        server.route("/composer/list/pop.json", delayed(Duration.ofMillis(100), json(Payloads.composersList(2))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .maxRetries(0)
+                .requestTimeout(Duration.ofSeconds(5))
+                .requestTimeout(Endpoint.WORK_LIST, Duration.ofMillis(50))
+                .build());
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+        HttpResponse<ComposersList> other = underTest.sendAsyncGetOpenOpus("/composer/list/pop.json", ComposersList.class).join();
+
+        // THEN
+        assertInstanceOf(HttpTimeoutException.class, thrown.getCause());
+        assertEquals(2, other.body().getComposers().size());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldDrawRetriesFromOneDeadline() {
+        // GIVEN
+        server.route(WORKS_PATH, delayed(Duration.ofMillis(30), status(503)));
+        underTest = new OpenOpusHttpClientProxy(options().maxRetries(20).build());
+        OpenOpusHttpClientProxy bounded = underTest.withDeadline(Deadline.after(Duration.ofMillis(200)));
+        long start = System.nanoTime();
+
+        // WHEN
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> bounded.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertInstanceOf(OpenOpusDeadlineExceededException.class, thrown.getCause());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(server.hits(WORKS_PATH) > 1);
+        assertTrue(server.hits(WORKS_PATH) <= 7);
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldAbortExchange_WhenDeadlinePasses() throws Exception {
+        // GIVEN
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<Void> aborted = new CompletableFuture<>();
+        server.route(WORKS_PATH, stalled(started, aborted));
+        underTest = new OpenOpusHttpClientProxy(options().build());
+
+        // WHEN
+        CompletableFuture<HttpResponse<WorksList>> call = underTest.withDeadline(Deadline.after(Duration.ofMillis(200)))
+                .sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+
+        // THEN
+        CompletionException thrown = assertThrows(CompletionException.class, call::join);
+        assertInstanceOf(OpenOpusDeadlineExceededException.class, thrown.getCause());
+        assertTrue(started.isDone());
+        aborted.get(5, TimeUnit.SECONDS);
+        assertEquals(1, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldAbortExchange_WhenCallerCancels() throws Exception {
+        // GIVEN
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<Void> aborted = new CompletableFuture<>();
+        server.route(WORKS_PATH, stalled(started, aborted));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .adaptiveConcurrencyLimit(4, 8, 16)
+                .tenantScheduling(4, 16)
+                .rateLimit(100, 10)
+                .build());
+        CompletableFuture<HttpResponse<WorksList>> call = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        started.get(5, TimeUnit.SECONDS);
+
+        // WHEN
+        call.cancel(true);
+
+        // THEN
+        aborted.get(5, TimeUnit.SECONDS);
+        assertEquals(0, underTest.metrics().concurrency().inFlight());
+        assertEquals(0, underTest.metrics().tenant(OpenOpusClient.DEFAULT_TENANT).inFlight());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldReuseDeserializedResponse_WhenEtagIsNotModified() {
+        // GIVEN
+        server.route(WORKS_PATH, validated(Payloads.worksList(1, 10), Map.of("ETag", "\"v1\"", "Cache-Control", "max-age=0")));
+        underTest = new OpenOpusHttpClientProxy(options().responseCache(1024 * 1024).withConditionalRevalidation().build());
+        HttpResponse<WorksList> first = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // WHEN
+        HttpResponse<WorksList> revalidated = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertSame(first, revalidated);
+        assertEquals(2, server.hits(WORKS_PATH));
+        assertEquals(1, underTest.metrics().cache().revalidated());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldRevalidateWithLastModified_WhenThereIsNoEtag() {
+        // GIVEN
+        server.route(WORKS_PATH, validated(Payloads.worksList(1, 10),
+                Map.of("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT", "Cache-Control", "no-cache")));
+        underTest = new OpenOpusHttpClientProxy(options().responseCache(1024 * 1024).withConditionalRevalidation().build());
+        HttpResponse<WorksList> first = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // WHEN
+        HttpResponse<WorksList> revalidated = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertSame(first.body(), revalidated.body());
+        assertEquals(2, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldFollowMaxAgeAndNoStore_WhenRevalidationIsEnabled() {
+        // GIVEN
+        String composersPath = "/composer/list/pop.json";
+        server.route(WORKS_PATH, validated(Payloads.worksList(1, 10), Map.of("Cache-Control", "max-age=3600")));
+        server.route(composersPath, validated(Payloads.composersList(2), Map.of("ETag", "\"c1\"", "Cache-Control", "no-store")));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .responseCache(1024 * 1024)
+                .cacheTtl(Endpoint.WORK_LIST, Duration.ofNanos(1))
+                .withConditionalRevalidation()
+                .build());
+
+        // WHEN
+        for (int i = 0; i < 2; i++) {
+            underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+            underTest.sendAsyncGetOpenOpus(composersPath, ComposersList.class).join();
+        }
+
+        // THEN
+        assertEquals(1, server.hits(WORKS_PATH));
+        assertEquals(2, server.hits(composersPath));
+        assertEquals(0, underTest.metrics().cache().revalidated());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldServeStaleResponse_WhileItsRefreshedInBackground() throws InterruptedException {
+        // GIVEN
+        server.route(WORKS_PATH, sequence(json(Payloads.worksList(1, 10)), status(404), json(Payloads.worksList(2, 10))));
+        underTest = new OpenOpusHttpClientProxy(options()
+                .responseCache(1024 * 1024)
+                .cacheTtl(Endpoint.WORK_LIST, Duration.ofMillis(200))
+                .cacheStaleWhileRevalidate(Duration.ofMinutes(1))
+                .build());
+        HttpResponse<WorksList> first = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        Thread.sleep(250);
+
+        // WHEN
+        HttpResponse<WorksList> stale = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        HttpResponse<WorksList> refreshed = stale;
+        long giveUpAt = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (refreshed.body() == first.body() && System.nanoTime() < giveUpAt) {
+            Thread.sleep(10);
+            refreshed = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        }
+
+        // THEN
+        assertSame(first, stale);
+        assertNotSame(first.body(), refreshed.body());
+        // the failed refresh kept the stale response, and the next call started another one
+        assertEquals(3, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldReplayErrorStatus_WhenItsInNegativeCache() {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.errorResponse("No works found")));
+        underTest = new OpenOpusHttpClientProxy(options().negativeCache(10, Duration.ofMinutes(1)).build());
+        CompletionException first = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // WHEN
+        CompletionException replayed = assertThrows(CompletionException.class,
+                () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+
+        // THEN
+        assertInstanceOf(OpenOpusErrorException.class, replayed.getCause());
+        assertEquals(first.getCause().getMessage(), replayed.getCause().getMessage());
+        assertEquals(1, server.hits(WORKS_PATH));
+        assertEquals(new NegativeCacheStats(1, 1, 0, 1), underTest.metrics().negativeCache());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldNotCacheHttpErrorStatus_WhenNegativeCacheIsEnabled() {
+        // GIVEN
+        server.route(WORKS_PATH, status(404));
+        underTest = new OpenOpusHttpClientProxy(options().negativeCache(10, Duration.ofMinutes(1)).build());
+
+        // WHEN
+        for (int i = 0; i < 2; i++) {
+            CompletionException thrown = assertThrows(CompletionException.class,
+                    () -> underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join());
+            assertInstanceOf(OpenOpusHttpStatusException.class, thrown.getCause());
+        }
+
+        // THEN
+        assertEquals(2, server.hits(WORKS_PATH));
+        assertEquals(0, underTest.metrics().negativeCache().entries());
+    }
+
+    @Test
+    void sendAsyncGetOpenOpus_ShouldAnswerFromDiskCache_AfterRestart(@TempDir Path directory) {
+        // GIVEN
+        server.route(WORKS_PATH, json(Payloads.worksList(1, 10)));
+        OpenOpusClientOptions options = options().responseCache(1024 * 1024).diskCache(directory, 1024 * 1024).build();
+        OpenOpusHttpClientProxy beforeRestart = new OpenOpusHttpClientProxy(options);
+        HttpResponse<WorksList> fetched = beforeRestart.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        beforeRestart.closeClient();
+        underTest = new OpenOpusHttpClientProxy(options);
+
+        // WHEN
+        HttpResponse<WorksList> stored = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        HttpResponse<WorksList> cached = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+
+        // THEN
+        assertEquals(fetched.body(), stored.body());
+        assertSame(stored, cached);
+        assertEquals(1, server.hits(WORKS_PATH));
+        assertEquals(1, underTest.metrics().diskCache().hits());
+    }
+
+    private void sendAll(int requests) {
+        List<CompletableFuture<HttpResponse<WorksList>>> calls = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            calls.add(underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class));
+        }
+        for (CompletableFuture<HttpResponse<WorksList>> call : calls) {
+            try {
+                call.join();
+            } catch (CompletionException e) {
+                assertInstanceOf(OpenOpusHttpStatusException.class, e.getCause());
+            }
+        }
+    }
+
+    private OpenOpusClientOptions.OpenOpusClientOptionsBuilder options() {
+        return OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .retryBackoff(Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+}
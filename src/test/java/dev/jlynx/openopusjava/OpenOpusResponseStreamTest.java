@@ -0,0 +1,213 @@
+package dev.jlynx.openopusjava;
+
+import dev.jlynx.openopusjava.exception.OpenOpusErrorException;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.response.stream.ResponseStream;
+import dev.jlynx.openopusjava.response.subtype.Work;
+import dev.jlynx.openopusjava.support.Payloads;
+import dev.jlynx.openopusjava.support.StubOpenOpusServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenOpusResponseStreamTest {
+
+    private static final String WORKS_PATH = "/work/list/composer/1/genre/all.json";
+
+    private StubOpenOpusServer server;
+    private OpenOpusHttpClientProxy underTest;
+
+    @BeforeEach
+    void setUp() {
+        server = StubOpenOpusServer.start();
+        underTest = new OpenOpusHttpClientProxy(OpenOpusClientOptions.builder().baseUrl(server.baseUrl()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.closeClient();
+        server.close();
+    }
+
+    @Test
+    void streamGetOpenOpus_ShouldPublishAllElementsInOrder() throws Exception {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.throttled(Payloads.worksList(1, 300), 4 * 1024, Duration.ofMillis(1)));
+        CollectingSubscriber<Work> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+
+        // WHEN
+        ResponseStream<Work> stream = underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class);
+        stream.subscribe(subscriber);
+
+        // THEN
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertEquals(300, subscriber.received.size());
+        assertEquals(100_001, subscriber.received.get(0).getId());
+        assertEquals(100_300, subscriber.received.get(299).getId());
+        assertTrue(stream.status().join().isSuccess());
+        assertEquals(1, stream.composer().join().orElseThrow().getId());
+    }
+
+    @Test
+    void streamGetOpenOpus_ShouldDeliverNoMoreThanRequested() throws Exception {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.json(Payloads.worksList(1, 50)));
+        CollectingSubscriber<Work> subscriber = new CollectingSubscriber<>(3);
+
+        // WHEN
+        underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class).subscribe(subscriber);
+
+        // THEN
+        Thread.sleep(300);
+        assertEquals(3, subscriber.received.size());
+        assertFalse(subscriber.completion.isDone());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertEquals(50, subscriber.received.size());
+    }
+
+    @Test
+    void streamGetOpenOpus_ShouldSignalStatusError() {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.json(Payloads.errorResponse("Composer not found")));
+        CollectingSubscriber<Work> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+
+        // WHEN
+        ResponseStream<Work> stream = underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class);
+        stream.subscribe(subscriber);
+
+        // THEN
+        Throwable thrown = assertThrows(Exception.class, () -> subscriber.completion.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OpenOpusErrorException.class, thrown.getCause());
+        assertEquals("Composer not found", thrown.getCause().getMessage());
+        assertTrue(subscriber.received.isEmpty());
+        assertTrue(stream.composer().join().isEmpty());
+    }
+
+    @Test
+    void streamGetOpenOpus_ShouldWaitForRateLimitSlot() throws Exception {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.json(Payloads.worksList(1, 5)));
+        underTest.closeClient();
+        underTest = new OpenOpusHttpClientProxy(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .rateLimit(2, 1)
+                .build());
+        underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class).join();
+        CollectingSubscriber<Work> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+
+        // WHEN
+        long start = System.nanoTime();
+        underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class).subscribe(subscriber);
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+
+        // THEN
+        Duration completed = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(completed.toMillis() >= 300, "completed in " + completed);
+        assertEquals(5, subscriber.received.size());
+        assertEquals(1, underTest.metrics().rateLimiting(Endpoint.WORK_LIST).delayed());
+        assertEquals(2, server.hits(WORKS_PATH));
+    }
+
+    @Test
+    void streamGetOpenOpus_ShouldHoldConcurrencySlot_UntilStreamIsCancelled() throws Exception {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.json(Payloads.worksList(1, 50)));
+        underTest.closeClient();
+        underTest = new OpenOpusHttpClientProxy(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .adaptiveConcurrencyLimit(1, 1, 10)
+                .build());
+        CollectingSubscriber<Work> subscriber = new CollectingSubscriber<>(3);
+        underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class).subscribe(subscriber);
+        Thread.sleep(300);
+        assertEquals(3, subscriber.received.size());
+
+        // WHEN
+        CompletableFuture<HttpResponse<WorksList>> queued = underTest.sendAsyncGetOpenOpus(WORKS_PATH, WorksList.class);
+        Thread.sleep(100);
+        int inFlightWhileStreaming = underTest.metrics().concurrency().inFlight();
+        boolean queuedWhileStreaming = !queued.isDone();
+        subscriber.subscription.cancel();
+
+        // THEN
+        assertEquals(1, inFlightWhileStreaming);
+        assertTrue(queuedWhileStreaming);
+        assertEquals(50, queued.get(5, TimeUnit.SECONDS).body().getWorks().size());
+    }
+
+    @Test
+    void streamGetOpenOpus_ShouldSignalError_WhenSubscriberRequestsNonPositiveNumber() {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.throttled(Payloads.worksList(1, 300), 4 * 1024, Duration.ofMillis(1)));
+        CollectingSubscriber<Work> subscriber = new CollectingSubscriber<>(1);
+        underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class).subscribe(subscriber);
+
+        // WHEN
+        subscriber.subscription.request(0);
+
+        // THEN
+        Throwable thrown = assertThrows(Exception.class, () -> subscriber.completion.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+        assertTrue(subscriber.received.size() <= 1);
+    }
+
+    @Test
+    void subscribe_ShouldRejectSecondSubscriber() {
+        // GIVEN
+        server.route(WORKS_PATH, StubOpenOpusServer.json(Payloads.worksList(1, 5)));
+        ResponseStream<Work> stream = underTest.streamGetOpenOpus(WORKS_PATH, "works", Work.class);
+        stream.subscribe(new CollectingSubscriber<>(Long.MAX_VALUE));
+        CollectingSubscriber<Work> second = new CollectingSubscriber<>(Long.MAX_VALUE);
+
+        // WHEN
+        stream.subscribe(second);
+
+        // THEN
+        assertTrue(second.completion.isCompletedExceptionally());
+    }
+
+    private static class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final long initialDemand;
+        private final List<T> received = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+
+        CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(T item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+}
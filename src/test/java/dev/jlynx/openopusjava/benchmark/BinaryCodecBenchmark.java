@@ -0,0 +1,95 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import dev.jlynx.openopusjava.DecodingMode;
+import dev.jlynx.openopusjava.internal.cache.BinaryCodec;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.internal.json.JsonDecoder;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding every response body type from the binary encoding of the disk cache against decoding it from
+ * JSON with the fastest JSON path, the specialized decoders, and measures the encoding.
+ * <p>
+ * The JSON body is stored as it was received, so there's no JSON encoding to compare {@code encodeBinary} with.
+ * The sizes of both forms are reported as the {@code jsonBytes} and {@code binaryBytes} secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryCodecBenchmark {
+
+    @Param({"ComposersList", "GenresList", "WorksList", "WorkDetailResponse", "ListWorksByIdResponse",
+            "RandomWorks", "OmnisearchResponse", "PerformerRolesResponse"})
+    public String responseType;
+
+    @Param({"500"})
+    public int size;
+
+    private Class<? extends OpenOpusResponse> type;
+    private JsonDecoder<? extends OpenOpusResponse> decoder;
+    private byte[] json;
+    private byte[] binary;
+    private OpenOpusResponse body;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException, IOException {
+        type = Class.forName("dev.jlynx.openopusjava.response.body." + responseType).asSubclass(OpenOpusResponse.class);
+        decoder = JsonCodecRegistry.getInstance().decoderFor(type, DecodingMode.SPECIALIZED);
+        json = Payloads.bytesOf(type, size);
+        body = (OpenOpusResponse) parseJson();
+        binary = BinaryCodec.encode(body);
+    }
+
+    /**
+     * The sizes of the body being measured, read by JMH after each iteration and reported next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSizes {
+
+        private BinaryCodecBenchmark benchmark;
+
+        @Setup
+        public void setUp(BinaryCodecBenchmark benchmark) {
+            this.benchmark = benchmark;
+        }
+
+        public long jsonBytes() {
+            return benchmark.json.length;
+        }
+
+        public long binaryBytes() {
+            return benchmark.binary.length;
+        }
+    }
+
+    @Benchmark
+    public Object decodeJson(EncodedSizes sizes) throws IOException {
+        return parseJson();
+    }
+
+    @Benchmark
+    public Object decodeBinary(EncodedSizes sizes) throws IOException {
+        return BinaryCodec.decode(binary, type);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(EncodedSizes sizes) {
+        return BinaryCodec.encode(body);
+    }
+
+    private Object parseJson() throws IOException {
+        try (JsonParser parser = JsonCodecRegistry.getInstance().factory().createParser(json)) {
+            return decoder.decode(parser);
+        }
+    }
+}
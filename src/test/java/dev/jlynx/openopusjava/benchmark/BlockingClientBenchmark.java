@@ -0,0 +1,101 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import dev.jlynx.openopusjava.OpenOpusBlockingClient;
+import dev.jlynx.openopusjava.OpenOpusClient;
+import dev.jlynx.openopusjava.OpenOpusClientOptions;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.support.Payloads;
+import dev.jlynx.openopusjava.support.StubOpenOpusServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link OpenOpusBlockingClient}, which sends each request with {@code HttpClient.send} on the
+ * calling virtual thread, against joining the futures of the {@link OpenOpusClient}, with {@code callers}
+ * virtual threads each making one request to a local stub server.
+ * <p>
+ * Each caller gets its own URI and request coalescing is disabled, so every call is an exchange. The score is
+ * the time for all callers to get their response; run with the GC profiler to compare the allocation per batch
+ * ({@code gc.alloc.rate.norm}):
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="BlockingClientBenchmark -prof gc"
+ * }</pre>
+ * Every concurrent request holds a connection, so {@code ulimit -n} must allow twice as many open files
+ * as {@code callers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingClientBenchmark {
+
+    @Param({"1000", "10000"})
+    public int callers;
+
+    private StubOpenOpusServer server;
+    private OpenOpusClient asyncClient;
+    private OpenOpusBlockingClient blockingClient;
+
+    @Setup
+    public void setUp() {
+        server = StubOpenOpusServer.start();
+        for (int composerId = 1; composerId <= callers; composerId++) {
+            server.route("/work/list/composer/" + composerId + "/genre/all.json",
+                    StubOpenOpusServer.json(Payloads.worksList(composerId, 20)));
+        }
+        OpenOpusClientOptions options = OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .withRequestCoalescingDisabled()
+                .withVirtualThreadExecutor()
+                .build();
+        asyncClient = new OpenOpusClient(options);
+        blockingClient = new OpenOpusBlockingClient(options);
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncClient.close();
+        blockingClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public int asyncJoin() throws Exception {
+        return run(composerId -> asyncClient.listWorks(composerId).join().body());
+    }
+
+    @Benchmark
+    public int blocking() throws Exception {
+        return run(composerId -> blockingClient.listWorks(composerId));
+    }
+
+    private int run(Call call) throws Exception {
+        List<Future<WorksList>> results = new ArrayList<>(callers);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int composerId = 1; composerId <= callers; composerId++) {
+                int caller = composerId;
+                results.add(threads.submit(() -> call.make(caller)));
+            }
+        }
+        int works = 0;
+        for (Future<WorksList> result : results) {
+            works += result.get().getWorks().size();
+        }
+        return works;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+
+        WorksList make(int composerId);
+    }
+}
@@ -0,0 +1,65 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.jlynx.openopusjava.internal.json.JsonBodySubscriber;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.support.BodyFeeder;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding every response body type through an intermediate {@code String}
+ * ({@code ofString} + {@code mapping}) against feeding the received bytes straight to the parser.
+ * <p>
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} of both methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyDecodingBenchmark {
+
+    @Param({"ComposersList", "GenresList", "WorksList", "WorkDetailResponse", "ListWorksByIdResponse",
+            "RandomWorks", "OmnisearchResponse", "PerformerRolesResponse"})
+    public String responseType;
+
+    @Param({"500"})
+    public int size;
+
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        Class<?> type = Class.forName("dev.jlynx.openopusjava.response.body." + responseType);
+        reader = JsonCodecRegistry.getInstance().readerFor(type);
+        body = Payloads.bytesOf(type, size);
+    }
+
+    @Benchmark
+    public Object viaString() {
+        HttpResponse.BodySubscriber<Object> subscriber = HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                (String s) -> {
+                    try {
+                        return reader.readValue(s);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return BodyFeeder.feed(subscriber, body);
+    }
+
+    @Benchmark
+    public Object viaBytes() {
+        return BodyFeeder.feed(new JsonBodySubscriber<>(reader), body);
+    }
+}
@@ -0,0 +1,63 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import dev.jlynx.openopusjava.DecodingMode;
+import dev.jlynx.openopusjava.internal.json.JsonBodySubscriber;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.internal.json.JsonDecoder;
+import dev.jlynx.openopusjava.support.BodyFeeder;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding every response body type with Jackson databind against the specialized decoders.
+ * <p>
+ * {@code decode} measures the steady-state throughput. {@code firstDecode} runs once per fork in a fresh
+ * JVM, so it includes building the databind reader and loading the decoder classes.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class DecodingModeBenchmark {
+
+    @Param({"ComposersList", "GenresList", "WorksList", "WorkDetailResponse", "ListWorksByIdResponse",
+            "RandomWorks", "OmnisearchResponse", "PerformerRolesResponse"})
+    public String responseType;
+
+    @Param({"DATABIND", "SPECIALIZED"})
+    public DecodingMode decodingMode;
+
+    @Param({"500"})
+    public int size;
+
+    private Class<?> type;
+    private JsonDecoder<?> decoder;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        type = Class.forName("dev.jlynx.openopusjava.response.body." + responseType);
+        body = Payloads.bytesOf(type, size);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Object decode() {
+        if (decoder == null) {
+            decoder = JsonCodecRegistry.getInstance().decoderFor(type, decodingMode);
+        }
+        return BodyFeeder.feed(new JsonBodySubscriber<>(decoder), body);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public Object firstDecode() {
+        return BodyFeeder.feed(new JsonBodySubscriber<>(JsonCodecRegistry.getInstance().decoderFor(type, decodingMode)), body);
+    }
+}
@@ -0,0 +1,56 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import dev.jlynx.openopusjava.OpenOpusClient;
+import dev.jlynx.openopusjava.OpenOpusClientOptions;
+import dev.jlynx.openopusjava.ParsingMode;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.support.Payloads;
+import dev.jlynx.openopusjava.support.StubOpenOpusServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of fetching a large {@link WorksList} from a local server that throttles
+ * its output, with the body parsed after it's received and while it's received.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class IncrementalParsingBenchmark {
+
+    @Param({"BUFFERED", "INCREMENTAL"})
+    public ParsingMode parsingMode;
+
+    @Param({"2000"})
+    public int works;
+
+    private StubOpenOpusServer server;
+    private OpenOpusClient client;
+
+    @Setup
+    public void setUp() {
+        server = StubOpenOpusServer.start()
+                .route("/work/list/composer/1/genre/all.json",
+                        StubOpenOpusServer.throttled(Payloads.worksList(1, works), 16 * 1024, Duration.ofMillis(2)));
+        client = new OpenOpusClient(OpenOpusClientOptions.builder()
+                .baseUrl(server.baseUrl())
+                .parsingMode(parsingMode)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public WorksList listWorks() {
+        return client.listWorks(1).join().body();
+    }
+}
@@ -0,0 +1,63 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jlynx.openopusjava.internal.json.JsonBodyHandler;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.support.BodyFeeder;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a response with a freshly created {@link ObjectMapper}, which is what
+ * {@link JsonBodyHandler} used to do for every response, against the shared readers.
+ * <p>
+ * Run with the GC profiler to see the per-response allocation ({@code gc.alloc.rate.norm}):
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="JsonBodyHandlerBenchmark -prof gc"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBodyHandlerBenchmark {
+
+    @Param({"ComposersList", "WorksList"})
+    public String responseType;
+
+    @Param({"20", "500"})
+    public int size;
+
+    private Class<?> type;
+    private byte[] body;
+    private JsonBodyHandler<?> handler;
+
+    @Setup
+    public void setUp() {
+        type = "ComposersList".equals(responseType) ? ComposersList.class : WorksList.class;
+        body = Payloads.bytesOf(type, size);
+        handler = new JsonBodyHandler<>(type);
+    }
+
+    @Benchmark
+    public Object mapperPerResponse() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper.readValue(new String(body, StandardCharsets.UTF_8), type);
+    }
+
+    @Benchmark
+    public Object sharedReader() {
+        HttpResponse.BodySubscriber<?> subscriber = handler.apply(BodyFeeder.ok());
+        return BodyFeeder.feed(subscriber, body);
+    }
+}
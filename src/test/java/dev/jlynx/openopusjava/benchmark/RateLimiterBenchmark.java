@@ -0,0 +1,72 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import dev.jlynx.openopusjava.internal.resilience.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of slot reservations by four threads sharing one limiter, with a rate high enough
+ * that the reservations rarely wait.
+ * <p>
+ * {@code gcra} reserves with the compare-and-set of the lock-free {@link RateLimiter}; {@code synchronizedBucket}
+ * takes a token from the usual refilled token bucket behind a lock, for comparison:
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="RateLimiterBenchmark"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final double PERMITS_PER_SECOND = 1e9;
+    private static final int BURST = 1_000;
+
+    private RateLimiter gcra;
+    private SynchronizedTokenBucket synchronizedBucket;
+
+    @Setup
+    public void setUp() {
+        gcra = new RateLimiter(PERMITS_PER_SECOND, BURST);
+        synchronizedBucket = new SynchronizedTokenBucket(PERMITS_PER_SECOND, BURST);
+    }
+
+    @Benchmark
+    public long gcra() {
+        return gcra.reserve();
+    }
+
+    @Benchmark
+    public long synchronizedBucket() {
+        return synchronizedBucket.reserve();
+    }
+
+    private static final class SynchronizedTokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        SynchronizedTokenBucket(double permitsPerSecond, int burst) {
+            this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = burst;
+            this.tokens = burst;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.jlynx.openopusjava.benchmark;
+
+import dev.jlynx.openopusjava.internal.cache.WTinyLfuCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of concurrent cache reads, with the keys drawn from a Zipf distribution over
+ * twice as many keys as fit in the cache.
+ * <p>
+ * {@code wTinyLfu} reads the lock-free {@link WTinyLfuCache}; {@code synchronizedLru} reads an access-ordered
+ * {@link LinkedHashMap} behind a lock, the usual minimal LRU cache, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCacheBenchmark {
+
+    private static final int CACHED_KEYS = 4_096;
+    private static final int ENTRY_BYTES = 2_048;
+    private static final int SAMPLES = 1 << 16;
+
+    private WTinyLfuCache<Integer, Object> wTinyLfu;
+    private Map<Integer, Object> synchronizedLru;
+    private Integer[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next = new SplittableRandom().nextInt(SAMPLES);
+
+        int advance() {
+            return next = (next + 1) & (SAMPLES - 1);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        wTinyLfu = new WTinyLfuCache<>((long) CACHED_KEYS * ENTRY_BYTES);
+        synchronizedLru = Collections.synchronizedMap(new LinkedHashMap<>(CACHED_KEYS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object> eldest) {
+                return size() > CACHED_KEYS;
+            }
+        });
+        keys = zipfKeys(2 * CACHED_KEYS, SAMPLES, new SplittableRandom(42));
+        Object value = new Object();
+        for (Integer key : keys) {
+            if (wTinyLfu.get(key) == null) {
+                wTinyLfu.put(key, value, ENTRY_BYTES, Duration.ofHours(1));
+            }
+            synchronizedLru.putIfAbsent(key, value);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object wTinyLfu(Cursor cursor) {
+        return wTinyLfu.get(keys[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object synchronizedLru(Cursor cursor) {
+        return synchronizedLru.get(keys[cursor.advance()]);
+    }
+
+    private static Integer[] zipfKeys(int distinct, int samples, SplittableRandom random) {
+        double[] cumulative = new double[distinct];
+        double sum = 0;
+        for (int i = 0; i < distinct; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        Integer[] keys = new Integer[samples];
+        for (int i = 0; i < samples; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            keys[i] = index >= 0 ? index : -index - 1;
+        }
+        return keys;
+    }
+}
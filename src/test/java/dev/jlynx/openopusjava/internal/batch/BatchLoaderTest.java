@@ -0,0 +1,113 @@
+package dev.jlynx.openopusjava.internal.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    private final List<List<Integer>> dispatched = new CopyOnWriteArrayList<>();
+    private final Function<List<Integer>, CompletableFuture<Map<Integer, String>>> echo = keys -> {
+        dispatched.add(keys);
+        return CompletableFuture.completedFuture(keys.stream()
+                .filter(key -> key > 0)
+                .collect(Collectors.toMap(key -> key, key -> "value" + key)));
+    };
+
+    @Test
+    void load_ShouldBatchKeysLoadedWithinWindow_AndCollapseDuplicates() {
+        // GIVEN
+        BatchLoader<Integer, String> underTest = loader(Duration.ofMillis(50), 10, echo);
+
+        // WHEN
+        CompletableFuture<String> first = underTest.load(3);
+        CompletableFuture<String> second = underTest.load(1);
+        CompletableFuture<String> duplicate = underTest.load(3);
+
+        // THEN
+        assertEquals("value3", first.join());
+        assertEquals("value1", second.join());
+        assertEquals("value3", duplicate.join());
+        assertEquals(List.of(List.of(3, 1)), dispatched);
+        assertEquals(3, underTest.loads());
+        assertEquals(2, underTest.keys());
+    }
+
+    @Test
+    void load_ShouldDispatchAtOnce_WhenBatchIsFull() {
+        // GIVEN
+        BatchLoader<Integer, String> underTest = loader(Duration.ofHours(1), 2, echo);
+
+        // WHEN
+        CompletableFuture<String> first = underTest.load(1);
+        CompletableFuture<String> second = underTest.load(2);
+
+        // THEN
+        assertEquals("value1", first.join());
+        assertEquals("value2", second.join());
+        assertEquals(List.of(List.of(1, 2)), dispatched);
+    }
+
+    @Test
+    void load_ShouldFailOnlyCallersOfMissingKey() {
+        // GIVEN
+        BatchLoader<Integer, String> underTest = loader(Duration.ZERO, 10, echo);
+
+        // WHEN
+        CompletableFuture<String> missing = underTest.load(-1);
+        CompletableFuture<String> found = underTest.load(1);
+
+        // THEN
+        CompletionException thrown = assertThrows(CompletionException.class, missing::join);
+        assertInstanceOf(NoSuchElementException.class, thrown.getCause());
+        assertEquals("value1", found.join());
+    }
+
+    @Test
+    void load_ShouldFailAllCallers_WhenBatchFails() {
+        // GIVEN
+        IllegalStateException failure = new IllegalStateException("down");
+        BatchLoader<Integer, String> underTest = loader(Duration.ZERO, 10,
+                keys -> CompletableFuture.failedFuture(new CompletionException(failure)));
+
+        // WHEN
+        CompletableFuture<String> first = underTest.load(1);
+        CompletableFuture<String> second = underTest.load(2);
+
+        // THEN
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+    }
+
+    @Test
+    void load_ShouldNotAffectOtherCallers_WhenOneCancels() {
+        // GIVEN
+        BatchLoader<Integer, String> underTest = loader(Duration.ofMillis(50), 10, echo);
+        CompletableFuture<String> cancelled = underTest.load(1);
+        CompletableFuture<String> other = underTest.load(1);
+
+        // WHEN
+        cancelled.cancel(true);
+
+        // THEN
+        assertEquals("value1", other.join());
+    }
+
+    private static BatchLoader<Integer, String> loader(
+            Duration window,
+            int maxBatchSize,
+            Function<List<Integer>, CompletableFuture<Map<Integer, String>>> batchFunction
+    ) {
+        return new BatchLoader<>(window, maxBatchSize, batchFunction, key -> new NoSuchElementException("no " + key));
+    }
+}
@@ -0,0 +1,106 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import com.fasterxml.jackson.core.JsonParser;
+import dev.jlynx.openopusjava.DecodingMode;
+import dev.jlynx.openopusjava.internal.json.JsonCodecRegistry;
+import dev.jlynx.openopusjava.response.body.ComposersList;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.Epoch;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusRequestMetadata;
+import dev.jlynx.openopusjava.response.subtype.OpenOpusResponse.OpenOpusResponseStatus;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+
+    private static final String PORTRAIT = "https://assets.openopus.org/portraits/12091447-1568084857.jpg";
+
+    @ParameterizedTest
+    @MethodSource("responseBodyTypes")
+    void decode_ShouldReturnBodyItWasEncodedFrom_InLessSpaceThanJson(Class<? extends OpenOpusResponse> type) throws IOException {
+        // GIVEN
+        byte[] json = Payloads.bytesOf(type, 200);
+        OpenOpusResponse body = decodeJson(type, json);
+
+        // WHEN
+        byte[] encoded = BinaryCodec.encode(body);
+        OpenOpusResponse decoded = BinaryCodec.decode(encoded, type);
+
+        // THEN
+        assertEquals(body.toString(), decoded.toString());
+        assertTrue(encoded.length < json.length);
+    }
+
+    @Test
+    void decode_ShouldKeepNullsDatesAndEnums() throws IOException {
+        // GIVEN
+        ComposersList body = new ComposersList(
+                new OpenOpusResponseStatus("1.2.3", true, null, "db", 2, 0.0042, "openopus"),
+                new OpenOpusRequestMetadata("composers", List.of("b"), null, "-3"),
+                Arrays.asList(
+                        new Composer(87, "Bach", "Johann Sebastian Bach", LocalDate.of(1685, 3, 31), LocalDate.of(1750, 7, 28),
+                                Epoch.BAROQUE, PORTRAIT),
+                        new Composer(-1, null, "", LocalDate.of(-44, 12, 1), null, null, null),
+                        null
+                )
+        );
+
+        // WHEN
+        ComposersList decoded = BinaryCodec.decode(BinaryCodec.encode(body), ComposersList.class);
+
+        // THEN
+        assertEquals(body, decoded);
+        assertEquals(-3, decoded.getRequest().orElseThrow().getOffset().orElseThrow());
+        assertNull(decoded.getComposers().get(2));
+    }
+
+    @Test
+    void encode_ShouldWriteRepeatedStringOnce() {
+        // GIVEN
+        Composer bach = new Composer(87, "Bach", "Johann Sebastian Bach", LocalDate.of(1685, 3, 31), null, Epoch.BAROQUE, PORTRAIT);
+        Composer sameName = new Composer(88, "Bach", "Johann Christian Bach", LocalDate.of(1735, 9, 5), null, Epoch.CLASSICAL, PORTRAIT);
+
+        // WHEN
+        byte[] encoded = BinaryCodec.encode(new ComposersList(null, null, List.of(bach, sameName)));
+
+        // THEN
+        String text = new String(encoded, StandardCharsets.ISO_8859_1);
+        assertEquals(text.indexOf(PORTRAIT), text.lastIndexOf(PORTRAIT));
+    }
+
+    @Test
+    void decode_ShouldFail_WhenBodyIsOfAnotherTypeOrTruncated() throws IOException {
+        // GIVEN
+        byte[] json = Payloads.bytesOf(WorksList.class, 10);
+        byte[] encoded = BinaryCodec.encode(decodeJson(WorksList.class, json));
+
+        // WHEN
+        // THEN
+        assertThrows(IOException.class, () -> BinaryCodec.decode(encoded, ComposersList.class));
+        assertThrows(IOException.class, () -> BinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1), WorksList.class));
+        assertThrows(IOException.class, () -> BinaryCodec.decode(json, WorksList.class));
+    }
+
+    private static <T> T decodeJson(Class<T> type, byte[] json) throws IOException {
+        JsonCodecRegistry codecs = JsonCodecRegistry.getInstance();
+        try (JsonParser parser = codecs.factory().createParser(json)) {
+            return codecs.decoderFor(type, DecodingMode.SPECIALIZED).decode(parser);
+        }
+    }
+
+    private static Iterable<Class<?>> responseBodyTypes() {
+        return JsonCodecRegistry.RESPONSE_BODY_TYPES;
+    }
+}
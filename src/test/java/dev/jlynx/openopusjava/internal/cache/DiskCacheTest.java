@@ -0,0 +1,168 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.metrics.DiskCacheStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void get_ShouldReturnStoredValue_AfterReopening() throws IOException {
+        // GIVEN
+        try (DiskCache first = cache(MAX_BYTES)) {
+            first.put("a", bytes("alpha"), TTL);
+            first.put("b", bytes("beta"), TTL);
+            first.put("a", bytes("alpha2"), TTL);
+        }
+        clock.addAndGet(1_000);
+
+        // WHEN
+        try (DiskCache underTest = cache(MAX_BYTES)) {
+            DiskCache.Hit hit = underTest.get("a");
+
+            // THEN
+            assertArrayEquals(bytes("alpha2"), hit.value());
+            assertEquals(TTL.minusSeconds(1), hit.timeToLive());
+            assertArrayEquals(bytes("beta"), underTest.get("b").value());
+            assertNull(underTest.get("c"));
+            assertEquals(2, underTest.stats().entries());
+        }
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenValueExpired() throws IOException {
+        // GIVEN
+        try (DiskCache underTest = cache(MAX_BYTES)) {
+            underTest.put("a", bytes("alpha"), TTL);
+
+            // WHEN
+            clock.addAndGet(TTL.toMillis());
+
+            // THEN
+            assertNull(underTest.get("a"));
+        }
+    }
+
+    @Test
+    void open_ShouldCutOffTornRecord_AndKeepEarlierOnes() throws IOException {
+        // GIVEN
+        try (DiskCache first = cache(MAX_BYTES)) {
+            first.put("a", bytes("alpha"), TTL);
+            first.put("b", bytes("beta"), TTL);
+        }
+        try (FileChannel log = FileChannel.open(directory.resolve(DiskCache.LOG_FILE), StandardOpenOption.WRITE)) {
+            log.truncate(log.size() - 2);
+        }
+
+        // WHEN
+        try (DiskCache underTest = cache(MAX_BYTES)) {
+            DiskCache.Hit torn = underTest.get("b");
+            underTest.put("c", bytes("gamma"), TTL);
+
+            // THEN
+            assertNull(torn);
+            assertArrayEquals(bytes("alpha"), underTest.get("a").value());
+            assertEquals(1, underTest.stats().corruptRecords());
+        }
+        try (DiskCache reopened = cache(MAX_BYTES)) {
+            assertArrayEquals(bytes("gamma"), reopened.get("c").value());
+        }
+    }
+
+    @Test
+    void get_ShouldSkipRecord_WhenItFailsCrcCheck() throws IOException {
+        // GIVEN
+        try (DiskCache first = cache(MAX_BYTES)) {
+            first.put("a", bytes("alpha"), TTL);
+        }
+        try (FileChannel log = FileChannel.open(directory.resolve(DiskCache.LOG_FILE), StandardOpenOption.WRITE)) {
+            log.write(ByteBuffer.wrap(bytes("A")), log.size() - 5);
+        }
+
+        // WHEN
+        try (DiskCache underTest = cache(MAX_BYTES)) {
+            DiskCache.Hit hit = underTest.get("a");
+
+            // THEN
+            assertNull(hit);
+            assertEquals(1, underTest.stats().corruptRecords());
+        }
+    }
+
+    @Test
+    void compact_ShouldDropReplacedAndExpiredRecords_AndKeepLiveOnes() throws IOException {
+        // GIVEN
+        try (DiskCache underTest = cache(MAX_BYTES)) {
+            underTest.put("a", bytes("alpha"), TTL);
+            underTest.put("short", bytes("lived"), Duration.ofSeconds(1));
+            underTest.put("a", bytes("alpha2"), TTL);
+            underTest.put("b", bytes("beta"), TTL);
+            long before = underTest.stats().bytes();
+            clock.addAndGet(1_000);
+
+            // WHEN
+            underTest.compact();
+
+            // THEN
+            DiskCacheStats stats = underTest.stats();
+            assertEquals(1, stats.compactions());
+            assertEquals(2, stats.entries());
+            assertTrue(stats.bytes() < before);
+            assertArrayEquals(bytes("alpha2"), underTest.get("a").value());
+            assertArrayEquals(bytes("beta"), underTest.get("b").value());
+        }
+        try (DiskCache reopened = cache(MAX_BYTES)) {
+            assertArrayEquals(bytes("alpha2"), reopened.get("a").value());
+            assertNull(reopened.get("short"));
+        }
+    }
+
+    @Test
+    void put_ShouldCompactOldestRecordsAway_WhenLogOutgrowsMaxBytes() throws IOException {
+        // GIVEN
+        long maxBytes = 4 * 1024;
+        byte[] value = new byte[500];
+
+        // WHEN
+        try (DiskCache underTest = cache(maxBytes)) {
+            for (int i = 0; i < 20; i++) {
+                underTest.put("key" + i, value, TTL);
+            }
+
+            // THEN
+            DiskCacheStats stats = underTest.stats();
+            assertTrue(stats.compactions() > 0);
+            assertTrue(stats.bytes() <= maxBytes);
+            assertNull(underTest.get("key0"));
+            assertArrayEquals(value, underTest.get("key19").value());
+        }
+    }
+
+    private DiskCache cache(long maxBytes) {
+        // compacts on the writing thread
+        return new DiskCache(directory, maxBytes, Runnable::run, clock::get);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
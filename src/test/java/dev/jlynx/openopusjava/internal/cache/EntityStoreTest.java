@@ -0,0 +1,55 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.response.body.OmnisearchResponse;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.Epoch;
+import dev.jlynx.openopusjava.response.subtype.Genre;
+import dev.jlynx.openopusjava.response.subtype.SearchEntry;
+import dev.jlynx.openopusjava.response.subtype.Work;
+import dev.jlynx.openopusjava.response.subtype.WorkSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityStoreTest {
+
+    private final EntityStore underTest = new EntityStore(100, Duration.ofHours(1));
+
+    @Test
+    void absorb_ShouldStoreWorksWithTheirComposer_FromSearchResults() {
+        // GIVEN
+        Composer composer = composer(87, LocalDate.of(1685, 3, 21));
+        Work work = new Work(482, "Goldberg Variations", "", null, "1", "0", Genre.KEYBOARD);
+        OmnisearchResponse response = new OmnisearchResponse(null, null,
+                List.of(new SearchEntry(composer, work), new SearchEntry(composer(145, null), null)), null);
+
+        // WHEN
+        underTest.absorb(response);
+
+        // THEN
+        assertEquals(new WorkSummary(482, "Goldberg Variations", "", Genre.KEYBOARD, true, false, composer), underTest.work(482));
+        assertEquals(composer, underTest.composer(87));
+        assertNotNull(underTest.composer(145));
+        assertNull(underTest.work(1));
+    }
+
+    @Test
+    void absorb_ShouldKeepKnownFields_WhenComposerIsSeenPartially() {
+        // GIVEN
+        underTest.absorb(new OmnisearchResponse(null, null, List.of(new SearchEntry(composer(87, LocalDate.of(1685, 3, 21)), null)), null));
+
+        // WHEN
+        underTest.absorb(new OmnisearchResponse(null, null, List.of(new SearchEntry(composer(87, null), null)), null));
+
+        // THEN
+        assertEquals(LocalDate.of(1685, 3, 21), underTest.composer(87).getBirth());
+    }
+
+    private static Composer composer(int id, LocalDate birth) {
+        return new Composer(id, "Bach", "Johann Sebastian Bach", birth, null, Epoch.BAROQUE, null);
+    }
+}
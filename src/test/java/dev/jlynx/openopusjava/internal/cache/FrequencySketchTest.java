@@ -0,0 +1,44 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySketchTest {
+
+    @Test
+    void frequency_ShouldCountIncrements_UpToFifteen() {
+        // GIVEN
+        FrequencySketch underTest = new FrequencySketch(1_024);
+
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            underTest.increment("five");
+        }
+        for (int i = 0; i < 20; i++) {
+            underTest.increment("many");
+        }
+
+        // THEN
+        assertEquals(5, underTest.frequency("five"));
+        assertEquals(15, underTest.frequency("many"));
+        assertEquals(0, underTest.frequency("never"));
+    }
+
+    @Test
+    void increment_ShouldHalveCounters_WhenSampleSizeIsReached() {
+        // GIVEN
+        FrequencySketch underTest = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            underTest.increment("key");
+        }
+
+        // WHEN
+        for (int i = 0; i < 160; i++) {
+            underTest.increment(i);
+        }
+
+        // THEN
+        assertTrue(underTest.frequency("key") <= 4);
+    }
+}
@@ -0,0 +1,207 @@
+package dev.jlynx.openopusjava.internal.cache;
+
+import dev.jlynx.openopusjava.metrics.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WTinyLfuCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void get_ShouldReturnPutValue() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+
+        // WHEN
+        underTest.put("key", "value", 10, TTL);
+
+        // THEN
+        assertEquals("value", underTest.get("key"));
+        assertNull(underTest.get("other"));
+        assertEquals(new CacheStats(1, 1, 0, 1, 10, 0), underTest.stats());
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenEntryExpired() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+        underTest.put("key", "value", 10, TTL);
+
+        // WHEN
+        clock.addAndGet(TTL.toNanos());
+
+        // THEN
+        assertNull(underTest.get("key"));
+    }
+
+    @Test
+    void getStale_ShouldReturnExpiredEntry_WithoutCountingRead() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+        underTest.put("key", "value", 10, TTL);
+
+        // WHEN
+        clock.addAndGet(TTL.toNanos());
+
+        // THEN
+        assertEquals("value", underTest.getStale("key"));
+        assertNull(underTest.getStale("other"));
+        assertEquals(new CacheStats(0, 0, 0, 1, 10, 0), underTest.stats());
+    }
+
+    @Test
+    void refresh_ShouldMakeExpiredEntryFreshAgain_WhenKeyStillMapsToValue() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+        String value = "value";
+        underTest.put("key", value, 10, TTL);
+        clock.addAndGet(TTL.toNanos());
+
+        // WHEN
+        boolean refreshed = underTest.refresh("key", value, TTL);
+        boolean replaced = underTest.refresh("key", "other", TTL);
+
+        // THEN
+        assertTrue(refreshed);
+        assertFalse(replaced);
+        assertSame(value, underTest.get("key"));
+        assertEquals(new CacheStats(1, 0, 0, 1, 10, 1), underTest.stats());
+    }
+
+    @Test
+    void lookup_ShouldReturnStaleValue_AndPickOneReloader_UntilStalePeriodEnds() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+        underTest.put("key", "value", 10, TTL, TTL, 0);
+        WTinyLfuCache.Lookup<String> fresh = underTest.lookup("key", 0);
+        clock.addAndGet(TTL.toNanos());
+
+        // WHEN
+        WTinyLfuCache.Lookup<String> first = underTest.lookup("key", 0);
+        WTinyLfuCache.Lookup<String> second = underTest.lookup("key", 0);
+        underTest.endReload("key", "value");
+        WTinyLfuCache.Lookup<String> afterFailedReload = underTest.lookup("key", 0);
+        clock.addAndGet(TTL.toNanos());
+
+        // THEN
+        assertEquals(new WTinyLfuCache.Lookup<>("value", false), fresh);
+        assertEquals(new WTinyLfuCache.Lookup<>("value", true), first);
+        assertEquals(new WTinyLfuCache.Lookup<>("value", false), second);
+        assertEquals(new WTinyLfuCache.Lookup<>("value", true), afterFailedReload);
+        assertNull(underTest.lookup("key", 0));
+    }
+
+    @Test
+    void lookup_ShouldPickReloaderEarly_WhenLoadTimeOutweighsTimeUntilStale() {
+        // GIVEN
+        double[] random = {0.5};
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, 100, clock::get, () -> random[0]);
+        long loadNanos = TTL.toNanos() / 10;
+        underTest.put("key", "value", 10, TTL, Duration.ZERO, loadNanos);
+
+        // WHEN
+        clock.addAndGet(TTL.toNanos() - loadNanos);
+        WTinyLfuCache.Lookup<String> unlikely = underTest.lookup("key", 1);
+        random[0] = 0.9;
+        WTinyLfuCache.Lookup<String> likely = underTest.lookup("key", 1);
+
+        // THEN
+        // -ln(0.5) < 1 <= -ln(0.1)
+        assertFalse(unlikely.reload());
+        assertTrue(likely.reload());
+        assertFalse(underTest.lookup("key", 1).reload());
+    }
+
+    @Test
+    void put_ShouldReplaceValueAndWeight() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+        underTest.put("key", "old", 100, TTL);
+
+        // WHEN
+        underTest.put("key", "new", 30, TTL);
+
+        // THEN
+        assertEquals("new", underTest.get("key"));
+        assertEquals(30, underTest.weightedSize());
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    void put_ShouldNotCache_WhenTtlIsZeroOrEntryIsHeavierThanCache() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+
+        // WHEN
+        underTest.put("uncached", "value", 10, Duration.ZERO);
+        underTest.put("heavy", "value", 1_001, TTL);
+
+        // THEN
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    void put_ShouldKeepWeightWithinMaximum() {
+        // GIVEN
+        WTinyLfuCache<Integer, String> underTest = new WTinyLfuCache<>(10_000, clock::get);
+
+        // WHEN
+        for (int i = 0; i < 1_000; i++) {
+            underTest.put(i, "value", 50 + i % 200, TTL);
+            assertTrue(underTest.weightedSize() <= 10_000);
+        }
+
+        // THEN
+        assertTrue(underTest.stats().evictions() > 0);
+    }
+
+    @Test
+    void put_ShouldKeepFrequentEntries_WhenScanPassesThrough() {
+        // GIVEN
+        WTinyLfuCache<Integer, String> underTest = new WTinyLfuCache<>(100 * 100, clock::get);
+        for (int hot = 0; hot < 50; hot++) {
+            underTest.put(hot, "hot", 100, TTL);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                underTest.get(hot);
+            }
+        }
+
+        // WHEN
+        for (int scanned = 1_000; scanned < 11_000; scanned++) {
+            underTest.get(scanned);
+            underTest.put(scanned, "scanned", 100, TTL);
+        }
+
+        // THEN
+        int retained = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (underTest.get(hot) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "retained " + retained + " of 50 hot entries");
+    }
+
+    @Test
+    void invalidate_ShouldRemoveEntry() {
+        // GIVEN
+        WTinyLfuCache<String, String> underTest = new WTinyLfuCache<>(1_000, clock::get);
+        underTest.put("key", "value", 10, TTL);
+
+        // WHEN
+        underTest.invalidate("key");
+
+        // THEN
+        assertNull(underTest.get("key"));
+        assertEquals(0, underTest.weightedSize());
+    }
+}
@@ -0,0 +1,90 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import dev.jlynx.openopusjava.metrics.DecodingStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodingExecutorTest {
+
+    @Test
+    void offloads_ShouldCompareBodySizeWithThreshold() {
+        // GIVEN
+        DecodingExecutor underTest = DecodingExecutor.of(Runnable::run, 1024);
+
+        // WHEN & THEN
+        assertFalse(underTest.offloads(1023));
+        assertTrue(underTest.offloads(1024));
+    }
+
+    @Test
+    void stats_ShouldCountQueuedAndActiveDecodings() throws Exception {
+        // GIVEN
+        Queue<Runnable> pending = new ArrayDeque<>();
+        DecodingExecutor underTest = DecodingExecutor.of(pending::add, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        underTest.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        underTest.execute(() -> { });
+
+        // WHEN
+        DecodingStats queued = underTest.stats();
+        Thread worker = Thread.ofVirtual().start(pending.poll());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        DecodingStats running = underTest.stats();
+        release.countDown();
+        worker.join();
+        pending.poll().run();
+
+        // THEN
+        assertEquals(new DecodingStats(2, 2, 0), queued);
+        assertEquals(new DecodingStats(2, 1, 1), running);
+        assertEquals(new DecodingStats(2, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void execute_ShouldNotCountRejectedDecoding() {
+        // GIVEN
+        DecodingExecutor underTest = DecodingExecutor.of(task -> {
+            throw new RejectedExecutionException();
+        }, 0);
+
+        // WHEN
+        assertThrows(RejectedExecutionException.class, () -> underTest.execute(() -> { }));
+
+        // THEN
+        assertEquals(new DecodingStats(0, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void close_ShouldShutDownOwnedPoolOnly() {
+        // GIVEN
+        DecodingExecutor pool = DecodingExecutor.newPool(1, 0);
+        DecodingExecutor supplied = DecodingExecutor.of(Runnable::run, 0);
+
+        // WHEN
+        pool.close();
+        supplied.close();
+
+        // THEN
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+        assertDoesNotThrow(() -> supplied.execute(() -> { }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jlynx.openopusjava.support.BodyFeeder;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalJsonBodySubscriberTest {
+
+    @ParameterizedTest
+    @MethodSource("responseBodyTypes")
+    void onComplete_ShouldDecodeSameBodyAsStringMapping(Class<?> type) throws Exception {
+        // GIVEN
+        byte[] body = Payloads.bytesOf(type, 3_000);
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        Object expected = mapper.readValue(new String(body, StandardCharsets.UTF_8), type);
+
+        // WHEN
+        Object decoded = BodyFeeder.feed(
+                new IncrementalJsonBodySubscriber<>(JsonCodecRegistry.getInstance().readerFor(type)), body);
+
+        // THEN
+        assertEquals(expected.toString(), decoded.toString());
+    }
+
+    @Test
+    void onNext_ShouldFailBody_WhenChunkIsNotJson() {
+        // GIVEN
+        byte[] body = "<html>Bad Gateway</html>".getBytes(StandardCharsets.UTF_8);
+        Exception thrown = null;
+
+        // WHEN
+        try {
+            BodyFeeder.feed(new IncrementalJsonBodySubscriber<>(JsonCodecRegistry.getInstance().readerFor(Object.class)), body);
+        } catch (Exception ex) {
+            thrown = ex;
+        }
+
+        // THEN
+        assertInstanceOf(CompletionException.class, thrown);
+        assertInstanceOf(UncheckedIOException.class, thrown.getCause());
+    }
+
+    private static Iterable<Class<?>> responseBodyTypes() {
+        return JsonCodecRegistry.RESPONSE_BODY_TYPES;
+    }
+}
@@ -0,0 +1,120 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jlynx.openopusjava.metrics.DecodingStats;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.support.BodyFeeder;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonBodySubscriberTest {
+
+    private static final JsonDecoder<WorksList> WORKS_LIST = JsonDecoder.of(JsonCodecRegistry.getInstance().readerFor(WorksList.class));
+
+    private final AtomicReference<String> decodingThread = new AtomicReference<>();
+
+    @ParameterizedTest
+    @MethodSource("responseBodyTypes")
+    void onComplete_ShouldDecodeSameBodyAsStringMapping(Class<?> type) throws Exception {
+        // GIVEN
+        byte[] body = Payloads.bytesOf(type, 3_000);
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        Object expected = mapper.readValue(new String(body, StandardCharsets.UTF_8), type);
+
+        // WHEN
+        Object decoded = BodyFeeder.feed(new JsonBodySubscriber<>(JsonCodecRegistry.getInstance().readerFor(type)), body);
+
+        // THEN
+        assertEquals(expected.toString(), decoded.toString());
+    }
+
+    @Test
+    void onComplete_ShouldCompleteExceptionally_WhenBodyIsNotJson() {
+        // GIVEN
+        byte[] body = "<html>Bad Gateway</html>".getBytes(StandardCharsets.UTF_8);
+        Exception thrown = null;
+
+        // WHEN
+        try {
+            BodyFeeder.feed(new JsonBodySubscriber<>(JsonCodecRegistry.getInstance().readerFor(Object.class)), body);
+        } catch (Exception ex) {
+            thrown = ex;
+        }
+
+        // THEN
+        assertInstanceOf(CompletionException.class, thrown);
+        assertInstanceOf(UncheckedIOException.class, thrown.getCause());
+    }
+
+    @Test
+    void onComplete_ShouldDecodeOnDecodingExecutor_WhenBodyIsLarge() {
+        // GIVEN
+        byte[] body = Payloads.worksList(1, 500).getBytes(StandardCharsets.UTF_8);
+        DecodingExecutor decodingExecutor = DecodingExecutor.newPool(1, 64 * 1024);
+        JsonDecoder<WorksList> threadRecording = parser -> {
+            decodingThread.set(Thread.currentThread().getName());
+            return WORKS_LIST.decode(parser);
+        };
+
+        // WHEN
+        WorksList decoded = BodyFeeder.feed(new JsonBodySubscriber<>(threadRecording, decodingExecutor), body);
+        decodingExecutor.close();
+
+        // THEN
+        assertEquals(500, decoded.getWorks().size());
+        assertTrue(decodingThread.get().startsWith("open-opus-decoder-"));
+        assertEquals(1, decodingExecutor.stats().offloaded());
+    }
+
+    @Test
+    void onComplete_ShouldDecodeInline_WhenBodyIsSmall() {
+        // GIVEN
+        byte[] body = Payloads.worksList(1, 5).getBytes(StandardCharsets.UTF_8);
+        DecodingExecutor decodingExecutor = DecodingExecutor.newPool(1, 64 * 1024);
+        JsonDecoder<WorksList> threadRecording = parser -> {
+            decodingThread.set(Thread.currentThread().getName());
+            return WORKS_LIST.decode(parser);
+        };
+
+        // WHEN
+        WorksList decoded = BodyFeeder.feed(new JsonBodySubscriber<>(threadRecording, decodingExecutor), body);
+        decodingExecutor.close();
+
+        // THEN
+        assertEquals(5, decoded.getWorks().size());
+        assertEquals(Thread.currentThread().getName(), decodingThread.get());
+        assertEquals(0, decodingExecutor.stats().offloaded());
+    }
+
+    @Test
+    void onComplete_ShouldDecodeInline_WhenDecodingExecutorRejects() {
+        // GIVEN
+        byte[] body = Payloads.worksList(1, 5).getBytes(StandardCharsets.UTF_8);
+        DecodingExecutor rejecting = DecodingExecutor.of(task -> {
+            throw new RejectedExecutionException();
+        }, 0);
+
+        // WHEN
+        WorksList decoded = BodyFeeder.feed(new JsonBodySubscriber<>(WORKS_LIST, rejecting), body);
+
+        // THEN
+        assertEquals(5, decoded.getWorks().size());
+        assertEquals(new DecodingStats(0, 0, 0), rejecting.stats());
+    }
+
+    private static Iterable<Class<?>> responseBodyTypes() {
+        return JsonCodecRegistry.RESPONSE_BODY_TYPES;
+    }
+}
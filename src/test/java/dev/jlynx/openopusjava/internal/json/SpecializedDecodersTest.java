@@ -0,0 +1,115 @@
+package dev.jlynx.openopusjava.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import dev.jlynx.openopusjava.DecodingMode;
+import dev.jlynx.openopusjava.response.body.WorksList;
+import dev.jlynx.openopusjava.response.subtype.Composer;
+import dev.jlynx.openopusjava.response.subtype.Epoch;
+import dev.jlynx.openopusjava.support.BodyFeeder;
+import dev.jlynx.openopusjava.support.Payloads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecializedDecodersTest {
+
+    private final JsonCodecRegistry codecs = JsonCodecRegistry.getInstance();
+
+    @ParameterizedTest
+    @MethodSource("responseBodyTypes")
+    void forType_ShouldDecodeSameBodyAsDatabind(Class<?> type) {
+        // GIVEN
+        byte[] body = Payloads.bytesOf(type, 1_000);
+        Object expected = BodyFeeder.feed(new JsonBodySubscriber<>(codecs.decoderFor(type, DecodingMode.DATABIND)), body);
+
+        // WHEN
+        Object decoded = BodyFeeder.feed(new JsonBodySubscriber<>(SpecializedDecoders.forType(type)), body);
+
+        // THEN
+        assertEquals(expected.toString(), decoded.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("responseBodyTypes")
+    void forType_ShouldDecodeTokenBufferedBody(Class<?> type) {
+        // GIVEN
+        byte[] body = Payloads.bytesOf(type, 100);
+        Object expected = BodyFeeder.feed(new JsonBodySubscriber<>(codecs.decoderFor(type, DecodingMode.DATABIND)), body);
+
+        // WHEN
+        Object decoded = BodyFeeder.feed(new IncrementalJsonBodySubscriber<>(SpecializedDecoders.forType(type)), body);
+
+        // THEN
+        assertEquals(expected.toString(), decoded.toString());
+    }
+
+    @Test
+    void composer_ShouldCoerceScalarsLikeDatabind() throws IOException {
+        // GIVEN
+        String json = "{\"id\":16,\"name\":\"Bach\",\"complete_name\":\"Johann Sebastian Bach\",\"birth\":\"1685-01-01\","
+                + "\"death\":null,\"epoch\":\"Baroque\",\"portrait\":\"https://assets.openopus.org/portraits/87.jpg\"}";
+
+        // WHEN
+        Composer decoded = decode(json, SpecializedDecoders::composer);
+
+        // THEN
+        assertEquals(decode(json, codecs.decoderFor(Composer.class, DecodingMode.DATABIND)), decoded);
+        assertEquals(16, decoded.getId());
+        assertEquals(LocalDate.of(1685, 1, 1), decoded.getBirth());
+        assertTrue(decoded.getDeath().isEmpty());
+        assertEquals(Epoch.BAROQUE, decoded.getEpoch());
+    }
+
+    @Test
+    void composer_ShouldClampDayToEndOfMonth() throws IOException {
+        // GIVEN
+        String json = "{\"id\":\"1\",\"birth\":\"1900-02-30\"}";
+
+        // WHEN
+        Composer decoded = decode(json, SpecializedDecoders::composer);
+
+        // THEN
+        assertEquals(LocalDate.of(1900, 2, 28), decoded.getBirth());
+    }
+
+    @Test
+    void worksList_ShouldSkipUnknownFields() throws IOException {
+        // GIVEN
+        String json = "{\"status\":" + Payloads.status(1) + ",\"extra\":{\"nested\":[1,{\"a\":2}]},\"works\":["
+                + "{\"id\":\"7\",\"title\":\"Mass\",\"popular\":\"1\",\"unknown\":[],\"genre\":\"Vocal\"}]}";
+
+        // WHEN
+        WorksList decoded = decode(json, SpecializedDecoders::worksList);
+
+        // THEN
+        assertTrue(decoded.getStatus().isSuccess());
+        assertEquals(1, decoded.getWorks().size());
+        assertEquals(7, decoded.getWorks().get(0).getId());
+        assertTrue(decoded.getWorks().get(0).isPopular());
+    }
+
+    @Test
+    void epoch_ShouldFail_WhenValueIsUnknown() {
+        // GIVEN
+        String json = "{\"id\":\"1\",\"epoch\":\"Prehistoric\"}";
+
+        // WHEN
+        // THEN
+        assertThrows(IOException.class, () -> decode(json, SpecializedDecoders::composer));
+    }
+
+    private <T> T decode(String json, JsonDecoder<T> decoder) throws IOException {
+        try (JsonParser parser = codecs.factory().createParser(json)) {
+            return decoder.decode(parser);
+        }
+    }
+
+    private static Iterable<Class<?>> responseBodyTypes() {
+        return JsonCodecRegistry.RESPONSE_BODY_TYPES;
+    }
+}
@@ -0,0 +1,296 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.Endpoint;
+import dev.jlynx.openopusjava.Priority;
+import dev.jlynx.openopusjava.exception.OpenOpusRejectedException;
+import dev.jlynx.openopusjava.metrics.ConcurrencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Endpoint ENDPOINT = Endpoint.COMPOSER_LIST;
+    private static final long TEN_MILLIS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void acquire_ShouldQueueAboveLimit_AndRejectWhenQueueIsFull() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(2, 2, 1);
+
+        // WHEN
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> first = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> second = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> rejected = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+
+        // THEN
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(queued.isDone());
+        CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(OpenOpusRejectedException.class, thrown.getCause());
+        assertEquals(new ConcurrencyStats(2, 2, 1, 0, 1), underTest.stats());
+    }
+
+    @Test
+    void release_ShouldGrantSlotToFirstWaiter() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(1, 1, 2);
+        AdaptiveConcurrencyLimiter.Permit running = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> firstQueued = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> secondQueued = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+
+        // WHEN
+        clock.addAndGet(TEN_MILLIS);
+        running.release(null);
+
+        // THEN
+        assertTrue(firstQueued.isDone());
+        assertFalse(secondQueued.isDone());
+        assertEquals(new ConcurrencyStats(1, 1, 1, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void releaseWhenDone_ShouldHoldSlot_UntilBodyIsDoneWith() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(1, 1, 1);
+        AdaptiveConcurrencyLimiter.Permit streaming = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<Void> held = new CompletableFuture<>();
+
+        // WHEN
+        clock.addAndGet(TEN_MILLIS);
+        streaming.releaseWhenDone(held);
+        boolean grantedBeforeDone = queued.isDone();
+        held.complete(null);
+
+        // THEN
+        assertFalse(grantedBeforeDone);
+        assertTrue(queued.isDone());
+        assertEquals(new ConcurrencyStats(1, 1, 0, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void release_ShouldSkipCancelledWaiter() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(1, 1, 2);
+        AdaptiveConcurrencyLimiter.Permit running = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> cancelled = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        cancelled.cancel(false);
+
+        // WHEN
+        clock.addAndGet(TEN_MILLIS);
+        running.release(null);
+
+        // THEN
+        assertTrue(waiting.isDone());
+        assertEquals(new ConcurrencyStats(1, 1, 0, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void release_ShouldGrantInteractiveFirst_ExceptBackgroundShare() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(1, 1, 100, 0.25,
+                failure -> failure instanceof IOException, clock::get);
+        AdaptiveConcurrencyLimiter.Permit running = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        List<CompletableFuture<AdaptiveConcurrencyLimiter.Permit>> background = new ArrayList<>();
+        List<CompletableFuture<AdaptiveConcurrencyLimiter.Permit>> interactive = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            background.add(underTest.acquire(ENDPOINT, Priority.BACKGROUND));
+        }
+        for (int i = 0; i < 8; i++) {
+            interactive.add(underTest.acquire(ENDPOINT, Priority.INTERACTIVE));
+        }
+
+        // WHEN
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            clock.addAndGet(TEN_MILLIS);
+            running.release(null);
+            running = granted(interactive, background, order);
+        }
+
+        // THEN
+        assertEquals("IIIBIIIBIIBB", order.toString());
+    }
+
+    @Test
+    void acquire_ShouldRejectLastBackgroundWaiter_WhenInteractiveFindsQueueFull() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(1, 1, 2);
+        underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> firstBackground = underTest.acquire(ENDPOINT, Priority.BACKGROUND);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> lastBackground = underTest.acquire(ENDPOINT, Priority.BACKGROUND);
+
+        // WHEN
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> interactive = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> rejectedBackground = underTest.acquire(ENDPOINT, Priority.BACKGROUND);
+
+        // THEN
+        assertFalse(interactive.isDone());
+        assertFalse(firstBackground.isDone());
+        CompletionException thrown = assertThrows(CompletionException.class, lastBackground::join);
+        assertInstanceOf(OpenOpusRejectedException.class, thrown.getCause());
+        assertTrue(rejectedBackground.isCompletedExceptionally());
+        assertEquals(new ConcurrencyStats(1, 1, 2, 1, 2), underTest.stats());
+    }
+
+    @Test
+    void release_ShouldCutLimitOnce_WhenExchangesStartedBeforeCutFail() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(20, 20, 0);
+        clock.addAndGet(1);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(underTest, 10);
+
+        // WHEN
+        clock.addAndGet(TEN_MILLIS);
+        for (AdaptiveConcurrencyLimiter.Permit permit : permits) {
+            permit.release(new HttpTimeoutException("request timed out"));
+        }
+
+        // THEN
+        assertEquals(18, underTest.stats().limit());
+    }
+
+    @Test
+    void acquire_ShouldNotCountCancelledWaiters_TowardsFullQueue() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(1, 1, 2);
+        underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        underTest.acquire(ENDPOINT, Priority.INTERACTIVE).cancel(false);
+        underTest.acquire(ENDPOINT, Priority.BACKGROUND).cancel(false);
+
+        // WHEN
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = underTest.acquire(ENDPOINT, Priority.INTERACTIVE);
+
+        // THEN
+        assertFalse(queued.isDone());
+        assertEquals(new ConcurrencyStats(1, 1, 1, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void release_ShouldNotCutLimit_WhenFastAndSlowEndpointsAreMixed() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(10, 10, 0);
+
+        // WHEN
+        for (int i = 0; i < 50; i++) {
+            AdaptiveConcurrencyLimiter.Permit lookup = underTest.acquire(Endpoint.COMPOSER_IDS, Priority.INTERACTIVE).join();
+            clock.addAndGet(TEN_MILLIS / 10);
+            lookup.release(null);
+            AdaptiveConcurrencyLimiter.Permit search = underTest.acquire(Endpoint.OMNISEARCH, Priority.INTERACTIVE).join();
+            clock.addAndGet(TEN_MILLIS);
+            search.release(null);
+        }
+
+        // THEN
+        assertEquals(10, underTest.stats().limit());
+    }
+
+    @Test
+    void release_ShouldNotCutLimit_WhenFailureIsNoOverload() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(20, 20, 0);
+        clock.addAndGet(1);
+        AdaptiveConcurrencyLimiter.Permit permit = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+
+        // WHEN
+        permit.release(new IllegalStateException("404"));
+
+        // THEN
+        assertEquals(new ConcurrencyStats(20, 0, 0, 0, 0), underTest.stats());
+    }
+
+    @Test
+    void release_ShouldCutLimit_WhenLatencyExceedsToleranceOfNoLoadLatency() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(10, 10, 0);
+        clock.addAndGet(1);
+        AdaptiveConcurrencyLimiter.Permit fast = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+        clock.addAndGet(TEN_MILLIS);
+        fast.release(null);
+        AdaptiveConcurrencyLimiter.Permit slow = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+
+        // WHEN
+        clock.addAndGet(3 * TEN_MILLIS);
+        slow.release(null);
+
+        // THEN
+        assertEquals(9, underTest.stats().limit());
+    }
+
+    @Test
+    void release_ShouldGrowLimit_WhenLimitIsInUse() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(4, 100, 0);
+
+        // WHEN
+        for (int round = 0; round < 10; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(underTest, underTest.stats().limit());
+            clock.addAndGet(TEN_MILLIS);
+            permits.forEach(permit -> permit.release(null));
+        }
+
+        // THEN
+        // each round uses the whole limit and the first half of its releases add 1/limit each
+        assertEquals(8, underTest.stats().limit());
+    }
+
+    @Test
+    void release_ShouldNotGrowLimit_WhenLessThanHalfIsInUse() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter underTest = limiter(10, 100, 0);
+
+        // WHEN
+        for (int i = 0; i < 50; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = underTest.acquire(ENDPOINT, Priority.INTERACTIVE).join();
+            clock.addAndGet(TEN_MILLIS);
+            permit.release(null);
+        }
+
+        // THEN
+        assertEquals(10, underTest.stats().limit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, int maxQueued) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, maxLimit, maxQueued, 0.1, failure -> failure instanceof IOException, clock::get);
+    }
+
+    private static AdaptiveConcurrencyLimiter.Permit granted(
+            List<CompletableFuture<AdaptiveConcurrencyLimiter.Permit>> interactive,
+            List<CompletableFuture<AdaptiveConcurrencyLimiter.Permit>> background,
+            StringBuilder order
+    ) {
+        for (List<CompletableFuture<AdaptiveConcurrencyLimiter.Permit>> queue : List.of(interactive, background)) {
+            for (CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiter : queue) {
+                if (waiter.isDone()) {
+                    queue.remove(waiter);
+                    order.append(queue == interactive ? 'I' : 'B');
+                    return waiter.join();
+                }
+            }
+        }
+        throw new AssertionError("No waiter was granted a slot");
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire(ENDPOINT, Priority.INTERACTIVE).join());
+        }
+        return permits;
+    }
+}
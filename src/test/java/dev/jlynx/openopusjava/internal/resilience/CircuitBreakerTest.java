@@ -0,0 +1,163 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.metrics.CircuitBreakerStats;
+import dev.jlynx.openopusjava.metrics.CircuitBreakerStats.State;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+    private static final long TEN_MILLIS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_ShouldFailFast_WhenFailureRateOfFullWindowReachesThreshold() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(null, 2);
+        complete(underTest, null);
+        complete(underTest, new IOException());
+        complete(underTest, null);
+        assertEquals(State.CLOSED, underTest.stats().state());
+
+        // WHEN
+        complete(underTest, new IOException());
+
+        // THEN
+        assertNull(underTest.tryAcquire());
+        assertEquals(OPEN_DURATION, underTest.retryAfter());
+        assertEquals(new CircuitBreakerStats(State.OPEN, 0, 0, 1, 1), underTest.stats());
+    }
+
+    @Test
+    void tryAcquire_ShouldNotOpen_WhenFailureIsNoServerFailure() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(null, 2);
+
+        // WHEN
+        for (int i = 0; i < 4; i++) {
+            complete(underTest, new IllegalStateException());
+        }
+
+        // THEN
+        assertNotNull(underTest.tryAcquire());
+        assertEquals(State.CLOSED, underTest.stats().state());
+    }
+
+    @Test
+    void tryAcquire_ShouldLetProbesThrough_AndClose_WhenTheyAllSucceed() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(null, 2);
+        open(underTest);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        // WHEN
+        CircuitBreaker.Permit first = underTest.tryAcquire();
+        CircuitBreaker.Permit second = underTest.tryAcquire();
+        CircuitBreaker.Permit third = underTest.tryAcquire();
+        start(first).release(null);
+        CircuitBreakerStats afterFirstProbe = underTest.stats();
+        start(second).release(null);
+
+        // THEN
+        assertNull(third);
+        assertEquals(State.HALF_OPEN, afterFirstProbe.state());
+        assertEquals(State.CLOSED, underTest.stats().state());
+        assertNotNull(underTest.tryAcquire());
+    }
+
+    @Test
+    void release_ShouldReopen_WhenProbeFails() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(null, 2);
+        open(underTest);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        // WHEN
+        start(underTest.tryAcquire()).release(new IOException());
+
+        // THEN
+        assertEquals(State.OPEN, underTest.stats().state());
+        assertEquals(2, underTest.stats().opened());
+        assertNull(underTest.tryAcquire());
+    }
+
+    @Test
+    void release_ShouldOpen_WhenSlowCallRateReachesThreshold() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(Duration.ofMillis(10), 1);
+
+        // WHEN
+        for (int i = 0; i < 4; i++) {
+            CircuitBreaker.Permit permit = start(underTest.tryAcquire());
+            clock.addAndGet(i < 2 ? TEN_MILLIS : 1);
+            permit.release(null);
+        }
+
+        // THEN
+        assertEquals(State.OPEN, underTest.stats().state());
+    }
+
+    @Test
+    void release_ShouldIgnoreExchangeStartedBeforeCircuitOpened() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(null, 1);
+        CircuitBreaker.Permit straggler = start(underTest.tryAcquire());
+        open(underTest);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        CircuitBreaker.Permit probe = start(underTest.tryAcquire());
+
+        // WHEN
+        straggler.release(null);
+
+        // THEN
+        assertEquals(State.HALF_OPEN, underTest.stats().state());
+        probe.release(null);
+        assertEquals(State.CLOSED, underTest.stats().state());
+    }
+
+    @Test
+    void release_ShouldGiveBackProbe_WhenExchangeWasNotSent() {
+        // GIVEN
+        CircuitBreaker underTest = breaker(null, 1);
+        open(underTest);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        CircuitBreaker.Permit notSent = underTest.tryAcquire();
+        assertNull(underTest.tryAcquire());
+
+        // WHEN
+        notSent.release(new IOException());
+
+        // THEN
+        assertEquals(State.HALF_OPEN, underTest.stats().state());
+        assertNotNull(underTest.tryAcquire());
+    }
+
+    private CircuitBreaker breaker(Duration slowCallDuration, int probes) {
+        return new CircuitBreaker(0.5, 0.5, slowCallDuration, 4, OPEN_DURATION, probes,
+                failure -> failure instanceof IOException, clock::get);
+    }
+
+    private static void open(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, new IOException());
+        }
+        assertEquals(State.OPEN, breaker.stats().state());
+    }
+
+    private static void complete(CircuitBreaker breaker, Throwable failure) {
+        start(breaker.tryAcquire()).release(failure);
+    }
+
+    private static CircuitBreaker.Permit start(CircuitBreaker.Permit permit) {
+        permit.start();
+        return permit;
+    }
+}
@@ -0,0 +1,34 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecorrelatedJitterBackoffTest {
+
+    @Test
+    void nextNanos_ShouldStayBetweenBaseAndThreeTimesPreviousAndCap() {
+        // GIVEN
+        long base = Duration.ofMillis(10).toNanos();
+        long max = Duration.ofMillis(500).toNanos();
+        DecorrelatedJitterBackoff underTest = new DecorrelatedJitterBackoff(Duration.ofMillis(10), Duration.ofMillis(500));
+
+        // WHEN
+        // THEN
+        long previous = underTest.initialNanos();
+        for (int i = 0; i < 1_000; i++) {
+            long next = underTest.nextNanos(previous);
+            assertTrue(next >= base, "delay below base");
+            assertTrue(next <= Math.min(max, previous * 3), "delay above bound");
+            previous = next;
+        }
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenMaxIsBelowBase() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DecorrelatedJitterBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,48 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentile_ShouldEstimateWithinBucketPrecision() {
+        // GIVEN
+        LatencyHistogram underTest = new LatencyHistogram(100_000);
+
+        // WHEN
+        for (int ms = 1; ms <= 100; ms++) {
+            underTest.record(Duration.ofMillis(ms).toNanos());
+        }
+
+        // THEN
+        Duration p95 = underTest.percentile(0.95);
+        assertTrue(p95.toMillis() >= 95, "p95 underestimated: " + p95);
+        assertTrue(p95.toMillis() <= 95 * 1.25, "p95 overestimated: " + p95);
+    }
+
+    @Test
+    void record_ShouldDecayOldSamples() {
+        // GIVEN
+        LatencyHistogram underTest = new LatencyHistogram(100);
+        for (int i = 0; i < 100; i++) {
+            underTest.record(Duration.ofSeconds(1).toNanos());
+        }
+
+        // WHEN
+        for (int i = 0; i < 400; i++) {
+            underTest.record(Duration.ofMillis(10).toNanos());
+        }
+
+        // THEN
+        assertTrue(underTest.percentile(0.95).toMillis() < 20);
+    }
+
+    @Test
+    void percentile_ShouldReturnNull_WhenEmpty() {
+        assertNull(new LatencyHistogram(10).percentile(0.95));
+    }
+}
@@ -0,0 +1,126 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.metrics.RateLimitStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long HUNDRED_MILLIS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void reserve_ShouldLetBurstThrough_ThenSpaceRequests() {
+        // GIVEN
+        RateLimiter underTest = new RateLimiter(10, 3, clock::get);
+
+        // WHEN
+        List<Long> waits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waits.add(underTest.reserve());
+        }
+
+        // THEN
+        assertEquals(List.of(0L, 0L, 0L, HUNDRED_MILLIS, 2 * HUNDRED_MILLIS), waits);
+        assertEquals(new RateLimitStats(5, 2, Duration.ofMillis(300), Duration.ofMillis(300), 0), underTest.stats());
+    }
+
+    @Test
+    void reserve_ShouldRefillBurst_AfterIdlePeriod() {
+        // GIVEN
+        RateLimiter underTest = new RateLimiter(10, 2, clock::get);
+        underTest.reserve();
+        underTest.reserve();
+
+        // WHEN
+        clock.addAndGet(2 * HUNDRED_MILLIS);
+
+        // THEN
+        assertEquals(Duration.ZERO, underTest.currentWait());
+        assertEquals(0, underTest.reserve());
+        assertEquals(0, underTest.reserve());
+        assertEquals(HUNDRED_MILLIS, underTest.reserve());
+    }
+
+    @Test
+    void reserve_ShouldNotAccumulateBurstBeyondLimit() {
+        // GIVEN
+        RateLimiter underTest = new RateLimiter(10, 2, clock::get);
+
+        // WHEN
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // THEN
+        assertEquals(0, underTest.reserve());
+        assertEquals(0, underTest.reserve());
+        assertEquals(HUNDRED_MILLIS, underTest.reserve());
+    }
+
+    @Test
+    void reserve_ShouldRejectWithoutReserving_WhenSlotIsFurtherAwayThanMaxWait() {
+        // GIVEN
+        RateLimiter underTest = new RateLimiter(10, 1, clock::get);
+        underTest.reserve();
+        underTest.reserve();
+
+        // WHEN
+        long rejected = underTest.reserve(HUNDRED_MILLIS);
+
+        // THEN
+        assertEquals(-1, rejected);
+        assertEquals(2 * HUNDRED_MILLIS, underTest.reserve(2 * HUNDRED_MILLIS));
+        assertEquals(new RateLimitStats(3, 2, Duration.ofMillis(300), Duration.ofMillis(300), 1), underTest.stats());
+    }
+
+    @Test
+    void reserve_ShouldGiveConcurrentRequestsDistinctSlots() throws Exception {
+        // GIVEN
+        RateLimiter underTest = new RateLimiter(1_000, 1, clock::get);
+        ConcurrentLinkedQueue<Long> waits = new ConcurrentLinkedQueue<>();
+
+        // WHEN
+        try (ExecutorService threads = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                threads.execute(() -> {
+                    for (int j = 0; j < 250; j++) {
+                        waits.add(underTest.reserve());
+                    }
+                });
+            }
+        }
+
+        // THEN
+        assertEquals(1_000, waits.stream().distinct().count());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(999), waits.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    void acquire_ShouldCompleteAfterWait_WithoutBlockingCaller() {
+        // GIVEN
+        RateLimiter underTest = new RateLimiter(20, 1);
+        underTest.acquire().join();
+
+        // WHEN
+        long start = System.nanoTime();
+        CompletableFuture<Void> delayed = underTest.acquire();
+        long returnedAfter = System.nanoTime() - start;
+        delayed.join();
+        long completedAfter = System.nanoTime() - start;
+
+        // THEN
+        assertTrue(returnedAfter < TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(completedAfter >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+}
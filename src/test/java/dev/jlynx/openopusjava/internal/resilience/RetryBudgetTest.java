@@ -0,0 +1,60 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryRetry_ShouldAllowRatioOfRequests() {
+        // GIVEN
+        RetryBudget underTest = new RetryBudget(0.1, 0, clock::get);
+
+        // WHEN
+        for (int i = 0; i < 50; i++) {
+            underTest.onRequest();
+        }
+
+        // THEN
+        int allowed = 0;
+        while (underTest.tryRetry()) {
+            allowed++;
+        }
+        assertEquals(5, allowed);
+    }
+
+    @Test
+    void tryRetry_ShouldRefillMinimumPerSecond() {
+        // GIVEN
+        RetryBudget underTest = new RetryBudget(0.0, 2, clock::get);
+        while (underTest.tryRetry()) {
+            // spend the initial balance
+        }
+
+        // WHEN
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_500));
+
+        // THEN
+        assertEquals(3, underTest.available());
+    }
+
+    @Test
+    void onRequest_ShouldNotAccumulateUnboundedBalance() {
+        // GIVEN
+        RetryBudget underTest = new RetryBudget(1.0, 0, clock::get);
+
+        // WHEN
+        for (int i = 0; i < 10_000; i++) {
+            underTest.onRequest();
+        }
+
+        // THEN
+        assertEquals(10, underTest.available());
+    }
+}
@@ -0,0 +1,80 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> underTest = new SingleFlight<>();
+
+    @Test
+    void execute_ShouldCancelOperation_WhenAllCallersCancel() {
+        // GIVEN
+        CompletableFuture<String> operation = new CompletableFuture<>();
+        CompletableFuture<String> first = underTest.execute("key", () -> operation);
+        CompletableFuture<String> second = underTest.execute("key", () -> operation);
+
+        // WHEN
+        first.cancel(true);
+        boolean cancelledAfterFirst = operation.isCancelled();
+        second.cancel(true);
+
+        // THEN
+        assertFalse(cancelledAfterFirst);
+        assertTrue(operation.isCancelled());
+    }
+
+    @Test
+    void execute_ShouldStartNewOperation_WhenPreviousWasCancelledByAllCallers() {
+        // GIVEN
+        AtomicInteger starts = new AtomicInteger();
+        underTest.execute("key", () -> {
+            starts.incrementAndGet();
+            return new CompletableFuture<String>();
+        }).cancel(true);
+
+        // WHEN
+        CompletableFuture<String> returned = underTest.execute("key", () -> {
+            starts.incrementAndGet();
+            return CompletableFuture.completedFuture("value");
+        });
+
+        // THEN
+        assertEquals("value", returned.join());
+        assertEquals(2, starts.get());
+    }
+
+    @Test
+    void execute_ShouldShareFailure_WithAllCallers() {
+        // GIVEN
+        CompletableFuture<String> operation = new CompletableFuture<>();
+        CompletableFuture<String> first = underTest.execute("key", () -> operation);
+        CompletableFuture<String> second = underTest.execute("key", () -> operation);
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        // WHEN
+        operation.completeExceptionally(new CompletionException(failure));
+
+        // THEN
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+    }
+
+    @Test
+    void execute_ShouldNotShareOperations_OfDifferentKeys() {
+        // WHEN
+        CompletableFuture<String> first = underTest.execute("first", () -> CompletableFuture.completedFuture("1"));
+        CompletableFuture<String> second = underTest.execute("second", () -> CompletableFuture.completedFuture("2"));
+
+        // THEN
+        assertEquals("1", first.join());
+        assertEquals("2", second.join());
+        assertEquals(2, underTest.started());
+        assertEquals(0, underTest.joined());
+    }
+}
@@ -0,0 +1,219 @@
+package dev.jlynx.openopusjava.internal.resilience;
+
+import dev.jlynx.openopusjava.TenantShare;
+import dev.jlynx.openopusjava.exception.OpenOpusRejectedException;
+import dev.jlynx.openopusjava.metrics.TenantStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairSchedulerTest {
+
+    private static final long TEN_MILLIS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void release_ShouldGrantSlotsInProportionToWeights() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(1, Map.of("heavy", new TenantShare(3, 1), "light", new TenantShare(1, 1)));
+        WeightedFairScheduler.Slot running = underTest.acquire("heavy").join();
+        List<CompletableFuture<WeightedFairScheduler.Slot>> heavy = queue(underTest, "heavy", 8);
+        List<CompletableFuture<WeightedFairScheduler.Slot>> light = queue(underTest, "light", 4);
+
+        // WHEN
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            running.release();
+            running = next(heavy, light, order);
+        }
+
+        // THEN
+        assertEquals("LHHHLHHH", order.toString());
+    }
+
+    @Test
+    void acquire_ShouldNotLetIdleTenantClaimUnusedSlots() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(1, Map.of());
+        for (int i = 0; i < 10; i++) {
+            underTest.acquire("busy").join().release();
+        }
+        WeightedFairScheduler.Slot running = underTest.acquire("busy").join();
+        List<CompletableFuture<WeightedFairScheduler.Slot>> busy = queue(underTest, "busy", 3);
+        List<CompletableFuture<WeightedFairScheduler.Slot>> returning = queue(underTest, "returning", 3);
+
+        // WHEN
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            running.release();
+            running = next(busy, returning, order);
+        }
+
+        // THEN
+        assertEquals("LHLHLH", order.toString());
+    }
+
+    @Test
+    void acquire_ShouldCapTenant_WhileOthersUseFreeSlots() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(3, Map.of("capped", new TenantShare(1, 1)));
+
+        // WHEN
+        List<CompletableFuture<WeightedFairScheduler.Slot>> capped = queue(underTest, "capped", 3);
+        List<CompletableFuture<WeightedFairScheduler.Slot>> other = queue(underTest, "other", 2);
+
+        // THEN
+        assertEquals(List.of(true, false, false), capped.stream().map(CompletableFuture::isDone).toList());
+        assertTrue(other.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(2, underTest.stats("capped").queued());
+        assertEquals(1, underTest.stats("capped").inFlight());
+        assertEquals(2, underTest.stats("other").inFlight());
+    }
+
+    @Test
+    void acquire_ShouldRejectOnlyTenantWithFullQueue() {
+        // GIVEN
+        WeightedFairScheduler underTest = new WeightedFairScheduler(1, 2, tenant -> new TenantShare(1, 1), clock::get);
+        underTest.acquire("noisy").join();
+        queue(underTest, "noisy", 2);
+
+        // WHEN
+        CompletableFuture<WeightedFairScheduler.Slot> rejected = underTest.acquire("noisy");
+        CompletableFuture<WeightedFairScheduler.Slot> quiet = underTest.acquire("quiet");
+
+        // THEN
+        CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(OpenOpusRejectedException.class, thrown.getCause());
+        assertFalse(quiet.isCompletedExceptionally());
+        assertEquals(1, underTest.stats("noisy").rejected());
+        assertEquals(0, underTest.stats("quiet").rejected());
+    }
+
+    @Test
+    void release_ShouldSkipCancelledWaiter() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(1, Map.of());
+        WeightedFairScheduler.Slot running = underTest.acquire("tenant").join();
+        CompletableFuture<WeightedFairScheduler.Slot> cancelled = underTest.acquire("tenant");
+        CompletableFuture<WeightedFairScheduler.Slot> waiting = underTest.acquire("tenant");
+        cancelled.cancel(false);
+
+        // WHEN
+        running.release();
+
+        // THEN
+        assertTrue(waiting.isDone());
+        assertEquals(0, underTest.stats("tenant").queued());
+        assertEquals(1, underTest.stats("tenant").inFlight());
+    }
+
+    @Test
+    void stats_ShouldReportQueueWaitAndLatencyFromArrival() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(1, Map.of());
+        WeightedFairScheduler.Slot first = underTest.acquire("tenant").join();
+        CompletableFuture<WeightedFairScheduler.Slot> second = underTest.acquire("tenant");
+
+        // WHEN
+        clock.addAndGet(TEN_MILLIS);
+        first.release();
+        clock.addAndGet(TEN_MILLIS);
+        second.join().release();
+
+        // THEN
+        TenantStats stats = underTest.stats("tenant");
+        assertEquals(2, stats.completed());
+        assertEquals(0, stats.inFlight());
+        assertTrue(stats.queueWaitP95().compareTo(Duration.ofMillis(10)) >= 0, "queue wait " + stats.queueWaitP95());
+        assertTrue(stats.latencyP95().compareTo(Duration.ofMillis(20)) >= 0, "latency " + stats.latencyP95());
+        assertEquals(new TenantStats(0, 0, 0, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO), underTest.stats("unknown"));
+    }
+
+    @Test
+    void release_ShouldDropStateOfIdleTenants_BeyondMaxIdleTenants() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(2, Map.of());
+        WeightedFairScheduler.Slot running = underTest.acquire("long-lived").join();
+        int shortLived = 3 * WeightedFairScheduler.MAX_IDLE_TENANTS;
+
+        // WHEN
+        for (int i = 0; i < shortLived; i++) {
+            underTest.acquire("tenant" + i).join().release();
+        }
+
+        // THEN
+        assertEquals(WeightedFairScheduler.MAX_IDLE_TENANTS + 1, underTest.tenantCount());
+        assertEquals(1, underTest.stats("long-lived").inFlight());
+        assertEquals(1, underTest.stats("tenant" + (shortLived - 1)).completed());
+        assertEquals(0, underTest.stats("tenant0").completed());
+        running.release();
+        assertEquals(1, underTest.stats("long-lived").completed());
+    }
+
+    @Test
+    void acquire_ShouldNotCountCancelledWaiters_TowardsFullQueue() {
+        // GIVEN
+        WeightedFairScheduler underTest = scheduler(1, Map.of());
+        WeightedFairScheduler.Slot running = underTest.acquire("tenant").join();
+        List<CompletableFuture<WeightedFairScheduler.Slot>> queued = queue(underTest, "tenant", 8);
+        queued.get(4).cancel(false);
+
+        // WHEN
+        CompletableFuture<WeightedFairScheduler.Slot> acquired = underTest.acquire("tenant");
+
+        // THEN
+        assertFalse(acquired.isDone());
+        assertEquals(8, underTest.stats("tenant").queued());
+        assertEquals(0, underTest.stats("tenant").rejected());
+        running.release();
+        assertTrue(queued.get(0).isDone());
+    }
+
+    private WeightedFairScheduler scheduler(int maxInFlight, Map<String, TenantShare> shares) {
+        return new WeightedFairScheduler(maxInFlight, 8, tenant -> shares.getOrDefault(tenant, new TenantShare(1, maxInFlight)),
+                clock::get);
+    }
+
+    private static List<CompletableFuture<WeightedFairScheduler.Slot>> queue(WeightedFairScheduler scheduler, String tenant, int count) {
+        List<CompletableFuture<WeightedFairScheduler.Slot>> acquired = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            acquired.add(scheduler.acquire(tenant));
+        }
+        return acquired;
+    }
+
+    /**
+     * Takes the one granted slot out of the two lists of waiters, appending {@code H} or {@code L} to the order.
+     */
+    private static WeightedFairScheduler.Slot next(
+            List<CompletableFuture<WeightedFairScheduler.Slot>> first,
+            List<CompletableFuture<WeightedFairScheduler.Slot>> second,
+            StringBuilder order
+    ) {
+        for (CompletableFuture<WeightedFairScheduler.Slot> waiter : first) {
+            if (waiter.isDone()) {
+                first.remove(waiter);
+                order.append('H');
+                return waiter.join();
+            }
+        }
+        for (CompletableFuture<WeightedFairScheduler.Slot> waiter : second) {
+            if (waiter.isDone()) {
+                second.remove(waiter);
+                order.append('L');
+                return waiter.join();
+            }
+        }
+        throw new AssertionError("No slot granted");
+    }
+}
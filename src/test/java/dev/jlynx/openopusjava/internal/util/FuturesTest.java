@@ -0,0 +1,96 @@
+package dev.jlynx.openopusjava.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuturesTest {
+
+    @Test
+    void thenCompose_ShouldCancelSource_WhenResultIsCancelledFirst() {
+        // GIVEN
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> result = Futures.thenCompose(source, value -> CompletableFuture.completedFuture(value + "!"));
+
+        // WHEN
+        result.cancel(true);
+
+        // THEN
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    void thenCompose_ShouldCancelNextStage_WhenResultIsCancelled() {
+        // GIVEN
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> next = new CompletableFuture<>();
+        CompletableFuture<String> result = Futures.thenCompose(source, value -> next);
+        source.complete("a");
+
+        // WHEN
+        result.cancel(true);
+
+        // THEN
+        assertTrue(next.isCancelled());
+    }
+
+    @Test
+    void thenApply_ShouldCancelSource_WhenResultIsCancelled() {
+        // GIVEN
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<Integer> result = Futures.thenApply(source, String::length);
+
+        // WHEN
+        result.cancel(true);
+
+        // THEN
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    void within_ShouldFailAndCancelSource_WhenSourceIsLate() {
+        // GIVEN
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        // WHEN
+        CompletableFuture<String> result = Futures.within(source, TimeUnit.MILLISECONDS.toNanos(20), TimeoutException::new);
+
+        // THEN
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(TimeoutException.class, thrown.getCause());
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    void within_ShouldCompleteLikeSource_WhenSourceIsInTime() {
+        // GIVEN
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> result = Futures.within(source, TimeUnit.SECONDS.toNanos(5), TimeoutException::new);
+
+        // WHEN
+        source.complete("a");
+
+        // THEN
+        assertEquals("a", result.join());
+    }
+
+    @Test
+    void unwrap_ShouldStripNestedWrappers_AndKeepWrapperWithoutCause() {
+        // GIVEN
+        IllegalStateException failure = new IllegalStateException("boom");
+        CompletionException wrapped = new CompletionException(new ExecutionException(failure));
+        CompletionException empty = new CompletionException("no cause", null);
+
+        // WHEN
+        // THEN
+        assertSame(failure, Futures.unwrap(wrapped));
+        assertSame(empty, Futures.unwrap(empty));
+        assertNull(Futures.unwrap(null));
+    }
+}
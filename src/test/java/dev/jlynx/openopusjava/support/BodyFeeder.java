@@ -0,0 +1,70 @@
+package dev.jlynx.openopusjava.support;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * Drives an {@link HttpResponse.BodySubscriber} the way the {@code HttpClient} does, without a network.
+ */
+public final class BodyFeeder {
+
+    /**
+     * The size of the buffers the JDK {@code HttpClient} hands out.
+     */
+    public static final int CHUNK_SIZE = 16 * 1024;
+
+    private BodyFeeder() {
+    }
+
+    /**
+     * Returns the {@link HttpResponse.ResponseInfo} of a plain {@code 200 OK} response.
+     */
+    public static HttpResponse.ResponseInfo ok() {
+        return new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return 200;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return HttpHeaders.of(Map.of(), (name, value) -> true);
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+
+    /**
+     * Splits {@code body} into {@link #CHUNK_SIZE} buffers, pushes them through {@code subscriber}
+     * and returns the decoded body.
+     */
+    public static <T> T feed(HttpResponse.BodySubscriber<T> subscriber, byte[] body) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, body.length - offset);
+            List<ByteBuffer> item = new ArrayList<>(1);
+            item.add(ByteBuffer.wrap(body, offset, length).slice().asReadOnlyBuffer());
+            subscriber.onNext(item);
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().join();
+    }
+}
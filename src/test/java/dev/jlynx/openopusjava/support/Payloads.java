@@ -0,0 +1,185 @@
+package dev.jlynx.openopusjava.support;
+
+import dev.jlynx.openopusjava.response.body.*;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds Open Opus API response bodies shaped like the real ones, for tests and benchmarks.
+ * <p>
+ * Like the real API, ids, flags and the {@code success} field are emitted as JSON strings.
+ */
+public final class Payloads {
+
+    private static final String[] EPOCHS = {"Baroque", "Classical", "Early Romantic", "Romantic", "Late Romantic", "20th Century"};
+    private static final String[] GENRES = {"Chamber", "Keyboard", "Orchestral", "Vocal", "Stage"};
+
+    private Payloads() {
+    }
+
+    /**
+     * Returns a successful response body of the given type with {@code size} list elements.
+     */
+    public static String of(Class<?> type, int size) {
+        if (type == ComposersList.class) return composersList(size);
+        if (type == GenresList.class) return genresList();
+        if (type == WorksList.class) return worksList(1, size);
+        if (type == WorkDetailResponse.class) return workDetail(size);
+        if (type == ListWorksByIdResponse.class) return listWorksById(size);
+        if (type == RandomWorks.class) return randomWorks(size);
+        if (type == OmnisearchResponse.class) return omnisearch(size);
+        if (type == PerformerRolesResponse.class) return performerRoles(size);
+        throw new IllegalArgumentException("No payload for " + type);
+    }
+
+    public static byte[] bytesOf(Class<?> type, int size) {
+        return of(type, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String status(int rows) {
+        return "{\"version\":\"1.2.3\",\"success\":\"true\",\"source\":\"db\",\"rows\":" + rows
+                + ",\"processingtime\":0.0042,\"api\":\"openopus\"}";
+    }
+
+    public static String errorResponse(String message) {
+        return "{\"status\":{\"version\":\"1.2.3\",\"success\":\"false\",\"error\":\"" + message
+                + "\",\"source\":\"db\",\"rows\":0,\"processingtime\":0.001,\"api\":\"openopus\"}}";
+    }
+
+    public static String composer(int id) {
+        String epoch = EPOCHS[id % EPOCHS.length];
+        return "{\"id\":\"" + id + "\",\"name\":\"Composer" + id + "\",\"complete_name\":\"Some Composer" + id
+                + "\",\"birth\":\"17" + (10 + id % 89) + "-0" + (1 + id % 9) + "-1" + (id % 9) + "\","
+                + (id % 7 == 0 ? "\"death\":null," : "\"death\":\"18" + (10 + id % 89) + "-1" + (id % 3) + "-2" + (id % 9) + "\",")
+                + "\"epoch\":\"" + epoch + "\",\"portrait\":\"https:\\/\\/assets.openopus.org\\/portraits\\/"
+                + (1000 + id % 13) + "-1568084857.jpg\"}";
+    }
+
+    public static String composerOverview(int id) {
+        return "{\"id\":\"" + id + "\",\"name\":\"Composer" + id + "\",\"complete_name\":\"Some Composer" + id
+                + "\",\"epoch\":\"" + EPOCHS[id % EPOCHS.length] + "\"}";
+    }
+
+    public static String work(int id) {
+        return "{\"title\":\"Sonata no. " + id + " in A minor, op. " + (id % 120) + "\",\"subtitle\":\""
+                + (id % 4 == 0 ? "\\\"Moonlight\\\"" : "") + "\",\"searchterms\":\"\",\"popular\":\"" + (id % 5 == 0 ? 1 : 0)
+                + "\",\"recommended\":\"" + (id % 3 == 0 ? 1 : 0) + "\",\"id\":\"" + id + "\",\"genre\":\""
+                + GENRES[id % GENRES.length] + "\"}";
+    }
+
+    public static String composersList(int size) {
+        StringBuilder sb = new StringBuilder("{\"status\":").append(status(size))
+                .append(",\"request\":{\"type\":\"pop\",\"item\":\"\"},\"composers\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) sb.append(',');
+            sb.append(composer(i));
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String composersListOf(Iterable<Integer> ids) {
+        StringBuilder sb = new StringBuilder("{\"status\":").append(status(0))
+                .append(",\"request\":{\"type\":\"ids\",\"item\":\"\"},\"composers\":[");
+        boolean first = true;
+        for (int id : ids) {
+            if (!first) sb.append(',');
+            sb.append(composer(id));
+            first = false;
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String genresList() {
+        return "{\"status\":" + status(7) + ",\"request\":{\"type\":\"composer\",\"item\":\"145\"},\"composer\":"
+                + composer(145) + ",\"genres\":[\"Popular\",\"Recommended\",\"Chamber\",\"Keyboard\",\"Orchestral\",\"Vocal\",\"Stage\"]}";
+    }
+
+    public static String worksList(int composerId, int size) {
+        StringBuilder sb = new StringBuilder("{\"status\":").append(status(size))
+                .append(",\"request\":{\"type\":\"genre\",\"item\":\"all\"},\"composer\":").append(composer(composerId))
+                .append(",\"works\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) sb.append(',');
+            sb.append(work(composerId * 100_000 + i));
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String workDetail(int similar) {
+        StringBuilder sb = new StringBuilder("{\"status\":").append(status(1))
+                .append(",\"request\":{\"type\":\"detail\",\"item\":\"482\"},\"composer\":").append(composerOverview(87))
+                .append(",\"work\":{\"id\":\"482\",\"title\":\"Goldberg Variations\",\"subtitle\":\"\",\"genre\":\"Keyboard\",")
+                .append("\"searchmode\":\"title\",\"catalogue\":\"BWV\",\"catalogue_number\":\"988\",")
+                .append("\"searchterms\":[\"Goldberg\",\"Aria mit verschiedenen Veraenderungen\"]},\"similarlytitled\":[");
+        for (int i = 1; i <= similar; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"id\":\"").append(1000 + i).append("\",\"title\":\"Goldberg Variations ").append(i)
+                    .append("\",\"searchterm\":\"Goldberg\",\"similarity\":").append(100 - i % 100).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String listWorksById(int size) {
+        StringBuilder works = new StringBuilder();
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) works.append(',');
+            String work = work(i).replace(",\"searchterms\":\"\"", "");
+            works.append("\"w:").append(i).append("\":").append(work, 0, work.length() - 1)
+                    .append(",\"composer\":").append(composer(i % 17 + 1)).append('}');
+        }
+        return "{\"status\":" + status(size) + ",\"request\":{\"type\":\"ids\",\"item\":\"1\"},"
+                + "\"abstract\":{\"composers\":{\"portraits\":[\"https:\\/\\/assets.openopus.org\\/portraits\\/1.jpg\"],"
+                + "\"names\":[\"Composer1\"],\"rows\":1},\"works\":{\"rows\":" + size + "}},"
+                + "\"works\":{" + works + "}}";
+    }
+
+    public static String listWorksByIdOf(Iterable<Integer> ids) {
+        StringBuilder works = new StringBuilder();
+        int size = 0;
+        for (int id : ids) {
+            if (size++ > 0) works.append(',');
+            String work = work(id).replace(",\"searchterms\":\"\"", "");
+            works.append("\"w:").append(id).append("\":").append(work, 0, work.length() - 1)
+                    .append(",\"composer\":").append(composer(id % 17 + 1)).append('}');
+        }
+        return "{\"status\":" + status(size) + ",\"request\":{\"type\":\"ids\",\"item\":\"1\"},"
+                + "\"abstract\":{\"composers\":{\"portraits\":[],\"names\":[],\"rows\":0},\"works\":{\"rows\":" + size + "}},"
+                + "\"works\":{" + works + "}}";
+    }
+
+    public static String randomWorks(int size) {
+        StringBuilder sb = new StringBuilder("{\"status\":").append(status(size)).append(",\"works\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"id\":\"").append(i).append("\",\"title\":\"Work ").append(i).append("\",\"genre\":\"")
+                    .append(GENRES[i % GENRES.length]).append("\",\"composer\":").append(composerOverview(i)).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String omnisearch(int size) {
+        StringBuilder sb = new StringBuilder("{\"status\":").append(status(size))
+                .append(",\"request\":{\"type\":\"omnisearch\",\"search\":\"bach\",\"offset\":\"0\"},\"results\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"composer\":").append(composer(i)).append(",\"work\":")
+                    .append(i % 3 == 0 ? "null" : work(i)).append('}');
+        }
+        return sb.append("],\"next\":").append(size).append('}').toString();
+    }
+
+    public static String performerRoles(int size) {
+        StringBuilder readable = new StringBuilder();
+        StringBuilder digest = new StringBuilder();
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) {
+                readable.append(',');
+                digest.append(',');
+            }
+            readable.append("{\"name\":\"Performer ").append(i).append("\",\"role\":\"Piano\"}");
+            digest.append("\"Performer ").append(i).append("\":\"Piano\"");
+        }
+        return "{\"status\":" + status(size) + ",\"request\":{\"type\":\"performers\",\"item\":\"\"},\"performers\":{\"readable\":["
+                + readable + "],\"digest\":{" + digest + "}}}";
+    }
+}
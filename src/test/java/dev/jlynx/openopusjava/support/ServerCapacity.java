@@ -0,0 +1,74 @@
+package dev.jlynx.openopusjava.support;
+
+import com.sun.net.httpserver.HttpHandler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The capacity of a {@link StubOpenOpusServer} route, adjustable while a test runs.
+ * <p>
+ * A request beyond the capacity is answered at once with {@code 503 Service Unavailable}; one within it is
+ * served after the service time, like a server that can work on a fixed number of requests at a time.
+ */
+public final class ServerCapacity {
+
+    private final AtomicInteger capacity;
+    private final AtomicInteger inFlight;
+    private final AtomicInteger peakInFlight;
+    private final AtomicInteger overloaded;
+
+    public ServerCapacity(int capacity) {
+        this.capacity = new AtomicInteger(capacity);
+        this.inFlight = new AtomicInteger();
+        this.peakInFlight = new AtomicInteger();
+        this.overloaded = new AtomicInteger();
+    }
+
+    public void set(int capacity) {
+        this.capacity.set(capacity);
+    }
+
+    /**
+     * Serves the requests within the capacity with the handler, after the service time.
+     */
+    public HttpHandler serve(Duration serviceTime, HttpHandler handler) {
+        return exchange -> {
+            int concurrent = inFlight.incrementAndGet();
+            try {
+                peakInFlight.accumulateAndGet(concurrent, Math::max);
+                if (concurrent > capacity.get()) {
+                    overloaded.incrementAndGet();
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                StubOpenOpusServer.sleep(serviceTime);
+                handler.handle(exchange);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Returns the highest number of requests handled at once so far.
+     */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * Returns the number of requests answered with {@code 503} so far.
+     */
+    public int overloaded() {
+        return overloaded.get();
+    }
+
+    /**
+     * Resets the counters, keeping the capacity.
+     */
+    public void reset() {
+        peakInFlight.set(0);
+        overloaded.set(0);
+    }
+}
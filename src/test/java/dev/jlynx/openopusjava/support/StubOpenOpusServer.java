@@ -0,0 +1,230 @@
+package dev.jlynx.openopusjava.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local HTTP server standing in for the Open Opus API in tests and benchmarks.
+ * <p>
+ * Routes are matched against the raw request path and query. Unknown routes get a {@code 404}.
+ */
+public final class StubOpenOpusServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, HttpHandler> routes;
+    private final Map<String, AtomicInteger> hits;
+
+    private StubOpenOpusServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+        this.routes = new ConcurrentHashMap<>();
+        this.hits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Starts a server on an ephemeral loopback port.
+     */
+    public static StubOpenOpusServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            StubOpenOpusServer stub = new StubOpenOpusServer(server, executor);
+            server.createContext("/", stub::dispatch);
+            server.setExecutor(executor);
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the URL to pass to {@code OpenOpusClientOptionsBuilder#baseUrl}.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public StubOpenOpusServer route(String pathAndQuery, HttpHandler handler) {
+        routes.put(pathAndQuery, handler);
+        return this;
+    }
+
+    /**
+     * Returns the number of requests received for the route so far.
+     */
+    public int hits(String pathAndQuery) {
+        AtomicInteger counter = hits.get(pathAndQuery);
+        return counter == null ? 0 : counter.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getRawPath();
+        if (exchange.getRequestURI().getRawQuery() != null) {
+            key += "?" + exchange.getRequestURI().getRawQuery();
+        }
+        hits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        HttpHandler handler = routes.get(key);
+        try (exchange) {
+            if (handler == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                handler.handle(exchange);
+            }
+        }
+    }
+
+    /**
+     * Responds with {@code 200 OK} and the given JSON body.
+     */
+    public static HttpHandler json(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        };
+    }
+
+    /**
+     * Responds with {@code 200 OK} and the given JSON body, writing one chunk of {@code chunkSize}
+     * bytes every {@code delay} to emulate a slow link.
+     */
+    public static HttpHandler throttled(String body, int chunkSize, Duration delay) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+                out.write(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+                out.flush();
+                sleep(delay);
+            }
+        };
+    }
+
+    /**
+     * Responds with the given status code and no body.
+     */
+    public static HttpHandler status(int statusCode) {
+        return exchange -> exchange.sendResponseHeaders(statusCode, -1);
+    }
+
+    /**
+     * Responds with the given status code and a {@code Retry-After} header.
+     */
+    public static HttpHandler status(int statusCode, Duration retryAfter) {
+        return exchange -> {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfter.toSeconds()));
+            exchange.sendResponseHeaders(statusCode, -1);
+        };
+    }
+
+    /**
+     * Announces the full length of the given JSON body but drops the connection after half of it.
+     */
+    public static HttpHandler truncated(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes, 0, bytes.length / 2);
+            exchange.getResponseBody().flush();
+            // closing the exchange short of the announced length makes the server drop the connection
+        };
+    }
+
+    /**
+     * Waits for {@code delay} before delegating to the handler.
+     */
+    public static HttpHandler delayed(Duration delay, HttpHandler handler) {
+        return exchange -> {
+            sleep(delay);
+            handler.handle(exchange);
+        };
+    }
+
+    /**
+     * Sends the headers of a {@code 200 OK}, completing {@code started}, then trickles whitespace for up to ten
+     * seconds; completes {@code aborted} once the client dropped the connection.
+     */
+    public static HttpHandler stalled(CompletableFuture<Void> started, CompletableFuture<Void> aborted) {
+        return exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            started.complete(null);
+            OutputStream out = exchange.getResponseBody();
+            try {
+                for (int i = 0; i < 1000; i++) {
+                    out.write(' ');
+                    out.flush();
+                    sleep(Duration.ofMillis(10));
+                }
+            } catch (IOException e) {
+                aborted.complete(null);
+            }
+        };
+    }
+
+    /**
+     * Responds with {@code 200 OK}, the given JSON body and caching headers, like {@code ETag}, {@code Last-Modified}
+     * or {@code Cache-Control}; or with {@code 304 Not Modified} and the same headers if the request's
+     * {@code If-None-Match} or {@code If-Modified-Since} matches them.
+     */
+    public static HttpHandler validated(String body, Map<String, String> headers) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange -> {
+            headers.forEach(exchange.getResponseHeaders()::set);
+            String etag = headers.get("ETag");
+            String lastModified = headers.get("Last-Modified");
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            if ((etag != null && etag.equals(ifNoneMatch)) || (lastModified != null && lastModified.equals(ifModifiedSince))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        };
+    }
+
+    /**
+     * Delegates the n-th request to the n-th handler; the last handler serves all the remaining requests.
+     */
+    public static HttpHandler sequence(HttpHandler... handlers) {
+        AtomicInteger calls = new AtomicInteger();
+        return exchange -> handlers[Math.min(calls.getAndIncrement(), handlers.length - 1)].handle(exchange);
+    }
+
+    static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}